@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Mono that directly completes from a future of an internal flow without adapting a RxJava type.
+ * <p>
+ * A new future (and so a new flow) is created for every subscriber. Cancelling the subscription cancels the future and
+ * so the flow.
+ *
+ * @author Silvio Giebl
+ */
+class MqttFutureMono<T> extends Mono<T> {
+
+    private final @NotNull Supplier<? extends CompletableFuture<? extends T>> futureSupplier;
+
+    MqttFutureMono(final @NotNull Supplier<? extends CompletableFuture<? extends T>> futureSupplier) {
+        this.futureSupplier = futureSupplier;
+    }
+
+    @Override
+    public void subscribe(final @NotNull CoreSubscriber<? super T> subscriber) {
+        final CompletableFuture<? extends T> future;
+        try {
+            future = futureSupplier.get();
+        } catch (final Throwable t) {
+            Operators.error(subscriber, Operators.onOperatorError(t, subscriber.currentContext()));
+            return;
+        }
+        final FutureSubscriber<T> futureSubscriber = new FutureSubscriber<>(subscriber, future);
+        subscriber.onSubscribe(futureSubscriber);
+        future.whenComplete(futureSubscriber);
+    }
+
+    private static class FutureSubscriber<T> extends Operators.MonoSubscriber<T, T>
+            implements BiConsumer<T, Throwable> {
+
+        private final @NotNull CompletableFuture<? extends T> future;
+
+        FutureSubscriber(
+                final @NotNull CoreSubscriber<? super T> subscriber,
+                final @NotNull CompletableFuture<? extends T> future) {
+
+            super(subscriber);
+            this.future = future;
+        }
+
+        @Override
+        public void accept(final @Nullable T result, final @Nullable Throwable error) {
+            if (isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                actual.onError(error);
+            } else if (result == null) {
+                actual.onComplete();
+            } else {
+                complete(result);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            future.cancel(false);
+        }
+    }
+}
@@ -17,6 +17,12 @@
 
 package com.hivemq.client.internal.mqtt.reactor;
 
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
@@ -35,10 +41,12 @@ import com.hivemq.client.mqtt.mqtt5.reactor.Mqtt5ReactorClient;
 import com.hivemq.client.rx.reactor.FluxWithSingle;
 import io.reactivex.Flowable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Publisher;
 import reactor.adapter.rxjava.RxJava2Adapter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * @author Silvio Giebl
@@ -46,9 +54,20 @@ import reactor.core.publisher.Mono;
 public class MqttReactorClient implements Mqtt5ReactorClient {
 
     private final @NotNull Mqtt5RxClient delegate;
+    private final @Nullable MqttRxClient internalDelegate;
+    private final @Nullable Scheduler applicationScheduler;
 
     public MqttReactorClient(final @NotNull Mqtt5RxClient delegate) {
         this.delegate = delegate;
+        if (delegate instanceof MqttRxClient) {
+            internalDelegate = (MqttRxClient) delegate;
+            final MqttClientExecutorConfigImpl executorConfig = internalDelegate.getConfig().getExecutorConfig();
+            applicationScheduler = executorConfig.isDeliverOnEventLoop() ? null :
+                    new MqttReactorScheduler(executorConfig.getApplicationScheduler());
+        } else {
+            internalDelegate = null;
+            applicationScheduler = null;
+        }
     }
 
     public @NotNull Mono<Mqtt5ConnAck> connect(final @NotNull Mqtt5Connect connect) {
@@ -56,7 +75,13 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
     }
 
     public @NotNull Mono<Mqtt5SubAck> subscribe(final @NotNull Mqtt5Subscribe subscribe) {
-        return RxJava2Adapter.singleToMono(delegate.subscribe(subscribe));
+        final MqttRxClient internalDelegate = this.internalDelegate;
+        if (internalDelegate == null) {
+            return RxJava2Adapter.singleToMono(delegate.subscribe(subscribe));
+        }
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+
+        return new MqttFutureMono<>(() -> internalDelegate.subscribeFuture(mqttSubscribe));
     }
 
     public @NotNull FluxWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(final @NotNull Mqtt5Subscribe subscribe) {
@@ -64,11 +89,28 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
     }
 
     public @NotNull Flux<Mqtt5Publish> publishes(final @NotNull MqttGlobalPublishFilter filter) {
-        return RxJava2Adapter.flowableToFlux(delegate.publishes(filter));
+        final MqttRxClient internalDelegate = this.internalDelegate;
+        if (internalDelegate == null) {
+            return RxJava2Adapter.flowableToFlux(delegate.publishes(filter));
+        }
+        Checks.notNull(filter, "Global publish filter");
+
+        final Flowable<Mqtt5Publish> publishes = internalDelegate.publishesUnsafe(filter);
+        if (applicationScheduler == null) {
+            return Flux.from(publishes);
+        }
+        return Flux.from(MqttRxClient.detachPayloads(publishes, internalDelegate.getConfig().getExecutorConfig()))
+                .publishOn(applicationScheduler, true, Flowable.bufferSize());
     }
 
     public @NotNull Mono<Mqtt5UnsubAck> unsubscribe(final @NotNull Mqtt5Unsubscribe unsubscribe) {
-        return RxJava2Adapter.singleToMono(delegate.unsubscribe(unsubscribe));
+        final MqttRxClient internalDelegate = this.internalDelegate;
+        if (internalDelegate == null) {
+            return RxJava2Adapter.singleToMono(delegate.unsubscribe(unsubscribe));
+        }
+        final MqttUnsubscribe mqttUnsubscribe = MqttChecks.unsubscribe(unsubscribe);
+
+        return new MqttFutureMono<>(() -> internalDelegate.unsubscribeFuture(mqttUnsubscribe));
     }
 
     public @NotNull Flux<Mqtt5PublishResult> publish(final @NotNull Publisher<Mqtt5Publish> publisher) {
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import org.jetbrains.annotations.NotNull;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactor scheduler that executes on a RxJava scheduler.
+ * <p>
+ * Every Reactor worker is backed by its own RxJava worker, so the tasks of one subscription (for example of one
+ * publishOn) keep the ordering and thread affinity of a RxJava worker, same as with RxJava's observeOn.
+ *
+ * @author Silvio Giebl
+ */
+class MqttReactorScheduler implements Scheduler {
+
+    private final @NotNull io.reactivex.Scheduler scheduler;
+
+    MqttReactorScheduler(final @NotNull io.reactivex.Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public @NotNull Disposable schedule(final @NotNull Runnable task) {
+        return scheduler.scheduleDirect(task)::dispose;
+    }
+
+    @Override
+    public @NotNull Disposable schedule(
+            final @NotNull Runnable task, final long delay, final @NotNull TimeUnit unit) {
+
+        return scheduler.scheduleDirect(task, delay, unit)::dispose;
+    }
+
+    @Override
+    public @NotNull Worker createWorker() {
+        return new MqttWorker(scheduler.createWorker());
+    }
+
+    private static class MqttWorker implements Worker {
+
+        private final @NotNull io.reactivex.Scheduler.Worker worker;
+
+        MqttWorker(final @NotNull io.reactivex.Scheduler.Worker worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public @NotNull Disposable schedule(final @NotNull Runnable task) {
+            return worker.schedule(task)::dispose;
+        }
+
+        @Override
+        public @NotNull Disposable schedule(
+                final @NotNull Runnable task, final long delay, final @NotNull TimeUnit unit) {
+
+            return worker.schedule(task, delay, unit)::dispose;
+        }
+
+        @Override
+        public void dispose() {
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return worker.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFutureMonoTest {
+
+    @Test
+    void subscribe_createsFuturePerSubscriber() {
+        final AtomicInteger counter = new AtomicInteger();
+        final MqttFutureMono<String> mono =
+                new MqttFutureMono<>(() -> CompletableFuture.completedFuture("result" + counter.incrementAndGet()));
+
+        StepVerifier.create(mono).expectNext("result1").verifyComplete();
+        StepVerifier.create(mono).expectNext("result2").verifyComplete();
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void subscribe_completesAsync() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final MqttFutureMono<String> mono = new MqttFutureMono<>(() -> future);
+
+        StepVerifier.create(mono).then(() -> future.complete("result")).expectNext("result").verifyComplete();
+    }
+
+    @Test
+    void subscribe_error() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final Exception error = new Exception("test");
+        final MqttFutureMono<String> mono = new MqttFutureMono<>(() -> future);
+
+        StepVerifier.create(mono).then(() -> future.completeExceptionally(error)).verifyErrorSatisfies(
+                throwable -> assertEquals(error, throwable));
+    }
+
+    @Test
+    void subscribe_supplierThrows_error() {
+        final MqttFutureMono<String> mono = new MqttFutureMono<>(() -> {
+            throw new IllegalStateException("test");
+        });
+
+        StepVerifier.create(mono).verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void cancel_cancelsFuture() {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final MqttFutureMono<String> mono = new MqttFutureMono<>(() -> future);
+
+        StepVerifier.create(mono).thenCancel().verify();
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void request_afterCompletion_deliversResult() {
+        final MqttFutureMono<String> mono = new MqttFutureMono<>(() -> CompletableFuture.completedFuture("result"));
+
+        StepVerifier.create(mono, 0).expectSubscription().thenRequest(1).expectNext("result").verifyComplete();
+    }
+}
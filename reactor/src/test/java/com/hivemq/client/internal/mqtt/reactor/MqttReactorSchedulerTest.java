@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import io.reactivex.schedulers.Schedulers;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttReactorSchedulerTest {
+
+    @Test
+    void createWorker_tasksExecutedInOrderOnOneThread() throws InterruptedException {
+        final Scheduler.Worker worker = new MqttReactorScheduler(Schedulers.computation()).createWorker();
+        final List<Integer> executed = new ArrayList<>();
+        final Set<Thread> threads = new HashSet<>();
+        final CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            final int task = i;
+            worker.schedule(() -> {
+                executed.add(task);
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, executed.get(i));
+        }
+        assertEquals(1, threads.size());
+        worker.dispose();
+        assertTrue(worker.isDisposed());
+    }
+
+    @Test
+    void publishOn_subscriberKeepsItsThread() {
+        final Scheduler scheduler = new MqttReactorScheduler(Schedulers.computation());
+        final Set<Thread> threads = new HashSet<>();
+
+        Flux.range(0, 1000).publishOn(scheduler, 16).doOnNext(i -> threads.add(Thread.currentThread())).blockLast();
+
+        assertEquals(1, threads.size());
+    }
+}
@@ -17,6 +17,10 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttBatchingCallbackSubscriber;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttEventLoopCallbackSubscriber;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttKeyedParallelCallbackSubscriber;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttManualAcknowledgementCallbackSubscriber;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
@@ -26,12 +30,14 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.rx.RxFutureConverter;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishAcknowledger;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
@@ -43,9 +49,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Silvio Giebl
@@ -112,7 +123,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
     public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(final @Nullable Mqtt5Subscribe subscribe) {
         final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
 
-        return handleSubAck(RxFutureConverter.toFuture(delegate.subscribe(mqttSubscribe)), mqttSubscribe);
+        return handleSubAck(delegate.subscribeFuture(mqttSubscribe), mqttSubscribe);
     }
 
     @Override
@@ -122,11 +133,32 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
         Checks.notNull(callback, "Callback");
 
+        if (delegate.getConfig().getExecutorConfig().isDeliverOnEventLoop()) {
+            return subscribeOnEventLoop(mqttSubscribe, callback);
+        }
         return handleSubAck(
                 delegate.subscribeStream(mqttSubscribe).subscribeSingleFuture(new CallbackSubscriber(callback)),
                 mqttSubscribe);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeOnEventLoop(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        Checks.notNull(callback, "Callback");
+
+        return subscribeOnEventLoop(mqttSubscribe, callback);
+    }
+
+    private @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeOnEventLoop(
+            final @NotNull MqttSubscribe subscribe, final @NotNull Consumer<@NotNull Mqtt5Publish> callback) {
+
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(callback);
+        delegate.subscribeStreamUnsafe(subscribe).subscribeBoth(subscriber);
+        return handleSubAck(subscriber.getSubAckFuture(), subscribe);
+    }
+
     @Override
     public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
             final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
@@ -136,11 +168,56 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
         Checks.notNull(executor, "Executor");
 
-        return handleSubAck(delegate.subscribeStreamUnsafe(mqttSubscribe)
+        final MqttClientExecutorConfigImpl executorConfig = delegate.getConfig().getExecutorConfig();
+        return handleSubAck(MqttRxClient.detachPayloads(delegate.subscribeStreamUnsafe(mqttSubscribe), executorConfig)
                 .observeOnBoth(Schedulers.from(executor), true)
                 .subscribeSingleFuture(new CallbackSubscriber(callback)), mqttSubscribe);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final @Nullable Executor executor, final int parallelism,
+            final @Nullable Function<? super Mqtt5Publish, ?> orderingKey) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                keyedParallelCallbackSubscriber(callback, executor, parallelism, orderingKey);
+
+        delegate.subscribeStreamUnsafe(mqttSubscribe, true).subscribeBoth(subscriber);
+        return handleSubAck(subscriber.getSubAckFuture(), mqttSubscribe);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            final @Nullable Mqtt5Subscribe subscribe,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback, final @Nullable Executor executor,
+            final int maxBatchSize, final long maxLinger, final @Nullable TimeUnit timeUnit) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        final MqttBatchingCallbackSubscriber subscriber =
+                batchingCallbackSubscriber(callback, executor, maxBatchSize, maxLinger, timeUnit);
+
+        delegate.subscribeStreamUnsafe(mqttSubscribe, true).subscribeBoth(subscriber);
+        return handleSubAck(subscriber.getSubAckFuture(), mqttSubscribe);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeWithManualAcknowledgement(
+            final @Nullable Mqtt5Subscribe subscribe,
+            final @Nullable BiConsumer<@NotNull Mqtt5Publish, @NotNull Mqtt5PublishAcknowledger> callback,
+            final @Nullable Executor executor) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+
+        final MqttManualAcknowledgementCallbackSubscriber subscriber =
+                new MqttManualAcknowledgementCallbackSubscriber(callback, executor);
+        delegate.subscribeStreamUnsafe(mqttSubscribe, true).subscribeBoth(subscriber);
+        return handleSubAck(subscriber.getSubAckFuture(), mqttSubscribe);
+    }
+
     @Override
     public void publishes(
             final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback) {
@@ -148,7 +225,21 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(filter, "Global publish filter");
         Checks.notNull(callback, "Callback");
 
-        delegate.publishes(filter).subscribe(new CallbackSubscriber(callback));
+        if (delegate.getConfig().getExecutorConfig().isDeliverOnEventLoop()) {
+            delegate.publishesUnsafe(filter).subscribe(new MqttEventLoopCallbackSubscriber(callback));
+        } else {
+            delegate.publishes(filter).subscribe(new CallbackSubscriber(callback));
+        }
+    }
+
+    @Override
+    public void publishesOnEventLoop(
+            final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback) {
+
+        Checks.notNull(filter, "Global publish filter");
+        Checks.notNull(callback, "Callback");
+
+        delegate.publishesUnsafe(filter).subscribe(new MqttEventLoopCallbackSubscriber(callback));
     }
 
     @Override
@@ -160,25 +251,108 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
         Checks.notNull(executor, "Executor");
 
-        delegate.publishesUnsafe(filter)
+        MqttRxClient.detachPayloads(delegate.publishesUnsafe(filter), delegate.getConfig().getExecutorConfig())
                 .observeOn(Schedulers.from(executor), true)
                 .subscribe(new CallbackSubscriber(callback));
     }
 
+    @Override
+    public void publishes(
+            final @Nullable MqttGlobalPublishFilter filter, final @Nullable Consumer<@NotNull Mqtt5Publish> callback,
+            final @Nullable Executor executor, final int parallelism,
+            final @Nullable Function<? super Mqtt5Publish, ?> orderingKey) {
+
+        Checks.notNull(filter, "Global publish filter");
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                keyedParallelCallbackSubscriber(callback, executor, parallelism, orderingKey);
+
+        delegate.publishesUnsafe(filter, true).subscribe(subscriber);
+    }
+
+    @Override
+    public void publishesBatched(
+            final @Nullable MqttGlobalPublishFilter filter,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback, final @Nullable Executor executor,
+            final int maxBatchSize, final long maxLinger, final @Nullable TimeUnit timeUnit) {
+
+        Checks.notNull(filter, "Global publish filter");
+        final MqttBatchingCallbackSubscriber subscriber =
+                batchingCallbackSubscriber(callback, executor, maxBatchSize, maxLinger, timeUnit);
+
+        delegate.publishesUnsafe(filter, true).subscribe(subscriber);
+    }
+
+    @Override
+    public void publishesWithManualAcknowledgement(
+            final @Nullable MqttGlobalPublishFilter filter,
+            final @Nullable BiConsumer<@NotNull Mqtt5Publish, @NotNull Mqtt5PublishAcknowledger> callback,
+            final @Nullable Executor executor) {
+
+        Checks.notNull(filter, "Global publish filter");
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+
+        delegate.publishesUnsafe(filter, true)
+                .subscribe(new MqttManualAcknowledgementCallbackSubscriber(callback, executor));
+    }
+
+    private static @NotNull MqttKeyedParallelCallbackSubscriber keyedParallelCallbackSubscriber(
+            final @Nullable Consumer<@NotNull Mqtt5Publish> callback, final @Nullable Executor executor,
+            final int parallelism, final @Nullable Function<? super Mqtt5Publish, ?> orderingKey) {
+
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1. Found: " + parallelism);
+        }
+        Checks.notNull(orderingKey, "Ordering key");
+        return new MqttKeyedParallelCallbackSubscriber(callback, executor, parallelism, orderingKey);
+    }
+
+    private static @NotNull MqttBatchingCallbackSubscriber batchingCallbackSubscriber(
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback, final @Nullable Executor executor,
+            final int maxBatchSize, final long maxLinger, final @Nullable TimeUnit timeUnit) {
+
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1. Found: " + maxBatchSize);
+        }
+        if (maxLinger < 0) {
+            throw new IllegalArgumentException("Max linger must not be negative. Found: " + maxLinger);
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        return new MqttBatchingCallbackSubscriber(callback, executor, maxBatchSize, maxLinger, timeUnit);
+    }
+
     @Override
     public @NotNull CompletableFuture<@NotNull Mqtt5UnsubAck> unsubscribe(
             final @Nullable Mqtt5Unsubscribe unsubscribe) {
 
         final MqttUnsubscribe mqttUnsubscribe = MqttChecks.unsubscribe(unsubscribe);
 
-        return handleUnsubAck(RxFutureConverter.toFuture(delegate.unsubscribe(mqttUnsubscribe)), mqttUnsubscribe);
+        return handleUnsubAck(delegate.unsubscribeFuture(mqttUnsubscribe), mqttUnsubscribe);
     }
 
     @Override
     public @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(final @Nullable Mqtt5Publish publish) {
         final MqttPublish mqttPublish = MqttChecks.publish(publish);
 
-        return RxFutureConverter.toFuture(delegate.publish(mqttPublish));
+        return delegate.publishFuture(mqttPublish);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            final @Nullable Collection<? extends @Nullable Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+
+        return RxFutureConverter.toFuture(delegate.publishAll(mqttPublishes));
+    }
+
+    @Override
+    public void publishFireAndForget(final @Nullable Mqtt5Publish publish) {
+        delegate.publishFireAndForget(MqttChecks.publish(publish));
     }
 
     @Override
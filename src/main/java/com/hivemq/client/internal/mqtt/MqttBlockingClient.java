@@ -25,6 +25,7 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.AsyncRuntimeException;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
@@ -46,12 +47,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author Silvio Giebl
@@ -106,7 +111,17 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
     public @NotNull Mqtt5Publishes publishes(final @Nullable MqttGlobalPublishFilter filter) {
         Checks.notNull(filter, "Global publish filter");
 
-        return new MqttPublishes(delegate.publishesUnsafe(filter));
+        return new MqttPublishes(delegate.publishesUnsafe(filter), 1);
+    }
+
+    @Override
+    public @NotNull Mqtt5Publishes publishes(final @Nullable MqttGlobalPublishFilter filter, final int prefetch) {
+        Checks.notNull(filter, "Global publish filter");
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be at least 1. Found: " + prefetch);
+        }
+
+        return new MqttPublishes(delegate.publishesUnsafe(filter), prefetch);
     }
 
     @Override
@@ -129,6 +144,23 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         }
     }
 
+    @Override
+    public @NotNull List<@NotNull Mqtt5PublishResult> publishAll(
+            final @Nullable Collection<? extends @Nullable Mqtt5Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishes(publishes);
+        try {
+            return delegate.publishAllUnsafe(mqttPublishes).blockingGet();
+        } catch (final RuntimeException e) {
+            throw AsyncRuntimeException.fillInStackTrace(e);
+        }
+    }
+
+    @Override
+    public void publishFireAndForget(final @Nullable Mqtt5Publish publish) {
+        delegate.publishFireAndForget(MqttChecks.publish(publish));
+    }
+
     @Override
     public void reauth() {
         try {
@@ -165,46 +197,50 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
 
     private static class MqttPublishes implements Mqtt5Publishes, FlowableSubscriber<Mqtt5Publish> {
 
+        private final int prefetch;
+        private final int limit;
         private final @NotNull AtomicReference<@Nullable Subscription> subscription = new AtomicReference<>();
-        private final @NotNull LinkedList<Entry> entries = new LinkedList<>();
-        private @Nullable Mqtt5Publish queuedPublish;
-        private @Nullable Throwable error;
-
-        MqttPublishes(final @NotNull Flowable<Mqtt5Publish> publishes) {
+        private final @NotNull ConcurrentLinkedQueue<Mqtt5Publish> queue = new ConcurrentLinkedQueue<>();
+        private final @NotNull AtomicInteger consumed = new AtomicInteger();
+        private final @NotNull ReentrantLock lock = new ReentrantLock();
+        private final @NotNull Condition notEmpty = lock.newCondition();
+        private volatile int waiting; // only modified while holding the lock
+        private volatile @Nullable Throwable error;
+        private volatile boolean closed;
+
+        MqttPublishes(final @NotNull Flowable<Mqtt5Publish> publishes, final int prefetch) {
+            this.prefetch = prefetch;
+            limit = prefetch - (prefetch >> 2);
             publishes.subscribe(this);
         }
 
         @Override
         public void onSubscribe(final @NotNull Subscription subscription) {
             if (this.subscription.compareAndSet(null, subscription)) {
-                subscription.request(1);
+                subscription.request(prefetch);
             } else {
                 subscription.cancel();
             }
         }
 
-        private void request() {
-            final Subscription subscription = this.subscription.get();
-            assert subscription != null;
-            subscription.request(1);
-        }
-
         @Override
         public void onNext(final @NotNull Mqtt5Publish publish) {
-            synchronized (entries) {
-                if (error != null) {
-                    return;
-                }
-                Entry entry;
-                while ((entry = entries.poll()) != null) {
-                    final boolean success = entry.result.compareAndSet(null, publish);
-                    entry.latch.countDown();
-                    if (success) {
-                        request();
-                        return;
-                    }
+            if (error != null) {
+                publish.release();
+                return;
+            }
+            queue.offer(publish);
+            if (closed) { // close may have released the queue before the offer
+                releaseQueued();
+                return;
+            }
+            if (waiting > 0) {
+                lock.lock();
+                try {
+                    notEmpty.signal();
+                } finally {
+                    lock.unlock();
                 }
-                queuedPublish = publish;
             }
         }
 
@@ -215,51 +251,41 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
 
         @Override
         public void onError(final @NotNull Throwable t) {
-            synchronized (entries) {
+            lock.lock();
+            try {
                 if (error != null) {
                     return;
                 }
                 error = t;
-                Entry entry;
-                while ((entry = entries.poll()) != null) {
-                    entry.result.set(t);
-                    entry.latch.countDown();
-                }
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public @NotNull Mqtt5Publish receive() throws InterruptedException {
-            final Entry entry;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                final Mqtt5Publish publish = receiveNowUnsafe();
-                if (publish != null) {
-                    return publish;
-                }
-                entry = new Entry();
-                entries.offer(entry);
+            final Mqtt5Publish publish = poll();
+            if (publish != null) {
+                return publish;
             }
-
-            InterruptedException interruptedException = null;
+            lock.lockInterruptibly();
             try {
-                entry.latch.await();
-            } catch (final InterruptedException e) {
-                interruptedException = e;
-            }
-            final Object result = entry.result.getAndSet(Entry.CANCELLED);
-            if (result instanceof Mqtt5Publish) {
-                return (Mqtt5Publish) result;
-            }
-            if (result instanceof Throwable) {
-                throw handleError((Throwable) result);
-            }
-            if (interruptedException != null) {
-                throw interruptedException;
+                waiting++;
+                try {
+                    while (true) {
+                        final Mqtt5Publish queuedPublish = poll();
+                        if (queuedPublish != null) {
+                            return queuedPublish;
+                        }
+                        notEmpty.await();
+                    }
+                } finally {
+                    waiting--;
+                }
+            } finally {
+                lock.unlock();
             }
-            throw new InterruptedException();
         }
 
         @Override
@@ -271,76 +297,135 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
             }
             Checks.notNull(timeUnit, "Time unit");
 
-            final Entry entry;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                final Mqtt5Publish publish = receiveNowUnsafe();
-                if (publish != null) {
-                    return Optional.of(publish);
-                }
-                entry = new Entry();
-                entries.offer(entry);
+            final Mqtt5Publish publish = poll();
+            if (publish != null) {
+                return Optional.of(publish);
             }
-
-            InterruptedException interruptedException = null;
+            long nanos = timeUnit.toNanos(timeout);
+            lock.lockInterruptibly();
             try {
-                entry.latch.await(timeout, timeUnit);
-            } catch (final InterruptedException e) {
-                interruptedException = e;
-            }
-            final Object result = entry.result.getAndSet(Entry.CANCELLED);
-            if (result instanceof Mqtt5Publish) {
-                return Optional.of((Mqtt5Publish) result);
-            }
-            if (result instanceof Throwable) {
-                throw handleError((Throwable) result);
-            }
-            if (interruptedException != null) {
-                throw interruptedException;
+                waiting++;
+                try {
+                    while (true) {
+                        final Mqtt5Publish queuedPublish = poll();
+                        if (queuedPublish != null) {
+                            return Optional.of(queuedPublish);
+                        }
+                        if (nanos <= 0) {
+                            return Optional.empty();
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    waiting--;
+                }
+            } finally {
+                lock.unlock();
             }
-            return Optional.empty();
         }
 
         @Override
         public @NotNull Optional<Mqtt5Publish> receiveNow() {
-            final Mqtt5Publish publish;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                publish = receiveNowUnsafe();
+            return Optional.ofNullable(poll());
+        }
+
+        @Override
+        public int receive(final int maxPublishes, final @Nullable Collection<? super Mqtt5Publish> out)
+                throws InterruptedException {
+
+            checkMaxPublishes(maxPublishes);
+            Checks.notNull(out, "Collection");
+
+            out.add(receive());
+            return 1 + drain(out, maxPublishes - 1);
+        }
+
+        @Override
+        public int drainTo(final @Nullable Collection<? super Mqtt5Publish> out) {
+            Checks.notNull(out, "Collection");
+
+            return drain(out, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int drainTo(final @Nullable Collection<? super Mqtt5Publish> out, final int maxPublishes) {
+            checkMaxPublishes(maxPublishes);
+            Checks.notNull(out, "Collection");
+
+            return drain(out, maxPublishes);
+        }
+
+        private static void checkMaxPublishes(final int maxPublishes) {
+            if (maxPublishes < 1) {
+                throw new IllegalArgumentException("Max publishes must be at least 1. Found: " + maxPublishes);
+            }
+        }
+
+        /**
+         * Publish messages that were queued before the flow completed or failed are still returned, the error is only
+         * thrown if the queue is empty. The error is read before the queue, so all Publish messages that were queued
+         * before the error are visible.
+         */
+        private @Nullable Mqtt5Publish poll() {
+            final Throwable error = this.error;
+            final Mqtt5Publish publish = queue.poll();
+            if (publish != null) {
+                onConsumed(1);
+            } else if (error != null) {
+                throw handleError(error);
             }
-            return Optional.ofNullable(publish);
+            return publish;
         }
 
-        private @Nullable Mqtt5Publish receiveNowUnsafe() {
-            if (queuedPublish != null) {
-                final Mqtt5Publish queuedPublish = this.queuedPublish;
-                this.queuedPublish = null;
-                request();
-                return queuedPublish;
+        private int drain(final @NotNull Collection<? super Mqtt5Publish> out, final int maxPublishes) {
+            final Throwable error = this.error;
+            int count = 0;
+            Mqtt5Publish publish;
+            while ((count < maxPublishes) && ((publish = queue.poll()) != null)) {
+                out.add(publish);
+                count++;
+            }
+            if (count > 0) {
+                onConsumed(count);
+            } else if (error != null) {
+                throw handleError(error);
+            }
+            return count;
+        }
+
+        /**
+         * Replenishes the prefetch window after at least 3/4 of it was consumed, so the flow is not requested for every
+         * single Publish message.
+         */
+        private void onConsumed(final int count) {
+            if (consumed.addAndGet(count) >= limit) {
+                final int requested = consumed.getAndSet(0);
+                if (requested > 0) {
+                    final Subscription subscription = this.subscription.get();
+                    assert subscription != null;
+                    subscription.request(requested);
+                }
             }
-            return null;
         }
 
         @Override
         public void close() {
+            closed = true;
             final Subscription subscription = this.subscription.getAndSet(SubscriptionHelper.CANCELLED);
             if (subscription != null) {
                 subscription.cancel();
             }
-            synchronized (entries) {
-                if (error != null) {
-                    return;
-                }
-                error = new CancellationException();
-                Entry entry;
-                while ((entry = entries.poll()) != null) {
-                    entry.result.set(error);
-                    entry.latch.countDown();
-                }
+            onError(new CancellationException());
+            releaseQueued();
+        }
+
+        /**
+         * Releases the Publish messages that were not received before closing, as they are never delivered.
+         */
+        private void releaseQueued() {
+            Mqtt5Publish publish;
+            while ((publish = queue.poll()) != null) {
+                publish.release();
             }
         }
 
@@ -350,13 +435,5 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
             }
             throw new RuntimeException(t);
         }
-
-        private static class Entry {
-
-            static final @NotNull Object CANCELLED = new Object();
-
-            final @NotNull CountDownLatch latch = new CountDownLatch(1);
-            final @NotNull AtomicReference<@Nullable Object> result = new AtomicReference<>();
-        }
     }
 }
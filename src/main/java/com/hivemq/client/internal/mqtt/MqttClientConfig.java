@@ -17,16 +17,23 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.ioc.SingletonComponent;
 import com.hivemq.client.internal.mqtt.message.auth.MqttSimpleAuth;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
+import com.hivemq.client.internal.netty.NettyBufferAllocatorMetrics;
+import com.hivemq.client.internal.netty.NettyBufferAllocators;
 import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.ExecutorUtil;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttFireAndForgetFailureListener;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropListener;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
@@ -34,6 +41,7 @@ import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConfig;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConnectionConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
 import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
 import com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5SimpleAuth;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
@@ -49,6 +57,8 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class MqttClientConfig implements Mqtt5ClientConfig {
 
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttClientConfig.class);
+
     private final @NotNull MqttVersion mqttVersion;
     private volatile @NotNull MqttClientIdentifierImpl clientIdentifier;
     private final @NotNull MqttClientTransportConfigImpl transportConfig;
@@ -57,6 +67,11 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private final @NotNull ConnectDefaults connectDefaults;
     private final @NotNull ImmutableList<MqttClientConnectedListener> connectedListeners;
     private final @NotNull ImmutableList<MqttClientDisconnectedListener> disconnectedListeners;
+    private final @Nullable MqttFireAndForgetFailureListener fireAndForgetFailureListener;
+    private final int incomingQos0BufferCapacity;
+    private final @NotNull MqttIncomingQos0DropPolicy incomingQos0DropPolicy;
+    private final @Nullable MqttIncomingQos0DropListener incomingQos0DropListener;
+    private final int incomingTopicCacheCapacity;
 
     private final @NotNull ClientComponent clientComponent;
 
@@ -73,7 +88,11 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
             final @NotNull MqttClientExecutorConfigImpl executorConfig,
             final @NotNull MqttClientAdvancedConfig advancedConfig, final @NotNull ConnectDefaults connectDefaults,
             final @NotNull ImmutableList<MqttClientConnectedListener> connectedListeners,
-            final @NotNull ImmutableList<MqttClientDisconnectedListener> disconnectedListeners) {
+            final @NotNull ImmutableList<MqttClientDisconnectedListener> disconnectedListeners,
+            final @Nullable MqttFireAndForgetFailureListener fireAndForgetFailureListener,
+            final int incomingQos0BufferCapacity, final @NotNull MqttIncomingQos0DropPolicy incomingQos0DropPolicy,
+            final @Nullable MqttIncomingQos0DropListener incomingQos0DropListener,
+            final int incomingTopicCacheCapacity) {
 
         this.mqttVersion = mqttVersion;
         this.clientIdentifier = clientIdentifier;
@@ -83,6 +102,11 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.connectDefaults = connectDefaults;
         this.connectedListeners = connectedListeners;
         this.disconnectedListeners = disconnectedListeners;
+        this.fireAndForgetFailureListener = fireAndForgetFailureListener;
+        this.incomingQos0BufferCapacity = incomingQos0BufferCapacity;
+        this.incomingQos0DropPolicy = incomingQos0DropPolicy;
+        this.incomingQos0DropListener = incomingQos0DropListener;
+        this.incomingTopicCacheCapacity = incomingTopicCacheCapacity;
 
         clientComponent = SingletonComponent.INSTANCE.clientComponentBuilder().clientConfig(this).build();
 
@@ -162,6 +186,39 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return disconnectedListeners;
     }
 
+    @Override
+    public @NotNull Optional<MqttFireAndForgetFailureListener> getFireAndForgetFailureListener() {
+        return Optional.ofNullable(fireAndForgetFailureListener);
+    }
+
+    public @Nullable MqttFireAndForgetFailureListener getRawFireAndForgetFailureListener() {
+        return fireAndForgetFailureListener;
+    }
+
+    @Override
+    public int getIncomingQos0BufferCapacity() {
+        return incomingQos0BufferCapacity;
+    }
+
+    @Override
+    public @NotNull MqttIncomingQos0DropPolicy getIncomingQos0DropPolicy() {
+        return incomingQos0DropPolicy;
+    }
+
+    @Override
+    public @NotNull Optional<MqttIncomingQos0DropListener> getIncomingQos0DropListener() {
+        return Optional.ofNullable(incomingQos0DropListener);
+    }
+
+    public @Nullable MqttIncomingQos0DropListener getRawIncomingQos0DropListener() {
+        return incomingQos0DropListener;
+    }
+
+    @Override
+    public int getIncomingTopicCacheCapacity() {
+        return incomingTopicCacheCapacity;
+    }
+
     public @NotNull ClientComponent getClientComponent() {
         return clientComponent;
     }
@@ -189,6 +246,15 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
                 eventLoop.execute(() -> { // release eventLoop after all tasks are finished
                     synchronized (state) {
                         if (eventLoopAcquireCount == this.eventLoopAcquireCount) { // eventLoop has not been reacquired
+                            final Mqtt5OutgoingSessionPersistence persistence =
+                                    advancedConfig.getOutgoingSessionPersistence();
+                            if (persistence != null) {
+                                try {
+                                    persistence.close();
+                                } catch (final Throwable t) {
+                                    LOGGER.error("Unexpected exception thrown by outgoing session persistence.", t);
+                                }
+                            }
                             this.eventLoop = null;
                             NettyEventLoopProvider.INSTANCE.releaseEventLoop(executorConfig.getRawNettyExecutor());
                         }
@@ -228,6 +294,46 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.connectionConfig = connectionConfig;
     }
 
+    @Override
+    public int getQueuedPublishCount() {
+        return clientComponent.outgoingQosHandler().getQueuedCount();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return clientComponent.flushStatistics().getFlushCount();
+    }
+
+    @Override
+    public long getFlushedMessageCount() {
+        return clientComponent.flushStatistics().getFlushedMessageCount();
+    }
+
+    @Override
+    public long getIncomingTopicCacheHitCount() {
+        return clientComponent.topicCacheStatistics().getHitCount();
+    }
+
+    @Override
+    public long getIncomingTopicCacheMissCount() {
+        return clientComponent.topicCacheStatistics().getMissCount();
+    }
+
+    @Override
+    public long getFireAndForgetFailureCount() {
+        return clientComponent.fireAndForgetFailures().getFailureCount();
+    }
+
+    @Override
+    public long getDroppedIncomingQos0Count() {
+        return clientComponent.incomingQos0Drops().getDroppedCount();
+    }
+
+    @Override
+    public @NotNull NettyBufferAllocatorMetrics getSharedBufferAllocatorMetrics() {
+        return new NettyBufferAllocatorMetrics(NettyBufferAllocators.get(executorConfig));
+    }
+
     public static class ConnectDefaults {
 
         private static final @NotNull ConnectDefaults EMPTY = new ConnectDefaults(null, null, null);
@@ -17,8 +17,8 @@
 
 package com.hivemq.client.internal.mqtt;
 
-import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasAutoMapping;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3ClientConnectionConfig;
@@ -81,6 +81,7 @@ public class MqttClientConnectionConfig
             final int sendMaximum,
             final int sendMaximumPacketSize,
             final int sendTopicAliasMaximum,
+            final @NotNull MqttTopicAliasPolicy sendTopicAliasPolicy,
             final @NotNull MqttQos maximumQos,
             final boolean retainAvailable,
             final boolean wildcardSubscriptionAvailable,
@@ -98,8 +99,7 @@ public class MqttClientConnectionConfig
         this.topicAliasMaximum = (short) topicAliasMaximum;
         this.sendMaximum = (short) sendMaximum;
         this.sendMaximumPacketSize = sendMaximumPacketSize;
-        this.sendTopicAliasMapping =
-                (sendTopicAliasMaximum == 0) ? null : new MqttTopicAliasAutoMapping(sendTopicAliasMaximum);
+        this.sendTopicAliasMapping = sendTopicAliasPolicy.createMapping(sendTopicAliasMaximum);
         this.maximumQos = maximumQos;
         this.channel = channel;
 
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.mqtt.MqttBufferAllocation;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
@@ -33,20 +34,48 @@ import java.util.concurrent.Executor;
 public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
+    public static final int DEFAULT_BUFFER_POOL_SIZING = -1;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER,
+                    DEFAULT_BUFFER_ALLOCATION, DEFAULT_BUFFER_POOL_SIZING, DEFAULT_BUFFER_POOL_SIZING,
+                    DEFAULT_BUFFER_POOL_SIZING, DEFAULT_BUFFER_POOL_SIZING, DEFAULT_BUFFER_POOL_SIZING, false, 0, false,
+                    DEFAULT_SLOW_CALLBACK_THRESHOLD_MICROS);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
     private final @NotNull Scheduler applicationScheduler;
+    private final @NotNull MqttBufferAllocation bufferAllocation;
+    private final int bufferPoolArenas;
+    private final int bufferPoolPageSize;
+    private final int bufferPoolChunkSize;
+    private final int bufferPoolSmallCacheSize;
+    private final int bufferPoolNormalCacheSize;
+    private final boolean zeroCopyIncomingPayloads;
+    private final int incomingPayloadPoolSize;
+    private final boolean deliverOnEventLoop;
+    private final long slowCallbackThresholdMicros;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor, final int nettyThreads,
-            final @NotNull Scheduler applicationScheduler) {
+            final @NotNull Scheduler applicationScheduler, final @NotNull MqttBufferAllocation bufferAllocation,
+            final int bufferPoolArenas, final int bufferPoolPageSize, final int bufferPoolChunkSize,
+            final int bufferPoolSmallCacheSize, final int bufferPoolNormalCacheSize,
+            final boolean zeroCopyIncomingPayloads, final int incomingPayloadPoolSize,
+            final boolean deliverOnEventLoop, final long slowCallbackThresholdMicros) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
         this.applicationScheduler = applicationScheduler;
+        this.bufferAllocation = bufferAllocation;
+        this.bufferPoolArenas = bufferPoolArenas;
+        this.bufferPoolPageSize = bufferPoolPageSize;
+        this.bufferPoolChunkSize = bufferPoolChunkSize;
+        this.bufferPoolSmallCacheSize = bufferPoolSmallCacheSize;
+        this.bufferPoolNormalCacheSize = bufferPoolNormalCacheSize;
+        this.zeroCopyIncomingPayloads = zeroCopyIncomingPayloads;
+        this.incomingPayloadPoolSize = incomingPayloadPoolSize;
+        this.deliverOnEventLoop = deliverOnEventLoop;
+        this.slowCallbackThresholdMicros = slowCallbackThresholdMicros;
     }
 
     @Override
@@ -72,6 +101,80 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return applicationScheduler;
     }
 
+    @Override
+    public @NotNull MqttBufferAllocation getBufferAllocation() {
+        return bufferAllocation;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferPoolArenas() {
+        return optionalBufferPoolSizing(bufferPoolArenas);
+    }
+
+    public int getRawBufferPoolArenas() {
+        return bufferPoolArenas;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferPoolPageSize() {
+        return optionalBufferPoolSizing(bufferPoolPageSize);
+    }
+
+    public int getRawBufferPoolPageSize() {
+        return bufferPoolPageSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferPoolChunkSize() {
+        return optionalBufferPoolSizing(bufferPoolChunkSize);
+    }
+
+    public int getRawBufferPoolChunkSize() {
+        return bufferPoolChunkSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferPoolSmallCacheSize() {
+        return optionalBufferPoolSizing(bufferPoolSmallCacheSize);
+    }
+
+    public int getRawBufferPoolSmallCacheSize() {
+        return bufferPoolSmallCacheSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferPoolNormalCacheSize() {
+        return optionalBufferPoolSizing(bufferPoolNormalCacheSize);
+    }
+
+    public int getRawBufferPoolNormalCacheSize() {
+        return bufferPoolNormalCacheSize;
+    }
+
+    private static @NotNull OptionalInt optionalBufferPoolSizing(final int value) {
+        return (value == DEFAULT_BUFFER_POOL_SIZING) ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    @Override
+    public boolean isZeroCopyIncomingPayloads() {
+        return zeroCopyIncomingPayloads;
+    }
+
+    @Override
+    public int getIncomingPayloadPoolSize() {
+        return incomingPayloadPoolSize;
+    }
+
+    @Override
+    public boolean isDeliverOnEventLoop() {
+        return deliverOnEventLoop;
+    }
+
+    @Override
+    public long getSlowCallbackThresholdMicros() {
+        return slowCallbackThresholdMicros;
+    }
+
     @Override
     public @NotNull MqttClientExecutorConfigImplBuilder.Default extend() {
         return new MqttClientExecutorConfigImplBuilder.Default(this);
@@ -88,7 +191,15 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
-                applicationScheduler.equals(that.applicationScheduler);
+                applicationScheduler.equals(that.applicationScheduler) && (bufferAllocation == that.bufferAllocation) &&
+                (bufferPoolArenas == that.bufferPoolArenas) && (bufferPoolPageSize == that.bufferPoolPageSize) &&
+                (bufferPoolChunkSize == that.bufferPoolChunkSize) &&
+                (bufferPoolSmallCacheSize == that.bufferPoolSmallCacheSize) &&
+                (bufferPoolNormalCacheSize == that.bufferPoolNormalCacheSize) &&
+                (zeroCopyIncomingPayloads == that.zeroCopyIncomingPayloads) &&
+                (incomingPayloadPoolSize == that.incomingPayloadPoolSize) &&
+                (deliverOnEventLoop == that.deliverOnEventLoop) &&
+                (slowCallbackThresholdMicros == that.slowCallbackThresholdMicros);
     }
 
     @Override
@@ -96,6 +207,16 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
         result = 31 * result + applicationScheduler.hashCode();
+        result = 31 * result + bufferAllocation.hashCode();
+        result = 31 * result + bufferPoolArenas;
+        result = 31 * result + bufferPoolPageSize;
+        result = 31 * result + bufferPoolChunkSize;
+        result = 31 * result + bufferPoolSmallCacheSize;
+        result = 31 * result + bufferPoolNormalCacheSize;
+        result = 31 * result + Boolean.hashCode(zeroCopyIncomingPayloads);
+        result = 31 * result + incomingPayloadPoolSize;
+        result = 31 * result + Boolean.hashCode(deliverOnEventLoop);
+        result = 31 * result + Long.hashCode(slowCallbackThresholdMicros);
         return result;
     }
 }
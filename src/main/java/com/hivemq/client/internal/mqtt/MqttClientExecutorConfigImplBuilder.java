@@ -18,12 +18,14 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttBufferAllocation;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -31,9 +33,22 @@ import java.util.function.Function;
  */
 public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientExecutorConfigImplBuilder<B>> {
 
+    private static final int MIN_BUFFER_POOL_PAGE_SIZE = 4096;
+    private static final int MAX_BUFFER_POOL_CHUNK_SIZE = 1 << 30;
+
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
+    private @NotNull MqttBufferAllocation bufferAllocation = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_ALLOCATION;
+    private int bufferPoolArenas = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_POOL_SIZING;
+    private int bufferPoolPageSize = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_POOL_SIZING;
+    private int bufferPoolChunkSize = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_POOL_SIZING;
+    private int bufferPoolSmallCacheSize = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_POOL_SIZING;
+    private int bufferPoolNormalCacheSize = MqttClientExecutorConfigImpl.DEFAULT_BUFFER_POOL_SIZING;
+    private boolean zeroCopyIncomingPayloads;
+    private int incomingPayloadPoolSize;
+    private boolean deliverOnEventLoop;
+    private long slowCallbackThresholdMicros = MqttClientExecutorConfigImpl.DEFAULT_SLOW_CALLBACK_THRESHOLD_MICROS;
 
     MqttClientExecutorConfigImplBuilder() {}
 
@@ -41,6 +56,16 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
         applicationScheduler = executorConfig.getApplicationScheduler();
+        bufferAllocation = executorConfig.getBufferAllocation();
+        bufferPoolArenas = executorConfig.getRawBufferPoolArenas();
+        bufferPoolPageSize = executorConfig.getRawBufferPoolPageSize();
+        bufferPoolChunkSize = executorConfig.getRawBufferPoolChunkSize();
+        bufferPoolSmallCacheSize = executorConfig.getRawBufferPoolSmallCacheSize();
+        bufferPoolNormalCacheSize = executorConfig.getRawBufferPoolNormalCacheSize();
+        zeroCopyIncomingPayloads = executorConfig.isZeroCopyIncomingPayloads();
+        incomingPayloadPoolSize = executorConfig.getIncomingPayloadPoolSize();
+        deliverOnEventLoop = executorConfig.isDeliverOnEventLoop();
+        slowCallbackThresholdMicros = executorConfig.getSlowCallbackThresholdMicros();
     }
 
     abstract @NotNull B self();
@@ -64,8 +89,87 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B bufferAllocation(final @Nullable MqttBufferAllocation bufferAllocation) {
+        this.bufferAllocation = Checks.notNull(bufferAllocation, "Buffer allocation");
+        return self();
+    }
+
+    public @NotNull B bufferPoolArenas(final int arenas) {
+        if (arenas <= 0) {
+            throw new IllegalArgumentException("Buffer pool arenas must be greater than 0. Found: " + arenas);
+        }
+        bufferPoolArenas = arenas;
+        return self();
+    }
+
+    public @NotNull B bufferPoolPageSize(final int pageSize) {
+        if ((pageSize < MIN_BUFFER_POOL_PAGE_SIZE) || (Integer.bitCount(pageSize) != 1)) {
+            throw new IllegalArgumentException(
+                    "Buffer pool page size must be a power of 2 and at least " + MIN_BUFFER_POOL_PAGE_SIZE +
+                            ". Found: " + pageSize);
+        }
+        bufferPoolPageSize = pageSize;
+        return self();
+    }
+
+    public @NotNull B bufferPoolChunkSize(final int chunkSize) {
+        if ((chunkSize <= 0) || (chunkSize > MAX_BUFFER_POOL_CHUNK_SIZE) || (Integer.bitCount(chunkSize) != 1)) {
+            throw new IllegalArgumentException(
+                    "Buffer pool chunk size must be a power of 2 and at most " + MAX_BUFFER_POOL_CHUNK_SIZE +
+                            ". Found: " + chunkSize);
+        }
+        bufferPoolChunkSize = chunkSize;
+        return self();
+    }
+
+    public @NotNull B bufferPoolThreadCacheSizes(final int smallCacheSize, final int normalCacheSize) {
+        if (smallCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Buffer pool small cache size must not be negative. Found: " + smallCacheSize);
+        }
+        if (normalCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Buffer pool normal cache size must not be negative. Found: " + normalCacheSize);
+        }
+        bufferPoolSmallCacheSize = smallCacheSize;
+        bufferPoolNormalCacheSize = normalCacheSize;
+        return self();
+    }
+
+    public @NotNull B zeroCopyIncomingPayloads(final boolean zeroCopyIncomingPayloads) {
+        this.zeroCopyIncomingPayloads = zeroCopyIncomingPayloads;
+        return self();
+    }
+
+    public @NotNull B incomingPayloadPoolSize(final int incomingPayloadPoolSize) {
+        if (incomingPayloadPoolSize < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming payload pool size must not be negative. Found: " + incomingPayloadPoolSize);
+        }
+        this.incomingPayloadPoolSize = incomingPayloadPoolSize;
+        return self();
+    }
+
+    public @NotNull B deliverOnEventLoop(final boolean deliverOnEventLoop) {
+        this.deliverOnEventLoop = deliverOnEventLoop;
+        return self();
+    }
+
+    public @NotNull B slowCallbackThreshold(final long slowCallbackThreshold, final @Nullable TimeUnit timeUnit) {
+        if (slowCallbackThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Slow callback threshold must not be negative. Found: " + slowCallbackThreshold);
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        slowCallbackThresholdMicros = timeUnit.toMicros(slowCallbackThreshold);
+        return self();
+    }
+
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler, bufferAllocation,
+                bufferPoolArenas, bufferPoolPageSize, bufferPoolChunkSize, bufferPoolSmallCacheSize,
+                bufferPoolNormalCacheSize, zeroCopyIncomingPayloads, incomingPayloadPoolSize, deliverOnEventLoop,
+                slowCallbackThresholdMicros);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
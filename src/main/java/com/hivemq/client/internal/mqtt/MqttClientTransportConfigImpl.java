@@ -32,24 +32,26 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
 
     public static final @NotNull MqttClientTransportConfigImpl DEFAULT = new MqttClientTransportConfigImpl(
             InetSocketAddress.createUnresolved(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT), null,
-            null, null, null);
+            null, null, null, MqttFlushPolicyImpl.IMMEDIATE);
 
     private final @NotNull InetSocketAddress serverAddress;
     private final @Nullable InetSocketAddress localAddress;
     private final @Nullable MqttClientSslConfigImpl sslConfig;
     private final @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private final @Nullable MqttProxyConfigImpl proxyConfig;
+    private final @NotNull MqttFlushPolicyImpl flushPolicy;
 
     MqttClientTransportConfigImpl(
             final @NotNull InetSocketAddress serverAddress, final @Nullable InetSocketAddress localAddress,
             final @Nullable MqttClientSslConfigImpl sslConfig, final @Nullable MqttWebSocketConfigImpl webSocketConfig,
-            final @Nullable MqttProxyConfigImpl proxyConfig) {
+            final @Nullable MqttProxyConfigImpl proxyConfig, final @NotNull MqttFlushPolicyImpl flushPolicy) {
 
         this.serverAddress = serverAddress;
         this.localAddress = localAddress;
         this.sslConfig = sslConfig;
         this.webSocketConfig = webSocketConfig;
         this.proxyConfig = proxyConfig;
+        this.flushPolicy = flushPolicy;
     }
 
     @Override
@@ -93,6 +95,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return proxyConfig;
     }
 
+    @Override
+    public @NotNull MqttFlushPolicyImpl getFlushPolicy() {
+        return flushPolicy;
+    }
+
     @Override
     public @NotNull MqttClientTransportConfigImplBuilder.Default extend() {
         return new MqttClientTransportConfigImplBuilder.Default(this);
@@ -110,7 +117,7 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
 
         return serverAddress.equals(that.serverAddress) && Objects.equals(localAddress, that.localAddress) &&
                 Objects.equals(sslConfig, that.sslConfig) && Objects.equals(webSocketConfig, that.webSocketConfig) &&
-                Objects.equals(proxyConfig, that.proxyConfig);
+                Objects.equals(proxyConfig, that.proxyConfig) && flushPolicy.equals(that.flushPolicy);
     }
 
     @Override
@@ -120,6 +127,7 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         result = 31 * result + Objects.hashCode(sslConfig);
         result = 31 * result + Objects.hashCode(webSocketConfig);
         result = 31 * result + Objects.hashCode(proxyConfig);
+        result = 31 * result + flushPolicy.hashCode();
         return result;
     }
 }
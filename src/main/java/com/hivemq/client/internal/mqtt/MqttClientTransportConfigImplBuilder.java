@@ -20,6 +20,7 @@ package com.hivemq.client.internal.mqtt;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfigBuilder;
+import com.hivemq.client.mqtt.MqttFlushPolicy;
 import com.hivemq.client.mqtt.MqttProxyConfig;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
@@ -43,6 +44,7 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     private @Nullable MqttClientSslConfigImpl sslConfig;
     private @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private @Nullable MqttProxyConfigImpl proxyConfig;
+    private @NotNull MqttFlushPolicyImpl flushPolicy = MqttFlushPolicyImpl.IMMEDIATE;
 
     MqttClientTransportConfigImplBuilder() {}
 
@@ -58,6 +60,7 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         sslConfig = builder.sslConfig;
         webSocketConfig = builder.webSocketConfig;
         proxyConfig = builder.proxyConfig;
+        flushPolicy = builder.flushPolicy;
     }
 
     void set(final @NotNull MqttClientTransportConfigImpl transportConfig) {
@@ -66,6 +69,7 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         sslConfig = transportConfig.getRawSslConfig();
         webSocketConfig = transportConfig.getRawWebSocketConfig();
         proxyConfig = transportConfig.getRawProxyConfig();
+        flushPolicy = transportConfig.getFlushPolicy();
     }
 
     abstract @NotNull B self();
@@ -208,6 +212,11 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return new MqttProxyConfigImplBuilder.Nested<>(proxyConfig, this::proxyConfig);
     }
 
+    public @NotNull B flushPolicy(final @Nullable MqttFlushPolicy flushPolicy) {
+        this.flushPolicy = Checks.notImplemented(flushPolicy, MqttFlushPolicyImpl.class, "Flush policy");
+        return self();
+    }
+
     private @NotNull InetSocketAddress getServerAddress() {
         if (serverAddress != null) {
             return serverAddress;
@@ -236,7 +245,7 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
 
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
         return new MqttClientTransportConfigImpl(
-                getServerAddress(), localAddress, sslConfig, webSocketConfig, proxyConfig);
+                getServerAddress(), localAddress, sslConfig, webSocketConfig, proxyConfig, flushPolicy);
     }
 
     public static class Default extends MqttClientTransportConfigImplBuilder<Default>
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttFlushPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttFlushPolicyImpl implements MqttFlushPolicy {
+
+    public static final @NotNull MqttFlushPolicyImpl IMMEDIATE =
+            new MqttFlushPolicyImpl(1, Integer.MAX_VALUE, 0);
+
+    private final int maxMessages;
+    private final int maxBytes;
+    private final long maxDelayMicros;
+
+    MqttFlushPolicyImpl(final int maxMessages, final int maxBytes, final long maxDelayMicros) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.maxDelayMicros = maxDelayMicros;
+    }
+
+    @Override
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    @Override
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public long getMaxDelayMicros() {
+        return maxDelayMicros;
+    }
+
+    public boolean isImmediate() {
+        return maxMessages == 1;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttFlushPolicyImpl)) {
+            return false;
+        }
+        final MqttFlushPolicyImpl that = (MqttFlushPolicyImpl) o;
+
+        return (maxMessages == that.maxMessages) && (maxBytes == that.maxBytes) &&
+                (maxDelayMicros == that.maxDelayMicros);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxMessages;
+        result = 31 * result + maxBytes;
+        result = 31 * result + Long.hashCode(maxDelayMicros);
+        return result;
+    }
+}
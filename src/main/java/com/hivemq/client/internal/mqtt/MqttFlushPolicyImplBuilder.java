@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttFlushPolicy;
+import com.hivemq.client.mqtt.MqttFlushPolicyBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttFlushPolicyImplBuilder implements MqttFlushPolicyBuilder {
+
+    private int maxMessages = Integer.MAX_VALUE;
+    private int maxBytes = Integer.MAX_VALUE;
+    private long maxDelayMicros = MqttFlushPolicy.DEFAULT_MAX_DELAY_MICROS;
+
+    public MqttFlushPolicyImplBuilder() {}
+
+    @Override
+    public @NotNull MqttFlushPolicyImplBuilder maxMessages(final int maxMessages) {
+        if (maxMessages <= 0) {
+            throw new IllegalArgumentException("Max messages must be greater than 0. Found: " + maxMessages);
+        }
+        this.maxMessages = maxMessages;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttFlushPolicyImplBuilder maxBytes(final int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be greater than 0. Found: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttFlushPolicyImplBuilder maxDelay(final long maxDelay, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Max delay must not be negative. Found: " + maxDelay);
+        }
+        this.maxDelayMicros = timeUnit.toMicros(maxDelay);
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttFlushPolicyImpl build() {
+        return new MqttFlushPolicyImpl(maxMessages, maxBytes, maxDelayMicros);
+    }
+}
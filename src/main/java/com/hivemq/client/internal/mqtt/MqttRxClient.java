@@ -22,10 +22,13 @@ import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckBatchSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFuture;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingleFlowable;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubAckSingle;
+import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubOrUnsubAckFuture;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttUnsubAckSingle;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
@@ -34,7 +37,9 @@ import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
@@ -55,12 +60,17 @@ import io.reactivex.internal.fuseable.ScalarCallable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author Silvio Giebl
  */
 public class MqttRxClient implements Mqtt5RxClient {
 
     private static final @NotNull Function<Mqtt5Publish, MqttPublish> PUBLISH_MAPPER = MqttChecks::publish;
+    private static final @NotNull Function<Mqtt5Publish, Mqtt5Publish> DETACH_PAYLOAD_MAPPER =
+            publish -> ((MqttPublish) publish).detachPayload();
 
     private final @NotNull MqttClientConfig clientConfig;
 
@@ -74,7 +84,7 @@ public class MqttRxClient implements Mqtt5RxClient {
     }
 
     @NotNull Single<Mqtt5ConnAck> connect(final @NotNull MqttConnect connect) {
-        return connectUnsafe(connect).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(connectUnsafe(connect));
     }
 
     @NotNull Single<Mqtt5ConnAck> connectUnsafe(final @NotNull MqttConnect connect) {
@@ -87,13 +97,17 @@ public class MqttRxClient implements Mqtt5RxClient {
     }
 
     @NotNull Single<Mqtt5SubAck> subscribe(final @NotNull MqttSubscribe subscribe) {
-        return subscribeUnsafe(subscribe).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(subscribeUnsafe(subscribe));
     }
 
     @NotNull Single<Mqtt5SubAck> subscribeUnsafe(final @NotNull MqttSubscribe subscribe) {
         return new MqttSubAckSingle(subscribe, clientConfig);
     }
 
+    public @NotNull CompletableFuture<Mqtt5SubAck> subscribeFuture(final @NotNull MqttSubscribe subscribe) {
+        return MqttSubOrUnsubAckFuture.subscribe(subscribe, clientConfig);
+    }
+
     @Override
     public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(
             final @Nullable Mqtt5Subscribe subscribe) {
@@ -102,8 +116,10 @@ public class MqttRxClient implements Mqtt5RxClient {
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStream(final @NotNull MqttSubscribe subscribe) {
-        return subscribeStreamUnsafe(subscribe).observeOnBoth(
-                clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        final FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> publishes = subscribeStreamUnsafe(subscribe);
+        return executorConfig.isDeliverOnEventLoop() ? publishes :
+                detachPayloads(publishes, executorConfig).observeOnBoth(executorConfig.getApplicationScheduler(), true);
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStreamUnsafe(
@@ -112,38 +128,76 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttSubscribedPublishFlowable(subscribe, clientConfig);
     }
 
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribeStreamUnsafe(
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement) {
+
+        return new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement);
+    }
+
     @Override
     public @NotNull Flowable<Mqtt5Publish> publishes(final @Nullable MqttGlobalPublishFilter filter) {
         Checks.notNull(filter, "Global publish filter");
 
-        return publishesUnsafe(filter).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        final Flowable<Mqtt5Publish> publishes = publishesUnsafe(filter);
+        return executorConfig.isDeliverOnEventLoop() ? publishes :
+                detachPayloads(publishes, executorConfig).observeOn(executorConfig.getApplicationScheduler(), true);
     }
 
-    @NotNull Flowable<Mqtt5Publish> publishesUnsafe(final @NotNull MqttGlobalPublishFilter filter) {
+    public @NotNull Flowable<Mqtt5Publish> publishesUnsafe(final @NotNull MqttGlobalPublishFilter filter) {
         return new MqttGlobalIncomingPublishFlowable(filter, clientConfig);
     }
 
+    @NotNull Flowable<Mqtt5Publish> publishesUnsafe(
+            final @NotNull MqttGlobalPublishFilter filter, final boolean manualAcknowledgement) {
+
+        return new MqttGlobalIncomingPublishFlowable(filter, clientConfig, manualAcknowledgement);
+    }
+
     @Override
     public @NotNull Single<Mqtt5UnsubAck> unsubscribe(final @Nullable Mqtt5Unsubscribe unsubscribe) {
         return unsubscribe(MqttChecks.unsubscribe(unsubscribe));
     }
 
     @NotNull Single<Mqtt5UnsubAck> unsubscribe(final @NotNull MqttUnsubscribe unsubscribe) {
-        return unsubscribeUnsafe(unsubscribe).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(unsubscribeUnsafe(unsubscribe));
     }
 
     @NotNull Single<Mqtt5UnsubAck> unsubscribeUnsafe(final @NotNull MqttUnsubscribe unsubscribe) {
         return new MqttUnsubAckSingle(unsubscribe, clientConfig);
     }
 
+    public @NotNull CompletableFuture<Mqtt5UnsubAck> unsubscribeFuture(final @NotNull MqttUnsubscribe unsubscribe) {
+        return MqttSubOrUnsubAckFuture.unsubscribe(unsubscribe, clientConfig);
+    }
+
     @NotNull Single<Mqtt5PublishResult> publish(final @NotNull MqttPublish publish) {
-        return publishUnsafe(publish).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(publishUnsafe(publish));
     }
 
     @NotNull Single<Mqtt5PublishResult> publishUnsafe(final @NotNull MqttPublish publish) {
         return new MqttAckSingle(clientConfig, publish);
     }
 
+    @NotNull CompletableFuture<Mqtt5PublishResult> publishFuture(final @NotNull MqttPublish publish) {
+        return new MqttAckFuture(clientConfig, publish);
+    }
+
+    @NotNull Single<List<Mqtt5PublishResult>> publishAll(final @NotNull ImmutableList<MqttPublish> publishes) {
+        return observeOnApplication(publishAllUnsafe(publishes));
+    }
+
+    @NotNull Single<List<Mqtt5PublishResult>> publishAllUnsafe(final @NotNull ImmutableList<MqttPublish> publishes) {
+        return new MqttAckBatchSingle(clientConfig, publishes);
+    }
+
+    void publishFireAndForget(final @NotNull MqttPublish publish) {
+        if (publish.getQos() != MqttQos.AT_MOST_ONCE) {
+            throw new IllegalArgumentException("Fire-and-forget is only supported for QoS 0 Publish messages.");
+        }
+        clientConfig.getClientComponent().outgoingQosHandler().onFireAndForget(publish);
+    }
+
     @Override
     public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
@@ -167,16 +221,15 @@ public class MqttRxClient implements Mqtt5RxClient {
             } catch (final Throwable t) {
                 return Flowable.error(t);
             }
-            return new MqttAckSingleFlowable(clientConfig, mqttPublish).observeOn(applicationScheduler, true);
+            return observeOnApplication(new MqttAckSingleFlowable(clientConfig, mqttPublish));
         }
-        return new MqttAckFlowable(
-                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(publishMapper)).observeOn(
-                applicationScheduler, true);
+        return observeOnApplication(new MqttAckFlowable(
+                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(publishMapper)));
     }
 
     @Override
     public @NotNull Completable reauth() {
-        return reauthUnsafe().observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(reauthUnsafe());
     }
 
     @NotNull Completable reauthUnsafe() {
@@ -189,7 +242,7 @@ public class MqttRxClient implements Mqtt5RxClient {
     }
 
     @NotNull Completable disconnect(final @NotNull MqttDisconnect disconnect) {
-        return disconnectUnsafe(disconnect).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+        return observeOnApplication(disconnectUnsafe(disconnect));
     }
 
     @NotNull Completable disconnectUnsafe(final @NotNull MqttDisconnect disconnect) {
@@ -210,4 +263,50 @@ public class MqttRxClient implements Mqtt5RxClient {
     public @NotNull MqttBlockingClient toBlocking() {
         return new MqttBlockingClient(this);
     }
+
+    private <T> @NotNull Single<T> observeOnApplication(final @NotNull Single<T> single) {
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        return executorConfig.isDeliverOnEventLoop() ? single :
+                single.observeOn(executorConfig.getApplicationScheduler());
+    }
+
+    private @NotNull Completable observeOnApplication(final @NotNull Completable completable) {
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        return executorConfig.isDeliverOnEventLoop() ? completable :
+                completable.observeOn(executorConfig.getApplicationScheduler());
+    }
+
+    private <T> @NotNull Flowable<T> observeOnApplication(final @NotNull Flowable<T> flowable) {
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        return executorConfig.isDeliverOnEventLoop() ? flowable :
+                flowable.observeOn(executorConfig.getApplicationScheduler(), true);
+    }
+
+    /**
+     * Copies the payloads of incoming Publish messages that reference buffers of the client (zero-copy or pooled
+     * payloads), so they can be queued by an operator like <code>observeOn</code> or <code>publishOn</code>. These
+     * operators drop their queued Publish messages without releasing them if their subscriber cancels.
+     *
+     * @param publishes      the incoming Publish messages before the operator that queues them.
+     * @param executorConfig the executor config of the client.
+     * @return the incoming Publish messages that own their payloads.
+     */
+    public static @NotNull Flowable<Mqtt5Publish> detachPayloads(
+            final @NotNull Flowable<Mqtt5Publish> publishes,
+            final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+
+        return isIncomingPayloadReferenced(executorConfig) ? publishes.map(DETACH_PAYLOAD_MAPPER) : publishes;
+    }
+
+    static <S> @NotNull FlowableWithSingle<Mqtt5Publish, S> detachPayloads(
+            final @NotNull FlowableWithSingle<Mqtt5Publish, S> publishes,
+            final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+
+        return isIncomingPayloadReferenced(executorConfig) ? publishes.mapBoth(DETACH_PAYLOAD_MAPPER, s -> s) :
+                publishes;
+    }
+
+    private static boolean isIncomingPayloadReferenced(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+        return executorConfig.isZeroCopyIncomingPayloads() || (executorConfig.getIncomingPayloadPoolSize() > 0);
+    }
 }
@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttTopicCache;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientAutoReconnectImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientAutoReconnectImplBuilder;
@@ -49,6 +50,11 @@ public abstract class MqttRxClientBuilderBase<B extends MqttRxClientBuilderBase<
     private @Nullable MqttClientAutoReconnectImpl autoReconnect;
     private @Nullable ImmutableList.Builder<MqttClientConnectedListener> connectedListenersBuilder;
     private @Nullable ImmutableList.Builder<MqttClientDisconnectedListener> disconnectedListenersBuilder;
+    private @Nullable MqttFireAndForgetFailureListener fireAndForgetFailureListener;
+    private int incomingQos0BufferCapacity;
+    private @NotNull MqttIncomingQos0DropPolicy incomingQos0DropPolicy = MqttIncomingQos0DropPolicy.DROP_OLDEST;
+    private @Nullable MqttIncomingQos0DropListener incomingQos0DropListener;
+    private int incomingTopicCacheCapacity = MqttTopicCache.DEFAULT_CAPACITY;
 
     protected MqttRxClientBuilderBase() {}
 
@@ -60,6 +66,11 @@ public abstract class MqttRxClientBuilderBase<B extends MqttRxClientBuilderBase<
         autoReconnect = clientBuilder.autoReconnect;
         connectedListenersBuilder = clientBuilder.connectedListenersBuilder;
         disconnectedListenersBuilder = clientBuilder.disconnectedListenersBuilder;
+        fireAndForgetFailureListener = clientBuilder.fireAndForgetFailureListener;
+        incomingQos0BufferCapacity = clientBuilder.incomingQos0BufferCapacity;
+        incomingQos0DropPolicy = clientBuilder.incomingQos0DropPolicy;
+        incomingQos0DropListener = clientBuilder.incomingQos0DropListener;
+        incomingTopicCacheCapacity = clientBuilder.incomingTopicCacheCapacity;
     }
 
     protected abstract @NotNull B self();
@@ -175,6 +186,41 @@ public abstract class MqttRxClientBuilderBase<B extends MqttRxClientBuilderBase<
         return self();
     }
 
+    public @NotNull B fireAndForgetFailureListener(
+            final @Nullable MqttFireAndForgetFailureListener fireAndForgetFailureListener) {
+
+        this.fireAndForgetFailureListener = fireAndForgetFailureListener;
+        return self();
+    }
+
+    public @NotNull B incomingQos0BufferCapacity(final int incomingQos0BufferCapacity) {
+        if (incomingQos0BufferCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming QoS 0 buffer capacity must not be negative. Found: " + incomingQos0BufferCapacity);
+        }
+        this.incomingQos0BufferCapacity = incomingQos0BufferCapacity;
+        return self();
+    }
+
+    public @NotNull B incomingQos0DropPolicy(final @Nullable MqttIncomingQos0DropPolicy incomingQos0DropPolicy) {
+        this.incomingQos0DropPolicy = Checks.notNull(incomingQos0DropPolicy, "Incoming QoS 0 drop policy");
+        return self();
+    }
+
+    public @NotNull B incomingQos0DropListener(final @Nullable MqttIncomingQos0DropListener incomingQos0DropListener) {
+        this.incomingQos0DropListener = incomingQos0DropListener;
+        return self();
+    }
+
+    public @NotNull B incomingTopicCacheCapacity(final int incomingTopicCacheCapacity) {
+        if (incomingTopicCacheCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming topic cache capacity must not be negative. Found: " + incomingTopicCacheCapacity);
+        }
+        this.incomingTopicCacheCapacity = incomingTopicCacheCapacity;
+        return self();
+    }
+
     @Override
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
         if (transportConfig == null) {
@@ -210,7 +256,9 @@ public abstract class MqttRxClientBuilderBase<B extends MqttRxClientBuilderBase<
             final @NotNull MqttClientConfig.ConnectDefaults connectDefaults) {
 
         return new MqttClientConfig(mqttVersion, identifier, buildTransportConfig(), executorConfig, advancedConfig,
-                connectDefaults, buildConnectedListeners(), buildDisconnectedListeners());
+                connectDefaults, buildConnectedListeners(), buildDisconnectedListeners(), fireAndForgetFailureListener,
+                incomingQos0BufferCapacity, incomingQos0DropPolicy, incomingQos0DropListener,
+                incomingTopicCacheCapacity);
     }
 
     public static class Choose extends MqttRxClientBuilderBase<Choose> implements MqttClientBuilder {
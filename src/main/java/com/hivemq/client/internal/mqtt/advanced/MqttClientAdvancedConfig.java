@@ -18,7 +18,10 @@
 package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriorityClassifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,19 +32,36 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final int DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES = 64;
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, null, DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES, null,
+                    MqttTopicAliasPolicy.ADAPTIVE, null, false);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final int maxConcurrentPublishFlowables;
+    private final @Nullable Mqtt5OutgoingSessionPersistence outgoingSessionPersistence;
+    private final @NotNull MqttTopicAliasPolicy topicAliasPolicy;
+    private final @Nullable Mqtt5PublishPriorityClassifier publishPriorityClassifier;
+    private final boolean lazyDecodePublishProperties;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth, final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final @Nullable MqttClientInterceptors interceptors, final int maxConcurrentPublishFlowables,
+            final @Nullable Mqtt5OutgoingSessionPersistence outgoingSessionPersistence,
+            final @NotNull MqttTopicAliasPolicy topicAliasPolicy,
+            final @Nullable Mqtt5PublishPriorityClassifier publishPriorityClassifier,
+            final boolean lazyDecodePublishProperties) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
         this.interceptors = interceptors;
+        this.maxConcurrentPublishFlowables = maxConcurrentPublishFlowables;
+        this.outgoingSessionPersistence = outgoingSessionPersistence;
+        this.topicAliasPolicy = topicAliasPolicy;
+        this.publishPriorityClassifier = publishPriorityClassifier;
+        this.lazyDecodePublishProperties = lazyDecodePublishProperties;
     }
 
     @Override
@@ -59,6 +79,31 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return interceptors;
     }
 
+    @Override
+    public int getMaxConcurrentPublishFlowables() {
+        return maxConcurrentPublishFlowables;
+    }
+
+    @Override
+    public @Nullable Mqtt5OutgoingSessionPersistence getOutgoingSessionPersistence() {
+        return outgoingSessionPersistence;
+    }
+
+    @Override
+    public @NotNull MqttTopicAliasPolicy getTopicAliasPolicy() {
+        return topicAliasPolicy;
+    }
+
+    @Override
+    public @Nullable Mqtt5PublishPriorityClassifier getPublishPriorityClassifier() {
+        return publishPriorityClassifier;
+    }
+
+    @Override
+    public boolean isLazyDecodePublishProperties() {
+        return lazyDecodePublishProperties;
+    }
+
     @Override
     public @NotNull MqttClientAdvancedConfigBuilder.Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,7 +120,12 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                Objects.equals(interceptors, that.interceptors) &&
+                (maxConcurrentPublishFlowables == that.maxConcurrentPublishFlowables) &&
+                Objects.equals(outgoingSessionPersistence, that.outgoingSessionPersistence) &&
+                topicAliasPolicy.equals(that.topicAliasPolicy) &&
+                Objects.equals(publishPriorityClassifier, that.publishPriorityClassifier) &&
+                (lazyDecodePublishProperties == that.lazyDecodePublishProperties);
     }
 
     @Override
@@ -83,6 +133,11 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + maxConcurrentPublishFlowables;
+        result = 31 * result + Objects.hashCode(outgoingSessionPersistence);
+        result = 31 * result + topicAliasPolicy.hashCode();
+        result = 31 * result + Objects.hashCode(publishPriorityClassifier);
+        result = 31 * result + Boolean.hashCode(lazyDecodePublishProperties);
         return result;
     }
 }
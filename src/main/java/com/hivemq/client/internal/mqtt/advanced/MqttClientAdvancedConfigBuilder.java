@@ -19,9 +19,13 @@ package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicAliasPolicy;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriorityClassifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,6 +39,11 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
     private @Nullable MqttClientInterceptors interceptors;
+    private int maxConcurrentPublishFlowables = MqttClientAdvancedConfig.DEFAULT_MAX_CONCURRENT_PUBLISH_FLOWABLES;
+    private @Nullable Mqtt5OutgoingSessionPersistence outgoingSessionPersistence;
+    private @NotNull MqttTopicAliasPolicy topicAliasPolicy = MqttTopicAliasPolicy.ADAPTIVE;
+    private @Nullable Mqtt5PublishPriorityClassifier publishPriorityClassifier;
+    private boolean lazyDecodePublishProperties;
 
     MqttClientAdvancedConfigBuilder() {}
 
@@ -42,6 +51,11 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
         interceptors = advancedConfig.getInterceptors();
+        maxConcurrentPublishFlowables = advancedConfig.getMaxConcurrentPublishFlowables();
+        outgoingSessionPersistence = advancedConfig.getOutgoingSessionPersistence();
+        topicAliasPolicy = advancedConfig.getTopicAliasPolicy();
+        publishPriorityClassifier = advancedConfig.getPublishPriorityClassifier();
+        lazyDecodePublishProperties = advancedConfig.isLazyDecodePublishProperties();
     }
 
     abstract @NotNull B self();
@@ -65,8 +79,45 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B maxConcurrentPublishFlowables(final int maxConcurrentPublishFlowables) {
+        if (maxConcurrentPublishFlowables <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum concurrent publish flowables must be greater than 0. Found: " +
+                            maxConcurrentPublishFlowables);
+        }
+        this.maxConcurrentPublishFlowables = maxConcurrentPublishFlowables;
+        return self();
+    }
+
+    public @NotNull B outgoingSessionPersistence(
+            final @Nullable Mqtt5OutgoingSessionPersistence outgoingSessionPersistence) {
+
+        this.outgoingSessionPersistence = outgoingSessionPersistence;
+        return self();
+    }
+
+    public @NotNull B topicAliasPolicy(final @Nullable Mqtt5TopicAliasPolicy topicAliasPolicy) {
+        this.topicAliasPolicy =
+                Checks.notImplemented(topicAliasPolicy, MqttTopicAliasPolicy.class, "Topic alias policy");
+        return self();
+    }
+
+    public @NotNull B publishPriorityClassifier(
+            final @Nullable Mqtt5PublishPriorityClassifier publishPriorityClassifier) {
+
+        this.publishPriorityClassifier = publishPriorityClassifier;
+        return self();
+    }
+
+    public @NotNull B lazyDecodePublishProperties(final boolean lazyDecodePublishProperties) {
+        this.lazyDecodePublishProperties = lazyDecodePublishProperties;
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors,
+                maxConcurrentPublishFlowables, outgoingSessionPersistence, topicAliasPolicy, publishPriorityClassifier,
+                lazyDecodePublishProperties);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
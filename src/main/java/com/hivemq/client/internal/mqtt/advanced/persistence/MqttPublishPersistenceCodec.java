@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes Publish messages for the session journal.
+ * <p>
+ * Format: flags byte, topic, optional properties (indicated by the flags), user properties (count and pairs of UTF-8
+ * encoded strings), payload (length as int, -1 if absent, and bytes).
+ *
+ * @author Silvio Giebl
+ */
+final class MqttPublishPersistenceCodec {
+
+    private static final int NO_PAYLOAD = -1;
+    private static final int FLAG_RETAIN = 1 << 2;
+    private static final int FLAG_MESSAGE_EXPIRY = 1 << 3;
+    private static final int FLAG_PAYLOAD_FORMAT_INDICATOR = 1 << 4;
+    private static final int FLAG_CONTENT_TYPE = 1 << 5;
+    private static final int FLAG_RESPONSE_TOPIC = 1 << 6;
+    private static final int FLAG_CORRELATION_DATA = 1 << 7;
+
+    static void encode(final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        final Mqtt5PayloadFormatIndicator payloadFormatIndicator = publish.getRawPayloadFormatIndicator();
+        final MqttUtf8StringImpl contentType = publish.getRawContentType();
+        final MqttTopicImpl responseTopic = publish.getRawResponseTopic();
+        final ByteBuffer correlationData = publish.getRawCorrelationData();
+
+        int flags = publish.getQos().getCode();
+        if (publish.isRetain()) {
+            flags |= FLAG_RETAIN;
+        }
+        if (messageExpiryInterval != MqttPublish.NO_MESSAGE_EXPIRY) {
+            flags |= FLAG_MESSAGE_EXPIRY;
+        }
+        if (payloadFormatIndicator != null) {
+            flags |= FLAG_PAYLOAD_FORMAT_INDICATOR;
+        }
+        if (contentType != null) {
+            flags |= FLAG_CONTENT_TYPE;
+        }
+        if (responseTopic != null) {
+            flags |= FLAG_RESPONSE_TOPIC;
+        }
+        if (correlationData != null) {
+            flags |= FLAG_CORRELATION_DATA;
+        }
+        out.writeByte(flags);
+        publish.getTopic().encode(out);
+        if (messageExpiryInterval != MqttPublish.NO_MESSAGE_EXPIRY) {
+            out.writeLong(messageExpiryInterval);
+        }
+        if (payloadFormatIndicator != null) {
+            out.writeByte(payloadFormatIndicator.getCode());
+        }
+        if (contentType != null) {
+            contentType.encode(out);
+        }
+        if (responseTopic != null) {
+            responseTopic.encode(out);
+        }
+        if (correlationData != null) {
+            MqttBinaryData.encode(correlationData, out);
+        }
+
+        final ImmutableList<MqttUserPropertyImpl> userProperties = publish.getUserProperties().asList();
+        out.writeInt(userProperties.size());
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < userProperties.size(); i++) {
+            final MqttUserPropertyImpl userProperty = userProperties.get(i);
+            userProperty.getName().encode(out);
+            userProperty.getValue().encode(out);
+        }
+
+        final ByteBuffer payload = publish.getRawPayload();
+        if (payload == null) {
+            out.writeInt(NO_PAYLOAD);
+        } else {
+            out.writeInt(payload.remaining());
+            out.writeBytes(payload.duplicate());
+        }
+    }
+
+    static @Nullable MqttPublish decode(final @NotNull ByteBuf in) {
+        try {
+            final int flags = in.readUnsignedByte();
+            final MqttQos qos = MqttQos.fromCode(flags & 0b11);
+            final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+            if ((qos == null) || (topic == null)) {
+                return null;
+            }
+            final long messageExpiryInterval =
+                    ((flags & FLAG_MESSAGE_EXPIRY) == 0) ? MqttPublish.NO_MESSAGE_EXPIRY : in.readLong();
+            final Mqtt5PayloadFormatIndicator payloadFormatIndicator =
+                    ((flags & FLAG_PAYLOAD_FORMAT_INDICATOR) == 0) ? null :
+                            Mqtt5PayloadFormatIndicator.fromCode(in.readUnsignedByte());
+            final MqttUtf8StringImpl contentType =
+                    ((flags & FLAG_CONTENT_TYPE) == 0) ? null : MqttUtf8StringImpl.decode(in);
+            final MqttTopicImpl responseTopic = ((flags & FLAG_RESPONSE_TOPIC) == 0) ? null : MqttTopicImpl.decode(in);
+            final ByteBuffer correlationData =
+                    ((flags & FLAG_CORRELATION_DATA) == 0) ? null : MqttBinaryData.decode(in, false);
+
+            final int userPropertiesCount = in.readInt();
+            if (userPropertiesCount < 0) {
+                return null;
+            }
+            final ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder =
+                    ImmutableList.builder(userPropertiesCount);
+            for (int i = 0; i < userPropertiesCount; i++) {
+                final MqttUtf8StringImpl name = MqttUtf8StringImpl.decode(in);
+                final MqttUtf8StringImpl value = MqttUtf8StringImpl.decode(in);
+                if ((name == null) || (value == null)) {
+                    return null;
+                }
+                userPropertiesBuilder.add(new MqttUserPropertyImpl(name, value));
+            }
+
+            final int payloadLength = in.readInt();
+            final ByteBuffer payload;
+            if (payloadLength == NO_PAYLOAD) {
+                payload = null;
+            } else if ((payloadLength < 0) || (payloadLength > in.readableBytes())) {
+                return null;
+            } else {
+                payload = ByteBuffer.allocate(payloadLength);
+                in.readBytes(payload);
+                payload.flip();
+            }
+
+            return new MqttPublish(topic, payload, qos, (flags & FLAG_RETAIN) != 0, messageExpiryInterval,
+                    payloadFormatIndicator, contentType, responseTopic, correlationData,
+                    MqttUserPropertiesImpl.of(userPropertiesBuilder.build()));
+        } catch (final IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    private MqttPublishPersistenceCodec() {}
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5SessionJournalSyncMode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only memory-mapped journal of the outgoing session state.
+ * <p>
+ * File format: header (magic, generation), records (body length, CRC32 of the body, body), end marker (0). A record
+ * body consists of the record type, the Packet Identifier and for Publish records the encoded Publish message.
+ * <p>
+ * The live entries are additionally kept in memory so compaction can write them to the other of the two journal files
+ * without reading the current one. The file with the valid header and the highest generation wins when opening the
+ * journal. Reading stops at the first record with an invalid length or checksum, which is the torn end of the journal.
+ * <p>
+ * The files are opened when the journal is built, closed (and unmapped) when the client no longer uses its thread and
+ * reopened on the next access.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttSessionJournal implements Mqtt5OutgoingSessionPersistence {
+
+    static final int MIN_SIZE = 4 * 1024;
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttSessionJournal.class);
+    private static final int MAGIC = 0x4D514A31; // MQJ1
+    private static final int HEADER_LENGTH = 4 + 8; // magic, generation
+    private static final int RECORD_HEADER_LENGTH = 4 + 4; // body length, checksum
+    private static final int END_MARKER_LENGTH = 4;
+    private static final int BODY_HEADER_LENGTH = 1 + 2; // type, packet identifier
+    private static final byte TYPE_PUBLISH = 1;
+    private static final byte TYPE_PUBREL = 2;
+    private static final byte TYPE_REMOVE = 3;
+
+    private final @NotNull Path file;
+    private final @NotNull Mqtt5SessionJournalSyncMode syncMode;
+    private final int initialSize;
+    private final @NotNull CRC32 crc32 = new CRC32();
+    private final @NotNull LinkedHashMap<Integer, byte[]> entries = new LinkedHashMap<>();
+
+    private @NotNull FileChannel @Nullable [] channels;
+    private int current;
+    private long generation;
+    private @Nullable MappedByteBuffer buffer;
+    private int position;
+    private int liveBytes;
+    private int garbageBytes;
+    private boolean dirty;
+
+    MqttSessionJournal(
+            final @NotNull Path file, final @NotNull Mqtt5SessionJournalSyncMode syncMode, final int initialSize)
+            throws IOException {
+
+        this.file = file;
+        this.syncMode = syncMode;
+        this.initialSize = initialSize;
+        open();
+    }
+
+    private void open() throws IOException {
+        final FileChannel[] channels = new FileChannel[2];
+        try {
+            channels[0] = open(file);
+            channels[1] = open(file.resolveSibling(file.getFileName() + ".compact"));
+            map(channels);
+        } catch (final IOException e) {
+            for (final FileChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            throw e;
+        }
+        this.channels = channels;
+    }
+
+    private void map(final @NotNull FileChannel @NotNull [] channels) throws IOException {
+        entries.clear();
+        liveBytes = 0;
+        garbageBytes = 0;
+        dirty = false;
+
+        int valid = -1;
+        long validGeneration = -1;
+        for (int i = 0; i < channels.length; i++) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            if ((channels[i].read(header, 0) == HEADER_LENGTH) && (header.getInt(0) == MAGIC)) {
+                final long generation = header.getLong(4);
+                if (generation > validGeneration) {
+                    valid = i;
+                    validGeneration = generation;
+                }
+            }
+        }
+        if (valid == -1) {
+            current = 0;
+            generation = 0;
+            final MappedByteBuffer buffer = channels[0].map(FileChannel.MapMode.READ_WRITE, 0, initialSize);
+            buffer.putInt(HEADER_LENGTH, 0);
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(4, generation);
+            buffer.force();
+            this.buffer = buffer;
+            position = HEADER_LENGTH;
+        } else {
+            current = valid;
+            generation = validGeneration;
+            final long size = Math.min(Math.max(channels[valid].size(), initialSize), Integer.MAX_VALUE);
+            buffer = channels[valid].map(FileChannel.MapMode.READ_WRITE, 0, size);
+            read();
+        }
+    }
+
+    private static @NotNull FileChannel open(final @NotNull Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private boolean ensureOpen() {
+        if (channels != null) {
+            return true;
+        }
+        try {
+            open();
+            return true;
+        } catch (final IOException e) {
+            LOGGER.error("Session journal " + file + " could not be reopened, changes are not persisted.", e);
+            return false;
+        }
+    }
+
+    private void read() {
+        final MappedByteBuffer buffer = this.buffer;
+        assert buffer != null;
+        final int capacity = buffer.capacity();
+        int position = HEADER_LENGTH;
+        while (position + RECORD_HEADER_LENGTH <= capacity) {
+            final int length = buffer.getInt(position);
+            if ((length < BODY_HEADER_LENGTH) || (length > capacity - position - RECORD_HEADER_LENGTH)) {
+                break;
+            }
+            final byte[] body = new byte[length];
+            final ByteBuffer slice = buffer.duplicate();
+            slice.position(position + RECORD_HEADER_LENGTH);
+            slice.get(body);
+            if (buffer.getInt(position + 4) != checksum(body)) {
+                break;
+            }
+            apply(body);
+            position += RECORD_HEADER_LENGTH + length;
+        }
+        if (position + END_MARKER_LENGTH <= capacity) {
+            buffer.putInt(position, 0); // cut off a torn record
+        }
+        this.position = position;
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void restore(final @NotNull Restorer restorer) {
+        if (!ensureOpen()) {
+            return;
+        }
+        for (final Map.Entry<Integer, byte[]> entry : entries.entrySet()) {
+            final int packetIdentifier = entry.getKey();
+            final byte[] body = entry.getValue();
+            if (body[0] == TYPE_PUBLISH) {
+                final MqttPublish publish = MqttPublishPersistenceCodec.decode(
+                        Unpooled.wrappedBuffer(body, BODY_HEADER_LENGTH, body.length - BODY_HEADER_LENGTH));
+                if (publish == null) {
+                    LOGGER.error(
+                            "Persisted PUBLISH with packet identifier " + packetIdentifier + " could not be decoded.");
+                } else {
+                    restorer.onPublish(packetIdentifier, publish);
+                }
+            } else {
+                restorer.onPubRel(packetIdentifier);
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void storePublish(final int packetIdentifier, final @NotNull Mqtt5Publish publish) {
+        if (!ensureOpen()) {
+            return;
+        }
+        final ByteBuf out = Unpooled.buffer();
+        try {
+            out.writeByte(TYPE_PUBLISH);
+            out.writeShort(packetIdentifier);
+            MqttPublishPersistenceCodec.encode(MqttChecks.publish(publish), out);
+            write(ByteBufUtil.getBytes(out));
+        } finally {
+            out.release();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void storePubRel(final int packetIdentifier) {
+        if (!ensureOpen()) {
+            return;
+        }
+        write(body(TYPE_PUBREL, packetIdentifier));
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void remove(final int packetIdentifier) {
+        if (!ensureOpen()) {
+            return;
+        }
+        write(body(TYPE_REMOVE, packetIdentifier));
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void clear() {
+        if (!ensureOpen()) {
+            return;
+        }
+        final MappedByteBuffer buffer = this.buffer;
+        assert buffer != null;
+        entries.clear();
+        liveBytes = 0;
+        garbageBytes = 0;
+        position = HEADER_LENGTH;
+        buffer.putInt(HEADER_LENGTH, 0);
+        sync();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void flush() {
+        final MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return; // closed, nothing to flush
+        }
+        if (dirty) {
+            dirty = false;
+            buffer.force();
+        }
+        if ((garbageBytes > liveBytes) && (garbageBytes > buffer.capacity() / 4)) {
+            compact(0);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void close() {
+        final FileChannel[] channels = this.channels;
+        if (channels == null) {
+            return;
+        }
+        flush();
+        final MappedByteBuffer buffer = this.buffer;
+        assert buffer != null;
+        this.channels = null;
+        this.buffer = null;
+        PlatformDependent.freeDirectBuffer(buffer); // unmap eagerly instead of waiting for the garbage collector
+        for (final FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.error("Session journal " + file + " could not be closed.", e);
+            }
+        }
+    }
+
+    private static @NotNull byte[] body(final byte type, final int packetIdentifier) {
+        return new byte[]{type, (byte) (packetIdentifier >> 8), (byte) packetIdentifier};
+    }
+
+    private void write(final @NotNull byte[] body) {
+        apply(body);
+        final int recordLength = RECORD_HEADER_LENGTH + body.length;
+        final MappedByteBuffer buffer = this.buffer;
+        assert buffer != null;
+        if (position + recordLength + END_MARKER_LENGTH > buffer.capacity()) {
+            compact(recordLength); // the compacted journal already contains the applied record
+            return;
+        }
+        append(buffer, position, body);
+        position += recordLength;
+        sync();
+    }
+
+    private void apply(final @NotNull byte[] body) {
+        final int packetIdentifier = ((body[1] & 0xFF) << 8) | (body[2] & 0xFF);
+        final int recordLength = RECORD_HEADER_LENGTH + body.length;
+        final byte[] previous;
+        if (body[0] == TYPE_REMOVE) {
+            previous = entries.remove(packetIdentifier);
+            garbageBytes += recordLength;
+        } else {
+            previous = entries.put(packetIdentifier, body);
+            liveBytes += recordLength;
+        }
+        if (previous != null) {
+            final int previousLength = RECORD_HEADER_LENGTH + previous.length;
+            liveBytes -= previousLength;
+            garbageBytes += previousLength;
+        }
+    }
+
+    private void append(final @NotNull MappedByteBuffer buffer, final int position, final @NotNull byte[] body) {
+        final int bodyPosition = position + RECORD_HEADER_LENGTH;
+        buffer.putInt(bodyPosition + body.length, 0);
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(bodyPosition);
+        slice.put(body);
+        buffer.putInt(position + 4, checksum(body));
+        buffer.putInt(position, body.length); // written last, the record is invalid until then
+    }
+
+    private void compact(final int additionalLength) {
+        final long minSize = 2L * (HEADER_LENGTH + liveBytes + additionalLength + END_MARKER_LENGTH);
+        long size = initialSize;
+        while (size < minSize) {
+            size *= 2;
+        }
+        final FileChannel[] channels = this.channels;
+        final MappedByteBuffer buffer = this.buffer;
+        assert (channels != null) && (buffer != null);
+        final int next = 1 - current;
+        final MappedByteBuffer nextBuffer;
+        try {
+            nextBuffer = channels[next].map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+        } catch (final IOException e) {
+            LOGGER.error("Session journal could not be compacted, changes are no longer persisted.", e);
+            return;
+        }
+        nextBuffer.putInt(0, 0);
+        int nextPosition = HEADER_LENGTH;
+        nextBuffer.putInt(nextPosition, 0);
+        for (final byte[] body : entries.values()) {
+            append(nextBuffer, nextPosition, body);
+            nextPosition += RECORD_HEADER_LENGTH + body.length;
+        }
+        nextBuffer.force();
+        nextBuffer.putLong(4, generation + 1);
+        nextBuffer.putInt(0, MAGIC);
+        nextBuffer.force();
+
+        current = next;
+        generation++;
+        this.buffer = nextBuffer;
+        PlatformDependent.freeDirectBuffer(buffer);
+        position = nextPosition;
+        garbageBytes = 0;
+        dirty = false;
+    }
+
+    private void sync() {
+        if (syncMode == Mqtt5SessionJournalSyncMode.PER_MESSAGE) {
+            final MappedByteBuffer buffer = this.buffer;
+            assert buffer != null;
+            buffer.force();
+        } else {
+            dirty = true;
+        }
+    }
+
+    private int checksum(final @NotNull byte[] body) {
+        crc32.reset();
+        crc32.update(body, 0, body.length);
+        return (int) crc32.getValue();
+    }
+}
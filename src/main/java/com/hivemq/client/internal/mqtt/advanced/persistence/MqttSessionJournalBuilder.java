@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5SessionJournalBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5SessionJournalSyncMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttSessionJournalBuilder implements Mqtt5SessionJournalBuilder {
+
+    private @Nullable Path file;
+    private @NotNull Mqtt5SessionJournalSyncMode syncMode = Mqtt5SessionJournalSyncMode.GROUP_COMMIT;
+    private int initialSize = DEFAULT_INITIAL_SIZE;
+
+    public MqttSessionJournalBuilder() {}
+
+    @Override
+    public @NotNull MqttSessionJournalBuilder file(final @Nullable Path file) {
+        this.file = Checks.notNull(file, "File");
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttSessionJournalBuilder syncMode(final @Nullable Mqtt5SessionJournalSyncMode syncMode) {
+        this.syncMode = Checks.notNull(syncMode, "Sync mode");
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttSessionJournalBuilder initialSize(final int initialSize) {
+        if (initialSize < MqttSessionJournal.MIN_SIZE) {
+            throw new IllegalArgumentException(
+                    "Initial size must be at least " + MqttSessionJournal.MIN_SIZE + " bytes. Found: " + initialSize);
+        }
+        this.initialSize = initialSize;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttSessionJournal build() {
+        Checks.state(file != null, "File must be given.");
+        try {
+            return new MqttSessionJournal(file, syncMode, initialSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Session journal " + file + " could not be opened.", e);
+        }
+    }
+}
@@ -52,13 +52,20 @@ public class MqttDecoder extends ByteToMessageDecoder {
     @Inject
     MqttDecoder(
             final @NotNull MqttMessageDecoders decoders, final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttConnect connect) {
+            final @NotNull MqttConnect connect, final @NotNull MqttPayloadBufferPool payloadBufferPool,
+            final @NotNull MqttTopicCacheStatistics topicCacheStatistics) {
 
         this.decoders = decoders;
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
+        final boolean zeroCopyPayload = clientConfig.getExecutorConfig().isZeroCopyIncomingPayloads();
+        // lazy properties are only supported for publishes that own their payload
+        final boolean lazyPublishProperties = clientConfig.getAdvancedConfig().isLazyDecodePublishProperties() &&
+                !zeroCopyPayload && !payloadBufferPool.isEnabled();
         context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
-                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
+                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false, zeroCopyPayload,
+                lazyPublishProperties, payloadBufferPool.isEnabled() ? payloadBufferPool : null,
+                clientConfig.getIncomingTopicCacheCapacity(), topicCacheStatistics);
     }
 
     @Override
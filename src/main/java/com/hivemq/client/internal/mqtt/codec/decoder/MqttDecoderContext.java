@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -27,27 +28,38 @@ public class MqttDecoderContext {
 
     private final int maximumPacketSize;
     private final @Nullable MqttTopicImpl @Nullable [] topicAliasMapping;
+    private final @NotNull MqttTopicCache topicCache;
     private final boolean problemInformationRequested;
     private final boolean responseInformationRequested;
     private final boolean validatePayloadFormat;
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private final boolean zeroCopyPayload;
+    private final boolean lazyPublishProperties;
+    private final @Nullable MqttPayloadBufferPool payloadBufferPool;
 
     MqttDecoderContext(
             final int maximumPacketSize, final int topicAliasMaximum, final boolean problemInformationRequested,
             final boolean responseInformationRequested, final boolean validatePayloadFormat,
             final boolean directBufferPayload, final boolean directBufferAuth,
-            final boolean directBufferCorrelationData) {
+            final boolean directBufferCorrelationData, final boolean zeroCopyPayload,
+            final boolean lazyPublishProperties,
+            final @Nullable MqttPayloadBufferPool payloadBufferPool, final int topicCacheCapacity,
+            final @NotNull MqttTopicCacheStatistics topicCacheStatistics) {
 
         this.maximumPacketSize = maximumPacketSize;
         this.topicAliasMapping = (topicAliasMaximum == 0) ? null : new MqttTopicImpl[topicAliasMaximum];
+        this.topicCache = new MqttTopicCache(topicCacheCapacity, topicCacheStatistics);
         this.problemInformationRequested = problemInformationRequested;
         this.responseInformationRequested = responseInformationRequested;
         this.validatePayloadFormat = validatePayloadFormat;
         this.directBufferPayload = directBufferPayload;
         this.directBufferAuth = directBufferAuth;
         this.directBufferCorrelationData = directBufferCorrelationData;
+        this.zeroCopyPayload = zeroCopyPayload;
+        this.lazyPublishProperties = lazyPublishProperties;
+        this.payloadBufferPool = payloadBufferPool;
     }
 
     public int getMaximumPacketSize() {
@@ -58,6 +70,10 @@ public class MqttDecoderContext {
         return topicAliasMapping;
     }
 
+    public @NotNull MqttTopicCache getTopicCache() {
+        return topicCache;
+    }
+
     public boolean isProblemInformationRequested() {
         return problemInformationRequested;
     }
@@ -81,4 +97,16 @@ public class MqttDecoderContext {
     public boolean useDirectBufferCorrelationData() {
         return directBufferCorrelationData;
     }
+
+    public boolean useZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
+
+    public boolean useLazyPublishProperties() {
+        return lazyPublishProperties;
+    }
+
+    public @Nullable MqttPayloadBufferPool getPayloadBufferPool() {
+        return payloadBufferPool;
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import org.jctools.queues.MpmcArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+
+/**
+ * Pool of heap buffers for the payloads of incoming publishes of a client. It outlives single connections.
+ * <p>
+ * Buffers are pooled in size classes which are powers of 2 from {@link #MIN_SIZE} to {@link #MAX_SIZE} bytes. Buffers
+ * are taken by the decoders on the Netty EventLoop and returned by any thread that releases the publish, so every size
+ * class is a bounded lock-free queue. If a size class is empty a new buffer is allocated, if it is full a returned
+ * buffer is left to the garbage collector.
+ *
+ * @author Silvio Giebl
+ */
+@ClientScope
+public class MqttPayloadBufferPool {
+
+    private static final int MIN_SIZE_CLASS = 6;
+    private static final int MAX_SIZE_CLASS = 16;
+    static final int MIN_SIZE = 1 << MIN_SIZE_CLASS;
+    static final int MAX_SIZE = 1 << MAX_SIZE_CLASS;
+
+    private final @NotNull MpmcArrayQueue<ByteBuffer> @Nullable [] sizeClasses;
+
+    @Inject
+    MqttPayloadBufferPool(final @NotNull MqttClientConfig clientConfig) {
+        this(clientConfig.getExecutorConfig().getIncomingPayloadPoolSize());
+    }
+
+    MqttPayloadBufferPool(final int buffersPerSizeClass) {
+        if (buffersPerSizeClass == 0) {
+            sizeClasses = null;
+        } else {
+            //noinspection unchecked
+            sizeClasses = new MpmcArrayQueue[MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1];
+            for (int i = 0; i < sizeClasses.length; i++) {
+                sizeClasses[i] = new MpmcArrayQueue<>(Math.max(2, buffersPerSizeClass));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return sizeClasses != null;
+    }
+
+    public boolean isPooled(final int length) {
+        return (sizeClasses != null) && (length > 0) && (length <= MAX_SIZE);
+    }
+
+    /**
+     * Takes a buffer for a payload of the given length from the pool.
+     *
+     * @param length the length of the payload, must be {@link #isPooled(int) pooled}.
+     * @return the buffer with position 0 and limit set to the length of the payload.
+     */
+    public @NotNull ByteBuffer allocate(final int length) {
+        assert sizeClasses != null;
+        final int sizeClass = sizeClass(length);
+        ByteBuffer buffer = sizeClasses[sizeClass - MIN_SIZE_CLASS].poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(1 << sizeClass);
+        }
+        buffer.limit(length);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer taken via {@link #allocate(int)} to the pool.
+     *
+     * @param buffer the buffer that is not used anymore.
+     */
+    public void recycle(final @NotNull ByteBuffer buffer) {
+        assert sizeClasses != null;
+        buffer.clear();
+        sizeClasses[sizeClass(buffer.capacity()) - MIN_SIZE_CLASS].offer(buffer);
+    }
+
+    static int sizeClass(final int length) {
+        return Math.max(MIN_SIZE_CLASS, Integer.SIZE - Integer.numberOfLeadingZeros(length - 1));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of the Topic Names of incoming publishes of a single connection, keyed by their UTF-8 encoded bytes.
+ * <p>
+ * On a hit the Topic Name is neither copied out of the byte buffer nor validated again. The cache is 4-way set
+ * associative: a Topic Name can be stored in any of the 4 slots of the set its hash maps to, so Topic Names with the
+ * same set do not evict each other until the set is full. A full set evicts with a second chance policy: an entry that
+ * was hit since it was put is only evicted if all entries of the set were hit. The size of the cache never exceeds its
+ * capacity. The slots are only allocated when the first Topic Name is put, so connections that do not receive
+ * publishes do not pay for them.
+ *
+ * @author Silvio Giebl
+ */
+@CallByThread("Netty EventLoop")
+public class MqttTopicCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int MAX_CAPACITY = 1 << 20;
+    private static final int WAYS = 4;
+
+    private final int capacity;
+    private final int mask;
+    private @Nullable byte[][] binaries;
+    private @Nullable MqttTopicImpl @Nullable [] topics;
+    private @Nullable boolean[] referenced;
+    private final @NotNull MqttTopicCacheStatistics statistics;
+
+    /**
+     * Creates a topic cache.
+     *
+     * @param capacity   the maximum amount of cached Topic Names, rounded up to a power of 2 (at least 4, at most
+     *                   2^20), 0 disables caching.
+     * @param statistics the counters of hits and misses.
+     */
+    MqttTopicCache(final int capacity, final @NotNull MqttTopicCacheStatistics statistics) {
+        int size = 0;
+        if (capacity > 0) {
+            size = WAYS;
+            while ((size < capacity) && (size < MAX_CAPACITY)) {
+                size <<= 1;
+            }
+        }
+        this.capacity = size;
+        mask = (size - 1) & -WAYS;
+        this.statistics = statistics;
+    }
+
+    /**
+     * @return the actual capacity of this cache, 0 if caching is disabled.
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Looks up the Topic Name that is encoded in the given byte buffer at the current reader index.
+     * <p>
+     * On a hit the reader index is moved behind the encoded Topic Name. On a miss the reader index is not changed and
+     * the Topic Name has to be decoded and {@link #put(byte[], MqttTopicImpl) put} by the caller.
+     *
+     * @param byteBuf the byte buffer with the encoded Topic Name.
+     * @return the cached Topic Name or <code>null</code> if it is not cached.
+     */
+    public @Nullable MqttTopicImpl get(final @NotNull ByteBuf byteBuf) {
+        if (capacity == 0) {
+            return null;
+        }
+        final int readerIndex = byteBuf.readerIndex();
+        if (byteBuf.readableBytes() < 2) {
+            return null;
+        }
+        final int length = byteBuf.getUnsignedShort(readerIndex);
+        if ((length == 0) || (byteBuf.readableBytes() < 2 + length)) {
+            return null;
+        }
+        final byte[][] binaries = this.binaries;
+        if (binaries == null) {
+            statistics.onMiss();
+            return null;
+        }
+        final int start = readerIndex + 2;
+        final int end = start + length;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + byteBuf.getByte(i);
+        }
+        final int set = set(hash);
+        for (int slot = set; slot < set + WAYS; slot++) {
+            final byte[] binary = binaries[slot];
+            if (binary == null) {
+                break; // the slots of a set are filled in order and never cleared
+            }
+            if ((binary.length == length) && equals(byteBuf, start, binary)) {
+                assert (topics != null) && (referenced != null);
+                referenced[slot] = true;
+                byteBuf.readerIndex(end);
+                statistics.onHit();
+                return topics[slot];
+            }
+        }
+        statistics.onMiss();
+        return null;
+    }
+
+    /**
+     * Caches a decoded and validated Topic Name.
+     *
+     * @param binary the UTF-8 encoded bytes of the Topic Name, must not be modified afterwards.
+     * @param topic  the Topic Name.
+     */
+    public void put(final @NotNull byte[] binary, final @NotNull MqttTopicImpl topic) {
+        if (capacity == 0) {
+            return;
+        }
+        byte[][] binaries = this.binaries;
+        MqttTopicImpl[] topics = this.topics;
+        boolean[] referenced = this.referenced;
+        if ((binaries == null) || (topics == null) || (referenced == null)) {
+            this.binaries = binaries = new byte[capacity][];
+            this.topics = topics = new MqttTopicImpl[capacity];
+            this.referenced = referenced = new boolean[capacity];
+        }
+        int hash = 0;
+        for (final byte b : binary) {
+            hash = 31 * hash + b;
+        }
+        final int slot = evict(set(hash), binaries, referenced);
+        binaries[slot] = binary;
+        topics[slot] = topic;
+        referenced[slot] = false;
+    }
+
+    private int set(final int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int evict(
+            final int set, final @Nullable byte[] @NotNull [] binaries, final @NotNull boolean[] referenced) {
+        for (int slot = set; slot < set + WAYS; slot++) {
+            if (binaries[slot] == null) {
+                return slot;
+            }
+        }
+        for (int slot = set; slot < set + WAYS; slot++) {
+            if (!referenced[slot]) {
+                return slot;
+            }
+        }
+        for (int slot = set; slot < set + WAYS; slot++) {
+            referenced[slot] = false;
+        }
+        return set;
+    }
+
+    private static boolean equals(final @NotNull ByteBuf byteBuf, final int start, final @NotNull byte[] binary) {
+        for (int i = 0; i < binary.length; i++) {
+            if (byteBuf.getByte(start + i) != binary[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
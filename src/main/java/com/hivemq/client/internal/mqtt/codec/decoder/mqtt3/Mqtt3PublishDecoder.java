@@ -20,9 +20,15 @@ package com.hivemq.client.internal.mqtt.codec.decoder.mqtt3;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoder;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttPayloadBufferPool;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttTopicCache;
+import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPooledPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.internal.util.ByteBufferUtil;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
@@ -60,23 +66,44 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+        final MqttTopicCache topicCache = context.getTopicCache();
+        MqttTopicImpl topic = topicCache.get(in);
         if (topic == null) {
-            throw malformedTopic();
+            final byte[] topicBinary = MqttBinaryData.decode(in);
+            if (topicBinary == null) {
+                throw malformedTopic();
+            }
+            topic = MqttTopicImpl.of(topicBinary);
+            if (topic == null) {
+                throw malformedTopic();
+            }
+            topicCache.put(topicBinary, topic);
         }
 
         final int packetIdentifier = decodePublishPacketIdentifier(qos, in);
 
         final int payloadLength = in.readableBytes();
-        ByteBuffer payload = null;
-        if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+        final MqttPublish publish;
+        final MqttPayloadBufferPool payloadBufferPool = context.getPayloadBufferPool();
+        if ((payloadLength > 0) && context.useZeroCopyPayload()) {
+            publish = new MqttZeroCopyPublish(topic, in.readRetainedSlice(payloadLength), qos, retain,
+                    MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        } else if ((payloadBufferPool != null) && payloadBufferPool.isPooled(payloadLength)) {
+            final ByteBuffer payload = payloadBufferPool.allocate(payloadLength);
             in.readBytes(payload);
             payload.position(0);
+            publish = new MqttPooledPublish(topic, payload, qos, retain, MqttPublish.NO_MESSAGE_EXPIRY, null, null,
+                    null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES, payloadBufferPool);
+        } else {
+            ByteBuffer payload = null;
+            if (payloadLength > 0) {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
+            publish = Mqtt3PublishView.delegate(topic, payload, qos, retain);
         }
 
-        final MqttPublish publish = Mqtt3PublishView.delegate(topic, payload, qos, retain);
-
         return Mqtt3PublishView.statefulDelegate(publish, packetIdentifier, dup);
     }
 }
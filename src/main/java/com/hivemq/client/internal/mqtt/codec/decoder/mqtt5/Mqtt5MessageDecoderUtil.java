@@ -194,6 +194,18 @@ final class Mqtt5MessageDecoderUtil {
         return decoded;
     }
 
+    static boolean skipBinaryDataOnlyOnce(
+            final boolean present, final @NotNull String name, final @NotNull ByteBuf in) throws MqttDecoderException {
+
+        if (present) {
+            throw moreThanOnce(name);
+        }
+        if (!MqttBinaryData.skip(in)) {
+            throw new MqttDecoderException("malformed binary data for " + name);
+        }
+        return true;
+    }
+
     static @NotNull MqttUtf8StringImpl decodeReasonString(
             final @Nullable MqttUtf8StringImpl current, final @NotNull ByteBuf in) throws MqttDecoderException {
 
@@ -215,6 +227,35 @@ final class Mqtt5MessageDecoderUtil {
         return userPropertiesBuilder;
     }
 
+    /**
+     * Skips a UTF-8 encoded string property whose decoding is deferred, but validates it in the given copy of the
+     * properties section, so that a malformed property is still a Malformed Packet.
+     */
+    static void skipUTF8String(
+            final @NotNull String name, final @NotNull ByteBuf in, final @NotNull byte[] rawProperties,
+            final int propertiesStartIndex) throws MqttDecoderException {
+
+        final int start = in.readerIndex() - propertiesStartIndex + 2;
+        if (!MqttBinaryData.skip(in)) {
+            throw malformedUTF8String(name);
+        }
+        final int end = in.readerIndex() - propertiesStartIndex;
+        if (end > rawProperties.length) {
+            throw malformedPropertyLength();
+        }
+        if (MqttUtf8StringImpl.isWellFormed(rawProperties, start, end)) {
+            throw malformedUTF8String(name);
+        }
+    }
+
+    static void skipUserProperty(
+            final @NotNull ByteBuf in, final @NotNull byte[] rawProperties, final int propertiesStartIndex)
+            throws MqttDecoderException {
+
+        skipUTF8String("user property name", in, rawProperties, propertiesStartIndex);
+        skipUTF8String("user property value", in, rawProperties, propertiesStartIndex);
+    }
+
     private static void checkProblemInformationRequested(
             final @NotNull String name, final @NotNull MqttDecoderContext context) throws MqttDecoderException {
 
@@ -20,9 +20,14 @@ package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoder;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttPayloadBufferPool;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttTopicCache;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttLazyPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPooledPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
 import com.hivemq.client.internal.util.ByteBufferUtil;
 import com.hivemq.client.internal.util.Utf8Util;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
@@ -31,7 +36,9 @@ import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -67,16 +74,20 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final byte[] topicBinary = MqttBinaryData.decode(in);
-        if (topicBinary == null) {
-            throw malformedTopic();
-        }
-        MqttTopicImpl topic = null;
-        if (topicBinary.length != 0) {
-            topic = MqttTopicImpl.of(topicBinary);
-            if (topic == null) {
+        final MqttTopicCache topicCache = context.getTopicCache();
+        MqttTopicImpl topic = topicCache.get(in);
+        if (topic == null) {
+            final byte[] topicBinary = MqttBinaryData.decode(in);
+            if (topicBinary == null) {
                 throw malformedTopic();
             }
+            if (topicBinary.length != 0) {
+                topic = MqttTopicImpl.of(topicBinary);
+                if (topic == null) {
+                    throw malformedTopic();
+                }
+                topicCache.put(topicBinary, topic);
+            }
         }
 
         final int packetIdentifier = decodePublishPacketIdentifier(qos, in);
@@ -92,6 +103,14 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
         int topicAlias = DEFAULT_NO_TOPIC_ALIAS;
         ImmutableIntList.Builder subscriptionIdentifiersBuilder = null;
 
+        // the deferred properties are validated in a copy of the properties section which is kept for lazy decoding,
+        // the copy is only made when the first deferrable property is found
+        final boolean lazyProperties = context.useLazyPublishProperties();
+        byte[] rawProperties = null;
+        boolean lazyContentType = false;
+        boolean lazyResponseTopic = false;
+        boolean lazyCorrelationData = false;
+
         final int propertiesStartIndex = in.readerIndex();
         int readPropertyLength;
         while ((readPropertyLength = in.readerIndex() - propertiesStartIndex) < propertyLength) {
@@ -115,10 +134,28 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     break;
 
                 case CONTENT_TYPE:
+                    if (lazyProperties) {
+                        if (lazyContentType) {
+                            throw moreThanOnce("content type");
+                        }
+                        rawProperties = copyProperties(rawProperties, in, propertiesStartIndex, propertyLength);
+                        skipUTF8String("content type", in, rawProperties, propertiesStartIndex);
+                        lazyContentType = true;
+                        break;
+                    }
                     contentType = decodeUTF8StringOnlyOnce(contentType, "content type", in);
                     break;
 
                 case RESPONSE_TOPIC:
+                    if (lazyProperties) {
+                        if (lazyResponseTopic) {
+                            throw moreThanOnce("response topic");
+                        }
+                        rawProperties = copyProperties(rawProperties, in, propertiesStartIndex, propertyLength);
+                        skipResponseTopic(in, rawProperties, propertiesStartIndex);
+                        lazyResponseTopic = true;
+                        break;
+                    }
                     if (responseTopic != null) {
                         throw moreThanOnce("response topic");
                     }
@@ -130,11 +167,21 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     break;
 
                 case CORRELATION_DATA:
+                    if (lazyProperties) {
+                        rawProperties = copyProperties(rawProperties, in, propertiesStartIndex, propertyLength);
+                        lazyCorrelationData = skipBinaryDataOnlyOnce(lazyCorrelationData, "correlation data", in);
+                        break;
+                    }
                     correlationData = decodeBinaryDataOnlyOnce(correlationData, "correlation data", in,
                             context.useDirectBufferCorrelationData());
                     break;
 
                 case USER_PROPERTY:
+                    if (lazyProperties) {
+                        rawProperties = copyProperties(rawProperties, in, propertiesStartIndex, propertyLength);
+                        skipUserProperty(in, rawProperties, propertiesStartIndex);
+                        break;
+                    }
                     userPropertiesBuilder = decodeUserProperty(userPropertiesBuilder, in);
                     break;
 
@@ -192,24 +239,42 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
         }
 
         final int payloadLength = in.readableBytes();
-        ByteBuffer payload = null;
-        if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
-
-            if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
-                    (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
-                throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
-                        "payload is not valid UTF-8");
-            }
+        if ((payloadLength > 0) && (payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) &&
+                context.validatePayloadFormat() && (Utf8Util.isWellFormed(in) != 0)) {
+            throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
+                    "payload is not valid UTF-8");
         }
 
         final MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.build(userPropertiesBuilder);
 
-        final MqttPublish publish =
-                new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                        responseTopic, correlationData, userProperties);
+        final MqttPublish publish;
+        final MqttPayloadBufferPool payloadBufferPool = context.getPayloadBufferPool();
+        if ((payloadLength > 0) && context.useZeroCopyPayload()) {
+            publish = new MqttZeroCopyPublish(topic, in.readRetainedSlice(payloadLength), qos, retain,
+                    messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic, correlationData,
+                    userProperties);
+        } else if ((payloadBufferPool != null) && payloadBufferPool.isPooled(payloadLength)) {
+            final ByteBuffer payload = payloadBufferPool.allocate(payloadLength);
+            in.readBytes(payload);
+            payload.position(0);
+            publish = new MqttPooledPublish(topic, payload, qos, retain, messageExpiryInterval,
+                    payloadFormatIndicator, contentType, responseTopic, correlationData, userProperties,
+                    payloadBufferPool);
+        } else {
+            ByteBuffer payload = null;
+            if (payloadLength > 0) {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
+            if (rawProperties != null) {
+                publish = new MqttLazyPublish(topic, payload, qos, retain, messageExpiryInterval,
+                        payloadFormatIndicator, rawProperties);
+            } else {
+                publish = new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                        contentType, responseTopic, correlationData, userProperties);
+            }
+        }
 
         final ImmutableIntList subscriptionIdentifiers =
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
@@ -217,4 +282,37 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         return publish.createStateful(packetIdentifier, dup, topicAlias, subscriptionIdentifiers);
     }
+
+    /**
+     * Copies the properties section on the first deferrable property, so Publish messages without deferrable properties
+     * are not copied.
+     */
+    private static @NotNull byte[] copyProperties(
+            final @Nullable byte[] rawProperties, final @NotNull ByteBuf in, final int propertiesStartIndex,
+            final int propertyLength) {
+
+        return (rawProperties != null) ? rawProperties :
+                ByteBufUtil.getBytes(in, propertiesStartIndex, propertyLength);
+    }
+
+    /**
+     * Skips a response topic property whose decoding is deferred, but validates it in the copy of the properties
+     * section, so that an invalid response topic still closes the connection.
+     */
+    private static void skipResponseTopic(
+            final @NotNull ByteBuf in, final @NotNull byte[] rawProperties, final int propertiesStartIndex)
+            throws MqttDecoderException {
+
+        final int start = in.readerIndex() - propertiesStartIndex + 2;
+        if (!MqttBinaryData.skip(in)) {
+            throw new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed response topic");
+        }
+        final int end = in.readerIndex() - propertiesStartIndex;
+        if (end > rawProperties.length) {
+            throw malformedPropertyLength();
+        }
+        if ((start == end) || MqttTopicImpl.isWellFormed(rawProperties, start, end)) {
+            throw new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed response topic");
+        }
+    }
 }
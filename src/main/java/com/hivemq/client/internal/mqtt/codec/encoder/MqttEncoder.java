@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttFlushPolicyImpl;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import io.netty.buffer.ByteBuf;
@@ -25,12 +26,19 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main encoder for MQTT messages which delegates to the individual {@link MqttMessageEncoder}s.
+ * <p>
+ * Flushes are deferred while reading and coalesced according to the {@link MqttFlushPolicyImpl flush policy} of the
+ * transport config. The policy is applied after the connection is established, so the CONNECT message is always
+ * flushed immediately.
  *
  * @author Silvio Giebl
  */
@@ -40,19 +48,32 @@ public class MqttEncoder extends ChannelDuplexHandler {
     public static final @NotNull String NAME = "encoder";
 
     private final @NotNull MqttMessageEncoders encoders;
+    private final @NotNull MqttFlushStatistics flushStatistics;
     private final @NotNull MqttEncoderContext context;
+    private @NotNull MqttFlushPolicyImpl flushPolicy = MqttFlushPolicyImpl.IMMEDIATE;
 
     private boolean inRead = false;
     private boolean pendingFlush = false;
+    private int unflushedMessages;
+    private int unflushedBytes;
+    private @Nullable ScheduledFuture<?> delayedFlushFuture;
+    private boolean flushTaskScheduled;
 
     @Inject
-    MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final @NotNull MqttFlushStatistics flushStatistics) {
         this.encoders = encoders;
+        this.flushStatistics = flushStatistics;
         context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
     }
 
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        context.setAllocator(ctx.alloc());
+    }
+
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
         context.setMaximumPacketSize(connectionConfig.getSendMaximumPacketSize());
+        flushPolicy = connectionConfig.getTransportConfig().getFlushPolicy();
     }
 
     @Override
@@ -67,10 +88,12 @@ public class MqttEncoder extends ChannelDuplexHandler {
                 throw new UnsupportedOperationException();
             }
             final ByteBuf out = messageEncoder.castAndEncode(message, context);
+            unflushedBytes += out.readableBytes();
             ctx.write(out, promise);
         } else {
             ctx.write(msg, promise);
         }
+        unflushedMessages++;
     }
 
     @Override
@@ -78,10 +101,46 @@ public class MqttEncoder extends ChannelDuplexHandler {
         if (inRead) {
             pendingFlush = true;
         } else {
-            ctx.flush();
+            flushOrDelay(ctx);
+        }
+    }
+
+    private void flushOrDelay(final @NotNull ChannelHandlerContext ctx) {
+        final MqttFlushPolicyImpl flushPolicy = this.flushPolicy;
+        if ((unflushedMessages == 0) || flushPolicy.isImmediate() ||
+                (unflushedMessages >= flushPolicy.getMaxMessages()) || (unflushedBytes >= flushPolicy.getMaxBytes())) {
+            flushNow(ctx);
+        } else if (flushPolicy.getMaxDelayMicros() == 0) {
+            if (!flushTaskScheduled) { // no timer, flush after the current task of the event loop
+                flushTaskScheduled = true;
+                ctx.executor().execute(() -> {
+                    if (flushTaskScheduled) {
+                        flushNow(ctx);
+                    }
+                });
+            }
+        } else if (delayedFlushFuture == null) {
+            delayedFlushFuture = ctx.executor().schedule(() -> {
+                delayedFlushFuture = null;
+                flushNow(ctx);
+            }, flushPolicy.getMaxDelayMicros(), TimeUnit.MICROSECONDS);
         }
     }
 
+    private void flushNow(final @NotNull ChannelHandlerContext ctx) {
+        if (delayedFlushFuture != null) {
+            delayedFlushFuture.cancel(false);
+            delayedFlushFuture = null;
+        }
+        flushTaskScheduled = false;
+        if (unflushedMessages > 0) {
+            flushStatistics.onFlush(unflushedMessages);
+            unflushedMessages = 0;
+            unflushedBytes = 0;
+        }
+        ctx.flush();
+    }
+
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
         inRead = true;
@@ -94,10 +153,16 @@ public class MqttEncoder extends ChannelDuplexHandler {
         inRead = false;
         if (pendingFlush) {
             pendingFlush = false;
-            ctx.flush();
+            flushOrDelay(ctx);
         }
     }
 
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        flushNow(ctx);
+        ctx.close(promise);
+    }
+
     @Override
     public boolean isSharable() {
         return false;
@@ -26,7 +26,7 @@ import org.jetbrains.annotations.NotNull;
  */
 public class MqttEncoderContext {
 
-    private final @NotNull ByteBufAllocator allocator;
+    private @NotNull ByteBufAllocator allocator;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 
     MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
@@ -37,6 +37,10 @@ public class MqttEncoderContext {
         return allocator;
     }
 
+    void setAllocator(final @NotNull ByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
     public int getMaximumPacketSize() {
         return maximumPacketSize;
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+
+import javax.inject.Inject;
+
+/**
+ * Counters of flushes and flushed messages of a client. They outlive single connections.
+ * <p>
+ * Only written by the Netty EventLoop of the current connection, so volatile is sufficient for readers on other
+ * threads.
+ *
+ * @author Silvio Giebl
+ */
+@ClientScope
+public class MqttFlushStatistics {
+
+    private volatile long flushCount;
+    private volatile long flushedMessageCount;
+
+    @Inject
+    MqttFlushStatistics() {}
+
+    @CallByThread("Netty EventLoop")
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    void onFlush(final int messages) {
+        flushCount++;
+        flushedMessageCount += messages;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushedMessageCount() {
+        return flushedMessageCount;
+    }
+}
@@ -20,6 +20,7 @@ package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoderContext;
 import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPreparedPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
@@ -39,6 +40,11 @@ import static com.hivemq.client.internal.mqtt.message.publish.MqttPublishPropert
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
 
 /**
+ * Encoder for MQTT 5 Publish messages.
+ * <p>
+ * The fixed properties and user properties of Publish messages created from a {@link MqttPreparedPublish} are encoded
+ * only once and cached in the prepared publish.
+ *
  * @author Silvio Giebl
  */
 @Singleton
@@ -77,8 +83,13 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
     int propertyLength(final @NotNull MqttStatefulPublish message) {
         int propertyLength = 0;
 
-        propertyLength += fixedPropertyLength(message.stateless());
-        propertyLength += omissiblePropertyLength(message);
+        final MqttPublish stateless = message.stateless();
+        if (stateless instanceof MqttPreparedPublish.Instance) {
+            propertyLength += encodedProperties(((MqttPreparedPublish.Instance) stateless).getPrepared()).length;
+        } else {
+            propertyLength += fixedPropertyLength(stateless);
+            propertyLength += omissiblePropertyLength(message);
+        }
 
         propertyLength += shortPropertyEncodedLength(message.getTopicAlias(), DEFAULT_NO_TOPIC_ALIAS);
 
@@ -90,6 +101,20 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         return propertyLength;
     }
 
+    private @NotNull byte[] encodedProperties(final @NotNull MqttPreparedPublish prepared) {
+        byte[] encodedProperties = prepared.getEncodedProperties();
+        if (encodedProperties == null) {
+            final MqttPublish template = prepared.getTemplate();
+            encodedProperties =
+                    new byte[fixedPropertyLength(template) + template.getUserProperties().encodedLength()];
+            final ByteBuf out = Unpooled.wrappedBuffer(encodedProperties).clear();
+            encodeFixedProperties(template, out);
+            template.getUserProperties().encode(out);
+            prepared.setEncodedProperties(encodedProperties);
+        }
+        return encodedProperties;
+    }
+
     final int fixedPropertyLength(final @NotNull MqttPublish publish) {
         int propertyLength = 0;
 
@@ -174,8 +199,13 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
 
         MqttVariableByteInteger.encode(propertyLength, out);
 
-        encodeFixedProperties(message.stateless(), out);
-        encodeOmissibleProperties(message, out, omittedProperties);
+        final MqttPublish stateless = message.stateless();
+        if ((omittedProperties == 0) && (stateless instanceof MqttPreparedPublish.Instance)) {
+            out.writeBytes(encodedProperties(((MqttPreparedPublish.Instance) stateless).getPrepared()));
+        } else {
+            encodeFixedProperties(stateless, out);
+            encodeOmissibleProperties(message, out, omittedProperties);
+        }
 
         encodeShortProperty(TOPIC_ALIAS, message.getTopicAlias(), DEFAULT_NO_TOPIC_ALIAS, out);
 
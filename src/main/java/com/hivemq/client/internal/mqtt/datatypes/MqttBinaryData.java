@@ -74,6 +74,24 @@ public final class MqttBinaryData {
         return byteBuffer;
     }
 
+    /**
+     * Skips binary data in the given byte buffer at the current reader index without copying it.
+     *
+     * @param byteBuf the byte buffer to skip in.
+     * @return whether there were enough bytes in the byte buffer.
+     */
+    public static boolean skip(final @NotNull ByteBuf byteBuf) {
+        if (byteBuf.readableBytes() < 2) {
+            return false;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if (byteBuf.readableBytes() < length) {
+            return false;
+        }
+        byteBuf.skipBytes(length);
+        return true;
+    }
+
     /**
      * Encodes the given byte array as binary data to the given byte buffer at the current writer index.
      * <p>
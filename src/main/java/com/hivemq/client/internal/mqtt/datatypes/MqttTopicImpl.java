@@ -94,10 +94,24 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
      * @param binary the byte array with UTF-8 encoded data.
      * @return whether the byte array represents a well-formed Topic Name.
      * @see MqttUtf8StringImpl#isWellFormed(byte[])
-     * @see #containsWildcardCharacters(byte[])
+     * @see #containsWildcardCharacters(byte[], int, int)
      */
     static boolean isWellFormed(final @NotNull byte[] binary) {
-        return MqttUtf8StringImpl.isWellFormed(binary) || containsWildcardCharacters(binary);
+        return isWellFormed(binary, 0, binary.length);
+    }
+
+    /**
+     * Checks if the given range of the byte array with UTF-8 encoded data represents a well-formed Topic Name according
+     * to the MQTT specification.
+     *
+     * @param binary the byte array with UTF-8 encoded data.
+     * @param start  the start index of the range (inclusive).
+     * @param end    the end index of the range (exclusive).
+     * @return whether the range of the byte array represents a well-formed Topic Name.
+     * @see #isWellFormed(byte[])
+     */
+    public static boolean isWellFormed(final @NotNull byte[] binary, final int start, final int end) {
+        return MqttUtf8StringImpl.isWellFormed(binary, start, end) || containsWildcardCharacters(binary, start, end);
     }
 
     /**
@@ -115,13 +129,16 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
     }
 
     /**
-     * Checks if the given byte array with UTF-8 encoded data contains wildcard characters.
+     * Checks if the given range of the byte array with UTF-8 encoded data contains wildcard characters.
      *
      * @param binary the byte array with UTF-8 encoded data.
-     * @return whether the byte array contains wildcard characters.
+     * @param start  the start index of the range (inclusive).
+     * @param end    the end index of the range (exclusive).
+     * @return whether the range of the byte array contains wildcard characters.
      */
-    private static boolean containsWildcardCharacters(final @NotNull byte[] binary) {
-        for (final byte b : binary) {
+    private static boolean containsWildcardCharacters(final @NotNull byte[] binary, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final byte b = binary[i];
             if (b == MqttTopicFilterImpl.MULTI_LEVEL_WILDCARD || b == MqttTopicFilterImpl.SINGLE_LEVEL_WILDCARD) {
                 return true;
             }
@@ -139,11 +139,25 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      * @return whether the byte array represents a well-formed UTF-8 encoded string.
      */
     static boolean isWellFormed(final @NotNull byte[] binary) {
-        if (Utf8Util.isWellFormed(binary) != 0) {
+        return isWellFormed(binary, 0, binary.length);
+    }
+
+    /**
+     * Checks if the given range of the byte array with UTF-8 encoded data represents a well-formed UTF-8 encoded string
+     * according to the MQTT specification.
+     *
+     * @param binary the byte array with UTF-8 encoded data.
+     * @param start  the start index of the range (inclusive).
+     * @param end    the end index of the range (exclusive).
+     * @return whether the range of the byte array represents a well-formed UTF-8 encoded string.
+     * @see #isWellFormed(byte[])
+     */
+    public static boolean isWellFormed(final @NotNull byte[] binary, final int start, final int end) {
+        if (Utf8Util.isWellFormed(binary, start, end) != 0) {
             return true;
         }
-        for (final byte b : binary) {
-            if (b == 0) {
+        for (int i = start; i < end; i++) {
+            if (binary[i] == 0) {
                 return true;
             }
         }
@@ -217,6 +231,7 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
     private @Nullable byte[] binary;
     private @Nullable String string;
     private int conversions;
+    private int hash; // cached, 0 if not calculated yet
 
     MqttUtf8StringImpl(final @NotNull byte[] binary) {
         this.binary = binary;
@@ -369,9 +384,79 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return toString().equals(that.toString());
     }
 
+    /**
+     * Returns the same hash code as the UTF-16 encoded Java string.
+     * <p>
+     * The hash code is cached and calculated from the UTF-8 encoded representation if the UTF-16 encoded
+     * representation is not present, so no conversion is necessary.
+     *
+     * @return the hash code of this UTF-8 encoded string.
+     */
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        int hash = this.hash;
+        if (hash == 0) {
+            final String string = this.string;
+            final byte[] binary = this.binary;
+            if (string != null) {
+                hash = string.hashCode();
+            } else if ((binary == null) || ((hash = utf16HashCode(binary)) == -1)) {
+                hash = toString().hashCode();
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Calculates the hash code of the UTF-16 encoded Java string directly from the given UTF-8 encoded binary.
+     *
+     * @param binary the UTF-8 encoded binary.
+     * @return the hash code or -1 if the binary contains a malformed sequence that the Java string decoder would
+     *         replace (or if the hash code actually is -1), then the hash code has to be calculated from the string.
+     */
+    private static int utf16HashCode(final @NotNull byte[] binary) {
+        int hash = 0;
+        int i = 0;
+        while (i < binary.length) {
+            final int b = binary[i];
+            if (b >= 0) {
+                hash = 31 * hash + b;
+                i++;
+            } else if (((b & 0xE0) == 0xC0) && (i + 1 < binary.length) && isContinuation(binary[i + 1])) {
+                final int c = ((b & 0x1F) << 6) | (binary[i + 1] & 0x3F);
+                if (c < 0x80) {
+                    return -1;
+                }
+                hash = 31 * hash + c;
+                i += 2;
+            } else if (((b & 0xF0) == 0xE0) && (i + 2 < binary.length) && isContinuation(binary[i + 1]) &&
+                    isContinuation(binary[i + 2])) {
+                final int c = ((b & 0x0F) << 12) | ((binary[i + 1] & 0x3F) << 6) | (binary[i + 2] & 0x3F);
+                if ((c < 0x800) || Character.isSurrogate((char) c)) {
+                    return -1;
+                }
+                hash = 31 * hash + c;
+                i += 3;
+            } else if (((b & 0xF8) == 0xF0) && (i + 3 < binary.length) && isContinuation(binary[i + 1]) &&
+                    isContinuation(binary[i + 2]) && isContinuation(binary[i + 3])) {
+                final int codePoint = ((b & 0x07) << 18) | ((binary[i + 1] & 0x3F) << 12) |
+                        ((binary[i + 2] & 0x3F) << 6) | (binary[i + 3] & 0x3F);
+                if ((codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) || (codePoint > Character.MAX_CODE_POINT)) {
+                    return -1;
+                }
+                hash = 31 * hash + Character.highSurrogate(codePoint);
+                hash = 31 * hash + Character.lowSurrogate(codePoint);
+                i += 4;
+            } else {
+                return -1;
+            }
+        }
+        return hash;
+    }
+
+    private static boolean isContinuation(final byte b) {
+        return (b & 0xC0) == 0x80;
     }
 
     @Override
@@ -69,6 +69,9 @@ public class MqttSession {
             final String message = "Session expired as CONNACK did not contain the session present flag.";
             end(new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message)));
         }
+        if (!hasSession) {
+            outgoingQosHandler.onSessionRestore(connAck.isSessionPresent());
+        }
         hasSession = true;
 
         if (expireFuture != null) {
@@ -280,6 +280,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 Math.min(restrictions.getSendMaximum(), connAckRestrictions.getReceiveMaximum()),
                 Math.min(restrictions.getSendMaximumPacketSize(), connAckRestrictions.getMaximumPacketSize()),
                 Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum()),
+                clientConfig.getAdvancedConfig().getTopicAliasPolicy(),
                 connAckRestrictions.getMaximumQos(),
                 connAckRestrictions.isRetainAvailable(),
                 connAckRestrictions.isWildcardSubscriptionAvailable(),
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delivers incoming Publish messages to a callback in batches.
+ * <p>
+ * Publish messages are collected on the Netty event loop. A batch is handed to the executor with a single hop if it
+ * reached the maximum batch size or the maximum linger time elapsed since its first Publish message. A maximum linger
+ * time of 0 hands over all Publish messages that are available at once, that is all Publish messages emitted in the
+ * current event loop iteration. Batches are consumed in order, one after another.
+ * <p>
+ * If subscribed to a flow with manual acknowledgement, QoS 1 and 2 Publish messages are only acknowledged after the
+ * callback returned for their batch.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttBatchingCallbackSubscriber
+        implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck>, Runnable {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttBatchingCallbackSubscriber.class);
+
+    private final @NotNull Consumer<List<Mqtt5Publish>> callback;
+    private final @NotNull Executor executor;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final @NotNull CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+    private @Nullable Subscription subscription;
+    private @Nullable MqttIncomingPublishFlow flow;
+
+    private @Nullable ArrayList<Mqtt5Publish> batch; // only accessed on the event loop
+
+    private final @NotNull ConcurrentLinkedQueue<List<Mqtt5Publish>> batches = new ConcurrentLinkedQueue<>();
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
+
+    public MqttBatchingCallbackSubscriber(
+            final @NotNull Consumer<List<Mqtt5Publish>> callback, final @NotNull Executor executor,
+            final int maxBatchSize, final long maxLinger, final @NotNull TimeUnit timeUnit) {
+
+        this.callback = callback;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        maxLingerNanos = timeUnit.toNanos(maxLinger);
+    }
+
+    public @NotNull CompletableFuture<Mqtt5SubAck> getSubAckFuture() {
+        return subAckFuture;
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription s) {
+        subscription = s;
+        if (s instanceof MqttIncomingPublishFlow) {
+            flow = (MqttIncomingPublishFlow) s;
+        }
+        s.request(2L * maxBatchSize);
+    }
+
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        executor.execute(() -> subAckFuture.complete(subAck));
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        ArrayList<Mqtt5Publish> batch = this.batch;
+        if (batch == null) {
+            this.batch = batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+            scheduleFlush(batch);
+        }
+        batch.add(publish);
+        if (batch.size() >= maxBatchSize) {
+            flush();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void scheduleFlush(final @NotNull ArrayList<Mqtt5Publish> batch) {
+        if (flow == null) { // no event loop known, batches are only limited by the maximum batch size
+            return;
+        }
+        final EventLoop eventLoop = flow.getEventLoop();
+        final Runnable flushTask = () -> {
+            if (this.batch == batch) {
+                flush();
+            }
+        };
+        if (maxLingerNanos == 0) {
+            eventLoop.execute(flushTask);
+        } else {
+            eventLoop.schedule(flushTask, maxLingerNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void flush() {
+        final ArrayList<Mqtt5Publish> batch = this.batch;
+        if (batch == null) {
+            return;
+        }
+        this.batch = null;
+        batches.offer(Collections.unmodifiableList(batch));
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onComplete() {
+        flush();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        flush();
+        if (!subAckFuture.isDone()) {
+            executor.execute(() -> subAckFuture.completeExceptionally(t));
+        }
+    }
+
+    @Override
+    public void run() {
+        do {
+            final List<Mqtt5Publish> batch = batches.poll();
+            assert batch != null;
+            try {
+                callback.accept(batch);
+            } catch (final Throwable t) {
+                LOGGER.error("Unexpected exception thrown by batch callback.", t);
+            }
+            if (flow != null) {
+                flow.acknowledge(batch);
+            }
+            assert subscription != null;
+            subscription.request(batch.size());
+        } while (wip.decrementAndGet() != 0);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Delivers incoming Publish messages to a callback directly on the Netty event loop without a thread hop.
+ * <p>
+ * Slow callbacks are detected by the flow. Exceptions thrown by the callback are logged, so they can not disrupt the
+ * event loop.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttEventLoopCallbackSubscriber implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck> {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttEventLoopCallbackSubscriber.class);
+
+    private final @NotNull Consumer<Mqtt5Publish> callback;
+    private final @NotNull CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+
+    public MqttEventLoopCallbackSubscriber(final @NotNull Consumer<Mqtt5Publish> callback) {
+        this.callback = callback;
+    }
+
+    public @NotNull CompletableFuture<Mqtt5SubAck> getSubAckFuture() {
+        return subAckFuture;
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription s) {
+        if (s instanceof MqttIncomingPublishFlow) {
+            ((MqttIncomingPublishFlow) s).detectSlowCallbacks();
+        }
+        s.request(Long.MAX_VALUE);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        subAckFuture.complete(subAck);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        try {
+            callback.accept(publish);
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by callback.", t);
+        }
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        subAckFuture.completeExceptionally(t);
+    }
+}
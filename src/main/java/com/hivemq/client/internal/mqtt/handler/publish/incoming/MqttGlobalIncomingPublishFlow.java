@@ -35,9 +35,10 @@ class MqttGlobalIncomingPublishFlow extends MqttIncomingPublishFlow {
 
     MqttGlobalIncomingPublishFlow(
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber, final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttIncomingQosHandler incomingQosHandler, final @NotNull MqttGlobalPublishFilter filter) {
+            final @NotNull MqttIncomingQosHandler incomingQosHandler, final @NotNull MqttGlobalPublishFilter filter,
+            final boolean manualAcknowledgement) {
 
-        super(subscriber, clientConfig, incomingQosHandler);
+        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
         this.filter = filter;
     }
 
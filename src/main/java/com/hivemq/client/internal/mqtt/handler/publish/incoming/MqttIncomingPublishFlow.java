@@ -21,6 +21,7 @@ import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishAcknowledger;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -29,6 +30,8 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -36,7 +39,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author Silvio Giebl
  */
 public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
-        implements Emitter<Mqtt5Publish>, Subscription, Runnable {
+        implements Emitter<Mqtt5Publish>, Subscription, Runnable, Mqtt5PublishAcknowledger {
 
     private static final int STATE_NO_NEW_REQUESTS = 0;
     private static final int STATE_NEW_REQUESTS = 1;
@@ -44,6 +47,9 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     final @NotNull Subscriber<? super Mqtt5Publish> subscriber;
     final @NotNull MqttIncomingQosHandler incomingQosHandler;
+    private final boolean manualAcknowledgement;
+    private final long slowCallbackThresholdMicros;
+    private @Nullable MqttSlowCallbackDetector slowCallbackDetector;
 
     private long requested;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
@@ -56,19 +62,46 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     private long blockedIndex;
     private boolean blocking;
 
+    private @Nullable IdentityHashMap<Mqtt5Publish, MqttMatchingPublishFlows> unacknowledged;
+
     MqttIncomingPublishFlow(
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber, final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttIncomingQosHandler incomingQosHandler) {
+            final @NotNull MqttIncomingQosHandler incomingQosHandler, final boolean manualAcknowledgement) {
 
         super(clientConfig);
         this.subscriber = subscriber;
         this.incomingQosHandler = incomingQosHandler;
+        this.manualAcknowledgement = manualAcknowledgement;
+        slowCallbackThresholdMicros = clientConfig.getExecutorConfig().getSlowCallbackThresholdMicros();
+        if (clientConfig.getExecutorConfig().isDeliverOnEventLoop()) {
+            detectSlowCallbacks();
+        }
+    }
+
+    /**
+     * Enables the detection of slow callbacks for this flow, used if the subscriber consumes the Publish messages
+     * directly on the Netty event loop.
+     * <p>
+     * Must be called before the flow is added to the event loop, for example in {@link
+     * Subscriber#onSubscribe(Subscription)}.
+     */
+    public void detectSlowCallbacks() {
+        if ((slowCallbackDetector == null) && (slowCallbackThresholdMicros > 0)) {
+            slowCallbackDetector = new MqttSlowCallbackDetector(slowCallbackThresholdMicros);
+        }
     }
 
     @CallByThread("Netty EventLoop")
     @Override
     public void onNext(final @NotNull Mqtt5Publish result) {
-        subscriber.onNext(result);
+        final MqttSlowCallbackDetector slowCallbackDetector = this.slowCallbackDetector;
+        if (slowCallbackDetector == null) {
+            subscriber.onNext(result);
+        } else {
+            final long startNanos = System.nanoTime();
+            subscriber.onNext(result);
+            slowCallbackDetector.onCallbackReturned(startNanos);
+        }
         if (requested != Long.MAX_VALUE) {
             requested--;
         }
@@ -175,11 +208,97 @@ public abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     @CallByThread("Netty EventLoop")
     void runCancel() { // always executed if cancelled
-        if (referenced > 0) { // is blocking
+        // the Publish messages that were emitted but not acknowledged can not be acknowledged anymore
+        boolean acknowledged = false;
+        final IdentityHashMap<Mqtt5Publish, MqttMatchingPublishFlows> unacknowledged = this.unacknowledged;
+        if (unacknowledged != null) {
+            for (final MqttMatchingPublishFlows matchingFlows : unacknowledged.values()) {
+                acknowledged |= (--matchingFlows.missingAcknowledgements == 0) && matchingFlows.isEmpty();
+            }
+            this.unacknowledged = null;
+        }
+        if ((referenced > 0) || acknowledged) { // is blocking or acknowledgements are not missing anymore
+            incomingQosHandler.getIncomingPublishService().drain();
+        }
+    }
+
+    boolean isManualAcknowledgement() {
+        return manualAcknowledgement;
+    }
+
+    /**
+     * Registers a QoS 1 or 2 Publish message that is emitted to this flow and is only acknowledged after {@link
+     * #acknowledge(Mqtt5Publish)} is called for it.
+     *
+     * @param publish       the emitted Publish message.
+     * @param matchingFlows the flows the Publish message is emitted to.
+     * @return whether the Publish message was not already unacknowledged by this flow.
+     */
+    @CallByThread("Netty EventLoop")
+    boolean addUnacknowledged(
+            final @NotNull Mqtt5Publish publish, final @NotNull MqttMatchingPublishFlows matchingFlows) {
+
+        if (unacknowledged == null) {
+            unacknowledged = new IdentityHashMap<>();
+        }
+        return unacknowledged.put(publish, matchingFlows) == null;
+    }
+
+    /**
+     * Acknowledges a Publish message emitted to this flow if the flow uses manual acknowledgement. Does nothing if the
+     * Publish message does not need to be acknowledged (QoS 0) or was already acknowledged.
+     * <p>
+     * Can be called from any thread.
+     *
+     * @param publish the emitted Publish message.
+     */
+    @Override
+    public void acknowledge(final @NotNull Mqtt5Publish publish) {
+        if (manualAcknowledgement) {
+            eventLoop.execute(() -> runAcknowledge(publish));
+        }
+    }
+
+    /**
+     * Acknowledges multiple Publish messages emitted to this flow with a single hop to the event loop.
+     * <p>
+     * Can be called from any thread.
+     *
+     * @param publishes the emitted Publish messages.
+     * @see #acknowledge(Mqtt5Publish)
+     */
+    @Override
+    public void acknowledge(final @NotNull List<? extends Mqtt5Publish> publishes) {
+        if (manualAcknowledgement && !publishes.isEmpty()) {
+            eventLoop.execute(() -> {
+                boolean acknowledged = false;
+                //noinspection ForLoopReplaceableByForEach
+                for (int i = 0; i < publishes.size(); i++) {
+                    acknowledged |= acknowledgeInternal(publishes.get(i));
+                }
+                if (acknowledged) {
+                    incomingQosHandler.getIncomingPublishService().drain();
+                }
+            });
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void runAcknowledge(final @NotNull Mqtt5Publish publish) {
+        if (acknowledgeInternal(publish)) {
             incomingQosHandler.getIncomingPublishService().drain();
         }
     }
 
+    @CallByThread("Netty EventLoop")
+    private boolean acknowledgeInternal(final @NotNull Mqtt5Publish publish) {
+        if (unacknowledged == null) {
+            return false;
+        }
+        final MqttMatchingPublishFlows matchingFlows = unacknowledged.remove(publish);
+        return (matchingFlows != null) && (--matchingFlows.missingAcknowledgements == 0) && matchingFlows.isEmpty();
+    }
+
     @CallByThread("Netty EventLoop")
     int reference() {
         return ++referenced;
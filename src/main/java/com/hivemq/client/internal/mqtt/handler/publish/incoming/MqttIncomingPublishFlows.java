@@ -106,7 +106,7 @@ public class MqttIncomingPublishFlows {
         subscriptionFlows.cancel(flow);
     }
 
-    @NotNull HandleList<MqttIncomingPublishFlow> findMatching(final @NotNull MqttStatefulPublish publish) {
+    @NotNull MqttMatchingPublishFlows findMatching(final @NotNull MqttStatefulPublish publish) {
         final MqttMatchingPublishFlows matchingFlows = new MqttMatchingPublishFlows();
         findMatching(publish, matchingFlows);
         return matchingFlows;
@@ -116,6 +116,10 @@ public class MqttIncomingPublishFlows {
             final @NotNull MqttStatefulPublish publish, final @NotNull MqttMatchingPublishFlows matchingFlows) {
 
         subscriptionFlows.findMatching(publish.stateless().getTopic(), matchingFlows);
+        addGlobal(matchingFlows);
+    }
+
+    void addGlobal(final @NotNull MqttMatchingPublishFlows matchingFlows) {
         if (matchingFlows.subscriptionFound) {
             add(matchingFlows, globalFlows[MqttGlobalPublishFilter.SUBSCRIBED.ordinal()]);
         } else {
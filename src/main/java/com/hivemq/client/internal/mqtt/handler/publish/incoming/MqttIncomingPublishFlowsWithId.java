@@ -33,6 +33,12 @@ import javax.inject.Inject;
 import static com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER;
 
 /**
+ * Incoming publish flows that are additionally indexed by their subscription identifier.
+ * <p>
+ * If an incoming Publish message contains subscription identifiers, the matching flows are looked up directly in a
+ * primitive int index instead of matching the topic against the subscriptions. Topic matching is only used as
+ * fallback for unknown subscription identifiers and for subscriptions without a subscription identifier.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
@@ -43,6 +49,7 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
             new IntIndex.Spec<>(MqttSubscribedPublishFlow::getSubscriptionIdentifier);
 
     private final @NotNull IntIndex<MqttSubscribedPublishFlow> flowsWithIdsIndex = new IntIndex<>(INDEX_SPEC);
+    private final @NotNull MqttSubscriptionFlows flowsWithoutIds;
     private final @NotNull MqttSubscriptionFlows flowsWithIds;
 
     @Inject
@@ -50,6 +57,7 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
             final @NotNull MqttSubscriptionFlows flowsWithoutIds, final @NotNull MqttSubscriptionFlows flowsWithIds) {
 
         super(flowsWithoutIds);
+        this.flowsWithoutIds = flowsWithoutIds;
         this.flowsWithIds = flowsWithIds;
     }
 
@@ -125,20 +133,25 @@ public class MqttIncomingPublishFlowsWithId extends MqttIncomingPublishFlows {
             final @NotNull MqttStatefulPublish publish, final @NotNull MqttMatchingPublishFlows matchingFlows) {
 
         final ImmutableIntList subscriptionIdentifiers = publish.getSubscriptionIdentifiers();
-        if (!subscriptionIdentifiers.isEmpty()) {
-            for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
-                final MqttSubscribedPublishFlow flow = flowsWithIdsIndex.get(subscriptionIdentifiers.get(i));
-                if (flow != null) {
-                    matchingFlows.add(flow);
-                }
-            }
-            if (matchingFlows.isEmpty()) {
-                flowsWithIds.findMatching(publish.stateless().getTopic(), matchingFlows);
-            } else {
-                matchingFlows.subscriptionFound = true;
+        if (subscriptionIdentifiers.isEmpty()) {
+            super.findMatching(publish, matchingFlows);
+            return;
+        }
+        for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
+            final MqttSubscribedPublishFlow flow = flowsWithIdsIndex.get(subscriptionIdentifiers.get(i));
+            if (flow != null) {
+                matchingFlows.add(flow);
             }
         }
-        super.findMatching(publish, matchingFlows);
+        if (matchingFlows.isEmpty()) {
+            flowsWithIds.findMatching(publish.stateless().getTopic(), matchingFlows);
+        } else {
+            matchingFlows.subscriptionFound = true;
+        }
+        if (!flowsWithoutIds.isEmpty()) {
+            flowsWithoutIds.findMatching(publish.stateless().getTopic(), matchingFlows);
+        }
+        addGlobal(matchingFlows);
     }
 
     @Override
@@ -20,12 +20,14 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
-import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -36,9 +38,11 @@ class MqttIncomingPublishService {
 
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttIncomingPublishService.class);
-    private static final boolean QOS_0_DROP_OLDEST = true; // TODO configurable
 
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
+    private final @NotNull MqttIncomingQos0Drops incomingQos0Drops;
+    private final int qos0BufferCapacity;
+    private final @NotNull MqttIncomingQos0DropPolicy qos0DropPolicy;
 
     private final @NotNull ChunkedArrayQueue<Object> qos0Queue = new ChunkedArrayQueue<>(32);
     private final @NotNull ChunkedArrayQueue<Object>.Iterator qos0It = qos0Queue.iterator();
@@ -49,33 +53,87 @@ class MqttIncomingPublishService {
     private int runIndex;
     private int blockingFlowCount;
 
-    MqttIncomingPublishService(final @NotNull MqttIncomingQosHandler incomingQosHandler) {
+    MqttIncomingPublishService(
+            final @NotNull MqttIncomingQosHandler incomingQosHandler, final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttIncomingQos0Drops incomingQos0Drops) {
+
         this.incomingQosHandler = incomingQosHandler;
+        this.incomingQos0Drops = incomingQos0Drops;
+        qos0BufferCapacity = clientConfig.getIncomingQos0BufferCapacity();
+        qos0DropPolicy = clientConfig.getIncomingQos0DropPolicy();
     }
 
     @CallByThread("Netty EventLoop")
     void onPublishQos0(final @NotNull MqttStatefulPublish publish, final int receiveMaximum) {
-        if (qos0Queue.size() >= (2 * receiveMaximum)) { // TODO receiveMaximum
-            LOGGER.warn("QoS 0 publish message dropped.");
-            if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                qos0It.next();
-                //noinspection unchecked
-                final HandleList<MqttIncomingPublishFlow> flows = (HandleList<MqttIncomingPublishFlow>) qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
+        final MqttMatchingPublishFlows flows = onPublish(publish);
+        if (flows.isEmpty()) {
+            publish.stateless().release();
+            return;
+        }
+        final int capacity = (qos0BufferCapacity == 0) ? receiveMaximum : qos0BufferCapacity;
+        if (qos0Queue.size() >= (2 * capacity)) {
+            switch (qos0DropPolicy) {
+                case DROP_NEWEST:
+                    dereference(flows);
+                    publish.stateless().release();
+                    incomingQos0Drops.onDropped();
+                    return;
+                case CONFLATE_PER_TOPIC:
+                    if (conflate(publish, flows)) {
+                        incomingQos0Drops.onDropped();
+                        return;
                     }
-                }
-            } else {
-                return;
+                    // fall through if no publish with the same topic is buffered
+                default:
+                    qos0It.reset();
+                    final MqttStatefulPublish dropped = (MqttStatefulPublish) qos0It.next();
+                    final MqttMatchingPublishFlows droppedFlows = (MqttMatchingPublishFlows) qos0It.next();
+                    qos0It.remove();
+                    dereference(droppedFlows);
+                    dropped.stateless().release();
+                    incomingQos0Drops.onDropped();
             }
         }
-        final HandleList<MqttIncomingPublishFlow> flows = onPublish(publish);
-        if (!flows.isEmpty()) {
-            qos0Queue.offer(publish);
-            qos0Queue.offer(flows);
+        qos0Queue.offer(publish);
+        qos0Queue.offer(flows);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private boolean conflate(
+            final @NotNull MqttStatefulPublish publish, final @NotNull MqttMatchingPublishFlows flows) {
+
+        // the newest buffered publish with the same topic is replaced, so find the last one
+        int newest = 0;
+        qos0It.reset();
+        while (qos0It.hasNext()) {
+            final MqttStatefulPublish queued = (MqttStatefulPublish) qos0It.next();
+            if (queued.stateless().getTopic().equals(publish.stateless().getTopic())) {
+                newest = qos0It.getIterated();
+            }
+            qos0It.next();
+        }
+        if (newest == 0) {
+            return false;
+        }
+        qos0It.reset();
+        MqttStatefulPublish queued;
+        do {
+            queued = (MqttStatefulPublish) qos0It.next();
+        } while (qos0It.getIterated() < newest);
+        qos0It.set(publish);
+        final MqttMatchingPublishFlows queuedFlows = (MqttMatchingPublishFlows) qos0It.next();
+        qos0It.set(flows);
+        dereference(queuedFlows);
+        queued.stateless().release();
+        return true;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void dereference(final @NotNull MqttMatchingPublishFlows flows) {
+        for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
+            if (h.getElement().dereference() == 0) {
+                referencedFlowCount--;
+            }
         }
     }
 
@@ -84,9 +142,10 @@ class MqttIncomingPublishService {
         if (qos1Or2Queue.size() >= (2 * receiveMaximum)) {
             return false; // flow control error
         }
-        final HandleList<MqttIncomingPublishFlow> flows = onPublish(publish);
-        if (qos1Or2Queue.isEmpty() && flows.isEmpty()) {
+        final MqttMatchingPublishFlows flows = onPublish(publish);
+        if (qos1Or2Queue.isEmpty() && flows.isAcknowledged()) {
             incomingQosHandler.ack(publish);
+            publish.stateless().release();
         } else {
             qos1Or2Queue.offer(publish);
             qos1Or2Queue.offer(flows);
@@ -95,9 +154,8 @@ class MqttIncomingPublishService {
     }
 
     @CallByThread("Netty EventLoop")
-    private @NotNull HandleList<MqttIncomingPublishFlow> onPublish(final @NotNull MqttStatefulPublish publish) {
-        final HandleList<MqttIncomingPublishFlow> flows =
-                incomingQosHandler.getIncomingPublishFlows().findMatching(publish);
+    private @NotNull MqttMatchingPublishFlows onPublish(final @NotNull MqttStatefulPublish publish) {
+        final MqttMatchingPublishFlows flows = incomingQosHandler.getIncomingPublishFlows().findMatching(publish);
         if (flows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publish);
         }
@@ -119,12 +177,12 @@ class MqttIncomingPublishService {
         qos1Or2It.reset();
         while (qos1Or2It.hasNext()) {
             final MqttStatefulPublish publish = (MqttStatefulPublish) qos1Or2It.next();
-            //noinspection unchecked
-            final HandleList<MqttIncomingPublishFlow> flows = (HandleList<MqttIncomingPublishFlow>) qos1Or2It.next();
+            final MqttMatchingPublishFlows flows = (MqttMatchingPublishFlows) qos1Or2It.next();
             emit(publish.stateless(), flows);
-            if ((qos1Or2It.getIterated() == 2) && flows.isEmpty()) {
+            if ((qos1Or2It.getIterated() == 2) && flows.isAcknowledged()) {
                 qos1Or2It.remove();
                 incomingQosHandler.ack(publish);
+                publish.stateless().release();
             } else if (blockingFlowCount == referencedFlowCount) {
                 return;
             }
@@ -132,11 +190,11 @@ class MqttIncomingPublishService {
         qos0It.reset();
         while (qos0It.hasNext()) {
             final MqttStatefulPublish publish = (MqttStatefulPublish) qos0It.next();
-            //noinspection unchecked
-            final HandleList<MqttIncomingPublishFlow> flows = (HandleList<MqttIncomingPublishFlow>) qos0It.next();
+            final MqttMatchingPublishFlows flows = (MqttMatchingPublishFlows) qos0It.next();
             emit(publish.stateless(), flows);
             if ((qos0It.getIterated() == 2) && flows.isEmpty()) {
                 qos0It.remove();
+                publish.stateless().release();
             } else if (blockingFlowCount == referencedFlowCount) {
                 return;
             }
@@ -144,7 +202,7 @@ class MqttIncomingPublishService {
     }
 
     @CallByThread("Netty EventLoop")
-    private void emit(final @NotNull MqttPublish publish, final @NotNull HandleList<MqttIncomingPublishFlow> flows) {
+    private void emit(final @NotNull MqttPublish publish, final @NotNull MqttMatchingPublishFlows flows) {
         for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
             final MqttIncomingPublishFlow flow = h.getElement();
 
@@ -156,6 +214,11 @@ class MqttIncomingPublishService {
             } else {
                 final long requested = flow.requested(runIndex);
                 if (requested > 0) {
+                    if (flow.isManualAcknowledgement() && (publish.getQos() != MqttQos.AT_MOST_ONCE) &&
+                            flow.addUnacknowledged(publish, flows)) {
+                        flows.missingAcknowledgements++;
+                    }
+                    publish.retainPayload();
                     flow.onNext(publish);
                     flows.remove(h);
                     if (flow.dereference() == 0) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropListener;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates dropped incoming QoS 0 publishes of a client. They outlive single connections.
+ * <p>
+ * Drops are counted without allocations. A notification is only scheduled on the application scheduler if none is
+ * outstanding, so the incoming QoS 0 drop listener receives the amount of drops since its last notification. Without a
+ * listener a single warning is logged per notification instead of one per dropped publish.
+ *
+ * @author Silvio Giebl
+ */
+@ClientScope
+public class MqttIncomingQos0Drops implements Runnable {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttIncomingQos0Drops.class);
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private volatile long droppedCount;
+    private final @NotNull AtomicLong unreportedCount = new AtomicLong();
+
+    @Inject
+    MqttIncomingQos0Drops(final @NotNull MqttClientConfig clientConfig) {
+        this.clientConfig = clientConfig;
+    }
+
+    @CallByThread("Netty EventLoop")
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    void onDropped() {
+        droppedCount++;
+        if (unreportedCount.getAndIncrement() == 0) {
+            clientConfig.getExecutorConfig().getApplicationScheduler().scheduleDirect(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        final long count = unreportedCount.getAndSet(0);
+        if (count == 0) {
+            return;
+        }
+        final MqttIncomingQos0DropListener listener = clientConfig.getRawIncomingQos0DropListener();
+        if (listener == null) {
+            LOGGER.warn("{} incoming QoS 0 publish message(s) dropped.", count);
+            return;
+        }
+        try {
+            listener.onDropped(count);
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by incoming QoS 0 drop listener.", t);
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -66,15 +66,18 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     // contains StatefulPublish with AT_LEAST_ONCE/EXACTLY_ONCE, MqttPubAck or MqttPubRec
 
     private int receiveMaximum;
+    private boolean inRead;
+    private boolean flushScheduled;
 
     @Inject
     MqttIncomingQosHandler(
             final @NotNull MqttClientConfig clientConfig,
-            final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+            final @NotNull MqttIncomingPublishFlows incomingPublishFlows,
+            final @NotNull MqttIncomingQos0Drops incomingQos0Drops) {
 
         this.clientConfig = clientConfig;
         this.incomingPublishFlows = incomingPublishFlows;
-        incomingPublishService = new MqttIncomingPublishService(this);
+        incomingPublishService = new MqttIncomingPublishService(this, clientConfig, incomingQos0Drops);
     }
 
     @Override
@@ -87,6 +90,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        inRead = true;
         if (msg instanceof MqttStatefulPublish) {
             readPublish(ctx, (MqttStatefulPublish) msg);
         } else if (msg instanceof MqttPubRel) {
@@ -96,6 +100,12 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        inRead = false;
+        ctx.fireChannelReadComplete();
+    }
+
     private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
@@ -118,7 +128,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         final MqttMessage.WithId prevMessage = messages.putIfAbsent(publish);
         if (prevMessage == null) { // new message
             readNewPublishQos1Or2(ctx, publish);
-        } else if ((prevMessage instanceof MqttStatefulPublish) &&
+            return;
+        }
+        publish.stateless().release(); // not delivered
+        if ((prevMessage instanceof MqttStatefulPublish) &&
                 (((MqttStatefulPublish) prevMessage).stateless().getQos() == MqttQos.AT_LEAST_ONCE)) { // resent message
             checkDupFlagSet(ctx, publish);
         } else if (prevMessage instanceof MqttPubAck) { // resent message and already acknowledged
@@ -135,7 +148,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         final MqttMessage.WithId prevMessage = messages.putIfAbsent(publish);
         if (prevMessage == null) { // new message
             readNewPublishQos1Or2(ctx, publish);
-        } else if ((prevMessage instanceof MqttStatefulPublish) &&
+            return;
+        }
+        publish.stateless().release(); // not delivered
+        if ((prevMessage instanceof MqttStatefulPublish) &&
                 (((MqttStatefulPublish) prevMessage).stateless().getQos() == MqttQos.EXACTLY_ONCE)) { // resent message
             checkDupFlagSet(ctx, publish);
         } else if (prevMessage instanceof MqttPubRec) { // resent message and already acknowledged
@@ -152,6 +168,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
 
         if (!incomingPublishService.onPublishQos1Or2(publish, receiveMaximum)) {
+            publish.stateless().release();
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.RECEIVE_MAXIMUM_EXCEEDED,
                     "Received more QoS 1 and/or 2 PUBLISHes than allowed by Receive Maximum");
         }
@@ -189,14 +206,41 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     }
 
     private void writePubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
-        ctx.writeAndFlush(pubAck, new DefaultContextPromise<>(ctx.channel(), pubAck)).addListener(this);
+        ctx.write(pubAck, new DefaultContextPromise<>(ctx.channel(), pubAck)).addListener(this);
+        flushAck(ctx);
     }
 
     private void writePubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
         if (pubRec.getReasonCode().isError()) {
-            ctx.writeAndFlush(pubRec, new DefaultContextPromise<>(ctx.channel(), pubRec)).addListener(this);
+            ctx.write(pubRec, new DefaultContextPromise<>(ctx.channel(), pubRec)).addListener(this);
         } else {
-            ctx.writeAndFlush(pubRec, ctx.voidPromise());
+            ctx.write(pubRec, ctx.voidPromise());
+        }
+        flushAck(ctx);
+    }
+
+    /**
+     * Flushes a written PubAck or PubRec message.
+     * <p>
+     * While reading, the encoder already defers flushes until the read is complete. PubAck and PubRec messages that
+     * are written outside of a read, for example for Publish messages that are acknowledged at once by the
+     * application, are flushed together after the current event loop iteration.
+     */
+    private void flushAck(final @NotNull ChannelHandlerContext ctx) {
+        if (inRead) {
+            ctx.flush();
+        } else {
+            scheduleFlush(ctx);
+        }
+    }
+
+    private void scheduleFlush(final @NotNull ChannelHandlerContext ctx) {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.executor().execute(() -> {
+                flushScheduled = false;
+                ctx.flush();
+            });
         }
     }
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Delivers incoming Publish messages to a callback on multiple lanes in parallel while preserving the order of Publish
+ * messages with the same ordering key.
+ * <p>
+ * Every lane executes the callback serially on the given executor, so up to <code>parallelism</code> callbacks run
+ * concurrently. Publish messages are assigned to a lane by the hash code of their ordering key. If subscribed to a
+ * flow with manual acknowledgement, QoS 1 and 2 Publish messages are only acknowledged after the callback returned.
+ * Acknowledgements are still sent in the order the Publish messages were received, so a slow lane holds back the
+ * acknowledgements of all lanes.
+ * <p>
+ * At most {@link Flowable#bufferSize()} Publish messages are requested in advance. The Publish messages that a lane
+ * handled in one go are acknowledged and requested again together after their callbacks returned.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttKeyedParallelCallbackSubscriber implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck> {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttKeyedParallelCallbackSubscriber.class);
+
+    private final @NotNull Consumer<Mqtt5Publish> callback;
+    private final @NotNull Executor executor;
+    private final @NotNull Function<? super Mqtt5Publish, ?> orderingKey;
+    private final @NotNull Lane[] lanes;
+    private final @NotNull CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+    private @Nullable Subscription subscription;
+    private @Nullable MqttIncomingPublishFlow flow;
+
+    public MqttKeyedParallelCallbackSubscriber(
+            final @NotNull Consumer<Mqtt5Publish> callback, final @NotNull Executor executor, final int parallelism,
+            final @NotNull Function<? super Mqtt5Publish, ?> orderingKey) {
+
+        this.callback = callback;
+        this.executor = executor;
+        this.orderingKey = orderingKey;
+        lanes = new Lane[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    public @NotNull CompletableFuture<Mqtt5SubAck> getSubAckFuture() {
+        return subAckFuture;
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription s) {
+        subscription = s;
+        if (s instanceof MqttIncomingPublishFlow) {
+            flow = (MqttIncomingPublishFlow) s;
+        }
+        s.request(Flowable.bufferSize());
+    }
+
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        executor.execute(() -> subAckFuture.complete(subAck));
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        final Object key;
+        try {
+            key = orderingKey.apply(publish);
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by ordering key function.", t);
+            lanes[0].offer(publish);
+            return;
+        }
+        final int hash = (key == null) ? 0 : key.hashCode();
+        lanes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length].offer(publish);
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        if (!subAckFuture.isDone()) {
+            executor.execute(() -> subAckFuture.completeExceptionally(t));
+        }
+    }
+
+    private void handle(final @NotNull Mqtt5Publish publish) {
+        try {
+            callback.accept(publish);
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by callback.", t);
+        }
+    }
+
+    private void handled(final @NotNull List<Mqtt5Publish> publishes) {
+        if (flow != null) {
+            flow.acknowledge(publishes);
+        }
+        assert subscription != null;
+        subscription.request(publishes.size());
+    }
+
+    private class Lane implements Runnable {
+
+        private final @NotNull ConcurrentLinkedQueue<Mqtt5Publish> queue = new ConcurrentLinkedQueue<>();
+        private final @NotNull AtomicInteger wip = new AtomicInteger();
+
+        void offer(final @NotNull Mqtt5Publish publish) {
+            queue.offer(publish);
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                final List<Mqtt5Publish> handled = new ArrayList<>(missed);
+                for (int i = 0; i < missed; i++) {
+                    final Mqtt5Publish publish = queue.poll();
+                    assert publish != null;
+                    handle(publish);
+                    handled.add(publish);
+                }
+                handled(handled);
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishAcknowledger;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Delivers incoming Publish messages serially to a callback on the given executor together with the {@link
+ * Mqtt5PublishAcknowledger acknowledger} of the flow, so that the callback decides when the Publish messages are
+ * acknowledged.
+ * <p>
+ * At most {@link Flowable#bufferSize()} Publish messages are requested in advance, one more Publish message is
+ * requested each time a callback returned. The amount of unacknowledged QoS 1 and 2 Publish messages is limited by the
+ * receive maximum.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttManualAcknowledgementCallbackSubscriber
+        implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck>, Runnable {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttManualAcknowledgementCallbackSubscriber.class);
+
+    private static final @NotNull Mqtt5PublishAcknowledger NO_ACKNOWLEDGER = new Mqtt5PublishAcknowledger() {
+        @Override
+        public void acknowledge(final @NotNull Mqtt5Publish publish) {}
+
+        @Override
+        public void acknowledge(final @NotNull List<? extends Mqtt5Publish> publishes) {}
+    };
+
+    private final @NotNull BiConsumer<Mqtt5Publish, Mqtt5PublishAcknowledger> callback;
+    private final @NotNull Executor executor;
+    private final @NotNull CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+    private @Nullable Subscription subscription;
+    private @NotNull Mqtt5PublishAcknowledger acknowledger = NO_ACKNOWLEDGER;
+
+    private final @NotNull ConcurrentLinkedQueue<Mqtt5Publish> queue = new ConcurrentLinkedQueue<>();
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
+
+    public MqttManualAcknowledgementCallbackSubscriber(
+            final @NotNull BiConsumer<Mqtt5Publish, Mqtt5PublishAcknowledger> callback,
+            final @NotNull Executor executor) {
+
+        this.callback = callback;
+        this.executor = executor;
+    }
+
+    public @NotNull CompletableFuture<Mqtt5SubAck> getSubAckFuture() {
+        return subAckFuture;
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription s) {
+        subscription = s;
+        if (s instanceof MqttIncomingPublishFlow) {
+            acknowledger = (MqttIncomingPublishFlow) s;
+        }
+        s.request(Flowable.bufferSize());
+    }
+
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        executor.execute(() -> subAckFuture.complete(subAck));
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        queue.offer(publish);
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {
+        if (!subAckFuture.isDone()) {
+            executor.execute(() -> subAckFuture.completeExceptionally(t));
+        }
+    }
+
+    @Override
+    public void run() {
+        do {
+            final Mqtt5Publish publish = queue.poll();
+            assert publish != null;
+            try {
+                callback.accept(publish, acknowledger);
+            } catch (final Throwable t) {
+                LOGGER.error("Unexpected exception thrown by callback.", t);
+            }
+            assert subscription != null;
+            subscription.request(1);
+        } while (wip.decrementAndGet() != 0);
+    }
+}
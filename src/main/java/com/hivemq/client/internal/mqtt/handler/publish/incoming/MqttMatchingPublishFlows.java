@@ -25,4 +25,9 @@ import com.hivemq.client.internal.util.collections.HandleList;
 class MqttMatchingPublishFlows extends HandleList<MqttIncomingPublishFlow> {
 
     boolean subscriptionFound;
+    int missingAcknowledgements;
+
+    boolean isAcknowledged() {
+        return isEmpty() && (missingAcknowledgements == 0);
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects callbacks that block the Netty event loop for longer than a threshold.
+ * <p>
+ * The first slow callback is logged immediately. Afterwards a warning is logged at most once per second together with
+ * the amount of slow callbacks since the last warning, so a consistently slow callback does not flood the log.
+ *
+ * @author Silvio Giebl
+ */
+class MqttSlowCallbackDetector {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttSlowCallbackDetector.class);
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long thresholdNanos;
+    private long slowCount;
+    private long maxNanos;
+    private long lastWarningNanos;
+    private boolean warned;
+
+    MqttSlowCallbackDetector(final long thresholdMicros) {
+        thresholdNanos = TimeUnit.MICROSECONDS.toNanos(thresholdMicros);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onCallbackReturned(final long startNanos) {
+        onCallbackReturned(startNanos, System.nanoTime());
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} before the callback was called.
+     * @param nowNanos   the {@link System#nanoTime()} after the callback returned.
+     * @return whether a warning was logged.
+     */
+    @CallByThread("Netty EventLoop")
+    boolean onCallbackReturned(final long startNanos, final long nowNanos) {
+        final long nanos = nowNanos - startNanos;
+        if (nanos < thresholdNanos) {
+            return false;
+        }
+        slowCount++;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        if (!warned || ((nowNanos - lastWarningNanos) >= WARNING_INTERVAL_NANOS)) {
+            LOGGER.warn("{} callback(s) blocked the Netty event loop for more than {} us, the longest for {} us. " +
+                            "Callbacks on the event loop delay all network communication of the client, slow " +
+                            "callbacks should be executed on an executor instead.", slowCount,
+                    TimeUnit.NANOSECONDS.toMicros(thresholdNanos), TimeUnit.NANOSECONDS.toMicros(maxNanos));
+            warned = true;
+            lastWarningNanos = nowNanos;
+            slowCount = 0;
+            maxNanos = 0;
+            return true;
+        }
+        return false;
+    }
+}
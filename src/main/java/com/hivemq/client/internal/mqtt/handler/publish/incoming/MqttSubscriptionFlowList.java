@@ -148,4 +148,9 @@ public class MqttSubscriptionFlowList implements MqttSubscriptionFlows {
         flows.clear();
         subscribedTopicFilters.clear();
     }
+
+    @Override
+    public boolean isEmpty() {
+        return subscribedTopicFilters.isEmpty();
+    }
 }
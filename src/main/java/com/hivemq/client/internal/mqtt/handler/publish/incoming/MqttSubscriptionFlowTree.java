@@ -27,15 +27,29 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
+ * Subscription flows stored in a topic tree.
+ * <p>
+ * The flows matching a topic are additionally cached in a small LRU cache, so hot topics do not walk the tree on every
+ * incoming Publish. Every modification of the tree increments a generation number. The cache is invalidated lazily on
+ * the next lookup after the generation changed, so many consecutive modifications only invalidate it once.
+ *
  * @author Silvio Giebl
  */
 @NotThreadSafe
 public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
 
+    static final int MATCH_CACHE_CAPACITY = 128;
+    private static final @NotNull MqttSubscribedPublishFlow[] NO_FLOWS = new MqttSubscribedPublishFlow[0];
+
     private @Nullable TopicTreeNode rootNode;
+    private final @NotNull MatchCache matchCache = new MatchCache();
+    private int generation;
+    private int matchCacheGeneration;
 
     @Inject
     MqttSubscriptionFlowTree() {}
@@ -44,6 +58,7 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
     public void subscribe(
             final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
 
+        generation++;
         final TopicTreeEntry entry = (flow == null) ? null : new TopicTreeEntry(flow, topicFilter);
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
@@ -57,6 +72,7 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
 
     @Override
     public void remove(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
+        generation++;
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
@@ -70,6 +86,7 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
             final @NotNull MqttTopicFilterImpl topicFilter,
             final @Nullable Consumer<MqttSubscribedPublishFlow> unsubscribedCallback) {
 
+        generation++;
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
@@ -80,6 +97,7 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
 
     @Override
     public void cancel(final @NotNull MqttSubscribedPublishFlow flow) {
+        generation++;
         for (Handle<MqttTopicFilterImpl> h = flow.getTopicFilters().getFirst(); h != null; h = h.getNext()) {
             final MqttTopicIterator topicIterator = MqttTopicIterator.of(h.getElement());
             TopicTreeNode node = rootNode;
@@ -93,15 +111,53 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
     public void findMatching(
             final @NotNull MqttTopicImpl topic, final @NotNull MqttMatchingPublishFlows matchingFlows) {
 
+        if (matchCacheGeneration != generation) {
+            matchCache.clear();
+            matchCacheGeneration = generation;
+        }
+        final MatchCacheEntry cacheEntry = matchCache.get(topic);
+        if (cacheEntry != null) {
+            for (final MqttSubscribedPublishFlow flow : cacheEntry.flows) {
+                matchingFlows.add(flow);
+            }
+            if (cacheEntry.subscriptionFound) {
+                matchingFlows.subscriptionFound = true;
+            }
+            return;
+        }
+        final int sizeBefore = matchingFlows.size();
+        final boolean subscriptionFoundBefore = matchingFlows.subscriptionFound;
+        matchingFlows.subscriptionFound = false;
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topic);
         TopicTreeNode node = rootNode;
         while (node != null) {
             node = node.findMatching(topicIterator, matchingFlows);
         }
+        final boolean subscriptionFound = matchingFlows.subscriptionFound;
+        matchingFlows.subscriptionFound = subscriptionFoundBefore || subscriptionFound;
+        matchCache.put(topic, new MatchCacheEntry(getAdded(matchingFlows, sizeBefore), subscriptionFound));
+    }
+
+    private static @NotNull MqttSubscribedPublishFlow[] getAdded(
+            final @NotNull MqttMatchingPublishFlows matchingFlows, final int sizeBefore) {
+
+        final int added = matchingFlows.size() - sizeBefore;
+        if (added == 0) {
+            return NO_FLOWS;
+        }
+        final MqttSubscribedPublishFlow[] flows = new MqttSubscribedPublishFlow[added];
+        Handle<MqttIncomingPublishFlow> h = matchingFlows.getLast();
+        for (int i = added - 1; i >= 0; i--) {
+            assert h != null;
+            flows[i] = (MqttSubscribedPublishFlow) h.getElement();
+            h = h.getPrev();
+        }
+        return flows;
     }
 
     @Override
     public void clear(final @NotNull Throwable cause) {
+        generation++;
         TopicTreeNode node = rootNode;
         while (node != null) {
             node = node.clear(cause);
@@ -109,12 +165,40 @@ public class MqttSubscriptionFlowTree implements MqttSubscriptionFlows {
         rootNode = null;
     }
 
+    @Override
+    public boolean isEmpty() {
+        return rootNode == null;
+    }
+
     private void compact() {
         if ((rootNode != null) && rootNode.isEmpty()) {
             rootNode = null;
         }
     }
 
+    private static class MatchCache extends LinkedHashMap<MqttTopicImpl, MatchCacheEntry> {
+
+        MatchCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final @NotNull Map.Entry<MqttTopicImpl, MatchCacheEntry> eldest) {
+            return size() > MATCH_CACHE_CAPACITY;
+        }
+    }
+
+    private static class MatchCacheEntry {
+
+        final @NotNull MqttSubscribedPublishFlow[] flows;
+        final boolean subscriptionFound;
+
+        MatchCacheEntry(final @NotNull MqttSubscribedPublishFlow[] flows, final boolean subscriptionFound) {
+            this.flows = flows;
+            this.subscriptionFound = subscriptionFound;
+        }
+    }
+
     private static class TopicTreeEntry extends NodeList.Node<TopicTreeEntry> {
 
         final @NotNull MqttSubscribedPublishFlow flow;
@@ -44,4 +44,6 @@ public interface MqttSubscriptionFlows {
     void findMatching(@NotNull MqttTopicImpl topic, @NotNull MqttMatchingPublishFlows matchingFlows);
 
     void clear(@NotNull Throwable cause);
+
+    boolean isEmpty();
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Publishes a batch of Publish messages with a single ack flow. The batch is handed to the {@link
+ * MqttOutgoingQosHandler} at once and results in one task on the event loop.
+ * <p>
+ * Emits the results in the order of the Publish messages after all of them are acknowledged. The results may contain
+ * errors for individual Publish messages, the Single itself only errors if the client is not connected.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckBatchSingle extends Single<List<Mqtt5PublishResult>> {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull ImmutableList<MqttPublish> publishes;
+
+    public MqttAckBatchSingle(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull ImmutableList<MqttPublish> publishes) {
+
+        this.clientConfig = clientConfig;
+        this.publishes = publishes;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer) {
+        if (publishes.isEmpty()) {
+            observer.onSubscribe(EmptyDisposable.INSTANCE);
+            observer.onSuccess(ImmutableList.<Mqtt5PublishResult>of());
+        } else if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
+
+            final Flow flow = new Flow(observer, clientConfig, publishes);
+            observer.onSubscribe(flow);
+            final ImmutableList.Builder<MqttPublishWithFlow> publishWithFlows =
+                    ImmutableList.builder(publishes.size());
+            for (final MqttPublish publish : publishes) {
+                publishWithFlows.add(new MqttPublishWithFlow(publish, flow));
+            }
+            publishFlowables.add(publishWithFlows.build());
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+
+    private static class Flow extends MqttAckFlow implements Disposable {
+
+        private static final int NO_NEXT = -1;
+
+        private final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer;
+        private final @NotNull MqttPublishResult[] results;
+        // index of the first not yet completed occurrence of each publish, further occurrences are linked via next
+        private final @NotNull IdentityHashMap<MqttPublish, Integer> indexes;
+        private final int @NotNull [] next;
+        private int acknowledged;
+
+        Flow(
+                final @NotNull SingleObserver<? super List<Mqtt5PublishResult>> observer,
+                final @NotNull MqttClientConfig clientConfig, final @NotNull ImmutableList<MqttPublish> publishes) {
+
+            super(clientConfig);
+            this.observer = observer;
+            final int size = publishes.size();
+            results = new MqttPublishResult[size];
+            indexes = new IdentityHashMap<>(size);
+            next = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                final Integer previous = indexes.put(publishes.get(i), i);
+                next[i] = (previous == null) ? NO_NEXT : previous;
+            }
+            init();
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            final MqttPublish publish = result.getPublish();
+            final Integer index = indexes.get(publish);
+            if (index == null) {
+                throw new IllegalStateException(
+                        "A result must only be emitted for a publish of the batch. This must not happen and is a bug.");
+            }
+            final int nextIndex = next[index];
+            if (nextIndex == NO_NEXT) {
+                indexes.remove(publish);
+            } else {
+                indexes.put(publish, nextIndex);
+            }
+            results[index] = result;
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void acknowledged(final long acknowledged) {
+            this.acknowledged += acknowledged;
+            if ((this.acknowledged == results.length) && setDone()) {
+                observer.onSuccess(ImmutableList.<Mqtt5PublishResult>copyOf(results));
+            }
+        }
+    }
+}
@@ -43,7 +43,6 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
     private static final int STATE_BLOCKED = 2;
 
     private final @NotNull Subscriber<? super MqttPublishResult> subscriber;
-    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
 
     private long requestedNettyLocal;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
@@ -57,14 +56,15 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
     private final @NotNull ChunkedArrayQueue<MqttPublishResult> queue = new ChunkedArrayQueue<>(32);
 
     private final @NotNull AtomicReference<@Nullable LinkedFlow> linkedFlow = new AtomicReference<>();
+    // not reset on cancel, so the credits of publishes acknowledged after cancellation are still returned
+    private volatile @Nullable LinkedFlow acknowledgedFlow;
 
     MqttAckFlowableFlow(
             final @NotNull Subscriber<? super MqttPublishResult> subscriber,
-            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+            final @NotNull MqttClientConfig clientConfig) {
 
         super(clientConfig);
         this.subscriber = subscriber;
-        this.outgoingQosHandler = outgoingQosHandler;
         init();
     }
 
@@ -125,7 +125,10 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
                     subscriber.onComplete();
                 }
             }
-            outgoingQosHandler.request(acknowledged);
+            final LinkedFlow acknowledgedFlow = this.acknowledgedFlow;
+            if (acknowledgedFlow != null) {
+                acknowledgedFlow.acknowledged(acknowledged); // return the credits of the producer
+            }
         }
     }
 
@@ -191,7 +194,7 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
     @Override
     protected void onCancel() {
         if (requestState.get() == STATE_BLOCKED) {
-            eventLoop.execute(this); // clear queue and request unconsumed amount from outgoingQosHandler
+            eventLoop.execute(this); // clear queue and acknowledge unconsumed amount
         }
         cancelLink();
     }
@@ -204,6 +207,7 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
     }
 
     void link(final @NotNull LinkedFlow linkedFlow) {
+        acknowledgedFlow = linkedFlow;
         if (!this.linkedFlow.compareAndSet(null, linkedFlow)) {
             linkedFlow.cancelLink();
         }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.mqtt.handler.util.MqttFlowFuture;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Future counterpart of {@link MqttAckSingle} that is completed directly by the same {@link MqttAckFlow}.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckFuture extends MqttFlowFuture<Mqtt5PublishResult> {
+
+    private final @Nullable MqttAckSingle.Flow flow;
+
+    public MqttAckFuture(final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublish publish) {
+        super(clientConfig);
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
+
+            flow = new MqttAckSingle.Flow(this, clientConfig);
+            publishFlowables.add(new MqttPublishWithFlow(publish, flow));
+        } else {
+            flow = null;
+            completeExceptionally(MqttClientStateExceptions.notConnected());
+        }
+    }
+
+    @Override
+    protected @Nullable FlowWithEventLoop getFlow() {
+        return flow;
+    }
+}
@@ -24,7 +24,6 @@ import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
@@ -52,29 +51,26 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler);
+            final Flow flow = new Flow(observer, clientConfig);
             observer.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            publishFlowables.add(new MqttPublishWithFlow(publish, flow));
         } else {
             EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
         }
     }
 
-    private static class Flow extends MqttAckFlow implements Disposable {
+    static class Flow extends MqttAckFlow implements Disposable {
 
         private final @NotNull SingleObserver<? super Mqtt5PublishResult> observer;
-        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
 
         private @Nullable MqttPublishResult result;
 
         Flow(
                 final @NotNull SingleObserver<? super Mqtt5PublishResult> observer,
-                final @NotNull MqttClientConfig clientConfig,
-                final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+                final @NotNull MqttClientConfig clientConfig) {
 
             super(clientConfig);
             this.observer = observer;
-            this.outgoingQosHandler = outgoingQosHandler;
             init();
         }
 
@@ -98,7 +94,6 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
                     observer.onError(error);
                 }
             }
-            outgoingQosHandler.request(1);
         }
 
         @CallByThread("Netty EventLoop")
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.mqtt.MqttFireAndForgetFailureListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates failures of fire-and-forget publishes of a client. They outlive single connections.
+ * <p>
+ * Failures are counted without allocations. The fire-and-forget failure listener is only scheduled on the application
+ * scheduler if no notification is outstanding, so it receives the amount of failures since its last notification.
+ *
+ * @author Silvio Giebl
+ */
+@ClientScope
+public class MqttFireAndForgetFailures implements Runnable {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttFireAndForgetFailures.class);
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull AtomicLong failureCount = new AtomicLong();
+    private final @NotNull AtomicLong unreportedCount = new AtomicLong();
+    private volatile @Nullable Throwable lastCause;
+
+    @Inject
+    MqttFireAndForgetFailures(final @NotNull MqttClientConfig clientConfig) {
+        this.clientConfig = clientConfig;
+    }
+
+    void onFailure(final @NotNull Throwable cause) {
+        onFailures(1, cause);
+    }
+
+    void onFailures(final long count, final @NotNull Throwable cause) {
+        failureCount.addAndGet(count);
+        if (clientConfig.getRawFireAndForgetFailureListener() == null) {
+            return;
+        }
+        lastCause = cause;
+        if (unreportedCount.getAndAdd(count) == 0) {
+            clientConfig.getExecutorConfig().getApplicationScheduler().scheduleDirect(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        final MqttFireAndForgetFailureListener listener = clientConfig.getRawFireAndForgetFailureListener();
+        final long count = unreportedCount.getAndSet(0);
+        final Throwable cause = lastCause;
+        if ((listener == null) || (cause == null) || (count == 0)) {
+            return;
+        }
+        try {
+            listener.onFailures(count, cause);
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by fire-and-forget failure listener.", t);
+        }
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+}
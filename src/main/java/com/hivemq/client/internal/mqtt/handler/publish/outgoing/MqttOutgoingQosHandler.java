@@ -23,6 +23,7 @@ import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -42,6 +43,7 @@ import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRelBuilder;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
 import com.hivemq.client.internal.util.Ranges;
@@ -52,21 +54,23 @@ import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriority;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriorityClassifier;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubRecException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
-import io.reactivex.Flowable;
-import io.reactivex.FlowableSubscriber;
-import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
@@ -76,19 +80,26 @@ import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublis
  */
 @ClientScope
 public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
-        implements FlowableSubscriber<MqttPublishWithFlow>, Runnable, ContextFuture.Listener<MqttPublishWithFlow> {
+        implements Runnable, ContextFuture.Listener<MqttPublishWithFlow> {
 
     public static final @NotNull String NAME = "qos.outgoing";
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOutgoingQosHandler.class);
     private static final @NotNull IntIndex.Spec<MqttPubOrRelWithFlow> INDEX_SPEC =
             new IntIndex.Spec<>(x -> x.packetIdentifier);
-    private static final int MAX_CONCURRENT_PUBLISH_FLOWABLES = 64; // TODO configurable
     private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
+    private static final int MAX_PACKET_IDENTIFIER =
+            UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING;
+    private static final int @NotNull [] LANE_WEIGHTS = {8, 4, 1}; // indexed by Mqtt5PublishPriority ordinal
+    private static final int NORMAL_LANE = Mqtt5PublishPriority.NORMAL.ordinal();
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttPublishFlowables publishFlowables;
+    private final @Nullable Mqtt5OutgoingSessionPersistence persistence;
+    private final @NotNull MqttFireAndForgetFailures fireAndForgetFailures;
+    private final @Nullable Mqtt5PublishPriorityClassifier priorityClassifier;
 
-    private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
+    // indexed by Mqtt5PublishPriority ordinal, contain MqttPublishWithFlow or MqttPublish (fire-and-forget)
+    private final @NotNull MpscUnboundedArrayQueue<Object> @NotNull [] lanes;
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
     private final @NotNull IntIndex<MqttPubOrRelWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
@@ -97,16 +108,77 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private int sendMaximum;
     private @Nullable MqttPubOrRelWithFlow resendPending;
     private @Nullable MqttPublishWithFlow currentPending;
+    private boolean currentFireAndForget;
+    private int currentLane = NORMAL_LANE;
+    private int currentLaneCredit = LANE_WEIGHTS[NORMAL_LANE];
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
-    private @Nullable Subscription subscription;
-    private int shrinkRequests;
+    private boolean restored;
 
     @Inject
     MqttOutgoingQosHandler(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublishFlowables publishFlowables) {
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublishFlowables publishFlowables,
+            final @NotNull MqttFireAndForgetFailures fireAndForgetFailures) {
 
         this.clientConfig = clientConfig;
         this.publishFlowables = publishFlowables;
+        this.fireAndForgetFailures = fireAndForgetFailures;
+        persistence = clientConfig.getAdvancedConfig().getOutgoingSessionPersistence();
+        priorityClassifier = clientConfig.getAdvancedConfig().getPublishPriorityClassifier();
+        //noinspection unchecked
+        lanes = new MpscUnboundedArrayQueue[LANE_WEIGHTS.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new MpscUnboundedArrayQueue<>(32);
+        }
+    }
+
+    /**
+     * Restores the pending messages from the outgoing session persistence. Called before {@link
+     * #onSessionStartOrResume(MqttClientConnectionConfig, EventLoop)} if the client did not have a session before.
+     * <p>
+     * Only the first call restores, later sessions start from the in-memory state which is kept in sync with the
+     * persistence (cleared when a session ends).
+     *
+     * @param sessionPresent whether the server still has the session.
+     */
+    @CallByThread("Netty EventLoop")
+    public void onSessionRestore(final boolean sessionPresent) {
+        final Mqtt5OutgoingSessionPersistence persistence = this.persistence;
+        if ((persistence == null) || restored) {
+            return;
+        }
+        restored = true;
+        if (!sessionPresent) {
+            persistence.clear();
+            return;
+        }
+        packetIdentifiers.resize(MAX_PACKET_IDENTIFIER);
+        persistence.restore(new Mqtt5OutgoingSessionPersistence.Restorer() {
+            @Override
+            public void onPublish(final int packetIdentifier, final @NotNull Mqtt5Publish publish) {
+                restorePending(packetIdentifier,
+                        new MqttPublishWithFlow(MqttChecks.publish(publish), new MqttRestoredAckFlow(clientConfig)));
+            }
+
+            @Override
+            public void onPubRel(final int packetIdentifier) {
+                final MqttPubRel pubRel = new MqttPubRel(packetIdentifier, MqttPubRel.DEFAULT_REASON_CODE, null,
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+                final MqttQos2IntermediateWithFlow pubRelWithFlow =
+                        new MqttQos2IntermediateWithFlow(pubRel, new MqttRestoredAckFlow(clientConfig));
+                pubRelWithFlow.getAsBoolean(); // the intermediate result was already delivered before the restart
+                restorePending(packetIdentifier, pubRelWithFlow);
+            }
+        });
+    }
+
+    private void restorePending(final int packetIdentifier, final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow) {
+        if (!packetIdentifiers.takeId(packetIdentifier)) {
+            LOGGER.error("Persisted packet identifier " + packetIdentifier + " is invalid or used twice.");
+            pubOrRelWithFlow.getAckFlow().acknowledged(1);
+            return;
+        }
+        pubOrRelWithFlow.packetIdentifier = packetIdentifier;
+        pending.add(pubOrRelWithFlow);
     }
 
     @Override
@@ -115,27 +187,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
 
-        final int oldSendMaximum = sendMaximum;
-        final int newSendMaximum = Math.min(connectionConfig.getSendMaximum(),
-                UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
+        final int newSendMaximum = Math.min(connectionConfig.getSendMaximum(), MAX_PACKET_IDENTIFIER);
         sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
-        if (oldSendMaximum == 0) {
-            publishFlowables.flatMap(
-                    f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newSendMaximum, Flowable.bufferSize()))
-                    .subscribe(this);
-            assert subscription != null;
-            subscription.request(newSendMaximum);
-        } else {
-            assert subscription != null;
-            final int newRequests = newSendMaximum - oldSendMaximum - shrinkRequests;
-            if (newRequests > 0) {
-                shrinkRequests = 0;
-                subscription.request(newRequests);
-            } else {
-                shrinkRequests = -newRequests;
-            }
-        }
         topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
 
         pendingIndex.clear();
@@ -143,44 +197,89 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             resendPending = pending.getFirst();
             eventLoop.execute(this);
         }
-    }
 
-    @Override
-    public void onSubscribe(final @NotNull Subscription subscription) {
-        this.subscription = subscription;
+        publishFlowables.onSessionStartOrResume(this, newSendMaximum);
     }
 
-    @Override
-    public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
-        queue.offer(publishWithFlow);
+    void onPublish(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        offer(publishWithFlow.getPublish(), publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
         }
     }
 
-    @Override
-    public void onComplete() {
-        LOGGER.error("MqttPublishFlowables is global and must never complete. This must not happen and is a bug.");
+    void onPublishes(final @NotNull List<MqttPublishWithFlow> publishWithFlows) {
+        final int size = publishWithFlows.size();
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            final MqttPublishWithFlow publishWithFlow = publishWithFlows.get(i);
+            offer(publishWithFlow.getPublish(), publishWithFlow);
+        }
+        if (queuedCounter.getAndAdd(size) == 0) {
+            publishWithFlows.get(0).getAckFlow().getEventLoop().execute(this);
+        }
     }
 
-    @Override
-    public void onError(final @NotNull Throwable t) {
-        LOGGER.error("MqttPublishFlowables is global and must never error. This must not happen and is a bug.", t);
+    /**
+     * Queues a QoS 0 publish without a flow and without a result. Failures are only counted by {@link
+     * MqttFireAndForgetFailures}.
+     *
+     * @param publish the QoS 0 publish.
+     */
+    public void onFireAndForget(final @NotNull MqttPublish publish) {
+        final MqttClientConnectionConfig connectionConfig = clientConfig.getRawConnectionConfig();
+        if (connectionConfig == null) {
+            fireAndForgetFailures.onFailure(MqttClientStateExceptions.notConnected());
+            return;
+        }
+        offer(publish, publish);
+        if (queuedCounter.getAndIncrement() == 0) {
+            connectionConfig.getChannel().eventLoop().execute(this);
+        }
+    }
+
+    private void offer(final @NotNull MqttPublish publish, final @NotNull Object queued) {
+        lanes[lane(publish)].offer(queued);
+    }
+
+    private int lane(final @NotNull MqttPublish publish) {
+        final Mqtt5PublishPriorityClassifier priorityClassifier = this.priorityClassifier;
+        if (priorityClassifier == null) {
+            return NORMAL_LANE;
+        }
+        try {
+            return priorityClassifier.classify(publish).ordinal();
+        } catch (final Throwable t) {
+            LOGGER.error("Unexpected exception thrown by publish priority classifier.", t);
+            return NORMAL_LANE;
+        }
     }
 
+    /**
+     * Polls the next queued publish by weighted round-robin over the lanes. A lane may be polled as often as its
+     * weight before the next lane is visited, empty lanes are skipped.
+     *
+     * @return the next queued publish or null if all lanes are empty.
+     */
     @CallByThread("Netty EventLoop")
-    void request(final long n) {
-        assert subscription != null;
-
-        final int shrinkRequests = this.shrinkRequests;
-        if (shrinkRequests == 0) {
-            subscription.request(n);
-        } else if (n > shrinkRequests) {
-            this.shrinkRequests = 0;
-            subscription.request(n - shrinkRequests);
-        } else {
-            this.shrinkRequests -= n;
+    private @Nullable Object poll() {
+        if (priorityClassifier == null) {
+            return lanes[NORMAL_LANE].poll();
+        }
+        for (int i = 0; i <= lanes.length; i++) {
+            if (currentLaneCredit > 0) {
+                final Object queued = lanes[currentLane].poll();
+                if (queued != null) {
+                    currentLaneCredit--;
+                    return queued;
+                }
+            }
+            currentLane = (currentLane + 1) % lanes.length;
+            currentLaneCredit = LANE_WEIGHTS[currentLane];
         }
+        return null;
     }
 
     @CallByThread("Netty EventLoop")
@@ -205,16 +304,23 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
-            if (publishWithFlow == null) {
+            final Object queued = poll();
+            if (queued == null) {
                 break;
             }
-            writePublish(ctx, publishWithFlow);
+            if (queued instanceof MqttPublishWithFlow) {
+                writePublish(ctx, (MqttPublishWithFlow) queued);
+            } else {
+                writeFireAndForgetPublish(ctx, (MqttPublish) queued);
+            }
             written++;
             dequeued++;
         }
         if (written > 0) {
             final boolean wasWritable = channel.isWritable();
+            if (persistence != null) {
+                persistence.flush();
+            }
             ctx.flush();
             if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
                 channel.eventLoop().execute(this);
@@ -263,6 +369,14 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                 new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
     }
 
+    private void writeFireAndForgetPublish(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublish publish) {
+
+        currentFireAndForget = true;
+        ctx.write(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping), ctx.voidPromise());
+        currentFireAndForget = false;
+    }
+
     @Override
     public void operationComplete(final @NotNull ContextFuture<? extends MqttPublishWithFlow> future) {
         final MqttPublishWithFlow publishWithFlow = future.getContext();
@@ -288,6 +402,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         publishWithFlow.packetIdentifier = packetIdentifier;
         pendingIndex.put(publishWithFlow);
         pending.add(publishWithFlow);
+        if (persistence != null) {
+            persistence.storePublish(packetIdentifier, publishWithFlow.getPublish());
+        }
 
         writeQos1Or2Publish(ctx,
                 publishWithFlow.getPublish().createStateful(packetIdentifier, false, topicAliasMapping),
@@ -388,6 +505,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             }
 
             writePubRel(ctx, pubRel);
+            if (persistence != null) {
+                persistence.flush();
+            }
             ctx.flush();
         }
     }
@@ -402,6 +522,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pubRelWithFlow.packetIdentifier = publishWithFlow.packetIdentifier;
         pendingIndex.put(pubRelWithFlow);
         pending.replace(publishWithFlow, pubRelWithFlow);
+        if (persistence != null) {
+            persistence.storePubRel(pubRelWithFlow.packetIdentifier);
+        }
     }
 
     private void readPubComp(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubComp pubComp) {
@@ -447,6 +570,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pending.remove(oldPending);
 
         final int packetIdentifier = oldPending.packetIdentifier;
+        if (persistence != null) {
+            persistence.remove(packetIdentifier);
+        }
         packetIdentifiers.returnId(packetIdentifier);
         if (packetIdentifier > sendMaximum) {
             packetIdentifiers.resize(sendMaximum);
@@ -464,6 +590,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             currentPending.getAckFlow().onNext(new MqttPublishResult(currentPending.getPublish(), cause));
             completePending(ctx, currentPending);
             currentPending = null;
+        } else if (!(cause instanceof IOException) && currentFireAndForget) {
+            fireAndForgetFailures.onFailure(cause);
+            currentFireAndForget = false;
         } else {
             ctx.fireExceptionCaught(cause);
         }
@@ -492,15 +621,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pendingIndex.clear();
         pending.clear();
         resendPending = null;
+        if (persistence != null) {
+            persistence.clear();
+        }
 
         clearQueued(cause);
     }
 
     private void clearQueued(final @NotNull Throwable cause) {
         int polled = 0;
+        int fireAndForgetPolled = 0;
         while (true) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
-            if (publishWithFlow == null) {
+            final Object queued = poll();
+            if (queued == null) {
                 if (queuedCounter.addAndGet(-polled) == 0) {
                     break;
                 } else {
@@ -508,9 +641,17 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                     continue;
                 }
             }
-            publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+            if (queued instanceof MqttPublishWithFlow) {
+                final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) queued;
+                publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+            } else {
+                fireAndForgetPolled++;
+            }
             polled++;
         }
+        if (fireAndForgetPolled > 0) {
+            fireAndForgetFailures.onFailures(fireAndForgetPolled, cause);
+        }
     }
 
     private static void error(final @NotNull ChannelHandlerContext ctx, final @NotNull String reasonString) {
@@ -562,4 +703,8 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     @NotNull MqttPublishFlowables getPublishFlowables() {
         return publishFlowables;
     }
+
+    public int getQueuedCount() {
+        return queuedCounter.get();
+    }
 }
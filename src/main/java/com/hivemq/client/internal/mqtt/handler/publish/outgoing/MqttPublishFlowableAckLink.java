@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
@@ -52,11 +53,30 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
     interface LinkedFlow {
 
-        @NotNull LinkedFlow CANCELLED = () -> {};
+        @NotNull LinkedFlow CANCELLED = new LinkedFlow() {
+            @Override
+            public void acknowledged(final long acknowledged) {}
+
+            @Override
+            public void cancelLink() {}
+        };
+
+        @CallByThread("Netty EventLoop")
+        void acknowledged(long acknowledged);
 
         void cancelLink();
     }
 
+    /**
+     * Subscriber of the publishes of this flowable that is notified when emitted publishes are acknowledged, also after
+     * the link was cancelled.
+     */
+    interface AcknowledgedSubscriber {
+
+        @CallByThread("Netty EventLoop")
+        void acknowledged(long acknowledged);
+    }
+
     private static class AckLinkSubscriber implements FlowableSubscriber<MqttPublish>, Subscription, LinkedFlow {
 
         private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(AckLinkSubscriber.class);
@@ -68,6 +88,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
         static final int STATE_CANCELLED = 4;
 
         private final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber;
+        private final @Nullable AcknowledgedSubscriber acknowledgedSubscriber;
         private final @NotNull MqttAckFlowableFlow ackFlow;
         private @Nullable Subscription subscription;
         private final @NotNull AtomicInteger state = new AtomicInteger();
@@ -78,6 +99,8 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
                 final @NotNull MqttAckFlowableFlow ackFlow) {
 
             this.subscriber = subscriber;
+            acknowledgedSubscriber =
+                    (subscriber instanceof AcknowledgedSubscriber) ? (AcknowledgedSubscriber) subscriber : null;
             this.ackFlow = ackFlow;
         }
 
@@ -123,10 +146,18 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
             subscription.request(n);
         }
 
+        @CallByThread("Netty EventLoop")
+        @Override
+        public void acknowledged(final long acknowledged) {
+            if (acknowledgedSubscriber != null) {
+                acknowledgedSubscriber.acknowledged(acknowledged);
+            }
+        }
+
         @Override
         public void cancel() {
             assert subscription != null;
-            LOGGER.error("MqttPublishFlowables is global and must never cancel. This must not happen and is a bug.");
+            LOGGER.error("MqttPublishFlowables must never cancel. This must not happen and is a bug.");
             subscription.cancel();
         }
 
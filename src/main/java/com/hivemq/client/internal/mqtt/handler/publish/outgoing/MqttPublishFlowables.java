@@ -17,67 +17,241 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
-import com.hivemq.client.internal.logging.InternalLogger;
-import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.AcknowledgedSubscriber;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import io.reactivex.Flowable;
-import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Multiplexes the publish flowables of all producers into the {@link MqttOutgoingQosHandler}.
+ * <p>
+ * Added publish flowables are queued in a lock-free multi-producer queue and subscribed in the order they were added
+ * while less than the configured maximum amount of publish flowables is active. Each active publish flowable emits
+ * directly into the queue of the {@link MqttOutgoingQosHandler}.
+ * <p>
+ * All active publish flowables share one pool of credits that is sized by the Send Maximum of the connection, so at
+ * most one Send Maximum of publishes is requested and not yet acknowledged in total. A publish flowable is only
+ * requested up to an equal share of the current Send Maximum (at least 1). Credits of acknowledged publishes are handed
+ * out to the publish flowables in the order they asked for them, so a fast producer can not starve the others. If the
+ * Send Maximum shrinks on a session resume, returned credits are withheld until the outstanding publishes fit into the
+ * new Send Maximum.
+ * <p>
+ * Adding never blocks the calling thread. Single publishes and batches of publishes bypass the publish flowable
+ * subscription and are directly offered to the queue of the {@link MqttOutgoingQosHandler}. Single publishes and
+ * batches added before the session started are queued and offered in order when the session starts; until all of them
+ * are offered, newly added ones are queued behind them so they can not overtake. Backpressure is signalled
+ * through the amount of queued publishes ({@link MqttOutgoingQosHandler#getQueuedCount()}) which callers can query
+ * instead of being parked.
+ *
  * @author Silvio Giebl
  */
 @ClientScope
-public class MqttPublishFlowables extends Flowable<Flowable<MqttPublishWithFlow>> implements Subscription {
+public class MqttPublishFlowables {
 
-    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttPublishFlowables.class);
+    private final int maxConcurrent;
 
-    private @Nullable Subscriber<? super Flowable<MqttPublishWithFlow>> subscriber;
-    private long requested;
+    private final @NotNull MpscUnboundedArrayQueue<Flowable<MqttPublishWithFlow>> waiting =
+            new MpscUnboundedArrayQueue<>(32);
+    // MqttPublishWithFlow or List<MqttPublishWithFlow>
+    private final @NotNull MpscUnboundedArrayQueue<Object> waitingPublishes = new MpscUnboundedArrayQueue<>(32);
+    // producers that may need new credits, only polled in drain
+    private final @NotNull MpscUnboundedArrayQueue<Producer> replenishing = new MpscUnboundedArrayQueue<>(32);
+    // producers that completed and whose unused credits are not returned yet, only polled in drain
+    private final @NotNull MpscUnboundedArrayQueue<Producer> completed = new MpscUnboundedArrayQueue<>(32);
+    private final @NotNull AtomicInteger wip = new AtomicInteger();
+    private final @NotNull AtomicInteger active = new AtomicInteger();
+    private final @NotNull AtomicInteger credits = new AtomicInteger(); // negative after the window shrunk
 
-    @Inject
-    MqttPublishFlowables() {}
+    private volatile @Nullable MqttOutgoingQosHandler outgoingQosHandler;
+    private volatile int window;
 
-    @Override
-    protected void subscribeActual(final @NotNull Subscriber<? super Flowable<MqttPublishWithFlow>> s) {
-        assert subscriber == null;
-        subscriber = s;
-        s.onSubscribe(this);
+    @Inject
+    MqttPublishFlowables(final @NotNull MqttClientConfig clientConfig) {
+        maxConcurrent = clientConfig.getAdvancedConfig().getMaxConcurrentPublishFlowables();
     }
 
     public void add(final @NotNull Flowable<MqttPublishWithFlow> publishFlowable) {
-        synchronized (this) {
-            while (requested == 0) {
-                try {
-                    this.wait();
-                } catch (final InterruptedException e) {
-                    LOGGER.error("thread interrupted while waiting to publish.", e);
-                    return;
+        waiting.offer(publishFlowable);
+        drain();
+    }
+
+    public void add(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttOutgoingQosHandler outgoingQosHandler = this.outgoingQosHandler;
+        // no session was started yet or publishes queued before are not offered yet
+        if ((outgoingQosHandler == null) || !waitingPublishes.isEmpty()) {
+            waitingPublishes.offer(publishWithFlow);
+            drain();
+        } else {
+            outgoingQosHandler.onPublish(publishWithFlow);
+        }
+    }
+
+    public void add(final @NotNull List<MqttPublishWithFlow> publishWithFlows) {
+        final MqttOutgoingQosHandler outgoingQosHandler = this.outgoingQosHandler;
+        // no session was started yet or publishes queued before are not offered yet
+        if ((outgoingQosHandler == null) || !waitingPublishes.isEmpty()) {
+            waitingPublishes.offer(publishWithFlows);
+            drain();
+        } else {
+            outgoingQosHandler.onPublishes(publishWithFlows);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onSessionStartOrResume(final @NotNull MqttOutgoingQosHandler outgoingQosHandler, final int sendMaximum) {
+        final int oldWindow = window;
+        window = sendMaximum;
+        credits.getAndAdd(sendMaximum - oldWindow);
+        if (this.outgoingQosHandler == null) {
+            this.outgoingQosHandler = outgoingQosHandler;
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final MqttOutgoingQosHandler outgoingQosHandler = this.outgoingQosHandler;
+            if (outgoingQosHandler != null) {
+                Object waitingPublish;
+                while ((waitingPublish = waitingPublishes.peek()) != null) {
+                    if (waitingPublish instanceof MqttPublishWithFlow) {
+                        outgoingQosHandler.onPublish((MqttPublishWithFlow) waitingPublish);
+                    } else {
+                        //noinspection unchecked
+                        outgoingQosHandler.onPublishes((List<MqttPublishWithFlow>) waitingPublish);
+                    }
+                    // only polled after being offered, so concurrently added publishes are queued behind it
+                    waitingPublishes.poll();
+                }
+                Flowable<MqttPublishWithFlow> publishFlowable;
+                // only this loop increments active, so the check and the increment are not racy
+                while ((active.get() < maxConcurrent) && ((publishFlowable = waiting.poll()) != null)) {
+                    active.getAndIncrement();
+                    publishFlowable.subscribe(new Producer(outgoingQosHandler));
+                }
+                Producer producer;
+                while ((producer = completed.poll()) != null) {
+                    credits.getAndAdd((int) (producer.granted - producer.emitted));
                 }
+                replenish();
             }
-            assert subscriber != null;
-            subscriber.onNext(publishFlowable);
-            requested--;
-        }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
     }
 
-    @Override
-    public void request(final long n) {
-        synchronized (this) {
-            requested = BackpressureHelper.addCap(requested, n);
-            if (requested == n) {
-                this.notifyAll();
+    /**
+     * Hands out the available credits to the producers in the order they asked for them. Only called in {@link
+     * #drain()}, so only one thread takes credits at a time.
+     */
+    private void replenish() {
+        final int share = Math.max(1, window / Math.max(1, active.get()));
+        for (int n = replenishing.size(); (n > 0) && (credits.get() > 0); n--) {
+            final Producer producer = replenishing.poll();
+            if (producer == null) {
+                break;
+            }
+            producer.queued.set(false);
+            if (producer.done) {
+                continue;
+            }
+            final long wanted = share - (producer.granted - producer.acknowledged.get());
+            if (wanted <= 0) {
+                continue;
+            }
+            final int granted = (int) Math.min(wanted, credits.get());
+            credits.getAndAdd(-granted);
+            producer.granted += granted;
+            producer.request(granted);
+            if (granted < wanted) {
+                producer.askForCredits();
             }
         }
     }
 
-    @Override
-    public void cancel() {
-        subscriber = null;
+    private class Producer implements FlowableSubscriber<MqttPublishWithFlow>, AcknowledgedSubscriber {
+
+        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+        private @Nullable Subscription subscription;
+        private final @NotNull AtomicBoolean queued = new AtomicBoolean();
+        private long granted; // only accessed in drain
+        private long emitted; // synced over volatile done
+        private final @NotNull AtomicLong acknowledged = new AtomicLong();
+        private volatile boolean done;
+
+        Producer(final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+            this.outgoingQosHandler = outgoingQosHandler;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            askForCredits();
+            drain();
+        }
+
+        @Override
+        public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+            emitted++;
+            outgoingQosHandler.onPublish(publishWithFlow);
+        }
+
+        @Override
+        public void onComplete() {
+            onDone();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            onDone();
+            RxJavaPlugins.onError(t);
+        }
+
+        private void onDone() {
+            if (!done) {
+                done = true;
+                active.getAndDecrement();
+                completed.offer(this);
+                drain();
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        public void acknowledged(final long acknowledged) {
+            this.acknowledged.getAndAdd(acknowledged);
+            credits.getAndAdd((int) acknowledged);
+            if (!done) {
+                askForCredits();
+            }
+            drain();
+        }
+
+        void askForCredits() {
+            if (queued.compareAndSet(false, true)) {
+                replenishing.offer(this);
+            }
+        }
+
+        void request(final int n) {
+            assert subscription != null;
+            subscription.request(n);
+        }
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Flow for a message restored from the outgoing session persistence. There is no subscriber anymore, so errors are
+ * only logged.
+ *
+ * @author Silvio Giebl
+ */
+class MqttRestoredAckFlow extends MqttAckFlow {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttRestoredAckFlow.class);
+
+    private @Nullable MqttPublishResult result;
+
+    MqttRestoredAckFlow(final @NotNull MqttClientConfig clientConfig) {
+        super(clientConfig);
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void onNext(final @NotNull MqttPublishResult result) {
+        if (result.acknowledged()) {
+            onNextUnsafe(result);
+        } else {
+            this.result = result;
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onNextUnsafe(final @Nullable MqttPublishResult result) {
+        if (setDone() && (result != null)) {
+            final Throwable error = result.getRawError();
+            if (error != null) {
+                LOGGER.error("Restored PUBLISH to topic " + result.getPublish().getTopic() + " could not be published.",
+                        error);
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void acknowledged(final long acknowledged) {
+        final MqttPublishResult result = this.result;
+        this.result = null;
+        onNextUnsafe(result);
+    }
+}
@@ -25,6 +25,10 @@ import org.jetbrains.annotations.Nullable;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
 
 /**
+ * Adaptive topic alias mapping which assigns topic aliases to the topics with the highest decaying usage.
+ * <p>
+ * Entries are looked up by the topic itself, so no string conversion is needed per publish.
+ *
  * @author Silvio Giebl
  */
 public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
@@ -34,10 +38,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     private static final byte OVERWRITE_COST_MIN = 2;
     private static final byte OVERWRITE_COST_MAX = 126;
     private static final byte OVERWRITE_COST_INC = 2;
-    private static final @NotNull Index.Spec<Entry, String> INDEX_SPEC = new Index.Spec<>(entry -> entry.topic);
+    private static final @NotNull Index.Spec<Entry, MqttTopicImpl> INDEX_SPEC =
+            new Index.Spec<>(entry -> entry.topic);
 
     private final int topicAliasMaximum;
-    private final @NotNull Index<Entry, String> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Index<Entry, MqttTopicImpl> map = new Index<>(INDEX_SPEC);
     private @Nullable Entry lowest; // entry with lowest priority
     private long accessCounter; // strictly incremented
     private byte overwriteTries;
@@ -57,8 +62,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     @Override
     public int onPublish(final @NotNull MqttTopicImpl topic) {
         final long accessCounter = ++this.accessCounter;
-        final String topicString = topic.toString();
-        final Entry entry = map.get(topicString);
+        final Entry entry = map.get(topic);
         if (entry != null) { // entry already present
             entry.access(accessCounter);
             if (entry.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
@@ -79,7 +83,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             swapNewer(entry, accessCounter);
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
-        final Entry newEntry = new Entry(topicString, accessCounter);
+        final Entry newEntry = new Entry(topic, accessCounter);
         if (map.size() < topicAliasMaximum + OVERSIZE) {
             if (map.size() < topicAliasMaximum) { // still unused topic aliases available
                 newEntry.setNewTopicAlias(map.size() + 1);
@@ -176,14 +180,14 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
     static class Entry {
 
-        final @NotNull String topic;
+        final @NotNull MqttTopicImpl topic;
         int topicAlias;
         private long used; // number of accesses, decays over time
         private long access; // stamp when the entry was last accessed
         @Nullable Entry higher; // entry with the next higher priority
         @Nullable Entry lower; // entry with the next lower priority
 
-        Entry(final @NotNull String topic, final long accessCounter) {
+        Entry(final @NotNull MqttTopicImpl topic, final long accessCounter) {
             this.topic = topic;
             topicAlias = DEFAULT_NO_TOPIC_ALIAS;
             used = 1;
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.Index;
+import org.jetbrains.annotations.NotNull;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Topic alias mapping which assigns topic aliases to the least frequently used topics.
+ * <p>
+ * Every topic without a topic alias gets a topic alias, if all topic aliases are used the topic alias of the least
+ * frequently used topic is reassigned. The entries are kept in a min-heap ordered by their use count. The use counts
+ * are halved if one of them reaches {@link #MAX_COUNT}, so old usage decays.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasLfuMapping implements MqttTopicAliasMapping {
+
+    static final int MAX_COUNT = 1 << 16;
+    private static final @NotNull Index.Spec<Entry, MqttTopicImpl> INDEX_SPEC =
+            new Index.Spec<>(entry -> entry.topic);
+
+    private final int topicAliasMaximum;
+    private final @NotNull Index<Entry, MqttTopicImpl> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Entry @NotNull [] heap;
+
+    public MqttTopicAliasLfuMapping(final int topicAliasMaximum) {
+        this.topicAliasMaximum = topicAliasMaximum;
+        heap = new Entry[topicAliasMaximum];
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic) {
+        Entry entry = map.get(topic);
+        if (entry != null) {
+            entry.topicAlias &= TOPIC_ALIAS_FLAG; // clear NEW_TOPIC_ALIAS bit
+            if (++entry.count == MAX_COUNT) {
+                for (int i = 0; i < map.size(); i++) {
+                    heap[i].count >>>= 1; // halving keeps the heap order
+                }
+            }
+            siftDown(entry.index);
+            return entry.topicAlias;
+        }
+        final int size = map.size();
+        if (size < topicAliasMaximum) {
+            entry = new Entry(topic, (size + 1) | TOPIC_ALIAS_FLAG_NEW);
+            map.put(entry);
+            entry.index = size;
+            heap[size] = entry;
+            siftUp(size);
+        } else {
+            final Entry leastUsed = heap[0];
+            map.remove(leastUsed.topic);
+            entry = new Entry(topic, (leastUsed.topicAlias & TOPIC_ALIAS_FLAG) | TOPIC_ALIAS_FLAG_NEW);
+            map.put(entry);
+            entry.index = 0;
+            heap[0] = entry;
+            siftDown(0);
+        }
+        return entry.topicAlias;
+    }
+
+    private void siftUp(int index) {
+        final Entry entry = heap[index];
+        while (index > 0) {
+            final int parentIndex = (index - 1) >>> 1;
+            final Entry parent = heap[parentIndex];
+            if (parent.count <= entry.count) {
+                break;
+            }
+            parent.index = index;
+            heap[index] = parent;
+            index = parentIndex;
+        }
+        entry.index = index;
+        heap[index] = entry;
+    }
+
+    private void siftDown(int index) {
+        final int size = map.size();
+        final Entry entry = heap[index];
+        while (true) {
+            int childIndex = (index << 1) + 1;
+            if (childIndex >= size) {
+                break;
+            }
+            Entry child = heap[childIndex];
+            final int rightIndex = childIndex + 1;
+            if ((rightIndex < size) && (heap[rightIndex].count < child.count)) {
+                childIndex = rightIndex;
+                child = heap[rightIndex];
+            }
+            if (entry.count <= child.count) {
+                break;
+            }
+            child.index = index;
+            heap[index] = child;
+            index = childIndex;
+        }
+        entry.index = index;
+        heap[index] = entry;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < map.size(); i++) {
+            builder.append("\n  ").append(heap[i]);
+        }
+        return builder.append("\n}").toString();
+    }
+
+    private static class Entry {
+
+        final @NotNull MqttTopicImpl topic;
+        int topicAlias;
+        int count = 1;
+        int index;
+
+        Entry(final @NotNull MqttTopicImpl topic, final int topicAlias) {
+            this.topic = topic;
+            this.topicAlias = topicAlias;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "{topic='" + topic + "', alias=" + (topicAlias & TOPIC_ALIAS_FLAG) +
+                    (((topicAlias & TOPIC_ALIAS_FLAG_NEW) == 0) ? "" : ", new") + ", count=" + count + '}';
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.Index;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Topic alias mapping which assigns topic aliases to the least recently used topics.
+ * <p>
+ * Every topic without a topic alias gets a topic alias, if all topic aliases are used the topic alias of the least
+ * recently used topic is reassigned.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasLruMapping implements MqttTopicAliasMapping {
+
+    private static final @NotNull Index.Spec<Entry, MqttTopicImpl> INDEX_SPEC =
+            new Index.Spec<>(entry -> entry.topic);
+
+    private final int topicAliasMaximum;
+    private final @NotNull Index<Entry, MqttTopicImpl> map = new Index<>(INDEX_SPEC);
+    private @Nullable Entry eldest; // least recently used entry
+    private @Nullable Entry newest; // most recently used entry
+
+    public MqttTopicAliasLruMapping(final int topicAliasMaximum) {
+        this.topicAliasMaximum = topicAliasMaximum;
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic) {
+        Entry entry = map.get(topic);
+        if (entry != null) {
+            entry.topicAlias &= TOPIC_ALIAS_FLAG; // clear NEW_TOPIC_ALIAS bit
+            if (entry != newest) {
+                unlink(entry);
+                linkNewest(entry);
+            }
+            return entry.topicAlias;
+        }
+        final int topicAlias;
+        if (map.size() < topicAliasMaximum) {
+            topicAlias = map.size() + 1;
+        } else {
+            final Entry eldest = this.eldest;
+            assert eldest != null;
+            map.remove(eldest.topic);
+            unlink(eldest);
+            topicAlias = eldest.topicAlias & TOPIC_ALIAS_FLAG;
+        }
+        entry = new Entry(topic, topicAlias | TOPIC_ALIAS_FLAG_NEW);
+        map.put(entry);
+        linkNewest(entry);
+        return entry.topicAlias;
+    }
+
+    private void unlink(final @NotNull Entry entry) {
+        final Entry older = entry.older;
+        final Entry newer = entry.newer;
+        if (older == null) {
+            eldest = newer;
+        } else {
+            older.newer = newer;
+        }
+        if (newer == null) {
+            newest = older;
+        } else {
+            newer.older = older;
+        }
+        entry.older = null;
+        entry.newer = null;
+    }
+
+    private void linkNewest(final @NotNull Entry entry) {
+        final Entry newest = this.newest;
+        entry.older = newest;
+        if (newest == null) {
+            eldest = entry;
+        } else {
+            newest.newer = entry;
+        }
+        this.newest = entry;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        Entry entry = eldest;
+        while (entry != null) {
+            builder.append("\n  ").append(entry);
+            entry = entry.newer;
+        }
+        return builder.append("\n}").toString();
+    }
+
+    private static class Entry {
+
+        final @NotNull MqttTopicImpl topic;
+        int topicAlias;
+        @Nullable Entry older;
+        @Nullable Entry newer;
+
+        Entry(final @NotNull MqttTopicImpl topic, final int topicAlias) {
+            this.topic = topic;
+            this.topicAlias = topicAlias;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "{topic='" + topic + "', alias=" + (topicAlias & TOPIC_ALIAS_FLAG) +
+                    (((topicAlias & TOPIC_ALIAS_FLAG_NEW) == 0) ? "" : ", new") + '}';
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5TopicAliasPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttTopicAliasPolicy implements Mqtt5TopicAliasPolicy {
+
+    public static final @NotNull MqttTopicAliasPolicy ADAPTIVE = new MqttTopicAliasPolicy() {
+        @Override
+        @NotNull MqttTopicAliasMapping createMappingInternal(final int topicAliasMaximum) {
+            return new MqttTopicAliasAutoMapping(topicAliasMaximum);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "adaptive";
+        }
+    };
+    public static final @NotNull MqttTopicAliasPolicy LEAST_RECENTLY_USED = new MqttTopicAliasPolicy() {
+        @Override
+        @NotNull MqttTopicAliasMapping createMappingInternal(final int topicAliasMaximum) {
+            return new MqttTopicAliasLruMapping(topicAliasMaximum);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "least recently used";
+        }
+    };
+    public static final @NotNull MqttTopicAliasPolicy LEAST_FREQUENTLY_USED = new MqttTopicAliasPolicy() {
+        @Override
+        @NotNull MqttTopicAliasMapping createMappingInternal(final int topicAliasMaximum) {
+            return new MqttTopicAliasLfuMapping(topicAliasMaximum);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "least frequently used";
+        }
+    };
+
+    public static @NotNull MqttTopicAliasPolicy preset(final @Nullable Collection<? extends MqttTopic> topics) {
+        return new Preset(Checks.elementsNotImplemented(ImmutableList.copyOf(topics, "Topics"), MqttTopicImpl.class,
+                "Topic"));
+    }
+
+    /**
+     * Creates a topic alias mapping for a connection.
+     *
+     * @param topicAliasMaximum the topic alias maximum of the connection.
+     * @return the created topic alias mapping or <code>null</code> if topic aliases must not be used.
+     */
+    public @Nullable MqttTopicAliasMapping createMapping(final int topicAliasMaximum) {
+        return (topicAliasMaximum == 0) ? null : createMappingInternal(topicAliasMaximum);
+    }
+
+    abstract @NotNull MqttTopicAliasMapping createMappingInternal(int topicAliasMaximum);
+
+    private static class Preset extends MqttTopicAliasPolicy {
+
+        private final @NotNull ImmutableList<MqttTopicImpl> topics;
+
+        Preset(final @NotNull ImmutableList<MqttTopicImpl> topics) {
+            this.topics = topics;
+        }
+
+        @Override
+        @NotNull MqttTopicAliasMapping createMappingInternal(final int topicAliasMaximum) {
+            return new MqttTopicAliasPresetMapping(topicAliasMaximum, topics);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "preset " + topics;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Preset)) {
+                return false;
+            }
+            return topics.equals(((Preset) o).topics);
+        }
+
+        @Override
+        public int hashCode() {
+            return topics.hashCode();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.internal.util.collections.Index;
+import org.jetbrains.annotations.NotNull;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+
+/**
+ * Topic alias mapping with a static table of topics. The topic aliases are assigned in the order of the topics and
+ * are never reassigned. Other topics do not get a topic alias.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasPresetMapping implements MqttTopicAliasMapping {
+
+    private static final @NotNull Index.Spec<Entry, MqttTopicImpl> INDEX_SPEC =
+            new Index.Spec<>(entry -> entry.topic);
+
+    private final int topicAliasMaximum;
+    private final @NotNull Index<Entry, MqttTopicImpl> map = new Index<>(INDEX_SPEC);
+
+    public MqttTopicAliasPresetMapping(
+            final int topicAliasMaximum, final @NotNull ImmutableList<MqttTopicImpl> topics) {
+
+        this.topicAliasMaximum = topicAliasMaximum;
+        for (int i = 0, size = Math.min(topicAliasMaximum, topics.size()); i < size; i++) {
+            map.putIfAbsent(new Entry(topics.get(i), map.size() + 1));
+        }
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic) {
+        final Entry entry = map.get(topic);
+        if (entry == null) {
+            return DEFAULT_NO_TOPIC_ALIAS;
+        }
+        final int topicAlias = entry.topicAlias;
+        entry.topicAlias &= TOPIC_ALIAS_FLAG; // clear NEW_TOPIC_ALIAS bit, the topic is only sent once
+        return topicAlias;
+    }
+
+    private static class Entry {
+
+        final @NotNull MqttTopicImpl topic;
+        int topicAlias;
+
+        Entry(final @NotNull MqttTopicImpl topic, final int topicAlias) {
+            this.topic = topic;
+            this.topicAlias = topicAlias | TOPIC_ALIAS_FLAG_NEW;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.subscribe;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.mqtt.handler.util.MqttFlowFuture;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.MqttUnsubAck;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Future counterpart of {@link MqttSubAckSingle} and {@link MqttUnsubAckSingle} that is completed directly by the
+ * same {@link MqttSubOrUnsubAckFlow}.
+ *
+ * @param <T> the type of the SubAck or UnsubAck message.
+ * @author Silvio Giebl
+ */
+public class MqttSubOrUnsubAckFuture<T> extends MqttFlowFuture<T> {
+
+    public static @NotNull MqttSubOrUnsubAckFuture<Mqtt5SubAck> subscribe(
+            final @NotNull MqttSubscribe subscribe, final @NotNull MqttClientConfig clientConfig) {
+
+        final MqttSubOrUnsubAckFuture<Mqtt5SubAck> future = new MqttSubOrUnsubAckFuture<>(clientConfig);
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final MqttSubOrUnsubAckFlow<MqttSubAck> flow = new MqttSubOrUnsubAckFlow<>(future, clientConfig);
+            future.flow = flow;
+            clientConfig.getClientComponent().subscriptionHandler().subscribe(subscribe, flow);
+        } else {
+            future.completeExceptionally(MqttClientStateExceptions.notConnected());
+        }
+        return future;
+    }
+
+    public static @NotNull MqttSubOrUnsubAckFuture<Mqtt5UnsubAck> unsubscribe(
+            final @NotNull MqttUnsubscribe unsubscribe, final @NotNull MqttClientConfig clientConfig) {
+
+        final MqttSubOrUnsubAckFuture<Mqtt5UnsubAck> future = new MqttSubOrUnsubAckFuture<>(clientConfig);
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final MqttSubOrUnsubAckFlow<MqttUnsubAck> flow = new MqttSubOrUnsubAckFlow<>(future, clientConfig);
+            future.flow = flow;
+            clientConfig.getClientComponent().subscriptionHandler().unsubscribe(unsubscribe, flow);
+        } else {
+            future.completeExceptionally(MqttClientStateExceptions.notConnected());
+        }
+        return future;
+    }
+
+    private volatile @Nullable FlowWithEventLoop flow;
+
+    private MqttSubOrUnsubAckFuture(final @NotNull MqttClientConfig clientConfig) {
+        super(clientConfig);
+    }
+
+    @Override
+    protected @Nullable FlowWithEventLoop getFlow() {
+        return flow;
+    }
+}
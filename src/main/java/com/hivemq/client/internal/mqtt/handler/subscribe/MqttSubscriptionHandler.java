@@ -110,7 +110,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     }
 
     public void unsubscribe(
-            final @NotNull MqttUnsubscribe unsubscribe, final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> flow) {
+            final @NotNull MqttUnsubscribe unsubscribe, final @NotNull MqttSubscriptionFlow<MqttUnsubAck> flow) {
 
         queue(new MqttUnsubscribeWithFlow(unsubscribe, flow));
     }
@@ -308,7 +308,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         final MqttUnsubscribeWithFlow.Stateful statefulUnsubscribeWithFlow =
                 (MqttUnsubscribeWithFlow.Stateful) statefulSubOrUnsubWithFlow;
         final MqttStatefulUnsubscribe unsubscribe = statefulUnsubscribeWithFlow.getMessage();
-        final MqttSubOrUnsubAckFlow<MqttUnsubAck> flow = statefulUnsubscribeWithFlow.getFlow();
+        final MqttSubscriptionFlow<MqttUnsubAck> flow = statefulUnsubscribeWithFlow.getFlow();
 
         final ImmutableList<Mqtt5UnsubAckReasonCode> reasonCodes = unsubAck.getReasonCodes();
         final boolean countNotMatching = unsubscribe.stateless().getTopicFilters().size() != reasonCodes.size();
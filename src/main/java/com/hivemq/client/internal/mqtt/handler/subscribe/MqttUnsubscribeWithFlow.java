@@ -28,11 +28,11 @@ import org.jetbrains.annotations.NotNull;
 class MqttUnsubscribeWithFlow extends MqttSubOrUnsubWithFlow {
 
     private final @NotNull MqttUnsubscribe unsubscribe;
-    private final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> unsubAckFlow;
+    private final @NotNull MqttSubscriptionFlow<MqttUnsubAck> unsubAckFlow;
 
     MqttUnsubscribeWithFlow(
             final @NotNull MqttUnsubscribe unsubscribe,
-            final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> unsubAckFlow) {
+            final @NotNull MqttSubscriptionFlow<MqttUnsubAck> unsubAckFlow) {
 
         this.unsubscribe = unsubscribe;
         this.unsubAckFlow = unsubAckFlow;
@@ -43,18 +43,18 @@ class MqttUnsubscribeWithFlow extends MqttSubOrUnsubWithFlow {
     }
 
     @Override
-    @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> getFlow() {
+    @NotNull MqttSubscriptionFlow<MqttUnsubAck> getFlow() {
         return unsubAckFlow;
     }
 
     static class Stateful extends MqttSubOrUnsubWithFlow.Stateful {
 
         private final @NotNull MqttStatefulUnsubscribe unsubscribe;
-        private final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> unsubAckFlow;
+        private final @NotNull MqttSubscriptionFlow<MqttUnsubAck> unsubAckFlow;
 
         Stateful(
                 final @NotNull MqttStatefulUnsubscribe unsubscribe,
-                final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> unsubAckFlow) {
+                final @NotNull MqttSubscriptionFlow<MqttUnsubAck> unsubAckFlow) {
 
             this.unsubscribe = unsubscribe;
             this.unsubAckFlow = unsubAckFlow;
@@ -66,7 +66,7 @@ class MqttUnsubscribeWithFlow extends MqttSubOrUnsubWithFlow {
         }
 
         @Override
-        @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> getFlow() {
+        @NotNull MqttSubscriptionFlow<MqttUnsubAck> getFlow() {
             return unsubAckFlow;
         }
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.util;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import io.reactivex.Scheduler;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Future that is completed directly by a {@link FlowWithEventLoop flow} without adapting an RxJava type. It is passed
+ * to the flow in place of the {@link SingleObserver} of a Single.
+ * <p>
+ * The future is completed on the application scheduler, or directly on the Netty event loop if the client is
+ * configured to {@link MqttClientExecutorConfigImpl#isDeliverOnEventLoop() deliver on the event loop}. Cancelling the
+ * future cancels the flow.
+ *
+ * @param <T> the type of the result.
+ * @author Silvio Giebl
+ */
+public abstract class MqttFlowFuture<T> extends CompletableFuture<T> implements SingleObserver<T> {
+
+    private final @Nullable Scheduler scheduler;
+
+    protected MqttFlowFuture(final @NotNull MqttClientConfig clientConfig) {
+        final MqttClientExecutorConfigImpl executorConfig = clientConfig.getExecutorConfig();
+        scheduler = executorConfig.isDeliverOnEventLoop() ? null : executorConfig.getApplicationScheduler();
+    }
+
+    protected abstract @Nullable FlowWithEventLoop getFlow();
+
+    @Override
+    public void onSubscribe(final @NotNull Disposable d) {}
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onSuccess(final @NotNull T result) {
+        if (scheduler == null) {
+            complete(result);
+        } else {
+            scheduler.scheduleDirect(() -> complete(result));
+        }
+    }
+
+    @Override
+    public void onError(final @NotNull Throwable error) {
+        if (scheduler == null) {
+            completeExceptionally(error);
+        } else {
+            scheduler.scheduleDirect(() -> completeExceptionally(error));
+        }
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final FlowWithEventLoop flow = getFlow();
+        if (flow != null) {
+            flow.cancel();
+        }
+        return super.cancel(mayInterruptIfRunning);
+    }
+}
@@ -18,7 +18,11 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttTopicCacheStatistics;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttFlushStatistics;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQos0Drops;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttFireAndForgetFailures;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
 import dagger.BindsInstance;
@@ -42,6 +46,14 @@ public interface ClientComponent {
 
     @NotNull MqttOutgoingQosHandler outgoingQosHandler();
 
+    @NotNull MqttFlushStatistics flushStatistics();
+
+    @NotNull MqttTopicCacheStatistics topicCacheStatistics();
+
+    @NotNull MqttFireAndForgetFailures fireAndForgetFailures();
+
+    @NotNull MqttIncomingQos0Drops incomingQos0Drops();
+
     @Subcomponent.Builder
     interface Builder {
 
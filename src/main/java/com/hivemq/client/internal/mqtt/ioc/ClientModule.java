@@ -17,6 +17,8 @@
 
 package com.hivemq.client.internal.mqtt.ioc;
 
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlows;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlowsWithId;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscriptionFlowTree;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscriptionFlows;
 import dagger.Binds;
@@ -31,4 +33,8 @@ abstract class ClientModule {
 
     @Binds
     abstract @NotNull MqttSubscriptionFlows provideSubscriptionFlows(final @NotNull MqttSubscriptionFlowTree tree);
+
+    @Binds
+    abstract @NotNull MqttIncomingPublishFlows provideIncomingPublishFlows(
+            final @NotNull MqttIncomingPublishFlowsWithId incomingPublishFlowsWithId);
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incoming publish whose content type, response topic, correlation data and user properties are kept as the raw bytes
+ * of the properties section and only decoded on the first access to any of them.
+ * <p>
+ * The structure and the content of the properties section have already been validated by the decoder, only the objects
+ * are created lazily. So the accessors (and {@link #equals(Object)}, {@link #hashCode()} and {@link #toString()}) never
+ * fail.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttLazyPublish extends MqttPublish {
+
+    private final @NotNull byte[] rawProperties;
+    private volatile @Nullable LazyProperties lazyProperties;
+
+    public MqttLazyPublish(
+            final @NotNull MqttTopicImpl topic, final @Nullable ByteBuffer payload, final @NotNull MqttQos qos,
+            final boolean retain, final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator, final @NotNull byte[] rawProperties) {
+
+        super(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, null, null, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        this.rawProperties = rawProperties;
+    }
+
+    @Override
+    public @Nullable MqttUtf8StringImpl getRawContentType() {
+        return lazyProperties().contentType;
+    }
+
+    @Override
+    public @Nullable MqttTopicImpl getRawResponseTopic() {
+        return lazyProperties().responseTopic;
+    }
+
+    @Override
+    public @Nullable ByteBuffer getRawCorrelationData() {
+        return lazyProperties().correlationData;
+    }
+
+    @Override
+    public @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return lazyProperties().userProperties;
+    }
+
+    private @NotNull LazyProperties lazyProperties() {
+        LazyProperties lazyProperties = this.lazyProperties;
+        if (lazyProperties == null) {
+            // racing threads decode the same immutable values, so no synchronization is required
+            lazyProperties = decode(Unpooled.wrappedBuffer(rawProperties));
+            this.lazyProperties = lazyProperties;
+        }
+        return lazyProperties;
+    }
+
+    private static @NotNull LazyProperties decode(final @NotNull ByteBuf in) {
+        MqttUtf8StringImpl contentType = null;
+        MqttTopicImpl responseTopic = null;
+        ByteBuffer correlationData = null;
+        ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder = null;
+
+        while (in.isReadable()) {
+            final int propertyIdentifier = MqttVariableByteInteger.decode(in);
+            switch (propertyIdentifier) {
+                case MqttPublishProperty.MESSAGE_EXPIRY_INTERVAL:
+                    in.skipBytes(4);
+                    break;
+                case MqttPublishProperty.PAYLOAD_FORMAT_INDICATOR:
+                    in.skipBytes(1);
+                    break;
+                case MqttPublishProperty.TOPIC_ALIAS:
+                    in.skipBytes(2);
+                    break;
+                case MqttPublishProperty.SUBSCRIPTION_IDENTIFIER:
+                    MqttVariableByteInteger.decode(in);
+                    break;
+                case MqttPublishProperty.CONTENT_TYPE:
+                    contentType = MqttUtf8StringImpl.decode(in);
+                    if (contentType == null) {
+                        throw validatedByDecoder("content type");
+                    }
+                    break;
+                case MqttPublishProperty.RESPONSE_TOPIC:
+                    responseTopic = MqttTopicImpl.decode(in);
+                    if (responseTopic == null) {
+                        throw validatedByDecoder("response topic");
+                    }
+                    break;
+                case MqttPublishProperty.CORRELATION_DATA:
+                    correlationData = MqttBinaryData.decode(in, false);
+                    break;
+                case MqttPublishProperty.USER_PROPERTY:
+                    final MqttUserPropertyImpl userProperty = MqttUserPropertyImpl.decode(in);
+                    if (userProperty == null) {
+                        throw validatedByDecoder("user property");
+                    }
+                    if (userPropertiesBuilder == null) {
+                        userPropertiesBuilder = ImmutableList.builder();
+                    }
+                    userPropertiesBuilder.add(userProperty);
+                    break;
+                default:
+                    throw new IllegalStateException("Properties were validated by the decoder, found wrong property " +
+                            "with identifier " + propertyIdentifier);
+            }
+        }
+        return new LazyProperties(contentType, responseTopic, correlationData,
+                MqttUserPropertiesImpl.build(userPropertiesBuilder));
+    }
+
+    private static @NotNull IllegalStateException validatedByDecoder(final @NotNull String name) {
+        return new IllegalStateException("Properties were validated by the decoder, found malformed " + name);
+    }
+
+    private static class LazyProperties {
+
+        final @Nullable MqttUtf8StringImpl contentType;
+        final @Nullable MqttTopicImpl responseTopic;
+        final @Nullable ByteBuffer correlationData;
+        final @NotNull MqttUserPropertiesImpl userProperties;
+
+        LazyProperties(
+                final @Nullable MqttUtf8StringImpl contentType, final @Nullable MqttTopicImpl responseTopic,
+                final @Nullable ByteBuffer correlationData, final @NotNull MqttUserPropertiesImpl userProperties) {
+
+            this.contentType = contentType;
+            this.responseTopic = responseTopic;
+            this.correlationData = correlationData;
+            this.userProperties = userProperties;
+        }
+    }
+}
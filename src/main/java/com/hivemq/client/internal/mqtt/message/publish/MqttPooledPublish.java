@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttPayloadBufferPool;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Incoming publish whose payload buffer is taken from a {@link MqttPayloadBufferPool}.
+ * <p>
+ * References are counted the same way as for {@link MqttZeroCopyPublish}: the buffer is returned to the pool when the
+ * client and every consumer the publish was emitted to have released it.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttPooledPublish extends MqttPublish {
+
+    private static final @NotNull AtomicIntegerFieldUpdater<MqttPooledPublish> REFERENCES =
+            AtomicIntegerFieldUpdater.newUpdater(MqttPooledPublish.class, "references");
+
+    private final @NotNull ByteBuffer payloadBuffer;
+    private final @NotNull MqttPayloadBufferPool pool;
+    private volatile int references = 1;
+
+    public MqttPooledPublish(
+            final @NotNull MqttTopicImpl topic, final @NotNull ByteBuffer payloadBuffer, final @NotNull MqttQos qos,
+            final boolean retain, final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType, final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData, final @NotNull MqttUserPropertiesImpl userProperties,
+            final @NotNull MqttPayloadBufferPool pool) {
+
+        super(topic, payloadBuffer, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, userProperties);
+        this.payloadBuffer = payloadBuffer;
+        this.pool = pool;
+    }
+
+    @Override
+    public void retainPayload() {
+        REFERENCES.incrementAndGet(this);
+    }
+
+    @Override
+    public void release() {
+        final int references = REFERENCES.decrementAndGet(this);
+        if (references == 0) {
+            pool.recycle(payloadBuffer);
+        } else if (references < 0) {
+            REFERENCES.incrementAndGet(this);
+            throw new IllegalStateException("Publish was released more often than it was delivered.");
+        }
+    }
+
+    @Override
+    public @NotNull MqttPublish detachPayload() {
+        return copyWithOwnPayload();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.util.ByteBufferUtil;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PreparedPublish;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Template for Publish messages which only differ in their payload.
+ * <p>
+ * The encoder caches the encoded properties of the template in this object, so they are encoded only once for all
+ * Publish messages created from it. The cache is immutable once set and safe to be shared across clients.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttPreparedPublish implements Mqtt5PreparedPublish {
+
+    private final @NotNull MqttPublish template;
+    private volatile @Nullable byte[] encodedProperties;
+
+    MqttPreparedPublish(final @NotNull MqttPublish template) {
+        this.template = template;
+    }
+
+    @Override
+    public @NotNull MqttPublish getTemplate() {
+        return template;
+    }
+
+    @Override
+    public @NotNull Instance withPayload(final @Nullable byte[] payload) {
+        return new Instance(this, ByteBufferUtil.wrap(payload));
+    }
+
+    @Override
+    public @NotNull Instance withPayload(final @Nullable ByteBuffer payload) {
+        return new Instance(this, ByteBufferUtil.slice(payload));
+    }
+
+    /**
+     * @return the cached encoded fixed properties and user properties of the template or <code>null</code> if they
+     *         were not encoded yet.
+     */
+    public @Nullable byte[] getEncodedProperties() {
+        return encodedProperties;
+    }
+
+    public void setEncodedProperties(final @NotNull byte[] encodedProperties) {
+        this.encodedProperties = encodedProperties;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttPreparedPublish{template=" + template + '}';
+    }
+
+    /**
+     * Publish message created from a {@link MqttPreparedPublish}. It is equal to a Publish message with the same
+     * properties and payload that was not created from a template.
+     */
+    public static class Instance extends MqttPublish {
+
+        private final @NotNull MqttPreparedPublish prepared;
+
+        Instance(final @NotNull MqttPreparedPublish prepared, final @Nullable ByteBuffer payload) {
+            super(prepared.template.getTopic(), payload, prepared.template.getQos(), prepared.template.isRetain(),
+                    prepared.template.getRawMessageExpiryInterval(),
+                    prepared.template.getRawPayloadFormatIndicator(), prepared.template.getRawContentType(),
+                    prepared.template.getRawResponseTopic(), prepared.template.getRawCorrelationData(),
+                    prepared.template.getUserProperties());
+            this.prepared = prepared;
+        }
+
+        public @NotNull MqttPreparedPublish getPrepared() {
+            return prepared;
+        }
+    }
+}
@@ -129,7 +129,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<MqttUtf8String> getContentType() {
-        return Optional.ofNullable(contentType);
+        return Optional.ofNullable(getRawContentType());
     }
 
     public @Nullable MqttUtf8StringImpl getRawContentType() {
@@ -138,7 +138,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<MqttTopic> getResponseTopic() {
-        return Optional.ofNullable(responseTopic);
+        return Optional.ofNullable(getRawResponseTopic());
     }
 
     public @Nullable MqttTopicImpl getRawResponseTopic() {
@@ -147,7 +147,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<ByteBuffer> getCorrelationData() {
-        return ByteBufferUtil.optionalReadOnly(correlationData);
+        return ByteBufferUtil.optionalReadOnly(getRawCorrelationData());
     }
 
     public @Nullable ByteBuffer getRawCorrelationData() {
@@ -164,6 +164,45 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return new MqttPublishBuilder.Default(this);
     }
 
+    @Override
+    public @NotNull MqttPreparedPublish prepare() {
+        return new MqttPreparedPublish(this);
+    }
+
+    /**
+     * Adds a reference to the payload for one more consumer. Has no effect if this publish owns its payload.
+     */
+    public void retainPayload() {}
+
+    @Override
+    public void release() {}
+
+    /**
+     * Returns a publish that owns its payload. Has no effect if this publish already owns its payload, otherwise the
+     * payload is copied and the reference of the caller to this publish is released.
+     * <p>
+     * Used before a publish is buffered in an intermediate queue that drops queued elements without releasing them,
+     * for example when the subscriber of an <code>observeOn</code> operator cancels.
+     *
+     * @return this publish or a copy that owns its payload.
+     */
+    public @NotNull MqttPublish detachPayload() {
+        return this;
+    }
+
+    protected final @NotNull MqttPublish copyWithOwnPayload() {
+        ByteBuffer payload = null;
+        if (this.payload != null) {
+            payload = ByteBuffer.allocate(this.payload.remaining());
+            payload.put(this.payload.duplicate()).flip();
+        }
+        final MqttPublish copy = new MqttPublish(topic, payload, qos, retain, messageExpiryInterval,
+                payloadFormatIndicator, getRawContentType(), getRawResponseTopic(), getRawCorrelationData(),
+                getUserProperties());
+        release();
+        return copy;
+    }
+
     public @NotNull MqttStatefulPublish createStateful(
             final int packetIdentifier, final boolean dup, final int topicAlias,
             final @NotNull ImmutableIntList subscriptionIdentifiers) {
@@ -181,6 +220,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     protected @NotNull String toAttributeString() {
+        final MqttUtf8StringImpl contentType = getRawContentType();
+        final MqttTopicImpl responseTopic = getRawResponseTopic();
+        final ByteBuffer correlationData = getRawCorrelationData();
         return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") + ", qos=" +
                 qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
                 ", messageExpiryInterval=" + messageExpiryInterval) +
@@ -210,8 +252,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
                 Objects.equals(payload, that.payload) && (qos == that.qos) && (retain == that.retain) &&
                 (messageExpiryInterval == that.messageExpiryInterval) &&
                 (payloadFormatIndicator == that.payloadFormatIndicator) &&
-                Objects.equals(contentType, that.contentType) && Objects.equals(responseTopic, that.responseTopic) &&
-                Objects.equals(correlationData, that.correlationData);
+                Objects.equals(getRawContentType(), that.getRawContentType()) &&
+                Objects.equals(getRawResponseTopic(), that.getRawResponseTopic()) &&
+                Objects.equals(getRawCorrelationData(), that.getRawCorrelationData());
     }
 
     protected boolean canEqual(final @Nullable Object o) {
@@ -227,9 +270,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         result = 31 * result + Boolean.hashCode(retain);
         result = 31 * result + Long.hashCode(messageExpiryInterval);
         result = 31 * result + Objects.hashCode(payloadFormatIndicator);
-        result = 31 * result + Objects.hashCode(contentType);
-        result = 31 * result + Objects.hashCode(responseTopic);
-        result = 31 * result + Objects.hashCode(correlationData);
+        result = 31 * result + Objects.hashCode(getRawContentType());
+        result = 31 * result + Objects.hashCode(getRawResponseTopic());
+        result = 31 * result + Objects.hashCode(getRawCorrelationData());
         return result;
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incoming publish whose payload is a view of a retained slice of the network buffer instead of a copy.
+ * <p>
+ * The decoder holds the first reference. Every consumer the publish is emitted to gets an additional reference and
+ * releases it via {@link #release()}. The client releases its own reference when it is done with the publish. As the
+ * slice is derived from the leak-aware cumulation buffer, missing releases are reported by Netty's leak detection.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttZeroCopyPublish extends MqttPublish {
+
+    private final @NotNull ByteBuf payloadBuffer;
+
+    public MqttZeroCopyPublish(
+            final @NotNull MqttTopicImpl topic, final @NotNull ByteBuf payloadBuffer, final @NotNull MqttQos qos,
+            final boolean retain, final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType, final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData, final @NotNull MqttUserPropertiesImpl userProperties) {
+
+        super(topic, payloadBuffer.nioBuffer(), qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                contentType, responseTopic, correlationData, userProperties);
+        this.payloadBuffer = payloadBuffer;
+    }
+
+    @Override
+    public void retainPayload() {
+        payloadBuffer.retain();
+    }
+
+    @Override
+    public void release() {
+        payloadBuffer.release();
+    }
+
+    @Override
+    public @NotNull MqttPublish detachPayload() {
+        return copyWithOwnPayload();
+    }
+}
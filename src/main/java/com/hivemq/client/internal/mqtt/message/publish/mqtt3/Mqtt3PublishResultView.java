@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.message.publish.mqtt3;
 
 import com.hivemq.client.internal.mqtt.exceptions.mqtt3.Mqtt3ExceptionFactory;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
@@ -26,6 +27,7 @@ import io.reactivex.functions.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,6 +41,16 @@ public class Mqtt3PublishResultView implements Mqtt3PublishResult {
         return new Mqtt3PublishResultView((MqttPublishResult) publishResult);
     }
 
+    public static @NotNull ImmutableList<Mqtt3PublishResult> ofAll(
+            final @NotNull List<Mqtt5PublishResult> publishResults) {
+
+        final ImmutableList.Builder<Mqtt3PublishResult> builder = ImmutableList.builder(publishResults.size());
+        for (final Mqtt5PublishResult publishResult : publishResults) {
+            builder.add(of(publishResult));
+        }
+        return builder.build();
+    }
+
     private final @NotNull MqttPublishResult delegate;
 
     private Mqtt3PublishResultView(final @NotNull MqttPublishResult delegate) {
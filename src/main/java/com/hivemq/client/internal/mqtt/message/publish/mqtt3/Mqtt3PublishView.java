@@ -124,6 +124,11 @@ public class Mqtt3PublishView implements Mqtt3Publish {
         return new Mqtt3PublishViewBuilder.Default(this);
     }
 
+    @Override
+    public void release() {
+        delegate.release();
+    }
+
     private @NotNull String toAttributeString() {
         return "topic=" + getTopic() + ((delegate.getRawPayload() == null) ? "" :
                 ", payload=" + delegate.getRawPayload().remaining() + "byte") + ", qos=" + getQos() + ", retain=" +
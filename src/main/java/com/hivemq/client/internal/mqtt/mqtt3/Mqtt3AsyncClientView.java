@@ -23,6 +23,7 @@ import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.connack.mqtt3.Mqtt3ConnAckView;
 import com.hivemq.client.internal.mqtt.message.disconnect.mqtt3.Mqtt3DisconnectView;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishResultView;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.mqtt3.Mqtt3SubscribeViewBuilder;
@@ -30,6 +31,7 @@ import com.hivemq.client.internal.mqtt.message.subscribe.suback.mqtt3.Mqtt3SubAc
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3AsyncClient;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3BlockingClient;
@@ -38,6 +40,7 @@ import com.hivemq.client.mqtt.mqtt3.Mqtt3RxClient;
 import com.hivemq.client.mqtt.mqtt3.message.connect.Mqtt3Connect;
 import com.hivemq.client.mqtt.mqtt3.message.connect.connack.Mqtt3ConnAck;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
+import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3PublishResult;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.Mqtt3Subscribe;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.suback.Mqtt3SubAck;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
@@ -46,6 +49,8 @@ import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -177,6 +182,28 @@ public class Mqtt3AsyncClientView implements Mqtt3AsyncClient {
         return future;
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt3PublishResult>> publishAll(
+            final @Nullable Collection<? extends @Nullable Mqtt3Publish> publishes) {
+
+        final ImmutableList<MqttPublish> mqttPublishes = MqttChecks.publishesMqtt3(publishes);
+
+        final CompletableFuture<List<Mqtt3PublishResult>> future = new CompletableFuture<>();
+        delegate.publishAll(mqttPublishes).whenComplete((publishResults, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(Mqtt3ExceptionFactory.map(throwable));
+            } else {
+                future.complete(Mqtt3PublishResultView.ofAll(publishResults));
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void publishFireAndForget(final @Nullable Mqtt3Publish publish) {
+        delegate.publishFireAndForget(MqttChecks.publish(publish));
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> disconnect() {
         final CompletableFuture<Void> future = new CompletableFuture<>();
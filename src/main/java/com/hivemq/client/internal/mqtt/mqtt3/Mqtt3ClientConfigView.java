@@ -23,9 +23,13 @@ import com.hivemq.client.internal.mqtt.message.auth.MqttSimpleAuth;
 import com.hivemq.client.internal.mqtt.message.auth.mqtt3.Mqtt3SimpleAuthView;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
+import com.hivemq.client.mqtt.MqttBufferAllocatorMetrics;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttFireAndForgetFailureListener;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropListener;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
@@ -107,6 +111,31 @@ public class Mqtt3ClientConfigView implements Mqtt3ClientConfig {
         return delegate.getDisconnectedListeners();
     }
 
+    @Override
+    public @NotNull Optional<MqttFireAndForgetFailureListener> getFireAndForgetFailureListener() {
+        return delegate.getFireAndForgetFailureListener();
+    }
+
+    @Override
+    public int getIncomingQos0BufferCapacity() {
+        return delegate.getIncomingQos0BufferCapacity();
+    }
+
+    @Override
+    public @NotNull MqttIncomingQos0DropPolicy getIncomingQos0DropPolicy() {
+        return delegate.getIncomingQos0DropPolicy();
+    }
+
+    @Override
+    public @NotNull Optional<MqttIncomingQos0DropListener> getIncomingQos0DropListener() {
+        return delegate.getIncomingQos0DropListener();
+    }
+
+    @Override
+    public int getIncomingTopicCacheCapacity() {
+        return delegate.getIncomingTopicCacheCapacity();
+    }
+
     @Override
     public @NotNull MqttClientState getState() {
         return delegate.getState();
@@ -116,4 +145,44 @@ public class Mqtt3ClientConfigView implements Mqtt3ClientConfig {
     public @NotNull Optional<Mqtt3ClientConnectionConfig> getConnectionConfig() {
         return Optional.ofNullable(delegate.getRawConnectionConfig());
     }
+
+    @Override
+    public int getQueuedPublishCount() {
+        return delegate.getQueuedPublishCount();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return delegate.getFlushCount();
+    }
+
+    @Override
+    public long getFlushedMessageCount() {
+        return delegate.getFlushedMessageCount();
+    }
+
+    @Override
+    public long getIncomingTopicCacheHitCount() {
+        return delegate.getIncomingTopicCacheHitCount();
+    }
+
+    @Override
+    public long getIncomingTopicCacheMissCount() {
+        return delegate.getIncomingTopicCacheMissCount();
+    }
+
+    @Override
+    public long getFireAndForgetFailureCount() {
+        return delegate.getFireAndForgetFailureCount();
+    }
+
+    @Override
+    public long getDroppedIncomingQos0Count() {
+        return delegate.getDroppedIncomingQos0Count();
+    }
+
+    @Override
+    public @NotNull MqttBufferAllocatorMetrics getSharedBufferAllocatorMetrics() {
+        return delegate.getSharedBufferAllocatorMetrics();
+    }
 }
@@ -29,6 +29,7 @@ import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.suback.mqtt3.Mqtt3SubAckView;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.rx.operators.FlowableMapWithError;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3RxClient;
@@ -40,8 +41,6 @@ import com.hivemq.client.mqtt.mqtt3.message.subscribe.Mqtt3Subscribe;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.suback.Mqtt3SubAck;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
-import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
-import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.client.rx.FlowableWithSingle;
 import io.reactivex.Completable;
@@ -68,12 +67,6 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
     private static final @NotNull Function<Throwable, Single<Mqtt5SubAck>> EXCEPTION_MAPPER_SINGLE_SUBACK =
             e -> Single.error(Mqtt3ExceptionFactory.map(e));
 
-    private static final @NotNull Function<Throwable, Flowable<Mqtt5Publish>> EXCEPTION_MAPPER_FLOWABLE_PUBLISH =
-            e -> Flowable.error(Mqtt3ExceptionFactory.map(e));
-
-    private static final @NotNull Function<Throwable, Flowable<Mqtt5PublishResult>>
-            EXCEPTION_MAPPER_FLOWABLE_PUBLISH_RESULT = e -> Flowable.error(Mqtt3ExceptionFactory.map(e));
-
     private final @NotNull MqttRxClient delegate;
     private final @NotNull Mqtt3ClientConfigView clientConfig;
 
@@ -115,9 +108,8 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
     public @NotNull Flowable<Mqtt3Publish> publishes(final @Nullable MqttGlobalPublishFilter filter) {
         Checks.notNull(filter, "Global publish filter");
 
-        return delegate.publishes(filter)
-                .onErrorResumeNext(EXCEPTION_MAPPER_FLOWABLE_PUBLISH)
-                .map(Mqtt3PublishView.MAPPER);
+        return new FlowableMapWithError<>(
+                delegate.publishes(filter), Mqtt3PublishView.MAPPER, Mqtt3ExceptionFactory.MAPPER);
     }
 
     @Override
@@ -131,9 +123,8 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
     public @NotNull Flowable<Mqtt3PublishResult> publish(final @Nullable Flowable<Mqtt3Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
 
-        return delegate.publish(publishFlowable, PUBLISH_MAPPER)
-                .onErrorResumeNext(EXCEPTION_MAPPER_FLOWABLE_PUBLISH_RESULT)
-                .map(Mqtt3PublishResultView.MAPPER);
+        return new FlowableMapWithError<>(delegate.publish(publishFlowable, PUBLISH_MAPPER),
+                Mqtt3PublishResultView.MAPPER, Mqtt3ExceptionFactory.MAPPER);
     }
 
     @Override
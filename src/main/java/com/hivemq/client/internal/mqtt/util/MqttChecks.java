@@ -206,6 +206,30 @@ public final class MqttChecks {
         return Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate();
     }
 
+    @Contract("null -> fail")
+    public static @NotNull ImmutableList<MqttPublish> publishes(
+            final @Nullable Collection<? extends @Nullable Mqtt5Publish> publishes) {
+
+        Checks.notNull(publishes, "Publishes");
+        final ImmutableList.Builder<MqttPublish> builder = ImmutableList.builder(publishes.size());
+        for (final Mqtt5Publish publish : publishes) {
+            builder.add(publish(publish));
+        }
+        return builder.build();
+    }
+
+    @Contract("null -> fail")
+    public static @NotNull ImmutableList<MqttPublish> publishesMqtt3(
+            final @Nullable Collection<? extends @Nullable Mqtt3Publish> publishes) {
+
+        Checks.notNull(publishes, "Publishes");
+        final ImmutableList.Builder<MqttPublish> builder = ImmutableList.builder(publishes.size());
+        for (final Mqtt3Publish publish : publishes) {
+            builder.add(publish(publish));
+        }
+        return builder.build();
+    }
+
     @Contract("null -> fail")
     public static @NotNull MqttSubscribe subscribe(final @Nullable Mqtt5Subscribe subscribe) {
         return Checks.notImplemented(subscribe, MqttSubscribe.class, "Subscribe");
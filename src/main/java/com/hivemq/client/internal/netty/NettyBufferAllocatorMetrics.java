@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.mqtt.MqttBufferAllocatorMetrics;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+public class NettyBufferAllocatorMetrics implements MqttBufferAllocatorMetrics {
+
+    private final @Nullable ByteBufAllocatorMetric metric;
+
+    public NettyBufferAllocatorMetrics(final @NotNull ByteBufAllocator allocator) {
+        metric = (allocator instanceof ByteBufAllocatorMetricProvider) ?
+                ((ByteBufAllocatorMetricProvider) allocator).metric() : null;
+    }
+
+    @Override
+    public boolean isPooled() {
+        return metric instanceof PooledByteBufAllocatorMetric;
+    }
+
+    @Override
+    public long getUsedHeapMemory() {
+        return (metric == null) ? 0 : metric.usedHeapMemory();
+    }
+
+    @Override
+    public long getUsedDirectMemory() {
+        return (metric == null) ? 0 : metric.usedDirectMemory();
+    }
+
+    @Override
+    public int getHeapArenaCount() {
+        return (metric instanceof PooledByteBufAllocatorMetric) ?
+                ((PooledByteBufAllocatorMetric) metric).numHeapArenas() : 0;
+    }
+
+    @Override
+    public int getDirectArenaCount() {
+        return (metric instanceof PooledByteBufAllocatorMetric) ?
+                ((PooledByteBufAllocatorMetric) metric).numDirectArenas() : 0;
+    }
+
+    @Override
+    public int getThreadLocalCacheCount() {
+        return (metric instanceof PooledByteBufAllocatorMetric) ?
+                ((PooledByteBufAllocatorMetric) metric).numThreadLocalCaches() : 0;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.mqtt.MqttBufferAllocation;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps {@link MqttBufferAllocation buffer allocation strategies} to shared Netty {@link ByteBufAllocator}s.
+ * <p>
+ * Pools are keyed by their strategy and their sizing, so clients with the same buffer pool configuration share one
+ * pool. Pools are created lazily on first use, so unused strategies do not reserve any memory.
+ *
+ * @author Silvio Giebl
+ */
+public final class NettyBufferAllocators {
+
+    private static final int MAX_ORDER = 14; // maximum of Netty
+
+    private static final @NotNull ConcurrentHashMap<PoolKey, ByteBufAllocator> POOLS = new ConcurrentHashMap<>();
+
+    public static @NotNull ByteBufAllocator get(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+        switch (executorConfig.getBufferAllocation()) {
+            case POOLED_DIRECT:
+                return POOLS.computeIfAbsent(new PoolKey(true, executorConfig), PoolKey::createAllocator);
+            case POOLED_HEAP:
+                return POOLS.computeIfAbsent(new PoolKey(false, executorConfig), PoolKey::createAllocator);
+            case UNPOOLED_DIRECT:
+                return UnpooledDirect.INSTANCE;
+            case UNPOOLED_HEAP:
+                return UnpooledHeap.INSTANCE;
+            default:
+                return ByteBufAllocator.DEFAULT;
+        }
+    }
+
+    /**
+     * Sizing of a pool with absent values replaced by the defaults of Netty, so explicitly configured defaults share
+     * the pool with unconfigured ones.
+     */
+    private static final class PoolKey {
+
+        private final boolean direct;
+        private final int arenas;
+        private final int pageSize;
+        private final int maxOrder;
+        private final int smallCacheSize;
+        private final int normalCacheSize;
+
+        PoolKey(final boolean direct, final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+            this.direct = direct;
+            arenas = executorConfig.getBufferPoolArenas()
+                    .orElse(direct ? PooledByteBufAllocator.defaultNumDirectArena() :
+                            PooledByteBufAllocator.defaultNumHeapArena());
+            pageSize = executorConfig.getBufferPoolPageSize().orElse(PooledByteBufAllocator.defaultPageSize());
+            final int chunkSize = executorConfig.getBufferPoolChunkSize()
+                    .orElse(PooledByteBufAllocator.defaultPageSize() << PooledByteBufAllocator.defaultMaxOrder());
+            // page size and chunk size are powers of 2, so the chunk consists of 2^maxOrder pages
+            maxOrder = Math.min(Math.max(
+                    Integer.numberOfTrailingZeros(chunkSize) - Integer.numberOfTrailingZeros(pageSize), 0), MAX_ORDER);
+            smallCacheSize =
+                    executorConfig.getBufferPoolSmallCacheSize().orElse(PooledByteBufAllocator.defaultSmallCacheSize());
+            normalCacheSize = executorConfig.getBufferPoolNormalCacheSize()
+                    .orElse(PooledByteBufAllocator.defaultNormalCacheSize());
+        }
+
+        @NotNull ByteBufAllocator createAllocator() {
+            // only the arenas of the preferred buffer type are sized, the other type keeps the default of Netty
+            final int heapArenas = direct ? PooledByteBufAllocator.defaultNumHeapArena() : arenas;
+            final int directArenas = direct ? arenas : PooledByteBufAllocator.defaultNumDirectArena();
+            return new PooledByteBufAllocator(direct, heapArenas, directArenas, pageSize, maxOrder,
+                    PooledByteBufAllocator.defaultTinyCacheSize(), smallCacheSize, normalCacheSize,
+                    PooledByteBufAllocator.defaultUseCacheForAllThreads());
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            final PoolKey that = (PoolKey) o;
+
+            return (direct == that.direct) && (arenas == that.arenas) && (pageSize == that.pageSize) &&
+                    (maxOrder == that.maxOrder) && (smallCacheSize == that.smallCacheSize) &&
+                    (normalCacheSize == that.normalCacheSize);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Boolean.hashCode(direct);
+            result = 31 * result + arenas;
+            result = 31 * result + pageSize;
+            result = 31 * result + maxOrder;
+            result = 31 * result + smallCacheSize;
+            result = 31 * result + normalCacheSize;
+            return result;
+        }
+    }
+
+    private static final class UnpooledDirect {
+
+        static final @NotNull ByteBufAllocator INSTANCE = new UnpooledByteBufAllocator(true);
+    }
+
+    private static final class UnpooledHeap {
+
+        static final @NotNull ByteBufAllocator INSTANCE = new UnpooledByteBufAllocator(false);
+    }
+
+    private NettyBufferAllocators() {}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import com.hivemq.client.internal.util.Checks;
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.fuseable.ConditionalSubscriber;
+import io.reactivex.internal.subscribers.BasicFuseableConditionalSubscriber;
+import io.reactivex.internal.subscribers.BasicFuseableSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Maps the values and the error of a {@link Flowable} in a single operator.
+ * <p>
+ * Replaces the chain <code>onErrorResumeNext(...).map(...)</code>: only one subscriber is allocated per subscription
+ * and fusion with the upstream (for example <code>observeOn</code>) is preserved, so values are mapped while they are
+ * polled from the upstream queue.
+ *
+ * @author Silvio Giebl
+ */
+public class FlowableMapWithError<F, FM> extends Flowable<FM> {
+
+    private final @NotNull Flowable<F> source;
+    private final @NotNull Function<? super F, ? extends FM> mapper;
+    private final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper;
+
+    public FlowableMapWithError(
+            final @NotNull Flowable<F> source, final @NotNull Function<? super F, ? extends FM> mapper,
+            final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper) {
+
+        this.source = source;
+        this.mapper = mapper;
+        this.errorMapper = errorMapper;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super FM> subscriber) {
+        if (subscriber instanceof ConditionalSubscriber) {
+            //noinspection unchecked
+            final ConditionalSubscriber<? super FM> conditional = (ConditionalSubscriber<? super FM>) subscriber;
+            source.subscribe(new ConditionalMapSubscriber<>(conditional, mapper, errorMapper));
+        } else {
+            source.subscribe(new MapSubscriber<>(subscriber, mapper, errorMapper));
+        }
+    }
+
+    private static @NotNull Throwable mapError(
+            final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper,
+            final @NotNull Throwable error) {
+
+        try {
+            return Checks.notNull(errorMapper.apply(error), "Mapped error");
+        } catch (final Throwable throwable) {
+            return throwable;
+        }
+    }
+
+    private static class MapSubscriber<F, FM> extends BasicFuseableSubscriber<F, FM> {
+
+        private final @NotNull Function<? super F, ? extends FM> mapper;
+        private final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper;
+
+        MapSubscriber(
+                final @NotNull Subscriber<? super FM> subscriber,
+                final @NotNull Function<? super F, ? extends FM> mapper,
+                final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper) {
+
+            super(subscriber);
+            this.mapper = mapper;
+            this.errorMapper = errorMapper;
+        }
+
+        @Override
+        public void onNext(final @Nullable F f) {
+            if (done) {
+                return;
+            }
+            if (sourceMode != NONE) {
+                downstream.onNext(null);
+                return;
+            }
+            final FM fm;
+            try {
+                fm = Checks.notNull(mapper.apply(f), "Mapped value");
+            } catch (final Throwable throwable) {
+                fail(throwable);
+                return;
+            }
+            downstream.onNext(fm);
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable error) {
+            super.onError(mapError(errorMapper, error));
+        }
+
+        @Override
+        public int requestFusion(final int mode) {
+            return transitiveBoundaryFusion(mode);
+        }
+
+        @Override
+        public @Nullable FM poll() throws Exception {
+            final F f = qs.poll();
+            return (f == null) ? null : Checks.notNull(mapper.apply(f), "Mapped value");
+        }
+    }
+
+    private static class ConditionalMapSubscriber<F, FM> extends BasicFuseableConditionalSubscriber<F, FM> {
+
+        private final @NotNull Function<? super F, ? extends FM> mapper;
+        private final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper;
+
+        ConditionalMapSubscriber(
+                final @NotNull ConditionalSubscriber<? super FM> subscriber,
+                final @NotNull Function<? super F, ? extends FM> mapper,
+                final @NotNull Function<? super Throwable, ? extends Throwable> errorMapper) {
+
+            super(subscriber);
+            this.mapper = mapper;
+            this.errorMapper = errorMapper;
+        }
+
+        @Override
+        public void onNext(final @Nullable F f) {
+            if (done) {
+                return;
+            }
+            if (sourceMode != NONE) {
+                downstream.onNext(null);
+                return;
+            }
+            final FM fm;
+            try {
+                fm = Checks.notNull(mapper.apply(f), "Mapped value");
+            } catch (final Throwable throwable) {
+                fail(throwable);
+                return;
+            }
+            downstream.onNext(fm);
+        }
+
+        @Override
+        public boolean tryOnNext(final @Nullable F f) {
+            if (done) {
+                return true;
+            }
+            if (sourceMode != NONE) {
+                downstream.tryOnNext(null);
+                return true;
+            }
+            final FM fm;
+            try {
+                fm = Checks.notNull(mapper.apply(f), "Mapped value");
+            } catch (final Throwable throwable) {
+                fail(throwable);
+                return false;
+            }
+            return downstream.tryOnNext(fm);
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable error) {
+            super.onError(mapError(errorMapper, error));
+        }
+
+        @Override
+        public int requestFusion(final int mode) {
+            return transitiveBoundaryFusion(mode);
+        }
+
+        @Override
+        public @Nullable FM poll() throws Exception {
+            final F f = qs.poll();
+            return (f == null) ? null : Checks.notNull(mapper.apply(f), "Mapped value");
+        }
+    }
+}
@@ -45,6 +45,40 @@ public class Ranges {
         return id;
     }
 
+    public boolean takeId(final int id) {
+        Range prev = null;
+        Range current = rootRange;
+        while (current != null) {
+            if (id < current.start) {
+                return false;
+            }
+            if (id < current.end) {
+                if (id == current.start) {
+                    current.start++;
+                    if ((current.start == current.end) && (current.next != null)) {
+                        if (prev == null) {
+                            rootRange = current.next;
+                        } else {
+                            prev.next = current.next;
+                        }
+                    }
+                } else if (current.next == null) { // the last range must keep maxId + 1 as end
+                    current.next = new Range(id + 1, current.end);
+                    current.end = id;
+                } else if (id == current.end - 1) {
+                    current.end--;
+                } else {
+                    current.next = new Range(id + 1, current.end, current.next);
+                    current.end = id;
+                }
+                return true;
+            }
+            prev = current;
+            current = current.next;
+        }
+        return false;
+    }
+
     public void returnId(final int id) {
         Range current = rootRange;
         if (id < current.start - 1) {
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.util;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -30,8 +31,11 @@ public final class Utf8Util {
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
 
     public static long isWellFormed(final @NotNull byte[] bytes) {
-        int index = 0;
-        final int end = bytes.length;
+        return isWellFormed(bytes, 0, bytes.length);
+    }
+
+    public static long isWellFormed(final @NotNull byte[] bytes, final int start, final int end) {
+        int index = start;
         while (true) {
 
             byte byte1;
@@ -96,6 +100,88 @@ public final class Utf8Util {
         }
     }
 
+    /**
+     * Checks the readable bytes of the given buffer in place without copying them. The reader index is not modified.
+     *
+     * @param buf the buffer to check.
+     * @return 0 if the readable bytes are well-formed UTF-8, otherwise a value other than 0.
+     */
+    public static long isWellFormed(final @NotNull ByteBuf buf) {
+        final int start = buf.readerIndex();
+        final int end = buf.writerIndex();
+        if (buf.hasArray()) {
+            final int offset = buf.arrayOffset();
+            return isWellFormed(buf.array(), offset + start, offset + end);
+        }
+        return isWellFormed(buf, start, end);
+    }
+
+    private static long isWellFormed(final @NotNull ByteBuf buf, final int start, final int end) {
+        int index = start;
+        while (true) {
+
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
+                }
+            } while ((byte1 = buf.getByte(index++)) >= 0);
+
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                if (index == end) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                if (byte1 < (byte) 0xC2) {
+                    return index + NON_SHORTEST_FORM;
+                }
+                final byte byte2 = buf.getByte(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+            } else if (byte1 < (byte) 0xF0) { // 3 bytes
+                if (index + 1 >= end) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = buf.getByte(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
+                    return index + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
+                    return index + UTF_16_SURROGATES;
+                }
+                final byte byte3 = buf.getByte(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+            } else { // 4 bytes
+                if (index + 2 >= end) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = buf.getByte(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
+                    return index + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
+                    return index + INVALID_CODE_POINTS;
+                }
+                final byte byte3 = buf.getByte(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+                final byte byte4 = buf.getByte(index++);
+                if (byte4 > (byte) 0xBF) {
+                    return index + NO_FOLLOWING_BYTE;
+                }
+            }
+        }
+    }
+
     public static int encodedLength(final @NotNull String string) {
         final int utf16Length = string.length();
         int utf8Length = utf16Length;
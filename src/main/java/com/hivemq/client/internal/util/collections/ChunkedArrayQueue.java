@@ -169,6 +169,8 @@ public class ChunkedArrayQueue<E> implements Iterable<E> {
         private @Nullable Object @Nullable [] iteratorChunk;
         private int iteratorIndex;
         private int iterated;
+        private @Nullable Object @Nullable [] lastChunk;
+        private int lastIndex;
 
         Iterator() {
             reset();
@@ -178,6 +180,7 @@ public class ChunkedArrayQueue<E> implements Iterable<E> {
             iteratorChunk = consumerChunk;
             iteratorIndex = consumerIndex;
             iterated = 0;
+            lastChunk = null;
         }
 
         @Override
@@ -193,6 +196,7 @@ public class ChunkedArrayQueue<E> implements Iterable<E> {
                     throw new NoSuchElementException();
                 }
                 iterated = 1;
+                lastChunk = null;
                 return iteratorSingle;
             }
             if (iteratorChunk == null) {
@@ -207,11 +211,15 @@ public class ChunkedArrayQueue<E> implements Iterable<E> {
                 final Object[] nextChunk = (Object[]) o;
                 this.iteratorChunk = nextChunk;
                 iteratorIndex = 1;
+                lastChunk = nextChunk;
+                lastIndex = 0;
                 //noinspection unchecked
                 e = (E) nextChunk[0];
             } else {
                 //noinspection unchecked
                 e = (E) o;
+                lastChunk = iteratorChunk;
+                lastIndex = iteratorIndex;
                 iteratorIndex++;
                 if (iteratorIndex == chunkSize) {
                     iteratorIndex = 0;
@@ -229,6 +237,23 @@ public class ChunkedArrayQueue<E> implements Iterable<E> {
             iterated = 0;
         }
 
+        /**
+         * Replaces the element that was returned by the last call to {@link #next()}.
+         *
+         * @param e the element to replace the last returned element with.
+         */
+        public void set(final @NotNull E e) {
+            if (iterated == 0) {
+                throw new IllegalStateException();
+            }
+            final Object[] lastChunk = this.lastChunk;
+            if (lastChunk == null) {
+                single = e;
+            } else {
+                lastChunk[lastIndex] = e;
+            }
+        }
+
         public int getIterated() {
             return iterated;
         }
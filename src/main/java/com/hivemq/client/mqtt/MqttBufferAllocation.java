@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Strategy for allocating the buffers a {@link MqttClient MQTT client} uses for encoding and decoding MQTT messages.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+public enum MqttBufferAllocation {
+
+    /**
+     * The default allocation strategy of Netty (network communication framework), which is pooled unless configured
+     * otherwise via system properties.
+     */
+    DEFAULT,
+    /**
+     * Pooled direct (off-heap) buffers. The pool is shared by all clients using this strategy and the same {@link
+     * MqttClientExecutorConfig#getBufferPoolArenas() buffer pool sizing}.
+     */
+    POOLED_DIRECT,
+    /**
+     * Pooled heap buffers. The pool is shared by all clients using this strategy and the same {@link
+     * MqttClientExecutorConfig#getBufferPoolArenas() buffer pool sizing}.
+     * <p>
+     * This only affects the buffers for encoding MQTT messages. Netty still reads from the network into direct buffers
+     * (taken from the direct arenas of the same pool) if <code>sun.misc.Unsafe</code> is available, so decoding is not
+     * affected.
+     */
+    POOLED_HEAP,
+    /**
+     * Unpooled direct (off-heap) buffers. The allocator (and its metrics) is shared by all clients using this strategy.
+     */
+    UNPOOLED_DIRECT,
+    /**
+     * Unpooled heap buffers. The allocator (and its metrics) is shared by all clients using this strategy.
+     */
+    UNPOOLED_HEAP
+}
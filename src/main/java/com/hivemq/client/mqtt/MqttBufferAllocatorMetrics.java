@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+
+/**
+ * Metrics of a shared buffer allocator used by {@link MqttClient MQTT clients}.
+ * <p>
+ * The values are read on every call. Allocators (pooled and unpooled) are JVM-wide singletons shared by all clients
+ * using the same {@link MqttBufferAllocation buffer allocation strategy}, so the metrics are global and cover all of
+ * these clients, not a single one.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttBufferAllocatorMetrics {
+
+    /**
+     * @return whether the allocator pools buffers.
+     */
+    boolean isPooled();
+
+    /**
+     * @return the amount of heap memory in bytes used by the allocator.
+     */
+    long getUsedHeapMemory();
+
+    /**
+     * @return the amount of direct (off-heap) memory in bytes used by the allocator.
+     */
+    long getUsedDirectMemory();
+
+    /**
+     * @return the amount of heap arenas of the allocator, 0 if the allocator is not pooled.
+     */
+    int getHeapArenaCount();
+
+    /**
+     * @return the amount of direct arenas of the allocator, 0 if the allocator is not pooled.
+     */
+    int getDirectArenaCount();
+
+    /**
+     * @return the amount of thread local caches of the allocator, 0 if the allocator is not pooled.
+     */
+    int getThreadLocalCacheCount();
+}
@@ -314,4 +314,67 @@ public interface MqttClientBuilderBase<B extends MqttClientBuilderBase<B>> {
      */
     @CheckReturnValue
     @NotNull B addDisconnectedListener(@NotNull MqttClientDisconnectedListener disconnectedListener);
+
+    /**
+     * Sets the optional listener which is notified about failed fire-and-forget Publish messages.
+     *
+     * @param fireAndForgetFailureListener the listener or <code>null</code> to remove any previously set listener.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B fireAndForgetFailureListener(@Nullable MqttFireAndForgetFailureListener fireAndForgetFailureListener);
+
+    /**
+     * Sets the {@link MqttClientConfig#getIncomingQos0BufferCapacity() maximum amount of buffered incoming QoS 0
+     * Publish messages}.
+     * <p>
+     * It defaults to 0 (the Receive Maximum of the connection).
+     *
+     * @param incomingQos0BufferCapacity the capacity of the buffer for incoming QoS 0 Publish messages, must not be
+     *                                   negative.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0BufferCapacity(int incomingQos0BufferCapacity);
+
+    /**
+     * Sets the {@link MqttClientConfig#getIncomingQos0DropPolicy() policy which incoming QoS 0 Publish messages are
+     * dropped if the buffer for them is full}.
+     * <p>
+     * It defaults to {@link MqttIncomingQos0DropPolicy#DROP_OLDEST}.
+     *
+     * @param incomingQos0DropPolicy the drop policy.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0DropPolicy(@NotNull MqttIncomingQos0DropPolicy incomingQos0DropPolicy);
+
+    /**
+     * Sets the optional listener which is notified about dropped incoming QoS 0 Publish messages.
+     * <p>
+     * Without a listener, a warning with the amount of dropped Publish messages is logged.
+     *
+     * @param incomingQos0DropListener the listener or <code>null</code> to remove any previously set listener.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0DropListener(@Nullable MqttIncomingQos0DropListener incomingQos0DropListener);
+
+    /**
+     * Sets the {@link MqttClientConfig#getIncomingTopicCacheCapacity() maximum amount of cached Topic Names of incoming
+     * Publish messages per connection}.
+     * <p>
+     * It defaults to 4096.
+     *
+     * @param incomingTopicCacheCapacity the capacity of the topic cache per connection, must not be negative, 0
+     *                                   disables caching.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingTopicCacheCapacity(int incomingTopicCacheCapacity);
 }
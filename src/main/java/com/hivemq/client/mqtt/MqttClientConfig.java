@@ -118,6 +118,47 @@ public interface MqttClientConfig {
      */
     @Immutable @NotNull List<@NotNull MqttClientDisconnectedListener> getDisconnectedListeners();
 
+    /**
+     * @return the optional listener which is notified about failed fire-and-forget Publish messages.
+     * @since 1.2
+     */
+    @NotNull Optional<MqttFireAndForgetFailureListener> getFireAndForgetFailureListener();
+
+    /**
+     * Returns the maximum amount of incoming QoS 0 Publish messages that are buffered if the application does not
+     * consume them fast enough. If the buffer is full, incoming QoS 0 Publish messages are dropped according to the
+     * {@link #getIncomingQos0DropPolicy() drop policy}.
+     *
+     * @return the capacity of the buffer for incoming QoS 0 Publish messages, 0 if it is the Receive Maximum of the
+     *         connection.
+     * @since 1.2
+     */
+    int getIncomingQos0BufferCapacity();
+
+    /**
+     * @return the policy which incoming QoS 0 Publish messages are dropped if the buffer for them is full.
+     * @since 1.2
+     */
+    @NotNull MqttIncomingQos0DropPolicy getIncomingQos0DropPolicy();
+
+    /**
+     * @return the optional listener which is notified about dropped incoming QoS 0 Publish messages.
+     * @since 1.2
+     */
+    @NotNull Optional<MqttIncomingQos0DropListener> getIncomingQos0DropListener();
+
+    /**
+     * Returns the maximum amount of Topic Names of incoming Publish messages that are cached per connection.
+     * <p>
+     * The capacity should be at least the amount of distinct Topic Names that are received repeatedly, otherwise they
+     * evict each other and the {@link #getIncomingTopicCacheHitCount() hit rate} drops. The actual capacity is rounded
+     * up to a power of 2.
+     *
+     * @return the capacity of the topic cache per connection, 0 if caching is disabled.
+     * @since 1.2
+     */
+    int getIncomingTopicCacheCapacity();
+
     /**
      * @return the state of the client.
      */
@@ -130,4 +171,86 @@ public interface MqttClientConfig {
      * @return the optional connection configuration of the client.
      */
     @NotNull Optional<? extends MqttClientConnectionConfig> getConnectionConfig();
+
+    /**
+     * Returns the amount of publishes that were handed to the client but are not sent yet, because they wait for the
+     * connection to become writable or for free slots in the send maximum (flow control) window.
+     * <p>
+     * Publishing never blocks the calling thread. This amount can be queried instead as a non-blocking backpressure
+     * signal, for example to throttle producers before handing further publishes to the client.
+     *
+     * @return the amount of publishes queued for sending.
+     * @since 1.2
+     */
+    int getQueuedPublishCount();
+
+    /**
+     * Returns the amount of flushes to the network (each is a system call) over all connections of the client.
+     * <p>
+     * Together with {@link #getFlushedMessageCount()} this shows how well the {@link MqttFlushPolicy flush policy}
+     * coalesces messages.
+     *
+     * @return the amount of flushes.
+     * @since 1.2
+     */
+    long getFlushCount();
+
+    /**
+     * Returns the amount of messages that were flushed to the network over all connections of the client.
+     *
+     * @return the amount of flushed messages.
+     * @since 1.2
+     */
+    long getFlushedMessageCount();
+
+    /**
+     * Returns the amount of incoming Publish messages whose Topic Name was found in the topic cache of the connection,
+     * over all connections of the client.
+     * <p>
+     * Each connection caches a bounded amount of recently received Topic Names, so that a repeated Topic Name is
+     * neither copied nor validated again. Together with {@link #getIncomingTopicCacheMissCount()} this shows the hit
+     * rate of the cache.
+     *
+     * @return the amount of topic cache hits.
+     * @since 1.2
+     */
+    long getIncomingTopicCacheHitCount();
+
+    /**
+     * Returns the amount of incoming Publish messages whose Topic Name was not found in the topic cache of the
+     * connection, over all connections of the client.
+     *
+     * @return the amount of topic cache misses.
+     * @since 1.2
+     */
+    long getIncomingTopicCacheMissCount();
+
+    /**
+     * Returns the amount of fire-and-forget Publish messages that failed over all connections of the client.
+     *
+     * @return the amount of failed fire-and-forget Publish messages.
+     * @since 1.2
+     */
+    long getFireAndForgetFailureCount();
+
+    /**
+     * Returns the amount of incoming QoS 0 Publish messages that were dropped over all connections of the client,
+     * because the buffer for them was full.
+     *
+     * @return the amount of dropped incoming QoS 0 Publish messages.
+     * @since 1.2
+     */
+    long getDroppedIncomingQos0Count();
+
+    /**
+     * Returns the metrics of the shared buffer allocator used by the client according to the {@link
+     * MqttClientExecutorConfig#getBufferAllocation() buffer allocation strategy}.
+     * <p>
+     * The allocators are shared by all clients in the JVM (and for the {@link MqttBufferAllocation#DEFAULT default
+     * strategy} also by any other user of Netty), so the metrics are global and not specific to this client.
+     *
+     * @return the metrics of the shared buffer allocator.
+     * @since 1.2
+     */
+    @NotNull MqttBufferAllocatorMetrics getSharedBufferAllocatorMetrics();
 }
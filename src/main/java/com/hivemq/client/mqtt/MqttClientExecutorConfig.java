@@ -38,6 +38,19 @@ public interface MqttClientExecutorConfig {
 
     @NotNull Scheduler DEFAULT_APPLICATION_SCHEDULER = Schedulers.computation();
 
+    /**
+     * The default {@link MqttBufferAllocation buffer allocation strategy}.
+     *
+     * @since 1.2
+     */
+    @NotNull MqttBufferAllocation DEFAULT_BUFFER_ALLOCATION = MqttBufferAllocation.DEFAULT;
+    /**
+     * The default threshold in microseconds above which callbacks executed on the Netty event loop are logged as slow.
+     *
+     * @since 1.2
+     */
+    long DEFAULT_SLOW_CALLBACK_THRESHOLD_MICROS = 1_000;
+
     /**
      * Creates a builder for an executor configuration.
      *
@@ -62,6 +75,130 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull Scheduler getApplicationScheduler();
 
+    /**
+     * @return the strategy for allocating the buffers used for encoding and decoding MQTT messages.
+     * @since 1.2
+     */
+    @NotNull MqttBufferAllocation getBufferAllocation();
+
+    /**
+     * Returns the optional amount of arenas of the buffer pool.
+     * <p>
+     * The buffer pool sizing is only used for the {@link MqttBufferAllocation#POOLED_DIRECT} and {@link
+     * MqttBufferAllocation#POOLED_HEAP} strategies. Clients with the same strategy and the same buffer pool sizing
+     * share one pool. If a value is absent, the default of Netty (network communication framework) is used.
+     *
+     * @return the optional amount of arenas of the buffer pool.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getBufferPoolArenas();
+
+    /**
+     * Returns the optional page size of the buffer pool in bytes, the unit of allocations from a chunk.
+     * <p>
+     * See {@link #getBufferPoolArenas()} for when the buffer pool sizing is used.
+     *
+     * @return the optional page size of the buffer pool.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getBufferPoolPageSize();
+
+    /**
+     * Returns the optional chunk size of the buffer pool in bytes, the size of the memory regions an arena allocates at
+     * once. Buffers larger than a chunk are not pooled.
+     * <p>
+     * See {@link #getBufferPoolArenas()} for when the buffer pool sizing is used.
+     *
+     * @return the optional chunk size of the buffer pool.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getBufferPoolChunkSize();
+
+    /**
+     * Returns the optional amount of small buffers (smaller than the page size) each thread caches per size class.
+     * <p>
+     * See {@link #getBufferPoolArenas()} for when the buffer pool sizing is used.
+     *
+     * @return the optional amount of small buffers cached per thread and size class.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getBufferPoolSmallCacheSize();
+
+    /**
+     * Returns the optional amount of normal buffers (at least the page size) each thread caches per size class.
+     * <p>
+     * See {@link #getBufferPoolArenas()} for when the buffer pool sizing is used.
+     *
+     * @return the optional amount of normal buffers cached per thread and size class.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getBufferPoolNormalCacheSize();
+
+    /**
+     * Returns whether the payloads of incoming Publish messages reference the network buffers of the client instead of
+     * being copied.
+     * <p>
+     * If enabled, every incoming Publish message that is delivered to the application must be released with {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#release()} (or {@link
+     * com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish#release()}) after its payload has been consumed.
+     * <p>
+     * Payloads are still copied for Publish messages that the client queues before handing them over to the
+     * application scheduler or to an executor with <code>observeOn</code> or <code>publishOn</code>, as these queues
+     * drop their Publish messages without releasing them if the subscriber cancels. Payloads are not copied for Publish
+     * messages that are delivered on the Netty event loop or to the callbacks of the client that take an executor and
+     * a parallelism, a batch size or a manual acknowledgement. Intermediate queues that are added by the application
+     * must release the Publish messages they drop themselves.
+     *
+     * @return whether the payloads of incoming Publish messages are not copied.
+     * @since 1.2
+     */
+    boolean isZeroCopyIncomingPayloads();
+
+    /**
+     * Returns the maximum amount of pooled buffers per size class for the payloads of incoming Publish messages.
+     * <p>
+     * If greater than 0, payloads of incoming Publish messages up to 64 KiB are copied into buffers from a pool of the
+     * client. Size classes are powers of 2 starting at 64 bytes. A buffer is returned to the pool when the Publish
+     * message is released with {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#release()} (or {@link
+     * com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish#release()}). Publish messages that are not released
+     * are collected by the garbage collector as usual.
+     * <p>
+     * Not used if {@link #isZeroCopyIncomingPayloads() zero-copy incoming payloads} are enabled.
+     *
+     * @return the maximum amount of pooled buffers per size class, 0 if payload buffers are not pooled.
+     * @since 1.2
+     */
+    int getIncomingPayloadPoolSize();
+
+    /**
+     * Returns whether incoming Publish messages and the results of the client's operations are delivered directly on
+     * the Netty event loop instead of on the {@link #getApplicationScheduler() application scheduler}.
+     * <p>
+     * This saves a thread hop and a queue per message, but callbacks then block the network communication of the
+     * client while they are executed. Only enable it if all callbacks are short and non-blocking. Callbacks that take
+     * longer than the {@link #getSlowCallbackThresholdMicros() slow callback threshold} are logged as a warning.
+     * <p>
+     * Only callbacks consuming incoming Publish messages are timed. Dependent actions of the futures returned by the
+     * async API (for example the ones added with {@code thenAccept}) are then also executed on the Netty event loop,
+     * but are not detected if they are slow.
+     *
+     * @return whether callbacks are executed on the Netty event loop.
+     * @since 1.2
+     */
+    boolean isDeliverOnEventLoop();
+
+    /**
+     * Returns the threshold in microseconds above which callbacks consuming incoming Publish messages on the Netty
+     * event loop are logged as slow.
+     * <p>
+     * The first slow callback is logged immediately, further slow callbacks at most once per second together with
+     * their amount.
+     *
+     * @return the slow callback threshold in microseconds, 0 if slow callbacks are not detected.
+     * @since 1.2
+     */
+    long getSlowCallbackThresholdMicros();
+
     /**
      * Creates a builder for extending this executor configuration.
      *
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Builder base for a {@link MqttClientExecutorConfig}.
@@ -64,4 +65,121 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
      */
     @CheckReturnValue
     @NotNull B applicationScheduler(@NotNull Scheduler applicationScheduler);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getBufferAllocation() strategy for allocating buffers}.
+     * <p>
+     * It defaults to {@link MqttBufferAllocation#DEFAULT}.
+     *
+     * @param bufferAllocation the strategy for allocating buffers.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B bufferAllocation(@NotNull MqttBufferAllocation bufferAllocation);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getBufferPoolArenas() amount of arenas of the buffer pool}.
+     * <p>
+     * It defaults to the default of Netty, which depends on the amount of processors and the maximum memory.
+     *
+     * @param arenas the amount of arenas of the buffer pool, must be greater than 0.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B bufferPoolArenas(int arenas);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getBufferPoolPageSize() page size of the buffer pool}.
+     * <p>
+     * It defaults to the default of Netty (8 KiB).
+     *
+     * @param pageSize the page size of the buffer pool in bytes, must be a power of 2 and at least 4096.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B bufferPoolPageSize(int pageSize);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getBufferPoolChunkSize() chunk size of the buffer pool}.
+     * <p>
+     * It defaults to the default of Netty (16 MiB). A chunk size that is smaller than the page size is raised to the
+     * page size, a chunk size that is larger than 2^14 pages is lowered to 2^14 pages.
+     *
+     * @param chunkSize the chunk size of the buffer pool in bytes, must be a power of 2 and at most 1 GiB.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B bufferPoolChunkSize(int chunkSize);
+
+    /**
+     * Sets the amount of {@link MqttClientExecutorConfig#getBufferPoolSmallCacheSize() small} and {@link
+     * MqttClientExecutorConfig#getBufferPoolNormalCacheSize() normal} buffers each thread caches per size class.
+     * <p>
+     * They default to the defaults of Netty. A cache size of 0 disables the respective thread cache.
+     *
+     * @param smallCacheSize  the amount of small buffers cached per thread and size class, must not be negative.
+     * @param normalCacheSize the amount of normal buffers cached per thread and size class, must not be negative.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B bufferPoolThreadCacheSizes(int smallCacheSize, int normalCacheSize);
+
+    /**
+     * Sets whether the {@link MqttClientExecutorConfig#isZeroCopyIncomingPayloads() payloads of incoming Publish
+     * messages are not copied}.
+     * <p>
+     * It defaults to <code>false</code>.
+     *
+     * @param zeroCopyIncomingPayloads whether the payloads of incoming Publish messages are not copied.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B zeroCopyIncomingPayloads(boolean zeroCopyIncomingPayloads);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getIncomingPayloadPoolSize() maximum amount of pooled buffers per size
+     * class for the payloads of incoming Publish messages}.
+     * <p>
+     * It defaults to 0 (payload buffers are not pooled).
+     *
+     * @param incomingPayloadPoolSize the maximum amount of pooled buffers per size class, must not be negative.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingPayloadPoolSize(int incomingPayloadPoolSize);
+
+    /**
+     * Sets whether {@link MqttClientExecutorConfig#isDeliverOnEventLoop() callbacks are executed on the Netty event
+     * loop}.
+     * <p>
+     * It defaults to <code>false</code>.
+     *
+     * @param deliverOnEventLoop whether callbacks are executed on the Netty event loop.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B deliverOnEventLoop(boolean deliverOnEventLoop);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getSlowCallbackThresholdMicros() threshold above which callbacks on the
+     * Netty event loop are logged as slow}.
+     * <p>
+     * It defaults to {@link MqttClientExecutorConfig#DEFAULT_SLOW_CALLBACK_THRESHOLD_MICROS} microseconds. A threshold
+     * of 0 disables the detection of slow callbacks.
+     *
+     * @param slowCallbackThreshold the slow callback threshold, must not be negative.
+     * @param timeUnit              the time unit of the slow callback threshold.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B slowCallbackThreshold(long slowCallbackThreshold, @NotNull TimeUnit timeUnit);
 }
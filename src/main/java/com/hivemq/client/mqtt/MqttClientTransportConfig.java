@@ -69,6 +69,12 @@ public interface MqttClientTransportConfig {
      */
     @NotNull Optional<MqttProxyConfig> getProxyConfig();
 
+    /**
+     * @return the policy when written messages are flushed to the network.
+     * @since 1.2
+     */
+    @NotNull MqttFlushPolicy getFlushPolicy();
+
     /**
      * Creates a builder for extending this transport configuration.
      *
@@ -201,4 +201,14 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
      */
     @CheckReturnValue
     @NotNull MqttProxyConfigBuilder.Nested<? extends B> proxyConfig();
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getFlushPolicy() flush policy}.
+     *
+     * @param flushPolicy the policy when written messages are flushed to the network.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B flushPolicy(@NotNull MqttFlushPolicy flushPolicy);
 }
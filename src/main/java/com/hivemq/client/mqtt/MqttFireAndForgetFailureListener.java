@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener which is notified about failed fire-and-forget Publish messages.
+ * <p>
+ * Fire-and-forget Publish messages do not have a result, so failures are aggregated: the listener is not called for
+ * every single failed Publish message but with the amount of failures since the last notification.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface MqttFireAndForgetFailureListener {
+
+    /**
+     * Listener method which is notified about failed fire-and-forget Publish messages.
+     * <p>
+     * This method is called on the application scheduler and must not block.
+     *
+     * @param failureCount the amount of fire-and-forget Publish messages that failed since the last notification.
+     * @param lastCause    the cause of the last failure.
+     */
+    void onFailures(long failureCount, @NotNull Throwable lastCause);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttFlushPolicyImpl;
+import com.hivemq.client.internal.mqtt.MqttFlushPolicyImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Policy when messages written by an {@link MqttClient} are flushed to the network.
+ * <p>
+ * Every flush is a system call. Coalescing the flushes of multiple small messages trades a bounded latency for higher
+ * throughput. Messages are flushed as soon as one of the limits is reached: the amount of unflushed messages, the
+ * amount of unflushed bytes or the time since the first unflushed message was written.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttFlushPolicy {
+
+    /**
+     * The default maximum delay of a flush in microseconds if messages are coalesced.
+     */
+    long DEFAULT_MAX_DELAY_MICROS = 1_000;
+
+    /**
+     * Returns the policy that flushes messages immediately. This is the default.
+     *
+     * @return the policy that flushes immediately.
+     */
+    static @NotNull MqttFlushPolicy immediate() {
+        return MqttFlushPolicyImpl.IMMEDIATE;
+    }
+
+    /**
+     * Creates a builder for a policy that coalesces flushes.
+     *
+     * @return the created builder for a flush policy.
+     */
+    static @NotNull MqttFlushPolicyBuilder builder() {
+        return new MqttFlushPolicyImplBuilder();
+    }
+
+    /**
+     * @return the amount of unflushed messages which triggers a flush.
+     */
+    int getMaxMessages();
+
+    /**
+     * @return the amount of unflushed bytes which triggers a flush.
+     */
+    int getMaxBytes();
+
+    /**
+     * @return the maximum delay of a flush in microseconds, 0 if only the messages written during the same run of the
+     *         client thread are coalesced (no timer).
+     */
+    long getMaxDelayMicros();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder for a {@link MqttFlushPolicy}.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttFlushPolicyBuilder {
+
+    /**
+     * Sets the {@link MqttFlushPolicy#getMaxMessages() amount of unflushed messages which triggers a flush}.
+     * <p>
+     * It is unlimited by default.
+     *
+     * @param maxMessages the amount of unflushed messages, must be greater than 0.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttFlushPolicyBuilder maxMessages(int maxMessages);
+
+    /**
+     * Sets the {@link MqttFlushPolicy#getMaxBytes() amount of unflushed bytes which triggers a flush}.
+     * <p>
+     * It is unlimited by default.
+     *
+     * @param maxBytes the amount of unflushed bytes, must be greater than 0.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttFlushPolicyBuilder maxBytes(int maxBytes);
+
+    /**
+     * Sets the {@link MqttFlushPolicy#getMaxDelayMicros() maximum delay of a flush}.
+     * <p>
+     * It is {@link MqttFlushPolicy#DEFAULT_MAX_DELAY_MICROS} microseconds by default. A delay of 0 does not start a
+     * timer but flushes as soon as the client thread finished its current work, so only messages written during the
+     * same run are coalesced. Use {@link #maxMessages(int) 1 max message} or {@link MqttFlushPolicy#immediate()} to
+     * flush every message immediately.
+     *
+     * @param maxDelay the maximum delay of a flush, must not be negative.
+     * @param timeUnit the time unit of the maximum delay.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttFlushPolicyBuilder maxDelay(long maxDelay, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Builds the flush policy.
+     *
+     * @return the built flush policy.
+     */
+    @NotNull MqttFlushPolicy build();
+}
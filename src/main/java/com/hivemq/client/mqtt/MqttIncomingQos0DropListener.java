@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Listener which is notified about dropped incoming QoS 0 Publish messages.
+ * <p>
+ * Drops happen under overload, so they are aggregated: the listener is not called for every single dropped Publish
+ * message but with the amount of drops since the last notification.
+ *
+ * @author Silvio Giebl
+ * @see MqttIncomingQos0DropPolicy
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface MqttIncomingQos0DropListener {
+
+    /**
+     * Listener method which is notified about dropped incoming QoS 0 Publish messages.
+     * <p>
+     * This method is called on the application scheduler and must not block.
+     *
+     * @param droppedCount the amount of incoming QoS 0 Publish messages that were dropped since the last notification.
+     */
+    void onDropped(long droppedCount);
+}
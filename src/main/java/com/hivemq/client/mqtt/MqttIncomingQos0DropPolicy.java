@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Policy which incoming QoS 0 Publish messages are dropped if the buffer for incoming QoS 0 Publish messages is full
+ * because the application does not consume them fast enough.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+public enum MqttIncomingQos0DropPolicy {
+
+    /**
+     * The oldest buffered Publish message is dropped in favour of the new Publish message.
+     */
+    DROP_OLDEST,
+    /**
+     * The new Publish message is dropped for all consumers that are not ready to receive it.
+     */
+    DROP_NEWEST,
+    /**
+     * The newest buffered Publish message with the same topic is replaced in place by the new Publish message, so the
+     * latest Publish message per topic is kept. If no Publish message with the same topic is buffered, the oldest
+     * buffered Publish message is dropped.
+     */
+    CONFLATE_PER_TOPIC
+}
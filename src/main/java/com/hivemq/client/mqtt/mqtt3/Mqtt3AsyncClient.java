@@ -30,6 +30,7 @@ import com.hivemq.client.mqtt.mqtt3.message.connect.Mqtt3ConnectBuilder;
 import com.hivemq.client.mqtt.mqtt3.message.connect.connack.Mqtt3ConnAck;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3PublishBuilder;
+import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3PublishResult;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.Mqtt3Subscribe;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.Mqtt3SubscribeBuilderBase;
 import com.hivemq.client.mqtt.mqtt3.message.subscribe.suback.Mqtt3SubAck;
@@ -37,6 +38,8 @@ import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3UnsubscribeBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -226,6 +229,40 @@ public interface Mqtt3AsyncClient extends Mqtt3Client {
      */
     @NotNull CompletableFuture<@NotNull Mqtt3Publish> publish(@NotNull Mqtt3Publish publish);
 
+    /**
+     * Publishes the given Publish messages as one batch.
+     * <p>
+     * The Publish messages are handed over to the client at once, so they are sent in the given order and without the
+     * per message overhead of calling {@link #publish(Mqtt3Publish)} for each of them.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *         <li>completes normally with the {@link Mqtt3PublishResult}s in the same order as the given Publish
+     *         messages when all of them have been acknowledged (a result contains an error if its Publish message
+     *         could not be published) or</li>
+     *         <li>completes exceptionally if the client was not connected when the batch was published.</li>
+     *         </ul>
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt3PublishResult>> publishAll(
+            @NotNull Collection<? extends @NotNull Mqtt3Publish> publishes);
+
+    /**
+     * Publishes the given QoS 0 Publish message without a result (fire-and-forget).
+     * <p>
+     * In contrast to {@link #publish(Mqtt3Publish)} no result is created and no completion is tracked per Publish
+     * message, so this method does not allocate per message state. The Publish message is sent in order with other
+     * Publish messages. Failures are only counted and reported in an aggregated way via {@link
+     * com.hivemq.client.mqtt.MqttClientConfig#getFireAndForgetFailureCount()} and the optional {@link
+     * com.hivemq.client.mqtt.MqttFireAndForgetFailureListener}.
+     *
+     * @param publish the QoS 0 Publish message sent to the broker.
+     * @throws IllegalArgumentException if the Publish message does not have QoS 0.
+     * @since 1.2
+     */
+    void publishFireAndForget(@NotNull Mqtt3Publish publish);
+
     /**
      * Fluent counterpart of {@link #publish(Mqtt3Publish)}.
      * <p>
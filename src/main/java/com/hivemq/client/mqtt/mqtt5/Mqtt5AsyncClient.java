@@ -33,6 +33,7 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishAcknowledger;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
@@ -43,9 +44,14 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Asynchronous API of a {@link Mqtt5Client} based on futures and callbacks.
@@ -147,6 +153,111 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
             @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
             @NotNull Executor executor);
 
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback that is executed in parallel.
+     * <p>
+     * The callback is executed concurrently for up to <code>parallelism</code> incoming Publish messages on the given
+     * executor. Incoming Publish messages with the same ordering key are consumed in order, one after another. Use
+     * {@link Mqtt5Publish#getTopic()} as ordering key to preserve the order per topic.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback returned. Acknowledgements are
+     * sent in the order the Publish messages were received, so a slow callback for one ordering key also holds back
+     * the acknowledgements of Publish messages with other ordering keys that were received later, even if their
+     * callbacks already returned.
+     * <p>
+     * The future is completed on the given executor.
+     *
+     * @param subscribe   the Subscribe messages sent to the broker.
+     * @param callback    the callback for consuming the incoming Publish messages matching the subscriptions of the
+     *                    Subscribe message.
+     * @param executor    the executor where the future is completed and the callback is executed on.
+     * @param parallelism the maximum amount of concurrent executions of the callback, must be at least 1.
+     * @param orderingKey the function that determines the ordering key of an incoming Publish message.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, Executor)
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribe(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            @NotNull Executor executor, int parallelism, @NotNull Function<? super Mqtt5Publish, ?> orderingKey);
+
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message in batches.
+     * <p>
+     * A batch is passed to the callback on the given executor if it reached the maximum batch size or the maximum
+     * linger time elapsed since its first Publish message. A maximum linger time of 0 passes all Publish messages that
+     * are available at once without waiting. Batches are consumed in order, one after another.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback returned for their batch.
+     * <p>
+     * The future is completed on the given executor.
+     *
+     * @param subscribe    the Subscribe messages sent to the broker.
+     * @param callback     the callback for consuming batches of the incoming Publish messages matching the
+     *                     subscriptions of the Subscribe message.
+     * @param executor     the executor where the future is completed and the callback is executed on.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be at least 1.
+     * @param maxLinger    the maximum time a batch waits for further Publish messages, must not be negative.
+     * @param timeUnit     the time unit of the maximum linger time.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, Executor)
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            @NotNull Executor executor, int maxBatchSize, long maxLinger, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback that is executed directly on the Netty event loop.
+     * <p>
+     * This saves the thread hop to the {@link com.hivemq.client.mqtt.MqttClientExecutorConfig#getApplicationScheduler()
+     * application scheduler} for every Publish message. The callback must be short and non-blocking, as it delays all
+     * network communication of the client while it is executed. Callbacks that take longer than the {@link
+     * com.hivemq.client.mqtt.MqttClientExecutorConfig#getSlowCallbackThresholdMicros() slow callback threshold} are
+     * logged as a warning. Exceptions thrown by the callback are logged.
+     * <p>
+     * The future is completed on the Netty event loop.
+     *
+     * @param subscribe the Subscribe messages sent to the broker.
+     * @param callback  the callback for consuming the incoming Publish messages matching the subscriptions of the
+     *                  Subscribe message.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer)
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeOnEventLoop(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Consumer<@NotNull Mqtt5Publish> callback);
+
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the the incoming Publish messages matching
+     * the subscriptions of the Subscribe message with a callback that acknowledges them manually.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback called {@link
+     * Mqtt5PublishAcknowledger#acknowledge(Mqtt5Publish)} for them. This can happen later, in any order, from any
+     * thread and also for multiple Publish messages at once. The acknowledgement messages are still sent in the order
+     * the Publish messages were received, so a Publish message that is not acknowledged yet holds back the
+     * acknowledgements of all Publish messages received after it, also of other subscriptions and flows. Unacknowledged
+     * Publish messages count against the Receive Maximum of the connection, so the broker stops sending QoS 1 and 2
+     * Publish messages if too many are held back.
+     * <p>
+     * The callback is executed serially on the given executor. The future is completed on the given executor.
+     *
+     * @param subscribe the Subscribe messages sent to the broker.
+     * @param callback  the callback for consuming and acknowledging the incoming Publish messages matching the
+     *                  subscriptions of the Subscribe message.
+     * @param executor  the executor where the future is completed and the callback is executed on.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribe(Mqtt5Subscribe, Consumer, Executor)
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeWithManualAcknowledgement(
+            @NotNull Mqtt5Subscribe subscribe,
+            @NotNull BiConsumer<@NotNull Mqtt5Publish, @NotNull Mqtt5PublishAcknowledger> callback,
+            @NotNull Executor executor);
+
     /**
      * Fluent counterpart of {@link #subscribe(Mqtt5Subscribe)}, {@link #subscribe(Mqtt5Subscribe, Consumer)} and {@link
      * #subscribe(Mqtt5Subscribe, Consumer, Executor)}.
@@ -191,6 +302,93 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
             @NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
             @NotNull Executor executor);
 
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter with a callback that is executed in
+     * parallel.
+     * <p>
+     * The callback is executed concurrently for up to <code>parallelism</code> incoming Publish messages on the given
+     * executor. Incoming Publish messages with the same ordering key are consumed in order, one after another. Use
+     * {@link Mqtt5Publish#getTopic()} as ordering key to preserve the order per topic.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback returned. Acknowledgements are
+     * sent in the order the Publish messages were received, so a slow callback for one ordering key also holds back
+     * the acknowledgements of Publish messages with other ordering keys that were received later, even if their
+     * callbacks already returned.
+     *
+     * @param filter      the filter with which all incoming Publish messages are filtered.
+     * @param callback    the callback for all incoming Publish messages matching the given filter.
+     * @param executor    the executor where the callback is executed on.
+     * @param parallelism the maximum amount of concurrent executions of the callback, must be at least 1.
+     * @param orderingKey the function that determines the ordering key of an incoming Publish message.
+     * @see #publishes(MqttGlobalPublishFilter, Consumer, Executor)
+     * @since 1.2
+     */
+    void publishes(
+            @NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull Mqtt5Publish> callback,
+            @NotNull Executor executor, int parallelism, @NotNull Function<? super Mqtt5Publish, ?> orderingKey);
+
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter in batches.
+     * <p>
+     * A batch is passed to the callback on the given executor if it reached the maximum batch size or the maximum
+     * linger time elapsed since its first Publish message. A maximum linger time of 0 passes all Publish messages that
+     * are available at once without waiting. Batches are consumed in order, one after another.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback returned for their batch.
+     *
+     * @param filter       the filter with which all incoming Publish messages are filtered.
+     * @param callback     the callback for batches of all incoming Publish messages matching the given filter.
+     * @param executor     the executor where the callback is executed on.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be at least 1.
+     * @param maxLinger    the maximum time a batch waits for further Publish messages, must not be negative.
+     * @param timeUnit     the time unit of the maximum linger time.
+     * @see #publishes(MqttGlobalPublishFilter, Consumer, Executor)
+     * @since 1.2
+     */
+    void publishesBatched(
+            @NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            @NotNull Executor executor, int maxBatchSize, long maxLinger, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter with a callback that is executed
+     * directly on the Netty event loop.
+     * <p>
+     * The callback must be short and non-blocking, see {@link #subscribeOnEventLoop(Mqtt5Subscribe, Consumer)}.
+     *
+     * @param filter   the filter with which all incoming Publish messages are filtered.
+     * @param callback the callback for all incoming Publish messages matching the given filter.
+     * @see #publishes(MqttGlobalPublishFilter, Consumer)
+     * @since 1.2
+     */
+    void publishesOnEventLoop(
+            @NotNull MqttGlobalPublishFilter filter, @NotNull Consumer<@NotNull Mqtt5Publish> callback);
+
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter with a callback that acknowledges them
+     * manually.
+     * <p>
+     * Incoming QoS 1 and 2 Publish messages are only acknowledged after the callback called {@link
+     * Mqtt5PublishAcknowledger#acknowledge(Mqtt5Publish)} for them. This can happen later, in any order, from any
+     * thread and also for multiple Publish messages at once. The acknowledgement messages are still sent in the order
+     * the Publish messages were received, so a Publish message that is not acknowledged yet holds back the
+     * acknowledgements of all Publish messages received after it, also of other subscriptions and flows. Unacknowledged
+     * Publish messages count against the Receive Maximum of the connection, so the broker stops sending QoS 1 and 2
+     * Publish messages if too many are held back.
+     * <p>
+     * The callback is executed serially on the given executor.
+     *
+     * @param filter   the filter with which all incoming Publish messages are filtered.
+     * @param callback the callback for consuming and acknowledging all incoming Publish messages matching the given
+     *                 filter.
+     * @param executor the executor where the callback is executed on.
+     * @see #publishes(MqttGlobalPublishFilter, Consumer, Executor)
+     * @since 1.2
+     */
+    void publishesWithManualAcknowledgement(
+            @NotNull MqttGlobalPublishFilter filter,
+            @NotNull BiConsumer<@NotNull Mqtt5Publish, @NotNull Mqtt5PublishAcknowledger> callback,
+            @NotNull Executor executor);
+
     /**
      * Unsubscribes this client with the given Unsubscribe message.
      *
@@ -239,6 +437,40 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
      */
     @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(@NotNull Mqtt5Publish publish);
 
+    /**
+     * Publishes the given Publish messages as one batch.
+     * <p>
+     * The Publish messages are handed over to the client at once, so they are sent in the given order and without the
+     * per message overhead of calling {@link #publish(Mqtt5Publish)} for each of them.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *         <li>completes normally with the {@link Mqtt5PublishResult}s in the same order as the given Publish
+     *         messages when all of them have been acknowledged (a result contains an error if its Publish message
+     *         could not be published) or</li>
+     *         <li>completes exceptionally if the client was not connected when the batch was published.</li>
+     *         </ul>
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5PublishResult>> publishAll(
+            @NotNull Collection<? extends @NotNull Mqtt5Publish> publishes);
+
+    /**
+     * Publishes the given QoS 0 Publish message without a result (fire-and-forget).
+     * <p>
+     * In contrast to {@link #publish(Mqtt5Publish)} no result is created and no completion is tracked per Publish
+     * message, so this method does not allocate per message state. The Publish message is sent in order with other
+     * Publish messages. Failures are only counted and reported in an aggregated way via {@link
+     * com.hivemq.client.mqtt.MqttClientConfig#getFireAndForgetFailureCount()} and the optional {@link
+     * com.hivemq.client.mqtt.MqttFireAndForgetFailureListener}.
+     *
+     * @param publish the QoS 0 Publish message sent to the broker.
+     * @throws IllegalArgumentException if the Publish message does not have QoS 0.
+     * @since 1.2
+     */
+    void publishFireAndForget(@NotNull Mqtt5Publish publish);
+
     /**
      * Fluent counterpart of {@link #publish(Mqtt5Publish)}.
      * <p>
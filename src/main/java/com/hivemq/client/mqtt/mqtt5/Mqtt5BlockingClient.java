@@ -43,6 +43,8 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -125,6 +127,22 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
      */
     @NotNull Mqtt5Publishes publishes(@NotNull MqttGlobalPublishFilter filter);
 
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter with a prefetch window.
+     * <p>
+     * Up to <code>prefetch</code> Publish messages are queued in the returned {@link Mqtt5Publishes} instance in
+     * advance, so consecutive receives do not wait for each Publish message to be requested. The prefetch window is
+     * replenished in batches. Queued QoS 1 and 2 Publish messages are already acknowledged.
+     *
+     * @param filter   the filter with which all incoming Publish messages are filtered.
+     * @param prefetch the maximum amount of Publish messages queued in advance, must be at least 1.
+     * @return a {@link Mqtt5Publishes} instance that can be used to receive the Publish messages on the calling
+     *         thread.
+     * @see #publishes(MqttGlobalPublishFilter)
+     * @since 1.2
+     */
+    @NotNull Mqtt5Publishes publishes(@NotNull MqttGlobalPublishFilter filter, int prefetch);
+
     /**
      * Unsubscribes this client with the given Unsubscribe message.
      *
@@ -163,6 +181,34 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
      */
     @NotNull Mqtt5PublishResult publish(@NotNull Mqtt5Publish publish);
 
+    /**
+     * Publishes the given Publish messages as one batch and blocks until all of them have been acknowledged.
+     * <p>
+     * In contrast to {@link #publish(Mqtt5Publish)} errors of single Publish messages are not thrown but contained in
+     * the corresponding {@link Mqtt5PublishResult}.
+     *
+     * @param publishes the Publish messages sent to the broker.
+     * @return the {@link Mqtt5PublishResult}s in the same order as the given Publish messages.
+     * @since 1.2
+     */
+    @NotNull List<@NotNull Mqtt5PublishResult> publishAll(
+            @NotNull Collection<? extends @NotNull Mqtt5Publish> publishes);
+
+    /**
+     * Publishes the given QoS 0 Publish message without a result (fire-and-forget).
+     * <p>
+     * In contrast to {@link #publish(Mqtt5Publish)} no result is created and no completion is tracked per Publish
+     * message, so this method does not allocate per message state. The Publish message is sent in order with other
+     * Publish messages. Failures are only counted and reported in an aggregated way via {@link
+     * com.hivemq.client.mqtt.MqttClientConfig#getFireAndForgetFailureCount()} and the optional {@link
+     * com.hivemq.client.mqtt.MqttFireAndForgetFailureListener}.
+     *
+     * @param publish the QoS 0 Publish message sent to the broker.
+     * @throws IllegalArgumentException if the Publish message does not have QoS 0.
+     * @since 1.2
+     */
+    void publishFireAndForget(@NotNull Mqtt5Publish publish);
+
     /**
      * Fluent counterpart of {@link #publish(Mqtt5Publish)}.
      * <p>
@@ -267,6 +313,44 @@ public interface Mqtt5BlockingClient extends Mqtt5Client {
          */
         @NotNull Optional<Mqtt5Publish> receiveNow();
 
+        /**
+         * Receives multiple incoming Publish messages at once.
+         * <ul>
+         * <li>Blocks the calling thread until at least one Publish message is received.</li>
+         * <li>Then adds up to <code>maxPublishes</code> Publish messages that are already queued in this {@link
+         * Mqtt5Publishes} instance to the given collection without blocking.</li>
+         * </ul>
+         *
+         * @param maxPublishes the maximum amount of Publish messages to receive, must be at least 1.
+         * @param out          the collection the received Publish messages are added to.
+         * @return the amount of received Publish messages.
+         * @throws InterruptedException if the calling thread is interrupted while waiting for a Publish message to be
+         *                              received.
+         * @since 1.2
+         */
+        int receive(int maxPublishes, @NotNull Collection<? super Mqtt5Publish> out) throws InterruptedException;
+
+        /**
+         * Receives all incoming Publish messages that are already queued in this {@link Mqtt5Publishes} instance
+         * without blocking.
+         *
+         * @param out the collection the received Publish messages are added to.
+         * @return the amount of received Publish messages.
+         * @since 1.2
+         */
+        int drainTo(@NotNull Collection<? super Mqtt5Publish> out);
+
+        /**
+         * Receives up to <code>maxPublishes</code> incoming Publish messages that are already queued in this {@link
+         * Mqtt5Publishes} instance without blocking.
+         *
+         * @param out          the collection the received Publish messages are added to.
+         * @param maxPublishes the maximum amount of Publish messages to receive, must be at least 1.
+         * @return the amount of received Publish messages.
+         * @since 1.2
+         */
+        int drainTo(@NotNull Collection<? super Mqtt5Publish> out, int maxPublishes);
+
         @Override
         void close();
     }
@@ -20,6 +20,9 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriority;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriorityClassifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,6 +62,52 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * Returns the maximum amount of publish flowables that are concurrently subscribed for sending. Further publish
+     * flowables (including single publishes of the async and blocking API) are queued and subscribed in the order they
+     * were added as soon as previous ones complete.
+     *
+     * @return the maximum amount of concurrently subscribed publish flowables.
+     * @since 1.2
+     */
+    int getMaxConcurrentPublishFlowables();
+
+    /**
+     * @return the optional persistence of the outgoing session state.
+     * @since 1.2
+     */
+    @Nullable Mqtt5OutgoingSessionPersistence getOutgoingSessionPersistence();
+
+    /**
+     * @return the policy which decides which topics of outgoing Publish messages get a topic alias.
+     * @since 1.2
+     */
+    @NotNull Mqtt5TopicAliasPolicy getTopicAliasPolicy();
+
+    /**
+     * @return the optional classifier which assigns outgoing Publish messages to priority lanes. If absent, all
+     *         outgoing Publish messages have {@link Mqtt5PublishPriority#NORMAL normal} priority.
+     * @since 1.2
+     */
+    @Nullable Mqtt5PublishPriorityClassifier getPublishPriorityClassifier();
+
+    /**
+     * Returns whether the content type, response topic, correlation data and user properties of incoming Publish
+     * messages are decoded lazily.
+     * <p>
+     * If enabled, these properties are kept as raw bytes when a Publish message is received and are only decoded on the
+     * first access to any of them. They are still fully validated on receipt (for example well-formed UTF-8), so a
+     * malformed Publish message closes the connection as without lazy decoding; only creating the objects is deferred.
+     * <p>
+     * Not used if {@link com.hivemq.client.mqtt.MqttClientExecutorConfig#isZeroCopyIncomingPayloads() zero-copy
+     * incoming payloads} or an {@link com.hivemq.client.mqtt.MqttClientExecutorConfig#getIncomingPayloadPoolSize()
+     * incoming payload pool} are enabled.
+     *
+     * @return whether the properties of incoming Publish messages are decoded lazily.
+     * @since 1.2
+     */
+    boolean isLazyDecodePublishProperties();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
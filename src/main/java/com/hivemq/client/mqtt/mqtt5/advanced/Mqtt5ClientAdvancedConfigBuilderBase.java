@@ -21,6 +21,8 @@ import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriorityClassifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -73,4 +75,67 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      */
     @CheckReturnValue
     @NotNull Mqtt5ClientInterceptorsBuilder.Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getMaxConcurrentPublishFlowables() maximum amount of concurrently
+     * subscribed publish flowables}.
+     *
+     * @param maxConcurrentPublishFlowables the maximum amount of concurrently subscribed publish flowables, must be
+     *                                      greater than 0.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B maxConcurrentPublishFlowables(int maxConcurrentPublishFlowables);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOutgoingSessionPersistence() persistence of the outgoing
+     * session state}.
+     * <p>
+     * The persisted state is only useful if the session outlives the client, so a session expiry interval should be
+     * set and clean start should be disabled when the client is restarted.
+     *
+     * @param outgoingSessionPersistence the persistence of the outgoing session state or <code>null</code> to remove
+     *                                   any previously set persistence.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B outgoingSessionPersistence(@Nullable Mqtt5OutgoingSessionPersistence outgoingSessionPersistence);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getTopicAliasPolicy() topic alias policy}.
+     * <p>
+     * It defaults to {@link Mqtt5TopicAliasPolicy#adaptive()}.
+     *
+     * @param topicAliasPolicy the topic alias policy.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B topicAliasPolicy(@NotNull Mqtt5TopicAliasPolicy topicAliasPolicy);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getPublishPriorityClassifier() classifier which assigns
+     * outgoing Publish messages to priority lanes}.
+     *
+     * @param publishPriorityClassifier the classifier or <code>null</code> to remove any previously set classifier.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B publishPriorityClassifier(@Nullable Mqtt5PublishPriorityClassifier publishPriorityClassifier);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isLazyDecodePublishProperties() the properties of incoming Publish
+     * messages are decoded lazily}.
+     * <p>
+     * It defaults to <code>false</code>.
+     *
+     * @param lazyDecodePublishProperties whether the properties of incoming Publish messages are decoded lazily.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B lazyDecodePublishProperties(boolean lazyDecodePublishProperties);
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Policy which decides which topics of outgoing Publish messages get a topic alias.
+ * <p>
+ * Topic aliases are only used if the server allows them (topic alias maximum &gt; 0) and the client sets a send topic
+ * alias maximum in its connect restrictions.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface Mqtt5TopicAliasPolicy {
+
+    /**
+     * Returns the default adaptive policy which assigns topic aliases to topics with the highest recent usage. It
+     * avoids reassigning topic aliases too often if the topics do not fit into the topic alias maximum.
+     *
+     * @return the adaptive policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy adaptive() {
+        return MqttTopicAliasPolicy.ADAPTIVE;
+    }
+
+    /**
+     * Returns a policy which assigns a topic alias to every topic and reassigns the topic alias of the least recently
+     * used topic if all topic aliases are used.
+     *
+     * @return the least recently used policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy leastRecentlyUsed() {
+        return MqttTopicAliasPolicy.LEAST_RECENTLY_USED;
+    }
+
+    /**
+     * Returns a policy which assigns a topic alias to every topic and reassigns the topic alias of the least
+     * frequently used topic if all topic aliases are used.
+     *
+     * @return the least frequently used policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy leastFrequentlyUsed() {
+        return MqttTopicAliasPolicy.LEAST_FREQUENTLY_USED;
+    }
+
+    /**
+     * Returns a policy with a static table of topics. The topic aliases are assigned in the order of the given topics
+     * and are never reassigned. Topics beyond the topic alias maximum and other topics do not get a topic alias.
+     *
+     * @param topics the topics that get a topic alias.
+     * @return the preset policy.
+     */
+    static @NotNull Mqtt5TopicAliasPolicy preset(final @NotNull Collection<? extends MqttTopic> topics) {
+        return MqttTopicAliasPolicy.preset(topics);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttSessionJournalBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface for a persistence of the outgoing session state of a client, which are the QoS 1 and QoS 2 Publish
+ * messages and the PubRel messages that were sent but not completely acknowledged yet.
+ * <p>
+ * The persistence allows resuming the outgoing message flows after a restart of the application if the server still
+ * has the session of the client.
+ * <p>
+ * All methods are called on the thread of the client and must not block for a long time.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+public interface Mqtt5OutgoingSessionPersistence {
+
+    /**
+     * Creates a builder for the default implementation which is an append-only memory-mapped journal file.
+     *
+     * @return the created builder for a session journal.
+     */
+    static @NotNull Mqtt5SessionJournalBuilder journalBuilder() {
+        return new MqttSessionJournalBuilder();
+    }
+
+    /**
+     * Called once when the client connects for the first time to hand over the persisted entries in the order they
+     * were stored.
+     * <p>
+     * Not called if the server does not have a session for the client, {@link #clear()} is called instead. Not called
+     * on later connects either, as the client then still holds the outgoing session state in memory.
+     *
+     * @param restorer the callback for the persisted entries.
+     */
+    void restore(@NotNull Restorer restorer);
+
+    /**
+     * Called when a Publish message with QoS 1 or 2 is sent with the given Packet Identifier.
+     *
+     * @param packetIdentifier the Packet Identifier of the Publish message.
+     * @param publish          the Publish message.
+     */
+    void storePublish(int packetIdentifier, @NotNull Mqtt5Publish publish);
+
+    /**
+     * Called when the Publish message with QoS 2 and the given Packet Identifier was received by the server and the
+     * PubRel message is sent.
+     *
+     * @param packetIdentifier the Packet Identifier of the Publish message.
+     */
+    void storePubRel(int packetIdentifier);
+
+    /**
+     * Called when the message flow with the given Packet Identifier is complete (PubAck or PubComp received).
+     *
+     * @param packetIdentifier the Packet Identifier of the completed message flow.
+     */
+    void remove(int packetIdentifier);
+
+    /**
+     * Called when the session ended, all entries must be removed.
+     */
+    void clear();
+
+    /**
+     * Called before the client flushes written messages to the network. Changes must be durable when this method
+     * returns.
+     */
+    void flush();
+
+    /**
+     * Called when the client is disconnected and no longer uses its thread, so resources like open files can be
+     * released.
+     * <p>
+     * The persistence must still be usable afterwards, as the client may connect again.
+     */
+    default void close() {}
+
+    /**
+     * Callback for the persisted entries of an outgoing session.
+     */
+    interface Restorer {
+
+        /**
+         * Restores a Publish message which was sent but not acknowledged.
+         *
+         * @param packetIdentifier the Packet Identifier of the Publish message.
+         * @param publish          the Publish message.
+         */
+        void onPublish(int packetIdentifier, @NotNull Mqtt5Publish publish);
+
+        /**
+         * Restores a PubRel message which was sent but not acknowledged.
+         *
+         * @param packetIdentifier the Packet Identifier of the PubRel message.
+         */
+        void onPubRel(int packetIdentifier);
+    }
+}
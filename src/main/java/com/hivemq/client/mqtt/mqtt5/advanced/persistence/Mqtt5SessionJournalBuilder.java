@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Builder for the default {@link Mqtt5OutgoingSessionPersistence} which is an append-only memory-mapped journal file.
+ * <p>
+ * The journal is compacted into a sibling file with the suffix <code>.compact</code> when it contains more removed
+ * than live entries or when it is full. Compaction alternates between the two files.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface Mqtt5SessionJournalBuilder {
+
+    /**
+     * The default initial size of the journal file in bytes.
+     */
+    int DEFAULT_INITIAL_SIZE = 1024 * 1024;
+
+    /**
+     * Sets the path of the journal file. It is mandatory to call this method.
+     *
+     * @param file the path of the journal file.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull Mqtt5SessionJournalBuilder file(@NotNull Path file);
+
+    /**
+     * Sets the {@link Mqtt5SessionJournalSyncMode sync mode}.
+     * <p>
+     * It is {@link Mqtt5SessionJournalSyncMode#GROUP_COMMIT} by default.
+     *
+     * @param syncMode the sync mode.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull Mqtt5SessionJournalBuilder syncMode(@NotNull Mqtt5SessionJournalSyncMode syncMode);
+
+    /**
+     * Sets the initial size of the journal file in bytes. The file grows if the live entries do not fit.
+     * <p>
+     * It is {@link #DEFAULT_INITIAL_SIZE} by default.
+     *
+     * @param initialSize the initial size of the journal file in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull Mqtt5SessionJournalBuilder initialSize(int initialSize);
+
+    /**
+     * Builds the session journal and opens the journal file. Persisted entries are read from the file.
+     *
+     * @return the built session journal.
+     * @throws java.io.UncheckedIOException if the journal file can not be opened.
+     */
+    @NotNull Mqtt5OutgoingSessionPersistence build();
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+/**
+ * Modes when changes of a {@link Mqtt5OutgoingSessionPersistence#journalBuilder() session journal} are synced to the
+ * storage device.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+public enum Mqtt5SessionJournalSyncMode {
+
+    /**
+     * Every change is synced immediately. This is the safest but slowest mode.
+     */
+    PER_MESSAGE,
+    /**
+     * Changes are synced once per batch of messages written to the network.
+     */
+    GROUP_COMMIT
+}
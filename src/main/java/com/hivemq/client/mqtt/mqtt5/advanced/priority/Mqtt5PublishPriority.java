@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.priority;
+
+/**
+ * Priority class of an outgoing Publish message.
+ * <p>
+ * Each priority class has its own lane (queue) of Publish messages that wait to be sent. The lanes are drained by a
+ * weighted round-robin: per round at most 8 {@link #CONTROL}, 4 {@link #NORMAL} and 1 {@link #BULK} Publish messages
+ * are sent, skipping empty lanes. So a backlog in a lower priority lane only delays a Publish message in a higher
+ * priority lane for a bounded amount of messages, while lower priority lanes are never starved.
+ * <p>
+ * The order of Publish messages is only maintained inside the same priority class.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+public enum Mqtt5PublishPriority {
+
+    /**
+     * Highest priority, for example for alarms or commands.
+     */
+    CONTROL,
+    /**
+     * Default priority.
+     */
+    NORMAL,
+    /**
+     * Lowest priority, for example for telemetry that is sent in large amounts.
+     */
+    BULK
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.priority;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Classifies outgoing Publish messages into {@link Mqtt5PublishPriority priority classes}.
+ * <p>
+ * The method is called on the thread that hands the Publish message over to the client, so it must be thread-safe, must
+ * not block and should be cheap (for example only look at the topic).
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface Mqtt5PublishPriorityClassifier {
+
+    /**
+     * Classifies the given outgoing Publish message.
+     *
+     * @param publish the outgoing Publish message.
+     * @return the priority class of the Publish message.
+     */
+    @NotNull Mqtt5PublishPriority classify(@NotNull Mqtt5Publish publish);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Prepared MQTT 5 Publish message that is used as a template for Publish messages which only differ in their payload.
+ * <p>
+ * The properties of the template (including the user properties) are encoded only once and reused for all Publish
+ * messages created from this prepared Publish message. The fixed header, the topic, the packet identifier, the topic
+ * alias and the payload are still encoded per message.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface Mqtt5PreparedPublish {
+
+    /**
+     * @return the template Publish message.
+     */
+    @NotNull Mqtt5Publish getTemplate();
+
+    /**
+     * Creates a Publish message with the properties of the {@link #getTemplate() template} and the given payload.
+     *
+     * @param payload the payload as byte array or <code>null</code> to remove any previously set payload.
+     * @return the created Publish message.
+     */
+    @NotNull Mqtt5Publish withPayload(@Nullable byte[] payload);
+
+    /**
+     * Creates a Publish message with the properties of the {@link #getTemplate() template} and the given payload.
+     *
+     * @param payload the payload as {@link ByteBuffer} or <code>null</code> to remove any previously set payload.
+     * @return the created Publish message.
+     */
+    @NotNull Mqtt5Publish withPayload(@Nullable ByteBuffer payload);
+}
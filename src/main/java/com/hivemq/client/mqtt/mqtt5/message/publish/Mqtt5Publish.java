@@ -128,4 +128,31 @@ public interface Mqtt5Publish extends Mqtt5Message {
      * @return the created builder.
      */
     @NotNull Mqtt5PublishBuilder.Complete extend();
+
+    /**
+     * Prepares this Publish message as a template for Publish messages which only differ in their payload.
+     * <p>
+     * Sending many Publish messages created with {@link Mqtt5PreparedPublish#withPayload(byte[])} is cheaper than
+     * building them individually, as the properties of the template are encoded only once.
+     *
+     * @return the prepared Publish message.
+     * @since 1.2
+     */
+    @NotNull Mqtt5PreparedPublish prepare();
+
+    /**
+     * Releases the payload of this Publish message if it references a network or pooled buffer of the client.
+     * <p>
+     * This is only the case for incoming Publish messages if {@link
+     * com.hivemq.client.mqtt.MqttClientExecutorConfig#isZeroCopyIncomingPayloads() zero-copy incoming payloads} or an
+     * {@link com.hivemq.client.mqtt.MqttClientExecutorConfig#getIncomingPayloadPoolSize() incoming payload pool} are
+     * enabled. Then every delivered Publish message must be released exactly once after its payload has been consumed,
+     * otherwise the network buffer leaks or the pooled buffer is not reused. The payload must not be accessed anymore
+     * after it has been released.
+     * <p>
+     * This method has no effect for Publish messages that own their payload.
+     *
+     * @since 1.2
+     */
+    void release();
 }
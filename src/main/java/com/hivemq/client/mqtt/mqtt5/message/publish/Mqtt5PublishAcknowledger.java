@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Acknowledges incoming {@link Mqtt5Publish MQTT 5 Publish messages} that are consumed with manual acknowledgement.
+ * <p>
+ * The PubAck (QoS 1) or PubRec (QoS 2) message for an incoming Publish message is only sent after the Publish message
+ * was acknowledged. Publish messages can be acknowledged in any order and from any thread, the acknowledgement messages
+ * are still sent in the order the Publish messages were received. This means that a Publish message that is not
+ * acknowledged yet holds back the acknowledgement messages of all Publish messages received after it, also of other
+ * subscriptions and flows, until it is acknowledged. While held back, these Publish messages count against the Receive
+ * Maximum of the connection, so the broker stops sending QoS 1 and 2 Publish messages if too many are held back.
+ * Acknowledgement messages that become ready at the same time are written with a single flush.
+ * <p>
+ * Acknowledging a QoS 0 Publish message or a Publish message that was already acknowledged has no effect.
+ *
+ * @author Silvio Giebl
+ * @since 1.2
+ */
+@DoNotImplement
+public interface Mqtt5PublishAcknowledger {
+
+    /**
+     * Acknowledges an incoming Publish message.
+     *
+     * @param publish the incoming Publish message.
+     */
+    void acknowledge(@NotNull Mqtt5Publish publish);
+
+    /**
+     * Acknowledges multiple incoming Publish messages at once.
+     *
+     * @param publishes the incoming Publish messages.
+     */
+    void acknowledge(@NotNull List<? extends @NotNull Mqtt5Publish> publishes);
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttBlockingClientTest {
+
+    private final @NotNull MqttRxClient rxClient = mock(MqttRxClient.class);
+    private final @NotNull MqttBlockingClient client = new MqttBlockingClient(rxClient);
+    private final @NotNull List<Long> requests = new ArrayList<>();
+
+    private void mockPublishes(final int count) {
+        final Flowable<Mqtt5Publish> publishes = Flowable.range(0, count)
+                .map(i -> (Mqtt5Publish) Mqtt5Publish.builder().topic("test/" + i).build())
+                .doOnRequest(requests::add);
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(publishes);
+    }
+
+    @Test
+    void publishes_requestsOneByDefault() {
+        mockPublishes(10);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL);
+        assertEquals(Collections.singletonList(1L), requests);
+        assertTrue(publishes.receiveNow().isPresent());
+        assertEquals(Arrays.asList(1L, 1L), requests);
+    }
+
+    @Test
+    void publishes_prefetch_requestsPrefetch() {
+        mockPublishes(100);
+
+        client.publishes(MqttGlobalPublishFilter.ALL, 16);
+
+        assertEquals(Collections.singletonList(16L), requests);
+    }
+
+    @Test
+    void publishes_prefetch_replenishedInBatches() {
+        mockPublishes(100);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        for (int i = 0; i < 11; i++) {
+            assertTrue(publishes.receiveNow().isPresent());
+        }
+        assertEquals(Collections.singletonList(16L), requests);
+        assertTrue(publishes.receiveNow().isPresent());
+
+        assertEquals(Arrays.asList(16L, 12L), requests);
+    }
+
+    @Test
+    void publishes_prefetch_notPositive_throws() {
+        assertThrows(IllegalArgumentException.class, () -> client.publishes(MqttGlobalPublishFilter.ALL, 0));
+    }
+
+    @Test
+    void receive_batch() throws InterruptedException {
+        mockPublishes(100);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        final List<Mqtt5Publish> out = new ArrayList<>();
+
+        assertEquals(4, publishes.receive(4, out));
+        assertEquals(4, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals("test/" + i, out.get(i).getTopic().toString());
+        }
+    }
+
+    @Test
+    void receive_batch_blocksUntilFirstPublish() throws InterruptedException {
+        final UnicastProcessor<Mqtt5Publish> processor = UnicastProcessor.create();
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(processor);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException ignored) {
+            }
+            processor.onNext(publish);
+        }).start();
+        final List<Mqtt5Publish> out = new ArrayList<>();
+
+        assertEquals(1, publishes.receive(4, out));
+        assertSame(publish, out.get(0));
+    }
+
+    @Test
+    void drainTo() {
+        final UnicastProcessor<Mqtt5Publish> processor = UnicastProcessor.create();
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(processor);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        for (int i = 0; i < 10; i++) {
+            processor.onNext(Mqtt5Publish.builder().topic("test/" + i).build());
+        }
+        final List<Mqtt5Publish> out = new ArrayList<>();
+
+        assertEquals(3, publishes.drainTo(out, 3));
+        assertEquals(7, publishes.drainTo(out));
+        assertEquals(0, publishes.drainTo(out));
+        assertEquals(10, out.size());
+    }
+
+    @Test
+    void drainTo_completed_prefetchedPublishesDrainedBeforeError() {
+        mockPublishes(10);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        final List<Mqtt5Publish> out = new ArrayList<>();
+
+        assertEquals(3, publishes.drainTo(out, 3));
+        assertEquals(7, publishes.drainTo(out));
+        assertEquals(10, out.size());
+        assertThrows(IllegalStateException.class, () -> publishes.drainTo(out));
+    }
+
+    @Test
+    void receiveNow_completed_prefetchedPublishesReceivedBeforeError() {
+        mockPublishes(2);
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+
+        assertEquals("test/0", publishes.receiveNow().get().getTopic().toString());
+        assertEquals("test/1", publishes.receiveNow().get().getTopic().toString());
+        assertThrows(IllegalStateException.class, publishes::receiveNow);
+    }
+
+    @Test
+    void receive_timeout_noPublish_empty() throws InterruptedException {
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(Flowable.never());
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+
+        assertEquals(Optional.empty(), publishes.receive(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void close_queuedPublishesReleased() {
+        final Mqtt5Publish publish1 = mock(Mqtt5Publish.class);
+        final Mqtt5Publish publish2 = mock(Mqtt5Publish.class);
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(
+                Flowable.just(publish1, publish2).concatWith(Flowable.never()));
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        assertSame(publish1, publishes.receiveNow().orElse(null));
+        publishes.close();
+
+        verify(publish1, never()).release();
+        verify(publish2).release();
+    }
+
+    @Test
+    void close_receive_throws() {
+        when(rxClient.publishesUnsafe(MqttGlobalPublishFilter.ALL)).thenReturn(Flowable.never());
+
+        final Mqtt5BlockingClient.Mqtt5Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL, 16);
+        publishes.close();
+
+        assertThrows(CancellationException.class, publishes::receive);
+        assertThrows(CancellationException.class, () -> publishes.drainTo(new ArrayList<>()));
+    }
+}
@@ -41,7 +41,7 @@ class MqttClientTransportConfigImplTest {
         EqualsVerifier.forClass(MqttClientTransportConfigImpl.class)
                 .suppress(Warning.STRICT_INHERITANCE)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("serverAddress")
+                .withNonnullFields("serverAddress", "flushPolicy")
                 .withPrefabValues(KeyManagerFactory.class, kmf1, kmf2)
                 .withPrefabValues(TrustManagerFactory.class, tmf1, tmf2)
                 .verify();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttRxClientTest {
+
+    private static @NotNull MqttZeroCopyPublish zeroCopyPublish(final @NotNull ByteBuf payloadBuffer) {
+        return new MqttZeroCopyPublish(MqttTopicImpl.of("test"), payloadBuffer, MqttQos.AT_LEAST_ONCE, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    @Test
+    void detachPayloads_observeOnCancelled_queuedPayloadsReleased() {
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().zeroCopyIncomingPayloads(true).build();
+        final ByteBuf[] payloadBuffers = new ByteBuf[3];
+        final Mqtt5Publish[] publishes = new Mqtt5Publish[3];
+        for (int i = 0; i < publishes.length; i++) {
+            payloadBuffers[i] = Unpooled.buffer().writeBytes(new byte[]{(byte) i, 1, 2});
+            publishes[i] = zeroCopyPublish(payloadBuffers[i]);
+        }
+        final TestScheduler scheduler = new TestScheduler();
+
+        final TestSubscriber<Mqtt5Publish> subscriber =
+                MqttRxClient.detachPayloads(Flowable.fromArray(publishes), executorConfig).observeOn(scheduler).test();
+        subscriber.cancel();
+        scheduler.triggerActions();
+
+        subscriber.assertNoValues();
+        for (final ByteBuf payloadBuffer : payloadBuffers) {
+            assertEquals(0, payloadBuffer.refCnt());
+        }
+    }
+
+    @Test
+    void detachPayloads_observeOn_payloadsCopied() {
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().zeroCopyIncomingPayloads(true).build();
+        final ByteBuf payloadBuffer = Unpooled.buffer().writeBytes(new byte[]{1, 2, 3});
+        final TestScheduler scheduler = new TestScheduler();
+
+        final TestSubscriber<Mqtt5Publish> subscriber =
+                MqttRxClient.detachPayloads(Flowable.just(zeroCopyPublish(payloadBuffer)), executorConfig)
+                        .observeOn(scheduler)
+                        .test();
+        scheduler.triggerActions();
+
+        subscriber.assertValueCount(1);
+        assertEquals(0, payloadBuffer.refCnt());
+        final Mqtt5Publish publish = subscriber.values().get(0);
+        assertFalse(publish instanceof MqttZeroCopyPublish);
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), publish.getPayload().orElse(null));
+        assertEquals("test", publish.getTopic().toString());
+        assertEquals(MqttQos.AT_LEAST_ONCE, publish.getQos());
+    }
+
+    @Test
+    void detachPayloads_notReferenced_notMapped() {
+        final MqttClientExecutorConfigImpl executorConfig = new MqttClientExecutorConfigImplBuilder.Default().build();
+        final Flowable<Mqtt5Publish> publishes = Flowable.empty();
+
+        assertSame(publishes, MqttRxClient.detachPayloads(publishes, executorConfig));
+    }
+}
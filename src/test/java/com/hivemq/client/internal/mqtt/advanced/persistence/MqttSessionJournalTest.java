@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5SessionJournalSyncMode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSessionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private @NotNull MqttSessionJournal open(final @NotNull Mqtt5SessionJournalSyncMode syncMode) {
+        return new MqttSessionJournalBuilder().file(directory.resolve("session"))
+                .syncMode(syncMode)
+                .initialSize(MqttSessionJournal.MIN_SIZE)
+                .build();
+    }
+
+    private static @NotNull Mqtt5Publish publish(final int i) {
+        return Mqtt5Publish.builder()
+                .topic("topic/" + i)
+                .qos(MqttQos.EXACTLY_ONCE)
+                .payload(("payload" + i).getBytes(StandardCharsets.UTF_8))
+                .retain(true)
+                .messageExpiryInterval(10)
+                .contentType("text")
+                .correlationData(new byte[]{1, 2, 3})
+                .userProperties()
+                .add("key", "value" + i)
+                .applyUserProperties()
+                .build();
+    }
+
+    private static @NotNull List<Object> restore(final @NotNull MqttSessionJournal journal) {
+        final List<Object> restored = new ArrayList<>();
+        journal.restore(new Mqtt5OutgoingSessionPersistence.Restorer() {
+            @Override
+            public void onPublish(final int packetIdentifier, final @NotNull Mqtt5Publish publish) {
+                restored.add(packetIdentifier);
+                restored.add(publish);
+            }
+
+            @Override
+            public void onPubRel(final int packetIdentifier) {
+                restored.add(packetIdentifier);
+                restored.add("PUBREL");
+            }
+        });
+        return restored;
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mqtt5SessionJournalSyncMode.class)
+    void restore_afterReopen(final @NotNull Mqtt5SessionJournalSyncMode syncMode) {
+        final MqttSessionJournal journal = open(syncMode);
+        journal.storePublish(1, publish(1));
+        journal.storePublish(2, publish(2));
+        journal.storePublish(3, publish(3));
+        journal.storePubRel(1);
+        journal.remove(2);
+        journal.close();
+
+        final List<Object> restored = restore(open(syncMode));
+        assertEquals(4, restored.size());
+        assertEquals(1, restored.get(0));
+        assertEquals("PUBREL", restored.get(1));
+        assertEquals(3, restored.get(2));
+        assertEquals(publish(3), restored.get(3));
+    }
+
+    @Test
+    void clear() {
+        final MqttSessionJournal journal = open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT);
+        journal.storePublish(1, publish(1));
+        journal.clear();
+        journal.close();
+
+        assertTrue(restore(open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT)).isEmpty());
+    }
+
+    @Test
+    void compaction_keepsLiveEntries() {
+        final MqttSessionJournal journal = open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT);
+        journal.storePublish(1, publish(1));
+        for (int i = 0; i < 1000; i++) {
+            journal.storePublish(2, publish(i));
+            journal.remove(2);
+            journal.flush();
+        }
+        journal.storePublish(3, publish(3));
+        journal.close();
+
+        final List<Object> restored = restore(open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT));
+        assertEquals(4, restored.size());
+        assertEquals(publish(1), restored.get(1));
+        assertEquals(publish(3), restored.get(3));
+    }
+
+    @Test
+    void tornRecord_ignored() throws Exception {
+        final MqttSessionJournal journal = open(Mqtt5SessionJournalSyncMode.PER_MESSAGE);
+        journal.storePublish(1, publish(1));
+        journal.storePublish(2, publish(2));
+        journal.close();
+
+        final MqttSessionJournal reopened = open(Mqtt5SessionJournalSyncMode.PER_MESSAGE);
+        assertEquals(4, restore(reopened).size());
+        reopened.close();
+
+        try (final RandomAccessFile file = new RandomAccessFile(directory.resolve("session").toFile(), "rw")) {
+            file.seek(12 + 8 + 10); // inside the body of the first record
+            file.write(0xFF);
+        }
+        assertTrue(restore(open(Mqtt5SessionJournalSyncMode.PER_MESSAGE)).isEmpty());
+    }
+
+    @Test
+    void close_reopenedOnNextAccess() {
+        final MqttSessionJournal journal = open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT);
+        journal.storePublish(1, publish(1));
+        journal.close();
+        journal.close();
+
+        journal.storePublish(2, publish(2));
+        final List<Object> restored = restore(journal);
+        assertEquals(4, restored.size());
+        assertEquals(publish(1), restored.get(1));
+        assertEquals(publish(2), restored.get(3));
+        journal.close();
+
+        final MqttSessionJournal reopened = open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT);
+        assertEquals(restored, restore(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void flush_afterClose_noop() {
+        final MqttSessionJournal journal = open(Mqtt5SessionJournalSyncMode.GROUP_COMMIT);
+        journal.close();
+        journal.flush();
+
+        assertTrue(restore(journal).isEmpty());
+        journal.close();
+    }
+}
@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
@@ -27,6 +28,7 @@ import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5MessageException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5Message;
@@ -102,23 +104,41 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(false, false, false);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    private void createChannel(
+            final boolean validatePayloadFormat, final boolean zeroCopyPayload, final boolean lazyPublishProperties) {
+
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default()
+                .validatePayloadFormat(validatePayloadFormat)
+                .lazyDecodePublishProperties(lazyPublishProperties)
+                .build();
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().zeroCopyIncomingPayloads(zeroCopyPayload).build();
         final MqttClientConfig clientConfig =
                 new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
-                        MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
-                        MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+                        MqttClientTransportConfigImpl.DEFAULT, executorConfig, advancedConfig,
+                        MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of(),
+                        null, 0, MqttIncomingQos0DropPolicy.DROP_OLDEST, null, MqttTopicCache.DEFAULT_CAPACITY);
 
         channel = new EmbeddedChannel();
-        channel.pipeline().addLast(new MqttDecoder(decoders, clientConfig, connect)).addLast(disconnectHandler);
+        channel.pipeline()
+                .addLast(new MqttDecoder(decoders, clientConfig, connect, new MqttPayloadBufferPool(clientConfig),
+                        new MqttTopicCacheStatistics()))
+                .addLast(disconnectHandler);
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(true, false, false);
+    }
+
+    protected void zeroCopyPayload() {
+        createChannel(false, true, false);
+    }
+
+    protected void lazyPublishProperties() {
+        createChannel(false, false, true);
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPooledPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPayloadBufferPoolTest {
+
+    @Test
+    void sizeClass() {
+        assertEquals(6, MqttPayloadBufferPool.sizeClass(1));
+        assertEquals(6, MqttPayloadBufferPool.sizeClass(64));
+        assertEquals(7, MqttPayloadBufferPool.sizeClass(65));
+        assertEquals(10, MqttPayloadBufferPool.sizeClass(1024));
+        assertEquals(16, MqttPayloadBufferPool.sizeClass(MqttPayloadBufferPool.MAX_SIZE));
+    }
+
+    @Test
+    void isPooled() {
+        final MqttPayloadBufferPool pool = new MqttPayloadBufferPool(4);
+        assertTrue(pool.isEnabled());
+        assertFalse(pool.isPooled(0));
+        assertTrue(pool.isPooled(1));
+        assertTrue(pool.isPooled(MqttPayloadBufferPool.MAX_SIZE));
+        assertFalse(pool.isPooled(MqttPayloadBufferPool.MAX_SIZE + 1));
+    }
+
+    @Test
+    void isPooled_disabled() {
+        final MqttPayloadBufferPool pool = new MqttPayloadBufferPool(0);
+        assertFalse(pool.isEnabled());
+        assertFalse(pool.isPooled(1));
+    }
+
+    @Test
+    void allocate_recycle_reusesBuffer() {
+        final MqttPayloadBufferPool pool = new MqttPayloadBufferPool(4);
+        final ByteBuffer buffer = pool.allocate(100);
+        assertEquals(100, buffer.limit());
+        assertEquals(128, buffer.capacity());
+
+        pool.recycle(buffer);
+        final ByteBuffer reused = pool.allocate(120);
+        assertSame(buffer, reused);
+        assertEquals(120, reused.limit());
+        assertNotSame(buffer, pool.allocate(120));
+    }
+
+    @Test
+    void pooledPublish_release_recyclesAfterLastReference() {
+        final MqttPayloadBufferPool pool = new MqttPayloadBufferPool(4);
+        final ByteBuffer buffer = pool.allocate(10);
+        final MqttPooledPublish publish =
+                new MqttPooledPublish(MqttTopicImpl.of("topic"), buffer, MqttQos.AT_LEAST_ONCE, false,
+                        MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES, pool);
+
+        publish.retainPayload();
+        publish.release();
+        assertNotSame(buffer, pool.allocate(10));
+
+        publish.release();
+        assertSame(buffer, pool.allocate(10));
+
+        assertThrows(IllegalStateException.class, publish::release);
+    }
+}
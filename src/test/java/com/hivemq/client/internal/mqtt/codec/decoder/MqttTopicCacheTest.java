@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicCacheTest {
+
+    private final @NotNull MqttTopicCacheStatistics statistics = new MqttTopicCacheStatistics();
+    private final @NotNull MqttTopicCache topicCache = new MqttTopicCache(MqttTopicCache.DEFAULT_CAPACITY, statistics);
+
+    private static @NotNull ByteBuf encode(final @NotNull String topic) {
+        final byte[] binary = topic.getBytes(StandardCharsets.UTF_8);
+        final ByteBuf byteBuf = Unpooled.buffer();
+        byteBuf.writeShort(binary.length).writeBytes(binary).writeByte(42);
+        return byteBuf;
+    }
+
+    @Test
+    void get_miss_doesNotMoveReaderIndex() {
+        final ByteBuf byteBuf = encode("a/b");
+        assertNull(topicCache.get(byteBuf));
+        assertEquals(0, byteBuf.readerIndex());
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+    }
+
+    @Test
+    void get_hit_skipsTopic() {
+        final MqttTopicImpl topic = MqttTopicImpl.of("a/b");
+        topicCache.put("a/b".getBytes(StandardCharsets.UTF_8), topic);
+
+        final ByteBuf byteBuf = encode("a/b");
+        assertSame(topic, topicCache.get(byteBuf));
+        assertEquals(42, byteBuf.readByte());
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(0, statistics.getMissCount());
+    }
+
+    @Test
+    void get_differentTopic_miss() {
+        topicCache.put("a/b".getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of("a/b"));
+
+        assertNull(topicCache.get(encode("a/c")));
+        assertNull(topicCache.get(encode("a/bc")));
+        assertEquals(2, statistics.getMissCount());
+    }
+
+    @Test
+    void get_emptyOrIncomplete_notCounted() {
+        assertNull(topicCache.get(Unpooled.buffer().writeShort(0)));
+        assertNull(topicCache.get(Unpooled.buffer().writeShort(5).writeByte('a')));
+        assertNull(topicCache.get(Unpooled.buffer().writeByte(0)));
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(0, statistics.getMissCount());
+    }
+
+    @Test
+    void capacity_roundedUpToPowerOf2() {
+        assertEquals(4096, topicCache.getCapacity());
+        assertEquals(4, new MqttTopicCache(1, statistics).getCapacity());
+        assertEquals(1024, new MqttTopicCache(1000, statistics).getCapacity());
+        assertEquals(1 << 20, new MqttTopicCache(Integer.MAX_VALUE, statistics).getCapacity());
+    }
+
+    @Test
+    void capacity0_disabled() {
+        final MqttTopicCache topicCache = new MqttTopicCache(0, statistics);
+        topicCache.put("a/b".getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of("a/b"));
+
+        final ByteBuf byteBuf = encode("a/b");
+        assertNull(topicCache.get(byteBuf));
+        assertEquals(0, byteBuf.readerIndex());
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(0, statistics.getMissCount());
+    }
+
+    @Test
+    void put_isBounded() {
+        final MqttTopicCache topicCache = new MqttTopicCache(256, statistics);
+        for (int i = 0; i < 256 * 4; i++) {
+            final String topic = "topic/" + i;
+            topicCache.put(topic.getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of(topic));
+        }
+        int hits = 0;
+        for (int i = 0; i < 256 * 4; i++) {
+            if (topicCache.get(encode("topic/" + i)) != null) {
+                hits++;
+            }
+        }
+        assertTrue(hits <= 256);
+        assertEquals(hits, statistics.getHitCount());
+    }
+
+    @Test
+    void get_sameSet_notEvictedUntilSetFull() {
+        final MqttTopicCache topicCache = new MqttTopicCache(4, statistics); // a single set
+        for (int i = 0; i < 4; i++) {
+            final String topic = "topic/" + i;
+            topicCache.put(topic.getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of(topic));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(topicCache.get(encode("topic/" + i)));
+        }
+        assertEquals(4, statistics.getHitCount());
+    }
+
+    @Test
+    void put_setFull_evictsEntryWithoutHitFirst() {
+        final MqttTopicCache topicCache = new MqttTopicCache(4, statistics); // a single set
+        for (int i = 0; i < 4; i++) {
+            final String topic = "topic/" + i;
+            topicCache.put(topic.getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of(topic));
+        }
+        assertNotNull(topicCache.get(encode("topic/0")));
+        assertNotNull(topicCache.get(encode("topic/2")));
+        assertNotNull(topicCache.get(encode("topic/3")));
+
+        topicCache.put("topic/4".getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of("topic/4"));
+
+        assertNotNull(topicCache.get(encode("topic/0")));
+        assertNull(topicCache.get(encode("topic/1")));
+        assertNotNull(topicCache.get(encode("topic/2")));
+        assertNotNull(topicCache.get(encode("topic/3")));
+        assertNotNull(topicCache.get(encode("topic/4")));
+    }
+
+    /**
+     * Receives 2000 distinct Topic Names round-robin, which is the worst case for a cache that is too small: an evicted
+     * Topic Name is always received again before the one that evicted it.
+     */
+    @Test
+    void get_thousandsOfTopics_hitRate() {
+        final int topicCount = 2000;
+        receiveAll(topicCount); // warm up
+        final long hitsBefore = statistics.getHitCount();
+        final long missesBefore = statistics.getMissCount();
+        for (int round = 0; round < 4; round++) {
+            receiveAll(topicCount);
+        }
+        final long hits = statistics.getHitCount() - hitsBefore;
+        final long misses = statistics.getMissCount() - missesBefore;
+        final double hitRate = (double) hits / (hits + misses);
+
+        assertEquals(4 * topicCount, hits + misses);
+        assertTrue(hitRate > 0.9, "hit rate " + hitRate);
+    }
+
+    private void receiveAll(final int topicCount) {
+        for (int i = 0; i < topicCount; i++) {
+            final String topic = "sensors/" + i + "/temperature";
+            if (topicCache.get(encode(topic)) == null) {
+                topicCache.put(topic.getBytes(StandardCharsets.UTF_8), MqttTopicImpl.of(topic));
+            }
+        }
+    }
+}
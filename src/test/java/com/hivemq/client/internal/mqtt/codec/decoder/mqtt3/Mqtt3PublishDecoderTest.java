@@ -19,9 +19,11 @@ package com.hivemq.client.internal.mqtt.codec.decoder.mqtt3;
 
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
 import com.hivemq.client.mqtt.mqtt3.message.Mqtt3MessageType;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -202,4 +204,39 @@ class Mqtt3PublishDecoderTest extends AbstractMqtt3DecoderTest {
         assertFalse(channel.isOpen());
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    void decode_zeroCopyPayload(final int qos) throws Exception {
+        zeroCopyPayload();
+        final String topic = "Hello/World/Topic";
+        final String payload = "Hallo World!";
+        final ByteBuf byteBuf = createWellformedPublish(false, qos, false, 1, topic.getBytes(), payload.getBytes());
+        channel.writeInbound(byteBuf);
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        assertTrue(publishInternal.stateless() instanceof MqttZeroCopyPublish);
+        assertArrayEquals(payload.getBytes(), publishInternal.stateless().getPayloadAsBytes());
+        assertEquals(1, byteBuf.refCnt());
+
+        publishInternal.stateless().retainPayload();
+        publishInternal.stateless().release();
+        assertEquals(1, byteBuf.refCnt());
+        publishInternal.stateless().release();
+        assertEquals(0, byteBuf.refCnt());
+    }
+
+    @Test
+    void decode_sameTopic_cached() throws Exception {
+        final String topic = "Hello/World/Topic";
+        channel.writeInbound(createWellformedPublish(false, 0, false, 1, topic.getBytes(), "1".getBytes()));
+        channel.writeInbound(createWellformedPublish(false, 0, false, 1, topic.getBytes(), "2".getBytes()));
+        final MqttStatefulPublish publish1 = channel.readInbound();
+        final MqttStatefulPublish publish2 = channel.readInbound();
+        assertNotNull(publish1);
+        assertNotNull(publish2);
+        assertSame(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+        assertEquals(topic, publish2.stateless().getTopic().toString());
+        assertArrayEquals("2".getBytes(), publish2.stateless().getPayloadAsBytes());
+    }
+
 }
\ No newline at end of file
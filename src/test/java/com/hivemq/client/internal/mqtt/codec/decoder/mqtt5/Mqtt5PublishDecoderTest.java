@@ -19,8 +19,10 @@ package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
 
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttLazyPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
@@ -31,6 +33,8 @@ import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -124,6 +128,180 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}), publish.getPayload().get());
     }
 
+    @Test
+    void decode_lazyProperties() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0011,
+                //   remaining length
+                60,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   packet identifier
+                0, 12,
+                //   properties
+                40,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     response topic
+                0x08, 0, 8, 'r', 'e', 's', 'p', 'o', 'n', 's', 'e',
+                //     correlation data
+                0x09, 0, 5, 5, 4, 3, 2, 1,
+                //     user properties
+                0x26, 0, 4, 't', 'e', 's', 't', 0, 5, 'v', 'a', 'l', 'u', 'e',
+                //     subscription identifier
+                0x0B, 123,
+                // payload
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10
+        };
+
+        final MqttStatefulPublish publishInternal = decodeInternal(encoded);
+        assertEquals(123, publishInternal.getSubscriptionIdentifiers().get(0));
+
+        final MqttPublish publish = publishInternal.stateless();
+        assertTrue(publish instanceof MqttLazyPublish);
+        assertEquals(10, publish.getMessageExpiryInterval().getAsLong());
+        assertFalse(publish.getContentType().isPresent());
+        assertEquals("response", publish.getResponseTopic().get().toString());
+        assertEquals(ByteBuffer.wrap(new byte[]{5, 4, 3, 2, 1}), publish.getCorrelationData().get());
+        final ImmutableList<MqttUserPropertyImpl> userProperties = publish.getUserProperties().asList();
+        assertEquals(1, userProperties.size());
+        assertEquals("test", userProperties.get(0).getName().toString());
+        assertEquals("value", userProperties.get(0).getValue().toString());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}), publish.getPayload().get());
+
+        assertEquals(publish, publish.extend().build());
+        assertEquals(publish.extend().build().hashCode(), publish.hashCode());
+        assertEquals(publish.extend().build().toString(), publish.toString());
+    }
+
+    @Test
+    void decode_lazyPropertiesNone_notLazy() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                5,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+        };
+        assertFalse(decode(encoded) instanceof MqttLazyPublish);
+    }
+
+    @Test
+    void decode_lazyInvalidContentType_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                7,
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', (byte) 0xFF,
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyContentTypeWithNullCharacter_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                13,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                5,
+                //     content type
+                0x03, 0, 2, 't', 0,
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyInvalidUserProperty_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                16,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     user properties
+                0x26, 0, 1, 'k', 0, 2, 'v', (byte) 0xFF,
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyResponseTopicWithWildcard_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                14,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                6,
+                //     response topic
+                0x08, 0, 3, 'a', '/', '#',
+        };
+        decodeNok(encoded, TOPIC_NAME_INVALID);
+    }
+
+    @Test
+    void decode_lazyContentTypeMoreThanOnce_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                21,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                13,
+                //     content type
+                0x03, 0, 1, 't',
+                //     content type
+                0x03, 0, 1, 't',
+                //     user properties
+                0x26, 0, 0
+        };
+        decodeNok(encoded, PROTOCOL_ERROR);
+    }
+
     @Test
     void decode_simple() {
         final byte[] encoded = {
@@ -183,6 +361,34 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals("t", publish.getTopic().toString());
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    void decode_zeroCopyPayload(final int qos) {
+        zeroCopyPayload();
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        // fixed header
+        byteBuf.writeByte(0b0011_0000 | (qos << 1)).writeByte((qos == 0) ? 13 : 15);
+        // variable header
+        byteBuf.writeBytes(new byte[]{0, 5, 't', 'o', 'p', 'i', 'c'});
+        if (qos > 0) {
+            byteBuf.writeShort(1);
+        }
+        byteBuf.writeByte(0);
+        // payload
+        byteBuf.writeBytes(new byte[]{1, 2, 3, 4, 5});
+        channel.writeInbound(byteBuf);
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        assertTrue(publishInternal.stateless() instanceof MqttZeroCopyPublish);
+        assertEquals(1, byteBuf.refCnt());
+
+        publishInternal.stateless().retainPayload();
+        publishInternal.stateless().release();
+        assertEquals(1, byteBuf.refCnt());
+        publishInternal.stateless().release();
+        assertEquals(0, byteBuf.refCnt());
+    }
+
     @Test
     void decode_tooShort() {
         final byte[] encoded = {
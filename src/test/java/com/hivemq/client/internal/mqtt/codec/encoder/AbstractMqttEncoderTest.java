@@ -20,6 +20,7 @@ package com.hivemq.client.internal.mqtt.codec.encoder;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -58,7 +59,7 @@ public abstract class AbstractMqttEncoderTest {
     }
 
     private void createChannel() {
-        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders));
+        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders, new MqttFlushStatistics()));
         if (connected) {
             connected(MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT);
         }
@@ -68,7 +69,8 @@ public abstract class AbstractMqttEncoderTest {
         encoder.onConnected(
                 new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
                         null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
-                        maximumPacketSize, 3, MqttQos.EXACTLY_ONCE, true, true, true, true, channel));
+                        maximumPacketSize, 3, MqttTopicAliasPolicy.ADAPTIVE, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel));
     }
 
     protected void encode(final @NotNull Object message, final @NotNull byte[] expected) {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasPolicy;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
+import com.hivemq.client.mqtt.MqttFlushPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttEncoderTest {
+
+    private final @NotNull MqttFlushStatistics flushStatistics = new MqttFlushStatistics();
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull List<Runnable> tasks = new ArrayList<>();
+    private final @NotNull List<Runnable> scheduledTasks = new ArrayList<>();
+    private final @NotNull List<Long> scheduledDelaysMicros = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+        while (true) {
+            final ByteBuf byteBuf = channel.readOutbound();
+            if (byteBuf == null) {
+                break;
+            }
+            byteBuf.release();
+        }
+    }
+
+    private void connect(final @NotNull MqttFlushPolicy flushPolicy) {
+        final MqttEncoder encoder = new MqttEncoder(new MqttMessageEncoders() {{
+            encoders[Mqtt5MessageType.PINGREQ.getCode()] = new MqttPingReqEncoder();
+        }}, flushStatistics);
+        channel.pipeline().addLast(executor(), MqttEncoder.NAME, encoder);
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().flushPolicy(flushPolicy).build();
+        encoder.onConnected(new MqttClientConnectionConfig(transportConfig, 10, true, true, 0, false, false, null, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 3, MqttTopicAliasPolicy.ADAPTIVE,
+                MqttQos.EXACTLY_ONCE, true, true, true, true, channel));
+    }
+
+    /**
+     * @return an executor which runs the encoder in the channel's thread but only collects executed and scheduled tasks,
+     *         so the tests control when the tasks run.
+     */
+    private @NotNull EventExecutor executor() {
+        final EventExecutor executor = mock(EventExecutor.class);
+        when(executor.next()).thenReturn(executor);
+        when(executor.inEventLoop()).thenReturn(true);
+        when(executor.inEventLoop(any())).thenReturn(true);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any());
+        doAnswer(invocation -> {
+            scheduledTasks.add(invocation.getArgument(0));
+            final long delay = invocation.getArgument(1);
+            scheduledDelaysMicros.add(invocation.<TimeUnit>getArgument(2).toMicros(delay));
+            return mock(ScheduledFuture.class);
+        }).when(executor).schedule(any(Runnable.class), anyLong(), any());
+        return executor;
+    }
+
+    private static void run(final @NotNull List<Runnable> tasks) {
+        final List<Runnable> copy = new ArrayList<>(tasks);
+        tasks.clear();
+        copy.forEach(Runnable::run);
+    }
+
+    @Test
+    void flush_immediate() {
+        connect(MqttFlushPolicy.immediate());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(2, flushStatistics.getFlushCount());
+        assertEquals(2, flushStatistics.getFlushedMessageCount());
+    }
+
+    @Test
+    void flush_maxMessages() {
+        connect(MqttFlushPolicy.builder().maxMessages(3).maxDelay(1, TimeUnit.HOURS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(0, channel.outboundMessages().size());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(3, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+        assertEquals(3, flushStatistics.getFlushedMessageCount());
+    }
+
+    @Test
+    void flush_maxBytes() {
+        connect(MqttFlushPolicy.builder().maxBytes(4).maxDelay(1, TimeUnit.HOURS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE); // 2 bytes
+        assertEquals(0, channel.outboundMessages().size());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+    }
+
+    @Test
+    void flush_maxDelay() {
+        connect(MqttFlushPolicy.builder().maxMessages(100).maxDelay(1, TimeUnit.MILLISECONDS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(0, channel.outboundMessages().size());
+        assertEquals(1, scheduledTasks.size());
+        assertEquals(1_000, scheduledDelaysMicros.get(0));
+
+        run(scheduledTasks);
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+        assertEquals(2, flushStatistics.getFlushedMessageCount());
+    }
+
+    @Test
+    void close_flushesCoalesced() {
+        connect(MqttFlushPolicy.builder().maxMessages(100).maxDelay(1, TimeUnit.HOURS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.close();
+
+        assertEquals(1, flushStatistics.getFlushCount());
+    }
+
+    @Test
+    void flush_zeroDelay_noTimer_flushedAfterCurrentTask() {
+        connect(MqttFlushPolicy.builder().maxMessages(100).maxDelay(0, TimeUnit.MICROSECONDS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(0, channel.outboundMessages().size());
+        assertTrue(scheduledTasks.isEmpty());
+        assertEquals(1, tasks.size());
+
+        run(tasks);
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+        assertEquals(2, flushStatistics.getFlushedMessageCount());
+    }
+
+    @Test
+    void flush_zeroDelay_limitReachedBeforeTask_taskDoesNotFlushAgain() {
+        connect(MqttFlushPolicy.builder().maxMessages(2).maxDelay(0, TimeUnit.MICROSECONDS).build());
+
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        channel.writeAndFlush(MqttPingReq.INSTANCE);
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+
+        channel.write(MqttPingReq.INSTANCE);
+        run(tasks);
+        assertEquals(2, channel.outboundMessages().size());
+        assertEquals(1, flushStatistics.getFlushCount());
+    }
+}
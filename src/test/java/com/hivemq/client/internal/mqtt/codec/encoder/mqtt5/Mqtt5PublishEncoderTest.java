@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPreparedPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
@@ -38,6 +39,7 @@ import java.nio.ByteBuffer;
 import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -691,6 +693,89 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         expected.release();
     }
 
+    @Test
+    void encode_prepared() {
+        final byte[] expected1 = {
+                // fixed header
+                //   type, flags
+                0b0011_0010,
+                //   remaining length
+                51,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   packet identifier
+                0, 1,
+                //   properties
+                38,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     content type
+                0x03, 0, 13, 'm', 'y', 'C', 'o', 'n', 't', 'e', 'n', 't', 'T', 'y', 'p', 'e',
+                //     user properties
+                0x26, 0, 4, 'u', 's', 'e', 'r', 0, 8, 'p', 'r', 'o', 'p', 'e', 'r', 't', 'y',
+                // payload
+                1, 2, 3
+        };
+        final byte[] expected2 = {
+                // fixed header
+                //   type, flags
+                0b0011_0010,
+                //   remaining length
+                49,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   packet identifier
+                0, 2,
+                //   properties
+                38,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     content type
+                0x03, 0, 13, 'm', 'y', 'C', 'o', 'n', 't', 'e', 'n', 't', 'T', 'y', 'p', 'e',
+                //     user properties
+                0x26, 0, 4, 'u', 's', 'e', 'r', 0, 8, 'p', 'r', 'o', 'p', 'e', 'r', 't', 'y',
+                // payload
+                4
+        };
+
+        final MqttPreparedPublish prepared = new MqttPublish(MqttTopicImpl.of("topic"), null, MqttQos.AT_LEAST_ONCE,
+                false, 10, null, MqttUtf8StringImpl.of("myContentType"), null, null, getUserProperties(1)).prepare();
+
+        encode(expected1, prepared.withPayload(new byte[]{1, 2, 3}), 1, false, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        assertNotNull(prepared.getEncodedProperties());
+        encode(expected2, prepared.withPayload(new byte[]{4}), 2, false, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @Test
+    void encode_prepared_maximumPacketSizeExceeded_omitUserProperties() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                2,
+                //     payload format indicator
+                0x01, 0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        connected(expected.length + 2 + userPropertyBytes);
+        final MqttPreparedPublish prepared = new MqttPublish(MqttTopicImpl.of("topic"), null, MqttQos.AT_MOST_ONCE,
+                false, MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                getUserProperties(2)).prepare();
+
+        encode(expected, prepared.withPayload(new byte[]{1, 2, 3, 4, 5}), -1, false,
+                DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
     private void encode(
             final @NotNull byte[] expected, final @NotNull MqttPublish publish, final int packetIdentifier,
             final boolean isDup, final @NotNull ImmutableIntList subscriptionIdentifiers) {
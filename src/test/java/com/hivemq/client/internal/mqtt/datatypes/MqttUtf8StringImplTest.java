@@ -389,4 +389,14 @@ class MqttUtf8StringImplTest {
         assertEquals("test".hashCode(), string.hashCode());
         assertEquals("test".hashCode(), binary.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void hashCode_multiByte_sameAsString() {
+        final String string = "\u00e4/\u65e5\u672c/\ud83d\ude00/\u07ff\u0800\uffff";
+        final MqttUtf8StringImpl binary = MqttUtf8StringImpl.of(string.getBytes(StandardCharsets.UTF_8));
+        assertNotNull(binary);
+
+        assertEquals(string.hashCode(), binary.hashCode());
+        assertEquals(string, binary.toString());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttZeroCopyPublish;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5DisconnectException;
+import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ResourceLeakDetector;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a {@link MqttIncomingQosHandler} with its {@link MqttIncomingPublishService} in an {@link EmbeddedChannel}.
+ * <p>
+ * Publishes carry zero-copy payloads allocated from a pooled allocator with paranoid leak detection, so the tests can
+ * assert the reference count of every payload and leaks are additionally reported by Netty.
+ *
+ * @author Silvio Giebl
+ */
+abstract class AbstractMqttIncomingPublishTest {
+
+    private static @Nullable ResourceLeakDetector.Level leakDetectionLevel;
+
+    @BeforeAll
+    static void enableLeakDetection() {
+        leakDetectionLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        if (leakDetectionLevel != null) {
+            ResourceLeakDetector.setLevel(leakDetectionLevel);
+        }
+    }
+
+    final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    final @NotNull List<ByteBuf> payloads = new ArrayList<>();
+    final @NotNull List<Mqtt5DisconnectReasonCode> disconnects = new ArrayList<>();
+    @SuppressWarnings("NullabilityAnnotations")
+    MqttIncomingQosHandler incomingQosHandler;
+    @SuppressWarnings("NullabilityAnnotations")
+    MqttIncomingQos0Drops incomingQos0Drops;
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+        for (final ByteBuf payload : payloads) {
+            if (payload.refCnt() > 0) {
+                payload.release(payload.refCnt());
+            }
+        }
+    }
+
+    void createHandler(final int receiveMaximum) {
+        createHandler(receiveMaximum, 0, MqttIncomingQos0DropPolicy.DROP_OLDEST);
+    }
+
+    void createHandler(
+            final int receiveMaximum, final int qos0BufferCapacity,
+            final @NotNull MqttIncomingQos0DropPolicy qos0DropPolicy) {
+
+        when(clientConfig.getExecutorConfig()).thenReturn(
+                new MqttClientExecutorConfigImplBuilder.Default().applicationScheduler(Schedulers.trampoline())
+                        .build());
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getIncomingQos0BufferCapacity()).thenReturn(qos0BufferCapacity);
+        when(clientConfig.getIncomingQos0DropPolicy()).thenReturn(qos0DropPolicy);
+
+        incomingQos0Drops = new MqttIncomingQos0Drops(clientConfig);
+        incomingQosHandler = new MqttIncomingQosHandler(
+                clientConfig, new MqttIncomingPublishFlows(new MqttSubscriptionFlowTree()), incomingQos0Drops);
+        channel.pipeline().addLast(incomingQosHandler).addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void userEventTriggered(final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+                if (evt instanceof MqttDisconnectEvent) {
+                    final Throwable cause = ((MqttDisconnectEvent) evt).getCause();
+                    disconnects.add(((Mqtt5DisconnectException) cause).getMqttMessage().getReasonCode());
+                } else {
+                    ctx.fireUserEventTriggered(evt);
+                }
+            }
+        });
+
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getReceiveMaximum()).thenReturn(receiveMaximum);
+        incomingQosHandler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+    }
+
+    @NotNull MqttGlobalIncomingPublishFlow subscribe(
+            final @NotNull TestSubscriber<Mqtt5Publish> subscriber, final boolean manualAcknowledgement) {
+
+        final MqttGlobalIncomingPublishFlow flow = new MqttGlobalIncomingPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, MqttGlobalPublishFilter.ALL, manualAcknowledgement);
+        subscriber.onSubscribe(flow);
+        flow.init();
+        incomingQosHandler.getIncomingPublishFlows().subscribeGlobal(flow);
+        return flow;
+    }
+
+    @NotNull MqttStatefulPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        final int packetIdentifier =
+                (qos == MqttQos.AT_MOST_ONCE) ? MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0 : payloads.size() + 1;
+        return publish(topic, qos, packetIdentifier, false);
+    }
+
+    @NotNull MqttStatefulPublish publish(
+            final @NotNull String topic, final @NotNull MqttQos qos, final int packetIdentifier, final boolean dup) {
+
+        final ByteBuf payload =
+                PooledByteBufAllocator.DEFAULT.buffer().writeBytes(topic.getBytes(StandardCharsets.UTF_8));
+        payloads.add(payload);
+        final MqttPublish publish = new MqttZeroCopyPublish(MqttTopicImpl.of(topic), payload, qos, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        return publish.createStateful(packetIdentifier, dup, null);
+    }
+
+    void read(final @NotNull Object... messages) {
+        for (final Object message : messages) {
+            channel.pipeline().fireChannelRead(message);
+        }
+        channel.pipeline().fireChannelReadComplete();
+    }
+
+    void assertRefCnts(final int... refCnts) {
+        assertEquals(refCnts.length, payloads.size());
+        for (int i = 0; i < refCnts.length; i++) {
+            assertEquals(refCnts[i], payloads.get(i).refCnt(), "reference count of payload " + i);
+        }
+    }
+
+    static void release(final @NotNull TestSubscriber<Mqtt5Publish> subscriber) {
+        for (final Mqtt5Publish publish : subscriber.values()) {
+            publish.release();
+        }
+    }
+
+    static @NotNull List<String> topics(final @NotNull TestSubscriber<Mqtt5Publish> subscriber) {
+        final List<String> topics = new ArrayList<>();
+        for (final Mqtt5Publish publish : subscriber.values()) {
+            topics.add(publish.getTopic().toString());
+        }
+        return topics;
+    }
+}
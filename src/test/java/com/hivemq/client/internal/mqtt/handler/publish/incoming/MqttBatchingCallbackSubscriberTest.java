@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttBatchingCallbackSubscriberTest {
+
+    private final @NotNull EventLoop eventLoop = mock(EventLoop.class);
+    private final @NotNull MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+    private final @NotNull List<List<Mqtt5Publish>> batches = new ArrayList<>();
+
+    MqttBatchingCallbackSubscriberTest() {
+        when(flow.getEventLoop()).thenReturn(eventLoop);
+    }
+
+    @Test
+    void onSubscribe_requestsTwoBatches() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 10, 0, TimeUnit.MILLISECONDS);
+
+        subscriber.onSubscribe(flow);
+
+        verify(flow).request(20);
+    }
+
+    @Test
+    void onNext_maxBatchSizeReached_flushedImmediately() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 3, 1, TimeUnit.SECONDS);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("test/1").build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("test/2").build();
+        final Mqtt5Publish publish3 = Mqtt5Publish.builder().topic("test/3").build();
+
+        subscriber.onNext(publish1);
+        subscriber.onNext(publish2);
+        assertTrue(batches.isEmpty());
+        subscriber.onNext(publish3);
+
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(publish1, publish2, publish3), batches.get(0));
+        final InOrder inOrder = inOrder(flow);
+        inOrder.verify(flow).acknowledge(batches.get(0));
+        inOrder.verify(flow).request(3);
+    }
+
+    @Test
+    void onNext_zeroLinger_flushedInNextEventLoopTask() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 10, 0, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("test/1").build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("test/2").build();
+
+        subscriber.onNext(publish1);
+        subscriber.onNext(publish2);
+        assertTrue(batches.isEmpty());
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop).execute(captor.capture());
+        captor.getValue().run();
+
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(publish1, publish2), batches.get(0));
+        verify(flow).request(2);
+    }
+
+    @Test
+    void onNext_linger_flushScheduled() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 10, 5, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop).schedule(captor.capture(), eq(TimeUnit.MILLISECONDS.toNanos(5)), eq(TimeUnit.NANOSECONDS));
+        assertTrue(batches.isEmpty());
+        captor.getValue().run();
+
+        assertEquals(1, batches.size());
+        assertEquals(Collections.singletonList(publish), batches.get(0));
+    }
+
+    @Test
+    void onNext_flushTaskOfAlreadyFlushedBatch_doesNothing() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 1, 0, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(flow);
+
+        subscriber.onNext(Mqtt5Publish.builder().topic("test").build());
+        assertEquals(1, batches.size());
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop).execute(captor.capture());
+        captor.getValue().run();
+
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void onNext_callbackThrows_stillAcknowledged() {
+        final MqttBatchingCallbackSubscriber subscriber = new MqttBatchingCallbackSubscriber(batch -> {
+            throw new RuntimeException("test");
+        }, Runnable::run, 1, 0, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(flow);
+
+        subscriber.onNext(Mqtt5Publish.builder().topic("test").build());
+
+        verify(flow).acknowledge(any(List.class));
+        verify(flow).request(1);
+    }
+
+    @Test
+    void onComplete_pendingBatchFlushed() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 10, 1, TimeUnit.SECONDS);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+        subscriber.onComplete();
+
+        assertEquals(1, batches.size());
+        assertEquals(Collections.singletonList(publish), batches.get(0));
+    }
+
+    @Test
+    void onError_subAckFutureCompletedExceptionally() {
+        final MqttBatchingCallbackSubscriber subscriber =
+                new MqttBatchingCallbackSubscriber(batches::add, Runnable::run, 10, 0, TimeUnit.MILLISECONDS);
+        subscriber.onSubscribe(flow);
+
+        subscriber.onError(new RuntimeException("test"));
+
+        assertTrue(subscriber.getSubAckFuture().isCompletedExceptionally());
+    }
+}
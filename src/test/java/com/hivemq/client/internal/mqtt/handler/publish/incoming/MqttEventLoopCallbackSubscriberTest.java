@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttEventLoopCallbackSubscriberTest {
+
+    @Test
+    void onSubscribe_detectsSlowCallbacks_requestsUnbounded() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(publish -> {});
+
+        subscriber.onSubscribe(flow);
+
+        verify(flow).detectSlowCallbacks();
+        verify(flow).request(Long.MAX_VALUE);
+    }
+
+    @Test
+    void onNext_callbackExecutedDirectly() {
+        final List<Mqtt5Publish> received = new ArrayList<>();
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(received::add);
+        subscriber.onSubscribe(mock(MqttSubscribedPublishFlow.class));
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+
+        assertEquals(Collections.singletonList(publish), received);
+    }
+
+    @Test
+    void onNext_callbackThrows_notPropagated() {
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(publish -> {
+            throw new RuntimeException("test");
+        });
+        subscriber.onSubscribe(mock(MqttSubscribedPublishFlow.class));
+
+        assertDoesNotThrow(() -> subscriber.onNext(Mqtt5Publish.builder().topic("test").build()));
+    }
+
+    @Test
+    void onSingle_subAckFutureCompleted() {
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(publish -> {});
+        final Mqtt5SubAck subAck = mock(Mqtt5SubAck.class);
+
+        subscriber.onSingle(subAck);
+
+        assertSame(subAck, subscriber.getSubAckFuture().getNow(null));
+    }
+
+    @Test
+    void onError_subAckFutureCompletedExceptionally() {
+        final MqttEventLoopCallbackSubscriber subscriber = new MqttEventLoopCallbackSubscriber(publish -> {});
+
+        subscriber.onError(new RuntimeException("test"));
+
+        assertTrue(subscriber.getSubAckFuture().isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.HandleList;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishFlowsWithIdTest {
+
+    private final @NotNull MqttIncomingPublishFlowsWithId flows =
+            new MqttIncomingPublishFlowsWithId(new MqttSubscriptionFlowTree(), new MqttSubscriptionFlowTree());
+
+    @Test
+    void findMatching_subscriptionIdentifier_dispatchedById() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/+", 5);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/b", 6);
+
+        final HandleList<MqttIncomingPublishFlow> matching1 =
+                flows.findMatching(publish("a/b", ImmutableIntList.of(5)));
+        assertEquals(ImmutableSet.of(flow1), toSet(matching1));
+
+        final HandleList<MqttIncomingPublishFlow> matching2 =
+                flows.findMatching(publish("a/b", ImmutableIntList.of(5, 6)));
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching2));
+    }
+
+    @Test
+    void findMatching_unknownSubscriptionIdentifier_topicMatching() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/+", 5);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/b", 6);
+
+        final HandleList<MqttIncomingPublishFlow> matching = flows.findMatching(publish("a/b", ImmutableIntList.of(7)));
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching));
+    }
+
+    @Test
+    void findMatching_subscriptionWithoutIdentifier_topicMatching() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/+", 5);
+        final MqttSubscribedPublishFlow flow2 =
+                subscribe("a/#", MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER);
+
+        final HandleList<MqttIncomingPublishFlow> matching = flows.findMatching(publish("a/b", ImmutableIntList.of(5)));
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching));
+    }
+
+    @Test
+    void findMatching_cancelled_noLongerDispatchedById() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/+", 5);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/b", 6);
+
+        flows.cancel(flow1);
+
+        final HandleList<MqttIncomingPublishFlow> matching = flows.findMatching(publish("a/b", ImmutableIntList.of(5)));
+        assertEquals(ImmutableSet.of(flow2), toSet(matching));
+    }
+
+    @Test
+    void findMatching_noSubscriptionIdentifiers_topicMatching() {
+        final MqttSubscribedPublishFlow flow = subscribe("a/+", 5);
+
+        final HandleList<MqttIncomingPublishFlow> matching =
+                flows.findMatching(publish("b/c", MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS));
+        assertTrue(matching.isEmpty());
+        assertEquals(ImmutableSet.of(flow), toSet(flows.findMatching(publish("a/b", ImmutableIntList.of(5)))));
+    }
+
+    private @NotNull MqttSubscribedPublishFlow subscribe(
+            final @NotNull String topicFilter, final int subscriptionIdentifier) {
+
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getExecutorConfig()).thenReturn(MqttClientExecutorConfigImpl.DEFAULT);
+        final MqttSubscribedPublishFlow flow = new MqttSubscribedPublishFlow(mock(Subscriber.class), clientConfig,
+                mock(MqttIncomingQosHandler.class), false);
+        final MqttStatefulSubscribe subscribe = new MqttSubscribeBuilder.Default().topicFilter(topicFilter)
+                .build()
+                .createStateful(1, subscriptionIdentifier);
+        flows.subscribe(subscribe, flow);
+        return flow;
+    }
+
+    private static @NotNull MqttStatefulPublish publish(
+            final @NotNull String topic, final @NotNull ImmutableIntList subscriptionIdentifiers) {
+
+        return new MqttPublishBuilder.Default().topic(topic)
+                .build()
+                .createStateful(1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, subscriptionIdentifiers);
+    }
+
+    private static <E> @NotNull ImmutableSet<E> toSet(final @NotNull HandleList<E> list) {
+        final ImmutableSet.Builder<E> builder = ImmutableSet.builder();
+        for (HandleList.Handle<E> h = list.getFirst(); h != null; h = h.getNext()) {
+            builder.add(h.getElement());
+        }
+        return builder.build();
+    }
+}
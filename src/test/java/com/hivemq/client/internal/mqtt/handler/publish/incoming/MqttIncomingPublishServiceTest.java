@@ -0,0 +1,277 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropPolicy;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishServiceTest extends AbstractMqttIncomingPublishTest {
+
+    @Test
+    void onPublishQos0_payloadRetainedBeforeEachFlow() {
+        createHandler(10);
+        final List<Integer> refCntsOnNext = new ArrayList<>();
+        final TestSubscriber<Mqtt5Publish> subscriber1 = new TestSubscriber<Mqtt5Publish>() {
+            @Override
+            public void onNext(final @NotNull Mqtt5Publish publish) {
+                refCntsOnNext.add(payloads.get(0).refCnt());
+                super.onNext(publish);
+            }
+        };
+        final TestSubscriber<Mqtt5Publish> subscriber2 = new TestSubscriber<Mqtt5Publish>() {
+            @Override
+            public void onNext(final @NotNull Mqtt5Publish publish) {
+                refCntsOnNext.add(payloads.get(0).refCnt());
+                super.onNext(publish);
+            }
+        };
+        subscribe(subscriber1, false);
+        subscribe(subscriber2, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+
+        subscriber1.assertValueCount(1);
+        subscriber2.assertValueCount(1);
+        assertEquals(Arrays.asList(2, 3), refCntsOnNext);
+        assertRefCnts(2); // one reference per flow, the reference of the client is released
+        release(subscriber1);
+        assertRefCnts(1);
+        release(subscriber2);
+        assertRefCnts(0);
+    }
+
+    @Test
+    void onPublishQos0_noFlow_released() {
+        createHandler(10);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+
+        assertRefCnts(0);
+    }
+
+    @Test
+    void onPublishQos0_queuedUntilRequested_releasedAfterEmitted() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+        subscriber.assertValueCount(0);
+        assertRefCnts(1);
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertRefCnts(1);
+        release(subscriber);
+        assertRefCnts(0);
+    }
+
+    @Test
+    void onPublishQos0_bufferFull_droppedReleased() {
+        createHandler(1);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+        read(publish("b", MqttQos.AT_MOST_ONCE));
+        assertRefCnts(0, 1);
+        assertEquals(1, incomingQos0Drops.getDroppedCount());
+
+        subscriber.request(2);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("b"), topics(subscriber));
+        release(subscriber);
+        assertRefCnts(0, 0);
+    }
+
+    @Test
+    void onPublishQos0_bufferFull_dropNewest() {
+        createHandler(10, 3, MqttIncomingQos0DropPolicy.DROP_NEWEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+        read(publish("b", MqttQos.AT_MOST_ONCE));
+        read(publish("c", MqttQos.AT_MOST_ONCE));
+        read(publish("d", MqttQos.AT_MOST_ONCE));
+        assertRefCnts(1, 1, 1, 0);
+        assertEquals(1, incomingQos0Drops.getDroppedCount());
+
+        subscriber.request(4);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("a", "b", "c"), topics(subscriber));
+        release(subscriber);
+        assertRefCnts(0, 0, 0, 0);
+    }
+
+    @Test
+    void onPublishQos0_bufferFull_dropOldest() {
+        createHandler(10, 3, MqttIncomingQos0DropPolicy.DROP_OLDEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+        read(publish("b", MqttQos.AT_MOST_ONCE));
+        read(publish("c", MqttQos.AT_MOST_ONCE));
+        read(publish("d", MqttQos.AT_MOST_ONCE));
+        assertRefCnts(0, 1, 1, 1);
+        assertEquals(1, incomingQos0Drops.getDroppedCount());
+
+        subscriber.request(4);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("b", "c", "d"), topics(subscriber));
+        release(subscriber);
+        assertRefCnts(0, 0, 0, 0);
+    }
+
+    @Test
+    void onPublishQos0_bufferFull_conflatePerTopic_replacesNewestWithSameTopic() {
+        createHandler(10, 3, MqttIncomingQos0DropPolicy.CONFLATE_PER_TOPIC);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("x", MqttQos.AT_MOST_ONCE));
+        read(publish("y", MqttQos.AT_MOST_ONCE));
+        read(publish("x", MqttQos.AT_MOST_ONCE));
+        read(publish("x", MqttQos.AT_MOST_ONCE));
+        assertRefCnts(1, 1, 0, 1);
+        assertEquals(1, incomingQos0Drops.getDroppedCount());
+
+        subscriber.request(4);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("x", "y", "x"), topics(subscriber));
+        assertRefCnts(1, 1, 0, 1);
+        release(subscriber);
+        assertRefCnts(0, 0, 0, 0);
+    }
+
+    @Test
+    void onPublishQos0_bufferFull_conflatePerTopic_noSameTopic_dropsOldest() {
+        createHandler(10, 3, MqttIncomingQos0DropPolicy.CONFLATE_PER_TOPIC);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_MOST_ONCE));
+        read(publish("b", MqttQos.AT_MOST_ONCE));
+        read(publish("c", MqttQos.AT_MOST_ONCE));
+        read(publish("d", MqttQos.AT_MOST_ONCE));
+        assertRefCnts(0, 1, 1, 1);
+        assertEquals(1, incomingQos0Drops.getDroppedCount());
+
+        subscriber.request(4);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList("b", "c", "d"), topics(subscriber));
+        release(subscriber);
+        assertRefCnts(0, 0, 0, 0);
+    }
+
+    @Test
+    void onPublishQos1_acknowledged_released() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE));
+        subscriber.assertValueCount(1);
+        assertRefCnts(1);
+
+        channel.runPendingTasks();
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        release(subscriber);
+        assertRefCnts(0);
+    }
+
+    @Test
+    void onPublishQos1_noFlow_acknowledgedAndReleased() {
+        createHandler(10);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE));
+        channel.runPendingTasks();
+
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        assertRefCnts(0);
+    }
+
+    @Test
+    void onPublishQos1_queuedUntilRequested_releasedWhenAcknowledged() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+        assertRefCnts(1);
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        assertRefCnts(1);
+        release(subscriber);
+        assertRefCnts(0);
+    }
+
+    @Test
+    void cancel_manualAcknowledgementOutstanding_acknowledgementsReleased() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> manualSubscriber = new TestSubscriber<>();
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribe(manualSubscriber, true);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE));
+        read(publish("b", MqttQos.AT_LEAST_ONCE));
+        channel.runPendingTasks();
+        manualSubscriber.assertValueCount(2);
+        subscriber.assertValueCount(2);
+        assertNull(channel.readOutbound()); // the acknowledgements of the manual flow are missing
+
+        manualSubscriber.cancel();
+        channel.runPendingTasks();
+        assertEquals(1, ((MqttPubAck) channel.readOutbound()).getPacketIdentifier());
+        assertEquals(2, ((MqttPubAck) channel.readOutbound()).getPacketIdentifier());
+        assertNull(channel.readOutbound());
+
+        read(publish("c", MqttQos.AT_LEAST_ONCE));
+        channel.runPendingTasks();
+        subscriber.assertValueCount(3);
+        assertEquals(3, ((MqttPubAck) channel.readOutbound()).getPacketIdentifier());
+
+        release(manualSubscriber);
+        release(subscriber);
+        assertRefCnts(0, 0, 0);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttIncomingQos0DropListener;
+import io.reactivex.schedulers.TestScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingQos0DropsTest {
+
+    private final @NotNull TestScheduler scheduler = new TestScheduler();
+
+    private @NotNull MqttIncomingQos0Drops createDrops(final @Nullable MqttIncomingQos0DropListener listener) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getExecutorConfig()).thenReturn(
+                new MqttClientExecutorConfigImplBuilder.Default().applicationScheduler(scheduler).build());
+        when(clientConfig.getRawIncomingQos0DropListener()).thenReturn(listener);
+        return new MqttIncomingQos0Drops(clientConfig);
+    }
+
+    @Test
+    void onDropped_withoutListener_onlyCounted() {
+        final MqttIncomingQos0Drops drops = createDrops(null);
+
+        drops.onDropped();
+        drops.onDropped();
+        scheduler.triggerActions();
+
+        assertEquals(2, drops.getDroppedCount());
+    }
+
+    @Test
+    void onDropped_aggregatedUntilListenerNotified() {
+        final MqttIncomingQos0DropListener listener = mock(MqttIncomingQos0DropListener.class);
+        final MqttIncomingQos0Drops drops = createDrops(listener);
+
+        drops.onDropped();
+        drops.onDropped();
+        drops.onDropped();
+        verify(listener, never()).onDropped(anyLong());
+
+        scheduler.triggerActions();
+        verify(listener).onDropped(3);
+
+        drops.onDropped();
+        scheduler.triggerActions();
+        verify(listener).onDropped(1);
+        verifyNoMoreInteractions(listener);
+        assertEquals(4, drops.getDroppedCount());
+    }
+
+    @Test
+    void onDropped_listenerThrows_stillNotifiedLater() {
+        final MqttIncomingQos0DropListener listener = mock(MqttIncomingQos0DropListener.class);
+        doThrow(new RuntimeException("test")).when(listener).onDropped(anyLong());
+        final MqttIncomingQos0Drops drops = createDrops(listener);
+
+        drops.onDropped();
+        scheduler.triggerActions();
+        drops.onDropped();
+        scheduler.triggerActions();
+
+        verify(listener, times(2)).onDropped(1);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingQosHandlerTest extends AbstractMqttIncomingPublishTest {
+
+    @Test
+    void readPublishQos1_duplicateWhilePending_releasedNotDelivered() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE, 1, false));
+        read(publish("a", MqttQos.AT_LEAST_ONCE, 1, true));
+        assertRefCnts(1, 0);
+        assertTrue(disconnects.isEmpty());
+
+        subscriber.request(2);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        assertNull(channel.readOutbound());
+        release(subscriber);
+        assertRefCnts(0, 0);
+    }
+
+    @Test
+    void readPublishQos2_duplicateWhilePending_releasedNotDelivered() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.EXACTLY_ONCE, 1, false));
+        read(publish("a", MqttQos.EXACTLY_ONCE, 1, true));
+        assertRefCnts(1, 0);
+        assertTrue(disconnects.isEmpty());
+
+        subscriber.request(2);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubRec);
+        release(subscriber);
+        assertRefCnts(0, 0);
+    }
+
+    @Test
+    void readPublishQos1_duplicateWithoutDupFlag_releasedAndDisconnected() {
+        createHandler(10);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE, 1, false));
+        read(publish("a", MqttQos.AT_LEAST_ONCE, 1, false));
+
+        assertRefCnts(1, 0);
+        assertEquals(Collections.singletonList(Mqtt5DisconnectReasonCode.PROTOCOL_ERROR), disconnects);
+    }
+
+    @Test
+    void readPublishQos1_duplicateBeforePubAckWritten_releasedAndPubAckResent() {
+        createHandler(10);
+        deferFlushesWhileReading();
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribe(subscriber, false);
+
+        // the PUBACK is not flushed until the read is complete
+        read(publish("a", MqttQos.AT_LEAST_ONCE, 1, false), publish("a", MqttQos.AT_LEAST_ONCE, 1, true));
+
+        subscriber.assertValueCount(1);
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        assertTrue(channel.readOutbound() instanceof MqttPubAck);
+        assertRefCnts(1, 0);
+        release(subscriber);
+        assertRefCnts(0, 0);
+    }
+
+    @Test
+    void readPublishQos1_receiveMaximumExceeded_releasedAndDisconnected() {
+        createHandler(2);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE));
+        read(publish("b", MqttQos.AT_LEAST_ONCE));
+        assertTrue(disconnects.isEmpty());
+        read(publish("c", MqttQos.AT_LEAST_ONCE));
+
+        assertRefCnts(1, 1, 0);
+        assertEquals(Collections.singletonList(Mqtt5DisconnectReasonCode.RECEIVE_MAXIMUM_EXCEEDED), disconnects);
+    }
+
+    @Test
+    void readPublishQos2_receiveMaximumExceeded_releasedAndDisconnected() {
+        createHandler(1);
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.EXACTLY_ONCE));
+        read(publish("b", MqttQos.EXACTLY_ONCE));
+
+        assertRefCnts(1, 0);
+        assertEquals(Collections.singletonList(Mqtt5DisconnectReasonCode.RECEIVE_MAXIMUM_EXCEEDED), disconnects);
+    }
+
+    @Test
+    void readPublishQos1_multipleInOneRead_pubAcksFlushedAfterRead() {
+        createHandler(10);
+        deferFlushesWhileReading();
+        final AtomicInteger flushes = countFlushes();
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        subscribe(subscriber, false);
+
+        read(publish("a", MqttQos.AT_LEAST_ONCE), publish("b", MqttQos.AT_LEAST_ONCE),
+                publish("c", MqttQos.AT_LEAST_ONCE));
+
+        assertPubAcks(1, 2, 3); // flushed without running scheduled tasks
+        assertEquals(1, flushes.get());
+        release(subscriber);
+        assertRefCnts(0, 0, 0);
+    }
+
+    @Test
+    void acknowledge_outOfOrderAndBulk_pubAcksInReceiveOrderWithSingleFlush() {
+        createHandler(10);
+        final AtomicInteger flushes = countFlushes();
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>();
+        final MqttGlobalIncomingPublishFlow flow = subscribe(subscriber, true);
+
+        for (final String topic : Arrays.asList("a", "b", "c", "d", "e")) {
+            read(publish(topic, MqttQos.AT_LEAST_ONCE));
+        }
+        channel.runPendingTasks();
+        subscriber.assertValueCount(5);
+        final List<Mqtt5Publish> publishes = subscriber.values();
+        assertNull(channel.readOutbound());
+        flushes.set(0);
+
+        flow.acknowledge(publishes.get(2));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound()); // held back by the first Publish message
+        assertEquals(0, flushes.get());
+
+        flow.acknowledge(publishes.get(1));
+        flow.acknowledge(publishes.get(0));
+        channel.runPendingTasks();
+        assertPubAcks(1, 2, 3);
+        assertEquals(1, flushes.get());
+
+        flow.acknowledge(Arrays.asList(publishes.get(4), publishes.get(3)));
+        channel.runPendingTasks();
+        assertPubAcks(4, 5);
+        assertEquals(2, flushes.get());
+
+        release(subscriber);
+        assertRefCnts(0, 0, 0, 0, 0);
+    }
+
+    private @NotNull AtomicInteger countFlushes() {
+        final AtomicInteger flushes = new AtomicInteger();
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(final @NotNull ChannelHandlerContext ctx) {
+                flushes.incrementAndGet();
+                ctx.flush();
+            }
+        });
+        return flushes;
+    }
+
+    /**
+     * Defers flushes until the read is complete like the encoder does.
+     */
+    private void deferFlushesWhileReading() {
+        channel.pipeline().addFirst(new ChannelDuplexHandler() {
+            private boolean inRead;
+            private boolean flushPending;
+
+            @Override
+            public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+                inRead = true;
+                ctx.fireChannelRead(msg);
+            }
+
+            @Override
+            public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+                inRead = false;
+                ctx.fireChannelReadComplete();
+                if (flushPending) {
+                    flushPending = false;
+                    ctx.flush();
+                }
+            }
+
+            @Override
+            public void flush(final @NotNull ChannelHandlerContext ctx) {
+                if (inRead) {
+                    flushPending = true;
+                } else {
+                    ctx.flush();
+                }
+            }
+        });
+    }
+
+    private void assertPubAcks(final int... packetIdentifiers) {
+        for (final int packetIdentifier : packetIdentifiers) {
+            final Object message = channel.readOutbound();
+            assertTrue(message instanceof MqttPubAck);
+            assertEquals(packetIdentifier, ((MqttPubAck) message).getPacketIdentifier());
+        }
+        assertNull(channel.readOutbound());
+    }
+}
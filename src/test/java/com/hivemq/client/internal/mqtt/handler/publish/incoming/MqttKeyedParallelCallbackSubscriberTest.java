@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttKeyedParallelCallbackSubscriberTest {
+
+    @Test
+    void onSubscribe_requestsBufferSize() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                new MqttKeyedParallelCallbackSubscriber(publish -> {}, Runnable::run, 4, Mqtt5Publish::getTopic);
+
+        subscriber.onSubscribe(flow);
+
+        verify(flow).request(Flowable.bufferSize());
+    }
+
+    @Test
+    void onNext_acknowledgedAfterCallback() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        @SuppressWarnings("unchecked") final Consumer<Mqtt5Publish> callback = mock(Consumer.class);
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                new MqttKeyedParallelCallbackSubscriber(callback, Runnable::run, 4, Mqtt5Publish::getTopic);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+
+        final InOrder inOrder = inOrder(callback, flow);
+        inOrder.verify(callback).accept(publish);
+        inOrder.verify(flow).acknowledge(Collections.singletonList(publish));
+        inOrder.verify(flow).request(1);
+    }
+
+    @Test
+    void onNext_queuedInLane_acknowledgedAndRequestedTogether() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final List<Runnable> tasks = new ArrayList<>();
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                new MqttKeyedParallelCallbackSubscriber(publish -> {}, tasks::add, 1, Mqtt5Publish::getTopic);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("test").build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("test").build();
+        final Mqtt5Publish publish3 = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish1);
+        subscriber.onNext(publish2);
+        subscriber.onNext(publish3);
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        verify(flow).acknowledge(Arrays.asList(publish1, publish2, publish3));
+        verify(flow).request(3);
+        verify(flow, never()).request(1);
+    }
+
+    @Test
+    void onNext_callbackThrows_stillAcknowledged() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttKeyedParallelCallbackSubscriber subscriber = new MqttKeyedParallelCallbackSubscriber(publish -> {
+            throw new RuntimeException("test");
+        }, Runnable::run, 4, Mqtt5Publish::getTopic);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+
+        verify(flow).acknowledge(Collections.singletonList(publish));
+        verify(flow).request(1);
+    }
+
+    @Test
+    void onNext_sameKey_inOrder() throws InterruptedException {
+        final int topics = 8;
+        final int publishesPerTopic = 200;
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final ConcurrentHashMap<String, List<Integer>> received = new ConcurrentHashMap<>();
+        final CountDownLatch latch = new CountDownLatch(topics * publishesPerTopic);
+        final MqttKeyedParallelCallbackSubscriber subscriber = new MqttKeyedParallelCallbackSubscriber(publish -> {
+            final List<Integer> list = received.computeIfAbsent(publish.getTopic().toString(), t -> new ArrayList<>());
+            //noinspection SynchronizationOnLocalVariableOrMethodParameter
+            synchronized (list) {
+                list.add((int) publish.getPayloadAsBytes()[0]);
+            }
+            latch.countDown();
+        }, executor, 4, Mqtt5Publish::getTopic);
+        subscriber.onSubscribe(mock(MqttSubscribedPublishFlow.class));
+
+        for (int i = 0; i < publishesPerTopic; i++) {
+            for (int topic = 0; topic < topics; topic++) {
+                subscriber.onNext(
+                        Mqtt5Publish.builder().topic("topic" + topic).payload(new byte[]{(byte) i}).build());
+            }
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(topics, received.size());
+        for (final List<Integer> list : received.values()) {
+            assertEquals(publishesPerTopic, list.size());
+            for (int i = 0; i < publishesPerTopic; i++) {
+                assertEquals((byte) i, (byte) (int) list.get(i));
+            }
+        }
+    }
+
+    @Test
+    void onSingle_completesSubAckFutureOnExecutor() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final MqttKeyedParallelCallbackSubscriber subscriber =
+                new MqttKeyedParallelCallbackSubscriber(publish -> {}, tasks::add, 1, Mqtt5Publish::getTopic);
+
+        subscriber.onSingle(mock(Mqtt5SubAck.class));
+
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertTrue(subscriber.getSubAckFuture().isDone());
+    }
+}
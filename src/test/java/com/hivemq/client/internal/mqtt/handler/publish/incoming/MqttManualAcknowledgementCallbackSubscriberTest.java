@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishAcknowledger;
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttManualAcknowledgementCallbackSubscriberTest {
+
+    @Test
+    void onSubscribe_requestsBufferSize() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttManualAcknowledgementCallbackSubscriber subscriber =
+                new MqttManualAcknowledgementCallbackSubscriber((publish, acknowledger) -> {}, Runnable::run);
+
+        subscriber.onSubscribe(flow);
+
+        verify(flow).request(Flowable.bufferSize());
+    }
+
+    @Test
+    void onNext_flowPassedAsAcknowledger_notAcknowledgedAutomatically() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final List<Mqtt5PublishAcknowledger> acknowledgers = new ArrayList<>();
+        final MqttManualAcknowledgementCallbackSubscriber subscriber = new MqttManualAcknowledgementCallbackSubscriber(
+                (publish, acknowledger) -> acknowledgers.add(acknowledger), Runnable::run);
+        subscriber.onSubscribe(flow);
+
+        subscriber.onNext(Mqtt5Publish.builder().topic("test").build());
+
+        assertEquals(1, acknowledgers.size());
+        assertSame(flow, acknowledgers.get(0));
+        verify(flow, never()).acknowledge(any(Mqtt5Publish.class));
+        verify(flow).request(1);
+    }
+
+    @Test
+    void onNext_acknowledgedByCallback() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttManualAcknowledgementCallbackSubscriber subscriber =
+                new MqttManualAcknowledgementCallbackSubscriber(
+                        (publish, acknowledger) -> acknowledger.acknowledge(publish), Runnable::run);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish = Mqtt5Publish.builder().topic("test").build();
+
+        subscriber.onNext(publish);
+
+        verify(flow).acknowledge(publish);
+    }
+
+    @Test
+    void onNext_deliveredInOrder() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Mqtt5Publish> received = new ArrayList<>();
+        final MqttManualAcknowledgementCallbackSubscriber subscriber =
+                new MqttManualAcknowledgementCallbackSubscriber((publish, acknowledger) -> received.add(publish),
+                        tasks::add);
+        subscriber.onSubscribe(flow);
+        final Mqtt5Publish publish1 = Mqtt5Publish.builder().topic("test/1").build();
+        final Mqtt5Publish publish2 = Mqtt5Publish.builder().topic("test/2").build();
+
+        subscriber.onNext(publish1);
+        subscriber.onNext(publish2);
+        assertEquals(1, tasks.size());
+        assertTrue(received.isEmpty());
+        tasks.get(0).run();
+
+        assertEquals(2, received.size());
+        assertSame(publish1, received.get(0));
+        assertSame(publish2, received.get(1));
+        verify(flow, times(2)).request(1);
+    }
+
+    @Test
+    void onNext_callbackThrows_stillRequestsNext() {
+        final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
+        final MqttManualAcknowledgementCallbackSubscriber subscriber =
+                new MqttManualAcknowledgementCallbackSubscriber((publish, acknowledger) -> {
+                    throw new RuntimeException("test");
+                }, Runnable::run);
+        subscriber.onSubscribe(flow);
+
+        subscriber.onNext(Mqtt5Publish.builder().topic("test").build());
+
+        verify(flow).request(1);
+    }
+}
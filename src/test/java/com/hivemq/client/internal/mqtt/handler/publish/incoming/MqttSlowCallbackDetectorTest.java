@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSlowCallbackDetectorTest {
+
+    private static final long START = 1_000_000_000L;
+
+    private final @NotNull MqttSlowCallbackDetector detector = new MqttSlowCallbackDetector(100);
+
+    @Test
+    void onCallbackReturned_belowThreshold_notLogged() {
+        assertFalse(detector.onCallbackReturned(START, START + micros(99)));
+        assertFalse(detector.onCallbackReturned(START, START));
+    }
+
+    @Test
+    void onCallbackReturned_firstSlowCallback_loggedImmediately() {
+        assertTrue(detector.onCallbackReturned(START, START + micros(100)));
+    }
+
+    @Test
+    void onCallbackReturned_furtherSlowCallbacks_loggedAtMostOncePerSecond() {
+        assertTrue(detector.onCallbackReturned(START, START + micros(200)));
+        final long second = START + micros(200);
+        assertFalse(detector.onCallbackReturned(second, second + micros(200)));
+        assertFalse(detector.onCallbackReturned(second, second + TimeUnit.MILLISECONDS.toNanos(999)));
+        assertTrue(detector.onCallbackReturned(second, START + micros(200) + TimeUnit.SECONDS.toNanos(1)));
+        final long third = START + TimeUnit.SECONDS.toNanos(2);
+        assertFalse(detector.onCallbackReturned(third, third + micros(50)));
+        assertTrue(detector.onCallbackReturned(third, third + micros(200)));
+    }
+
+    @Test
+    void onCallbackReturned_belowThresholdAfterSlowCallback_notLogged() {
+        assertTrue(detector.onCallbackReturned(START, START + micros(200)));
+        final long later = START + TimeUnit.SECONDS.toNanos(5);
+
+        assertFalse(detector.onCallbackReturned(later, later + micros(10)));
+    }
+
+    private static long micros(final long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+}
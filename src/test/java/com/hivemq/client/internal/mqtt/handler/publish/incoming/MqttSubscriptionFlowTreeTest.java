@@ -20,6 +20,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -135,4 +136,21 @@ class MqttSubscriptionFlowTreeTest extends MqttSubscriptionFlowsTest {
         flows.findMatching(MqttTopicImpl.of(topic3), matching6);
         assertFalse(matching6.subscriptionFound);
     }
+
+    @Test
+    void findMatching_moreTopicsThanCacheCapacity() {
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), null);
+
+        for (int i = 0; i < 2 * MqttSubscriptionFlowTree.MATCH_CACHE_CAPACITY; i++) {
+            final MqttMatchingPublishFlows matching = new MqttMatchingPublishFlows();
+            flows.findMatching(MqttTopicImpl.of("a/" + i), matching);
+            assertTrue(matching.subscriptionFound);
+        }
+        final MqttMatchingPublishFlows matching1 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/0"), matching1);
+        assertTrue(matching1.subscriptionFound);
+        final MqttMatchingPublishFlows matching2 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("b/0"), matching2);
+        assertFalse(matching2.subscriptionFound);
+    }
 }
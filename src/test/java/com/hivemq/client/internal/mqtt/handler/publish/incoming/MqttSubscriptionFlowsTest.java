@@ -432,6 +432,62 @@ abstract class MqttSubscriptionFlowsTest {
         assertFalse(matching.subscriptionFound);
     }
 
+    @Test
+    void findMatching_repeated_sameResult() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("a/+");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("#");
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), flow1);
+        flows.subscribe(MqttTopicFilterImpl.of("#"), flow2);
+
+        for (int i = 0; i < 3; i++) {
+            final MqttMatchingPublishFlows matching = new MqttMatchingPublishFlows();
+            flows.findMatching(MqttTopicImpl.of("a/b"), matching);
+            assertTrue(matching.subscriptionFound);
+            assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching));
+        }
+    }
+
+    @Test
+    void subscribe_afterFindMatching_doMatch() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("a/b");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("a/+");
+
+        final MqttMatchingPublishFlows matching1 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching1);
+        assertFalse(matching1.subscriptionFound);
+        assertTrue(matching1.isEmpty());
+
+        flows.subscribe(MqttTopicFilterImpl.of("a/b"), flow1);
+        final MqttMatchingPublishFlows matching2 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching2);
+        assertTrue(matching2.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow1), toSet(matching2));
+
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), flow2);
+        final MqttMatchingPublishFlows matching3 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching3);
+        assertTrue(matching3.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching3));
+    }
+
+    @Test
+    void cancel_afterFindMatching_doNoLongerMatch() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("a/+");
+        final MqttSubscribedPublishFlow flow2 = mockSubscriptionFlow("a/#");
+        flows.subscribe(MqttTopicFilterImpl.of("a/+"), flow1);
+        flows.subscribe(MqttTopicFilterImpl.of("a/#"), flow2);
+
+        final MqttMatchingPublishFlows matching1 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching1);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(matching1));
+
+        flows.cancel(flow1);
+        final MqttMatchingPublishFlows matching2 = new MqttMatchingPublishFlows();
+        flows.findMatching(MqttTopicImpl.of("a/b"), matching2);
+        assertTrue(matching2.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow2), toSet(matching2));
+    }
+
     private static @NotNull MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
         final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
         final HandleList<MqttTopicFilterImpl> topicFilters = new HandleList<>();
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAckBatchSingleTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttPublishFlowables publishFlowables = mock(MqttPublishFlowables.class);
+
+    MqttAckBatchSingleTest() {
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+        when(clientComponent.outgoingQosHandler()).thenReturn(outgoingQosHandler);
+        when(outgoingQosHandler.getPublishFlowables()).thenReturn(publishFlowables);
+    }
+
+    private @NotNull List<MqttPublishWithFlow> subscribe(
+            final @NotNull ImmutableList<MqttPublish> publishes,
+            final @NotNull TestObserver<List<Mqtt5PublishResult>> observer) {
+
+        new MqttAckBatchSingle(clientConfig, publishes).subscribe(observer);
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<MqttPublishWithFlow>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(publishFlowables).add(captor.capture());
+        return captor.getValue();
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic) {
+        return new MqttPublishBuilder.Default().topic(topic).build();
+    }
+
+    private static void complete(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), null));
+    }
+
+    @Test
+    void results_acknowledgedOutOfOrder_emittedInPublishOrder() {
+        final ImmutableList<MqttPublish> publishes = ImmutableList.of(publish("a"), publish("b"), publish("c"));
+        final TestObserver<List<Mqtt5PublishResult>> observer = new TestObserver<>();
+        final List<MqttPublishWithFlow> publishWithFlows = subscribe(publishes, observer);
+        assertEquals(3, publishWithFlows.size());
+
+        complete(publishWithFlows.get(2));
+        complete(publishWithFlows.get(0));
+        observer.assertNoValues();
+        complete(publishWithFlows.get(1));
+
+        observer.assertValueCount(1).assertComplete();
+        final List<Mqtt5PublishResult> results = observer.values().get(0);
+        for (int i = 0; i < publishes.size(); i++) {
+            assertSame(publishes.get(i), results.get(i).getPublish());
+        }
+    }
+
+    @Test
+    void results_samePublishInstanceTwice_eachOccurrenceGetsOwnResult() {
+        final MqttPublish duplicate = publish("a");
+        final ImmutableList<MqttPublish> publishes = ImmutableList.of(duplicate, publish("b"), duplicate);
+        final TestObserver<List<Mqtt5PublishResult>> observer = new TestObserver<>();
+        final List<MqttPublishWithFlow> publishWithFlows = subscribe(publishes, observer);
+
+        final Exception error = new Exception("test");
+        publishWithFlows.get(0).getAckFlow().onNext(new MqttPublishResult(duplicate, null));
+        complete(publishWithFlows.get(1));
+        observer.assertNoValues();
+        publishWithFlows.get(2).getAckFlow().onNext(new MqttPublishResult(duplicate, error));
+
+        observer.assertValueCount(1);
+        final List<Mqtt5PublishResult> results = observer.values().get(0);
+        assertEquals(3, results.size());
+        assertSame(duplicate, results.get(0).getPublish());
+        assertFalse(results.get(0).getError().isPresent());
+        assertSame(publishes.get(1), results.get(1).getPublish());
+        assertSame(duplicate, results.get(2).getPublish());
+        assertSame(error, results.get(2).getError().orElse(null));
+    }
+
+    @Test
+    void subscribe_empty_emptyResults() {
+        final TestObserver<List<Mqtt5PublishResult>> observer =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of()).test();
+
+        observer.assertResult(ImmutableList.of());
+        verify(publishFlowables, never()).add(anyList());
+    }
+
+    @Test
+    void subscribe_notConnected_error() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+
+        final TestObserver<List<Mqtt5PublishResult>> observer =
+                new MqttAckBatchSingle(clientConfig, ImmutableList.of(publish("a"))).test();
+
+        observer.assertError(MqttClientStateException.class);
+        verify(publishFlowables, never()).add(anyList());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttFireAndForgetFailureListener;
+import io.reactivex.schedulers.TestScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFireAndForgetFailuresTest {
+
+    private final @NotNull TestScheduler scheduler = new TestScheduler();
+
+    private @NotNull MqttFireAndForgetFailures createFailures(
+            final @Nullable MqttFireAndForgetFailureListener listener) {
+
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getExecutorConfig()).thenReturn(
+                new MqttClientExecutorConfigImplBuilder.Default().applicationScheduler(scheduler).build());
+        when(clientConfig.getRawFireAndForgetFailureListener()).thenReturn(listener);
+        return new MqttFireAndForgetFailures(clientConfig);
+    }
+
+    @Test
+    void onFailure_withoutListener_onlyCounted() {
+        final MqttFireAndForgetFailures failures = createFailures(null);
+
+        failures.onFailure(new Exception("1"));
+        failures.onFailures(2, new Exception("2"));
+        scheduler.triggerActions();
+
+        assertEquals(3, failures.getFailureCount());
+    }
+
+    @Test
+    void onFailure_aggregatedUntilListenerNotified() {
+        final MqttFireAndForgetFailureListener listener = mock(MqttFireAndForgetFailureListener.class);
+        final MqttFireAndForgetFailures failures = createFailures(listener);
+        final Exception cause1 = new Exception("1");
+        final Exception cause2 = new Exception("2");
+        final Exception cause3 = new Exception("3");
+
+        failures.onFailure(cause1);
+        failures.onFailures(3, cause2);
+        verify(listener, never()).onFailures(anyLong(), any());
+
+        scheduler.triggerActions();
+        verify(listener).onFailures(4, cause2);
+
+        failures.onFailure(cause3);
+        scheduler.triggerActions();
+        verify(listener).onFailures(1, cause3);
+        verifyNoMoreInteractions(listener);
+        assertEquals(5, failures.getFailureCount());
+    }
+
+    @Test
+    void onFailure_listenerThrows_stillNotifiedLater() {
+        final MqttFireAndForgetFailureListener listener = mock(MqttFireAndForgetFailureListener.class);
+        doThrow(new RuntimeException("test")).when(listener).onFailures(anyLong(), any());
+        final MqttFireAndForgetFailures failures = createFailures(listener);
+        final Exception cause = new Exception();
+
+        failures.onFailure(cause);
+        scheduler.triggerActions();
+        failures.onFailure(cause);
+        scheduler.triggerActions();
+
+        verify(listener, times(2)).onFailures(1, cause);
+    }
+}
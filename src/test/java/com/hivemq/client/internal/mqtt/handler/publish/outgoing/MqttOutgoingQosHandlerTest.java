@@ -0,0 +1,294 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5OutgoingSessionPersistence;
+import com.hivemq.client.mqtt.mqtt5.advanced.priority.Mqtt5PublishPriority;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttOutgoingQosHandlerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttFireAndForgetFailures fireAndForgetFailures =
+            new MqttFireAndForgetFailures(clientConfig);
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private @NotNull MqttOutgoingQosHandler createHandler(
+            final @NotNull MqttClientAdvancedConfig advancedConfig, final int sendMaximum) {
+
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        when(clientConfig.getExecutorConfig()).thenReturn(MqttClientExecutorConfigImpl.DEFAULT);
+        final MqttOutgoingQosHandler handler =
+                new MqttOutgoingQosHandler(clientConfig, new MqttPublishFlowables(clientConfig), fireAndForgetFailures);
+        channel.pipeline().addLast(handler);
+
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendMaximum()).thenReturn(sendMaximum);
+        when(connectionConfig.getChannel()).thenReturn(channel);
+        when(clientConfig.getRawConnectionConfig()).thenReturn(connectionConfig);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        channel.runPendingTasks();
+        return handler;
+    }
+
+    private @NotNull MqttPublishWithFlow publishWithFlow(final @NotNull String topic, final @NotNull MqttQos qos) {
+        final MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+        when(ackFlow.getEventLoop()).thenReturn(channel.eventLoop());
+        return new MqttPublishWithFlow(publish(topic, qos), ackFlow);
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic(topic).qos(qos).build();
+    }
+
+    /**
+     * @return a handler which classifies publishes by the first topic level ("CONTROL/1" is a control publish).
+     */
+    private @NotNull MqttOutgoingQosHandler createPriorityHandler() {
+        return createHandler(new MqttClientAdvancedConfigBuilder.Default().publishPriorityClassifier(
+                publish -> Mqtt5PublishPriority.valueOf(publish.getTopic().getLevels().get(0))).build(), 100);
+    }
+
+    private void queue(
+            final @NotNull MqttOutgoingQosHandler handler, final @NotNull Mqtt5PublishPriority priority,
+            final int count) {
+
+        for (int i = 0; i < count; i++) {
+            handler.onFireAndForget(publish(priority + "/" + i, MqttQos.AT_MOST_ONCE));
+        }
+    }
+
+    private @NotNull String writtenPriorities() {
+        final StringBuilder priorities = new StringBuilder();
+        while (true) {
+            final MqttStatefulPublish written = channel.readOutbound();
+            if (written == null) {
+                return priorities.toString();
+            }
+            priorities.append(written.stateless().getTopic().getLevels().get(0).charAt(0));
+        }
+    }
+
+    @Test
+    void getQueuedCount_decrementedWhenWritten() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+
+        handler.onPublish(publishWithFlow("a", MqttQos.AT_LEAST_ONCE));
+        handler.onPublish(publishWithFlow("b", MqttQos.AT_LEAST_ONCE));
+        assertEquals(2, handler.getQueuedCount());
+
+        channel.runPendingTasks();
+        assertEquals(0, handler.getQueuedCount());
+        assertEquals(2, channel.outboundMessages().size());
+    }
+
+    @Test
+    void getQueuedCount_sendMaximumReached_remainQueued() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 1);
+
+        handler.onPublish(publishWithFlow("a", MqttQos.AT_LEAST_ONCE));
+        handler.onPublish(publishWithFlow("b", MqttQos.AT_LEAST_ONCE));
+        handler.onPublish(publishWithFlow("c", MqttQos.AT_LEAST_ONCE));
+        channel.runPendingTasks();
+
+        assertEquals(2, handler.getQueuedCount());
+        assertEquals(1, channel.outboundMessages().size());
+    }
+
+    @Test
+    void getQueuedCount_batch_countedAsIndividualPublishes() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+
+        handler.onPublishes(Arrays.asList(
+                publishWithFlow("a", MqttQos.AT_LEAST_ONCE), publishWithFlow("b", MqttQos.AT_LEAST_ONCE),
+                publishWithFlow("c", MqttQos.AT_LEAST_ONCE)));
+        assertEquals(3, handler.getQueuedCount());
+
+        channel.runPendingTasks();
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    @Test
+    void onSessionRestore_onlyFirstCallRestores() {
+        final Mqtt5OutgoingSessionPersistence persistence = mock(Mqtt5OutgoingSessionPersistence.class);
+        final MqttOutgoingQosHandler handler = createHandler(
+                new MqttClientAdvancedConfigBuilder.Default().outgoingSessionPersistence(persistence).build(), 10);
+
+        handler.onSessionRestore(true);
+        handler.onSessionRestore(true);
+        handler.onSessionRestore(false);
+
+        verify(persistence, times(1)).restore(any());
+        verify(persistence, never()).clear();
+    }
+
+    @Test
+    void onFireAndForget_writtenWithVoidPromise() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final List<ChannelPromise> promises = new ArrayList<>();
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(
+                    final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
+                    final @NotNull ChannelPromise promise) {
+
+                promises.add(promise);
+                ctx.write(msg, promise);
+            }
+        });
+
+        handler.onFireAndForget(publish("a", MqttQos.AT_MOST_ONCE));
+        assertEquals(1, handler.getQueuedCount());
+        channel.runPendingTasks();
+
+        assertEquals(0, handler.getQueuedCount());
+        final MqttStatefulPublish written = channel.readOutbound();
+        assertEquals("a", written.stateless().getTopic().toString());
+        assertNull(channel.readOutbound());
+        assertEquals(1, promises.size());
+        assertTrue(promises.get(0).isVoid());
+        assertEquals(0, fireAndForgetFailures.getFailureCount());
+    }
+
+    @Test
+    void exceptionCaught_fireAndForgetWriteFailed_countedAsFailure() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(
+                    final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
+                    final @NotNull ChannelPromise promise) {
+
+                throw new IllegalStateException("encoding failed");
+            }
+        });
+
+        handler.onFireAndForget(publish("a", MqttQos.AT_MOST_ONCE));
+        handler.onFireAndForget(publish("b", MqttQos.AT_MOST_ONCE));
+        channel.runPendingTasks();
+
+        assertEquals(2, fireAndForgetFailures.getFailureCount());
+        assertEquals(0, handler.getQueuedCount());
+        channel.checkException(); // handled, not propagated through the pipeline
+    }
+
+    @Test
+    void onSessionEnd_queuedFireAndForget_countedAsFailures() {
+        final MqttOutgoingQosHandler handler = createHandler(MqttClientAdvancedConfig.DEFAULT, 10);
+        final MqttPublishWithFlow publishWithFlow = publishWithFlow("b", MqttQos.AT_LEAST_ONCE);
+
+        handler.onFireAndForget(publish("a", MqttQos.AT_MOST_ONCE));
+        handler.onPublish(publishWithFlow);
+        handler.onFireAndForget(publish("c", MqttQos.AT_MOST_ONCE));
+        assertEquals(3, handler.getQueuedCount());
+
+        handler.onSessionEnd(MqttClientStateExceptions.notConnected());
+        assertEquals(2, fireAndForgetFailures.getFailureCount());
+        assertEquals(0, handler.getQueuedCount());
+        verify(publishWithFlow.getAckFlow()).onNext(any());
+
+        channel.runPendingTasks();
+        assertTrue(channel.outboundMessages().isEmpty());
+        assertEquals(2, fireAndForgetFailures.getFailureCount());
+    }
+
+    @Test
+    void poll_priorityLanes_weightedRoundRobin() {
+        final MqttOutgoingQosHandler handler = createPriorityHandler();
+        queue(handler, Mqtt5PublishPriority.BULK, 3);
+        queue(handler, Mqtt5PublishPriority.NORMAL, 10);
+        queue(handler, Mqtt5PublishPriority.CONTROL, 20);
+        channel.runPendingTasks();
+
+        // weights CONTROL 8, NORMAL 4, BULK 1, starting with the NORMAL lane
+        assertEquals("NNNN" + "B" + "CCCCCCCC" + "NNNN" + "B" + "CCCCCCCC" + "NN" + "B" + "CCCC", writtenPriorities());
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    @Test
+    void poll_priorityLanes_ratioOverFullRounds() {
+        final MqttOutgoingQosHandler handler = createPriorityHandler();
+        queue(handler, Mqtt5PublishPriority.BULK, 50);
+        queue(handler, Mqtt5PublishPriority.NORMAL, 50);
+        queue(handler, Mqtt5PublishPriority.CONTROL, 50);
+        channel.runPendingTasks();
+
+        final String firstRounds = writtenPriorities().substring(0, 4 * 13);
+        assertEquals(4 * 8, firstRounds.chars().filter(c -> c == 'C').count());
+        assertEquals(4 * 4, firstRounds.chars().filter(c -> c == 'N').count());
+        assertEquals(4, firstRounds.chars().filter(c -> c == 'B').count());
+    }
+
+    @Test
+    void poll_priorityLanes_emptyLanesSkipped() {
+        final MqttOutgoingQosHandler handler = createPriorityHandler();
+        queue(handler, Mqtt5PublishPriority.BULK, 3);
+        queue(handler, Mqtt5PublishPriority.CONTROL, 20);
+        channel.runPendingTasks();
+
+        assertEquals("B" + "CCCCCCCC" + "B" + "CCCCCCCC" + "B" + "CCCC", writtenPriorities());
+    }
+
+    @Test
+    void poll_priorityLanes_singleNonEmptyLane_drainedCompletely() {
+        final MqttOutgoingQosHandler handler = createPriorityHandler();
+        queue(handler, Mqtt5PublishPriority.BULK, 5);
+        channel.runPendingTasks();
+
+        assertEquals("BBBBB", writtenPriorities());
+        assertEquals(0, handler.getQueuedCount());
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.AcknowledgedSubscriber;
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.reactivestreams.Subscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishFlowablesTest {
+
+    private static @NotNull MqttPublishFlowables createPublishFlowables(final int maxConcurrent) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getAdvancedConfig()).thenReturn(
+                new MqttClientAdvancedConfigBuilder.Default().maxConcurrentPublishFlowables(maxConcurrent).build());
+        return new MqttPublishFlowables(clientConfig);
+    }
+
+    @Test
+    void add_beforeSessionStart_notSubscribed() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final PublishProcessor<MqttPublishWithFlow> processor = PublishProcessor.create();
+
+        publishFlowables.add(processor);
+        assertFalse(processor.hasSubscribers());
+
+        publishFlowables.onSessionStartOrResume(mock(MqttOutgoingQosHandler.class), 10);
+        assertTrue(processor.hasSubscribers());
+    }
+
+    @Test
+    void add_moreThanMaxConcurrent_subscribedInOrderWhenPreviousComplete() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        publishFlowables.onSessionStartOrResume(mock(MqttOutgoingQosHandler.class), 10);
+        final PublishProcessor<MqttPublishWithFlow> processor1 = PublishProcessor.create();
+        final PublishProcessor<MqttPublishWithFlow> processor2 = PublishProcessor.create();
+        final PublishProcessor<MqttPublishWithFlow> processor3 = PublishProcessor.create();
+        final PublishProcessor<MqttPublishWithFlow> processor4 = PublishProcessor.create();
+
+        publishFlowables.add(processor1);
+        publishFlowables.add(processor2);
+        publishFlowables.add(processor3);
+        publishFlowables.add(processor4);
+        assertTrue(processor1.hasSubscribers());
+        assertTrue(processor2.hasSubscribers());
+        assertFalse(processor3.hasSubscribers());
+        assertFalse(processor4.hasSubscribers());
+
+        processor2.onComplete();
+        assertTrue(processor3.hasSubscribers());
+        assertFalse(processor4.hasSubscribers());
+
+        processor1.onComplete();
+        assertTrue(processor4.hasSubscribers());
+    }
+
+    @Test
+    void add_emitsAtMostWindow() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 3);
+
+        publishFlowables.add(Flowable.range(0, 10).map(i -> mock(MqttPublishWithFlow.class)));
+
+        verify(outgoingQosHandler, times(3)).onPublish(any());
+    }
+
+    @Test
+    void add_synchronouslyCompleting_doesNotBlockFurtherFlowables() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+
+        for (int i = 0; i < 5; i++) {
+            publishFlowables.add(Flowable.just(mock(MqttPublishWithFlow.class)));
+        }
+
+        verify(outgoingQosHandler, times(5)).onPublish(any());
+    }
+
+    @Test
+    void add_single_beforeSessionStart_offeredOnSessionStart() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final MqttPublishWithFlow publishWithFlow = mock(MqttPublishWithFlow.class);
+
+        publishFlowables.add(publishWithFlow);
+        verify(outgoingQosHandler, never()).onPublish(any());
+
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+        verify(outgoingQosHandler).onPublish(publishWithFlow);
+    }
+
+    @Test
+    void add_single_doesNotCountAgainstMaxConcurrent() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+        final PublishProcessor<MqttPublishWithFlow> processor = PublishProcessor.create();
+        publishFlowables.add(processor);
+
+        final MqttPublishWithFlow publishWithFlow = mock(MqttPublishWithFlow.class);
+        publishFlowables.add(publishWithFlow);
+
+        verify(outgoingQosHandler).onPublish(publishWithFlow);
+    }
+
+    @Test
+    void add_batch_beforeSessionStart_offeredAsOneBatchOnSessionStart() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final List<MqttPublishWithFlow> publishWithFlows =
+                Arrays.asList(mock(MqttPublishWithFlow.class), mock(MqttPublishWithFlow.class));
+
+        publishFlowables.add(publishWithFlows);
+        verify(outgoingQosHandler, never()).onPublishes(any());
+
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+        verify(outgoingQosHandler).onPublishes(publishWithFlows);
+        verify(outgoingQosHandler, never()).onPublish(any());
+    }
+
+    @Test
+    void add_batch_afterSessionStart_offeredDirectly() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+        final List<MqttPublishWithFlow> publishWithFlows =
+                Arrays.asList(mock(MqttPublishWithFlow.class), mock(MqttPublishWithFlow.class));
+
+        publishFlowables.add(publishWithFlows);
+        verify(outgoingQosHandler).onPublishes(publishWithFlows);
+    }
+
+    @Test
+    void add_single_whileQueuedAreOffered_doesNotOvertake() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final MqttPublishWithFlow publishWithFlow1 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow2 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow3 = mock(MqttPublishWithFlow.class);
+        final List<MqttPublishWithFlow> offered = new ArrayList<>();
+        doAnswer(invocation -> {
+            final MqttPublishWithFlow publishWithFlow = invocation.getArgument(0);
+            if (publishWithFlow == publishWithFlow1) { // simulates a producer adding while the queue is drained
+                publishFlowables.add(publishWithFlow3);
+            }
+            offered.add(publishWithFlow);
+            return null;
+        }).when(outgoingQosHandler).onPublish(any());
+
+        publishFlowables.add(publishWithFlow1);
+        publishFlowables.add(publishWithFlow2);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+
+        assertEquals(Arrays.asList(publishWithFlow1, publishWithFlow2, publishWithFlow3), offered);
+    }
+
+    @Test
+    void add_single_afterQueuedAreOffered_offeredDirectly() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final MqttPublishWithFlow publishWithFlow1 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow2 = mock(MqttPublishWithFlow.class);
+
+        publishFlowables.add(publishWithFlow1);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+        publishFlowables.add(publishWithFlow2);
+
+        final InOrder inOrder = inOrder(outgoingQosHandler);
+        inOrder.verify(outgoingQosHandler).onPublish(publishWithFlow1);
+        inOrder.verify(outgoingQosHandler).onPublish(publishWithFlow2);
+    }
+
+    @Test
+    void add_batch_whileQueuedAreOffered_doesNotOvertake() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(1);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final MqttPublishWithFlow publishWithFlow = mock(MqttPublishWithFlow.class);
+        final List<MqttPublishWithFlow> publishWithFlows = Arrays.asList(mock(MqttPublishWithFlow.class));
+        final List<Object> offered = new ArrayList<>();
+        doAnswer(invocation -> {
+            publishFlowables.add(publishWithFlows);
+            offered.add(invocation.getArgument(0));
+            return null;
+        }).when(outgoingQosHandler).onPublish(any());
+        doAnswer(invocation -> offered.add(invocation.getArgument(0))).when(outgoingQosHandler).onPublishes(any());
+
+        publishFlowables.add(publishWithFlow);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 10);
+
+        assertEquals(Arrays.asList(publishWithFlow, publishWithFlows), offered);
+    }
+
+    @Test
+    void add_producersShareWindow() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        final MqttPublishWithFlow publishWithFlow1 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow2 = mock(MqttPublishWithFlow.class);
+
+        publishFlowables.add(Flowable.range(0, 10).map(i -> publishWithFlow1));
+        publishFlowables.add(Flowable.range(0, 10).map(i -> publishWithFlow2));
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 4);
+
+        verify(outgoingQosHandler, times(2)).onPublish(publishWithFlow1);
+        verify(outgoingQosHandler, times(2)).onPublish(publishWithFlow2);
+    }
+
+    @Test
+    void acknowledged_creditsHandedToWaitingProducerFirst() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 4);
+        final MqttPublishWithFlow publishWithFlow1 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow2 = mock(MqttPublishWithFlow.class);
+        final List<AcknowledgedSubscriber> producers = new ArrayList<>();
+
+        publishFlowables.add(producer(Flowable.range(0, 10).map(i -> publishWithFlow1), producers));
+        publishFlowables.add(producer(Flowable.range(0, 10).map(i -> publishWithFlow2), producers));
+        verify(outgoingQosHandler, times(4)).onPublish(publishWithFlow1);
+        verify(outgoingQosHandler, never()).onPublish(publishWithFlow2);
+
+        producers.get(0).acknowledged(2);
+        verify(outgoingQosHandler, times(4)).onPublish(publishWithFlow1);
+        verify(outgoingQosHandler, times(2)).onPublish(publishWithFlow2);
+
+        producers.get(0).acknowledged(2);
+        verify(outgoingQosHandler, times(6)).onPublish(publishWithFlow1);
+        verify(outgoingQosHandler, times(2)).onPublish(publishWithFlow2);
+    }
+
+    @Test
+    void onSessionResume_windowShrinks_creditsWithheldUntilOutstandingFit() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 4);
+        final List<AcknowledgedSubscriber> producers = new ArrayList<>();
+
+        final MqttPublishWithFlow publishWithFlow = mock(MqttPublishWithFlow.class);
+        publishFlowables.add(producer(Flowable.range(0, 10).map(i -> publishWithFlow), producers));
+        verify(outgoingQosHandler, times(4)).onPublish(any());
+
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 2);
+        producers.get(0).acknowledged(2);
+        verify(outgoingQosHandler, times(4)).onPublish(any());
+
+        producers.get(0).acknowledged(2);
+        verify(outgoingQosHandler, times(6)).onPublish(any());
+    }
+
+    @Test
+    void onSessionResume_windowGrows_activeProducersUseNewWindow() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 2);
+        final List<AcknowledgedSubscriber> producers = new ArrayList<>();
+
+        final MqttPublishWithFlow publishWithFlow = mock(MqttPublishWithFlow.class);
+        publishFlowables.add(producer(Flowable.range(0, 10).map(i -> publishWithFlow), producers));
+        verify(outgoingQosHandler, times(2)).onPublish(any());
+
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 4);
+        producers.get(0).acknowledged(1);
+        verify(outgoingQosHandler, times(5)).onPublish(any());
+    }
+
+    @Test
+    void producerComplete_unusedCreditsReturned() {
+        final MqttPublishFlowables publishFlowables = createPublishFlowables(2);
+        final MqttOutgoingQosHandler outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        publishFlowables.onSessionStartOrResume(outgoingQosHandler, 4);
+        final MqttPublishWithFlow publishWithFlow1 = mock(MqttPublishWithFlow.class);
+        final MqttPublishWithFlow publishWithFlow2 = mock(MqttPublishWithFlow.class);
+        final List<AcknowledgedSubscriber> producers = new ArrayList<>();
+
+        publishFlowables.add(producer(Flowable.just(publishWithFlow1), producers));
+        publishFlowables.add(producer(Flowable.range(0, 10).map(i -> publishWithFlow2), producers));
+        verify(outgoingQosHandler).onPublish(publishWithFlow1);
+        verify(outgoingQosHandler, times(3)).onPublish(publishWithFlow2);
+
+        producers.get(0).acknowledged(1);
+        verify(outgoingQosHandler, times(4)).onPublish(publishWithFlow2);
+    }
+
+    /**
+     * Wraps the given flowable and records its subscriber, which receives the acknowledgements like from a {@link
+     * MqttPublishFlowableAckLink}.
+     */
+    private static @NotNull Flowable<MqttPublishWithFlow> producer(
+            final @NotNull Flowable<MqttPublishWithFlow> source,
+            final @NotNull List<AcknowledgedSubscriber> producers) {
+
+        return new Flowable<MqttPublishWithFlow>() {
+            @Override
+            protected void subscribeActual(final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber) {
+                producers.add((AcknowledgedSubscriber) subscriber);
+                source.subscribe(subscriber);
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasPolicyTest {
+
+    @Test
+    void createMapping_zeroMaximum_null() {
+        assertNull(MqttTopicAliasPolicy.ADAPTIVE.createMapping(0));
+        assertNull(MqttTopicAliasPolicy.LEAST_RECENTLY_USED.createMapping(0));
+        assertNull(MqttTopicAliasPolicy.LEAST_FREQUENTLY_USED.createMapping(0));
+        assertNull(MqttTopicAliasPolicy.preset(Arrays.asList(MqttTopicImpl.of("a"))).createMapping(0));
+    }
+
+    @Test
+    void adaptive_lookupByEqualTopic() {
+        final MqttTopicAliasMapping mapping = mapping(MqttTopicAliasPolicy.ADAPTIVE, 2);
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a/b")));
+        final MqttTopicImpl binaryTopic = MqttTopicImpl.of(new byte[]{'a', '/', 'b'});
+        assertNotNull(binaryTopic);
+        assertEquals(1, mapping.onPublish(binaryTopic));
+    }
+
+    @Test
+    void leastRecentlyUsed() {
+        final MqttTopicAliasMapping mapping = mapping(MqttTopicAliasPolicy.LEAST_RECENTLY_USED, 2);
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        // b is the least recently used topic
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("c")));
+        // a is the least recently used topic
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+    }
+
+    @Test
+    void leastFrequentlyUsed() {
+        final MqttTopicAliasMapping mapping = mapping(MqttTopicAliasPolicy.LEAST_FREQUENTLY_USED, 2);
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("b")));
+        // b is the least frequently used topic
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        // c is the least frequently used topic
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("d")));
+    }
+
+    @Test
+    void leastFrequentlyUsed_countsDecay() {
+        final MqttTopicAliasMapping mapping = mapping(MqttTopicAliasPolicy.LEAST_FREQUENTLY_USED, 2);
+        mapping.onPublish(MqttTopicImpl.of("a"));
+        mapping.onPublish(MqttTopicImpl.of("b"));
+        for (int i = 0; i < MqttTopicAliasLfuMapping.MAX_COUNT; i++) {
+            assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        }
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+    }
+
+    @Test
+    void preset() {
+        final MqttTopicAliasPolicy policy = MqttTopicAliasPolicy.preset(
+                Arrays.asList(MqttTopicImpl.of("a"), MqttTopicImpl.of("b"), MqttTopicImpl.of("a"),
+                        MqttTopicImpl.of("c")));
+        final MqttTopicAliasMapping mapping = mapping(policy, 2);
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("c")));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a")));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("d")));
+
+        // a new mapping for a new connection announces the topic aliases again
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping(policy, 2).onPublish(MqttTopicImpl.of("a")));
+    }
+
+    @Test
+    void preset_equals() {
+        assertEquals(MqttTopicAliasPolicy.preset(Arrays.asList(MqttTopicImpl.of("a"), MqttTopicImpl.of("b"))),
+                MqttTopicAliasPolicy.preset(Arrays.asList(MqttTopicImpl.of("a"), MqttTopicImpl.of("b"))));
+        assertNotEquals(MqttTopicAliasPolicy.preset(Arrays.asList(MqttTopicImpl.of("a"), MqttTopicImpl.of("b"))),
+                MqttTopicAliasPolicy.preset(Arrays.asList(MqttTopicImpl.of("b"), MqttTopicImpl.of("a"))));
+    }
+
+    private static @NotNull MqttTopicAliasMapping mapping(
+            final @NotNull MqttTopicAliasPolicy policy, final int topicAliasMaximum) {
+
+        final MqttTopicAliasMapping mapping = policy.createMapping(topicAliasMaximum);
+        assertNotNull(mapping);
+        assertEquals(topicAliasMaximum, mapping.getTopicAliasMaximum());
+        return mapping;
+    }
+}
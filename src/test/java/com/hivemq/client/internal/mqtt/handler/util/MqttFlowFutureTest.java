@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.util;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import io.reactivex.schedulers.TestScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttFlowFutureTest {
+
+    private final @NotNull TestScheduler scheduler = new TestScheduler();
+    private final @NotNull FlowWithEventLoop flow = mock(FlowWithEventLoop.class);
+
+    private @NotNull TestFuture createFuture(final boolean deliverOnEventLoop) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getExecutorConfig()).thenReturn(new MqttClientExecutorConfigImplBuilder.Default() //
+                .applicationScheduler(scheduler)
+                .deliverOnEventLoop(deliverOnEventLoop)
+                .build());
+        return new TestFuture(clientConfig, flow);
+    }
+
+    @Test
+    void onSuccess_completesOnApplicationScheduler() throws ExecutionException, InterruptedException {
+        final TestFuture future = createFuture(false);
+
+        future.onSuccess("result");
+        assertFalse(future.isDone());
+
+        scheduler.triggerActions();
+        assertEquals("result", future.get());
+    }
+
+    @Test
+    void onError_completesOnApplicationScheduler() {
+        final TestFuture future = createFuture(false);
+        final Exception error = new Exception("test");
+
+        future.onError(error);
+        assertFalse(future.isDone());
+
+        scheduler.triggerActions();
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertSame(error, exception.getCause());
+    }
+
+    @Test
+    void onSuccess_deliverOnEventLoop_completesDirectly() throws ExecutionException, InterruptedException {
+        final TestFuture future = createFuture(true);
+
+        future.onSuccess("result");
+        assertTrue(future.isDone());
+        assertEquals("result", future.get());
+    }
+
+    @Test
+    void cancel_cancelsFlow() {
+        final TestFuture future = createFuture(false);
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        verify(flow).cancel();
+    }
+
+    private static class TestFuture extends MqttFlowFuture<String> {
+
+        private final @NotNull FlowWithEventLoop flow;
+
+        TestFuture(final @NotNull MqttClientConfig clientConfig, final @NotNull FlowWithEventLoop flow) {
+            super(clientConfig);
+            this.flow = flow;
+        }
+
+        @Override
+        protected @Nullable FlowWithEventLoop getFlow() {
+            return flow;
+        }
+    }
+}
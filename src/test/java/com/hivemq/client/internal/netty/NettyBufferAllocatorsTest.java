@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttBufferAllocation;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettyBufferAllocatorsTest {
+
+    private static @NotNull ByteBufAllocator get(final @NotNull MqttBufferAllocation bufferAllocation) {
+        return NettyBufferAllocators.get(
+                new MqttClientExecutorConfigImplBuilder.Default().bufferAllocation(bufferAllocation).build());
+    }
+
+    @Test
+    void get_default() {
+        assertSame(ByteBufAllocator.DEFAULT, get(MqttBufferAllocation.DEFAULT));
+    }
+
+    @Test
+    void get_sharedInstances() {
+        for (final MqttBufferAllocation bufferAllocation : MqttBufferAllocation.values()) {
+            assertSame(get(bufferAllocation), get(bufferAllocation));
+        }
+    }
+
+    @Test
+    void get_pooled() {
+        final ByteBufAllocator direct = get(MqttBufferAllocation.POOLED_DIRECT);
+        final ByteBufAllocator heap = get(MqttBufferAllocation.POOLED_HEAP);
+        assertTrue(direct instanceof PooledByteBufAllocator);
+        assertTrue(heap instanceof PooledByteBufAllocator);
+        assertTrue(direct.isDirectBufferPooled());
+        final ByteBuf heapBuffer = heap.buffer();
+        assertFalse(heapBuffer.isDirect());
+        heapBuffer.release();
+    }
+
+    @Test
+    void get_pooled_sized() {
+        final ByteBufAllocator allocator = NettyBufferAllocators.get(
+                new MqttClientExecutorConfigImplBuilder.Default().bufferAllocation(MqttBufferAllocation.POOLED_DIRECT)
+                        .bufferPoolArenas(2)
+                        .bufferPoolPageSize(4096)
+                        .bufferPoolChunkSize(1 << 20)
+                        .bufferPoolThreadCacheSizes(16, 8)
+                        .build());
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        final PooledByteBufAllocatorMetric metric = ((PooledByteBufAllocator) allocator).metric();
+        assertEquals(2, metric.numDirectArenas());
+        assertEquals(1 << 20, metric.chunkSize());
+        assertEquals(16, metric.smallCacheSize());
+        assertEquals(8, metric.normalCacheSize());
+    }
+
+    @Test
+    void get_pooled_keyedBySizing() {
+        final MqttClientExecutorConfigImplBuilder.Default builder =
+                new MqttClientExecutorConfigImplBuilder.Default().bufferAllocation(MqttBufferAllocation.POOLED_HEAP);
+        final ByteBufAllocator defaultSizing = NettyBufferAllocators.get(builder.build());
+        final ByteBufAllocator explicitDefaultSizing = NettyBufferAllocators.get(
+                builder.bufferPoolPageSize(PooledByteBufAllocator.defaultPageSize()).build());
+        final ByteBufAllocator otherSizing = NettyBufferAllocators.get(builder.bufferPoolArenas(1).build());
+        final ByteBufAllocator sameOtherSizing = NettyBufferAllocators.get(builder.build());
+
+        assertSame(defaultSizing, explicitDefaultSizing);
+        assertNotSame(defaultSizing, otherSizing);
+        assertSame(otherSizing, sameOtherSizing);
+    }
+
+    @Test
+    void get_pooled_chunkSizeSmallerThanPageSize_raisedToPageSize() {
+        final ByteBufAllocator allocator = NettyBufferAllocators.get(
+                new MqttClientExecutorConfigImplBuilder.Default().bufferAllocation(MqttBufferAllocation.POOLED_HEAP)
+                        .bufferPoolPageSize(1 << 16)
+                        .bufferPoolChunkSize(1 << 12)
+                        .build());
+        assertEquals(1 << 16, ((PooledByteBufAllocator) allocator).metric().chunkSize());
+    }
+
+    @Test
+    void get_unpooled() {
+        final ByteBufAllocator direct = get(MqttBufferAllocation.UNPOOLED_DIRECT);
+        final ByteBufAllocator heap = get(MqttBufferAllocation.UNPOOLED_HEAP);
+        assertTrue(direct instanceof UnpooledByteBufAllocator);
+        assertTrue(heap instanceof UnpooledByteBufAllocator);
+        final ByteBuf heapBuffer = heap.buffer();
+        assertFalse(heapBuffer.isDirect());
+        heapBuffer.release();
+    }
+
+    @Test
+    void metrics_pooled() {
+        final NettyBufferAllocatorMetrics metrics =
+                new NettyBufferAllocatorMetrics(get(MqttBufferAllocation.POOLED_HEAP));
+        assertTrue(metrics.isPooled());
+        assertTrue(metrics.getHeapArenaCount() >= 0);
+        assertTrue(metrics.getUsedHeapMemory() >= 0);
+    }
+
+    @Test
+    void metrics_unpooled() {
+        final ByteBufAllocator allocator = get(MqttBufferAllocation.UNPOOLED_HEAP);
+        final NettyBufferAllocatorMetrics metrics = new NettyBufferAllocatorMetrics(allocator);
+        assertFalse(metrics.isPooled());
+        assertEquals(0, metrics.getHeapArenaCount());
+        assertEquals(0, metrics.getDirectArenaCount());
+        assertEquals(0, metrics.getThreadLocalCacheCount());
+
+        final long usedBefore = metrics.getUsedHeapMemory();
+        final ByteBuf buffer = allocator.heapBuffer(1024);
+        assertTrue(metrics.getUsedHeapMemory() >= usedBefore + 1024);
+        buffer.release();
+    }
+}
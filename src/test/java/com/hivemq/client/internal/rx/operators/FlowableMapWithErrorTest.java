@@ -0,0 +1,254 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.fuseable.QueueFuseable;
+import io.reactivex.internal.fuseable.QueueSubscription;
+import io.reactivex.processors.UnicastProcessor;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class FlowableMapWithErrorTest {
+
+    @Test
+    void map() {
+        final Flowable<String> flowable =
+                new FlowableMapWithError<>(Flowable.range(0, 5), i -> "" + i, e -> new IllegalStateException(e));
+
+        flowable.test().assertResult("0", "1", "2", "3", "4");
+    }
+
+    @Test
+    void map_error() {
+        final Flowable<String> flowable = new FlowableMapWithError<>(
+                Flowable.<Integer>error(new Exception("test")), i -> "" + i, IllegalStateException::new);
+
+        flowable.test().assertNoValues().assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void map_mapperThrows_cancelsAndErrors() {
+        final Flowable<String> flowable = new FlowableMapWithError<>(Flowable.range(0, 5), i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("test");
+            }
+            return "" + i;
+        }, e -> e);
+
+        flowable.test().assertFailure(IllegalArgumentException.class, "0", "1");
+    }
+
+    @Test
+    void map_conditional() {
+        final Flowable<String> flowable =
+                new FlowableMapWithError<>(Flowable.range(0, 5), i -> "" + i, e -> e).filter(s -> !s.equals("2"));
+
+        flowable.test().assertResult("0", "1", "3", "4");
+    }
+
+    @Test
+    void map_afterObserveOn() {
+        final Flowable<String> flowable = new FlowableMapWithError<>(
+                Flowable.range(0, 1000).observeOn(Schedulers.single()), i -> "" + i, e -> e);
+
+        final TestSubscriber<String> testSubscriber = flowable.test();
+        testSubscriber.awaitDone(5, TimeUnit.SECONDS);
+        testSubscriber.assertValueCount(1000).assertNoErrors().assertComplete();
+        testSubscriber.assertValueAt(999, "999");
+    }
+
+    @Test
+    void map_afterObserveOn_error() {
+        final Flowable<String> flowable = new FlowableMapWithError<>(
+                Flowable.concat(Flowable.range(0, 10), Flowable.<Integer>error(new Exception("test")))
+                        .observeOn(Schedulers.single(), true), i -> "" + i, IllegalStateException::new);
+
+        final TestSubscriber<String> testSubscriber = flowable.test();
+        testSubscriber.awaitDone(5, TimeUnit.SECONDS);
+        testSubscriber.assertValueCount(10).assertError(IllegalStateException.class);
+    }
+
+    @Test
+    void map_syncFused_valuesMappedInPoll() {
+        final FusingSubscriber<String> subscriber = new FusingSubscriber<>();
+
+        new FlowableMapWithError<>(Flowable.range(0, 5), i -> "" + i, e -> e).subscribe(subscriber);
+
+        assertEquals(QueueFuseable.SYNC, subscriber.mode);
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4"), subscriber.values);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void map_syncFused_mapperThrows_pollThrows() {
+        final FusingSubscriber<String> subscriber = new FusingSubscriber<>();
+
+        new FlowableMapWithError<>(Flowable.range(0, 5), i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("test");
+            }
+            return "" + i;
+        }, e -> e).subscribe(subscriber);
+
+        assertEquals(QueueFuseable.SYNC, subscriber.mode);
+        assertEquals(Arrays.asList("0", "1"), subscriber.values);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void map_asyncFused_valuesMappedInPollAndErrorMapped() {
+        final UnicastProcessor<Integer> processor = UnicastProcessor.create();
+        final FusingSubscriber<String> subscriber = new FusingSubscriber<>();
+
+        new FlowableMapWithError<>(processor, i -> "" + i, IllegalStateException::new).subscribe(subscriber);
+        assertEquals(QueueFuseable.ASYNC, subscriber.mode);
+
+        processor.onNext(0);
+        processor.onNext(1);
+        assertEquals(Arrays.asList("0", "1"), subscriber.values);
+        final Exception error = new Exception("test");
+        processor.onError(error);
+
+        assertEquals(Arrays.asList("0", "1"), subscriber.values);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+        assertSame(error, subscriber.error.getCause());
+    }
+
+    @Test
+    void map_conditional_asyncFused_valuesMappedInPoll() {
+        final UnicastProcessor<Integer> processor = UnicastProcessor.create();
+        final FusingSubscriber<String> subscriber = new FusingSubscriber<>();
+
+        new FlowableMapWithError<>(processor, i -> "" + i, e -> e).filter(s -> !s.equals("1")).subscribe(subscriber);
+        assertEquals(QueueFuseable.ASYNC, subscriber.mode);
+
+        processor.onNext(0);
+        processor.onNext(1);
+        processor.onNext(2);
+        processor.onComplete();
+
+        assertEquals(Arrays.asList("0", "2"), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void map_boundaryFusion_rejected() {
+        final FusingSubscriber<String> subscriber =
+                new FusingSubscriber<>(QueueFuseable.ANY | QueueFuseable.BOUNDARY);
+
+        new FlowableMapWithError<>(Flowable.range(0, 3), i -> "" + i, e -> e).subscribe(subscriber);
+
+        assertEquals(QueueFuseable.NONE, subscriber.mode);
+        assertEquals(Arrays.asList("0", "1", "2"), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    /**
+     * Requests fusion like an operator that drains the queue of its upstream, so the values are only mapped in {@link
+     * QueueSubscription#poll()}.
+     */
+    private static class FusingSubscriber<T> implements FlowableSubscriber<T> {
+
+        private final int requestedMode;
+        final @NotNull List<T> values = new ArrayList<>();
+        @Nullable Throwable error;
+        boolean completed;
+        int mode = -1;
+        private @Nullable QueueSubscription<T> qs;
+
+        FusingSubscriber() {
+            this(QueueFuseable.ANY);
+        }
+
+        FusingSubscriber(final int requestedMode) {
+            this.requestedMode = requestedMode;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription s) {
+            //noinspection unchecked
+            final QueueSubscription<T> qs = (QueueSubscription<T>) s;
+            this.qs = qs;
+            mode = qs.requestFusion(requestedMode);
+            if (mode == QueueFuseable.SYNC) {
+                drain();
+                if (error == null) {
+                    completed = true;
+                }
+            } else {
+                qs.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(final @Nullable T t) {
+            if (mode == QueueFuseable.ASYNC) {
+                drain();
+            } else {
+                values.add(t);
+            }
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            if (mode == QueueFuseable.ASYNC) {
+                drain();
+            }
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            if (mode == QueueFuseable.ASYNC) {
+                drain();
+            }
+            completed = true;
+        }
+
+        private void drain() {
+            assert qs != null;
+            try {
+                T t;
+                while ((t = qs.poll()) != null) {
+                    values.add(t);
+                }
+            } catch (final Throwable throwable) {
+                qs.cancel();
+                error = throwable;
+            }
+        }
+    }
+}
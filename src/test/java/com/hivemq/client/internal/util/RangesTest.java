@@ -22,8 +22,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Silvio Giebl
@@ -100,4 +99,46 @@ class RangesTest {
         assertEquals(count, ranges.resize(5));
     }
 
-}
\ No newline at end of file
+    @Test
+    void takeId_splitsRange() {
+        final Ranges ranges = new Ranges(0, 10);
+        assertTrue(ranges.takeId(5));
+        assertFalse(ranges.takeId(5));
+        for (int i = 0; i <= 10; i++) {
+            if (i != 5) {
+                assertEquals(i, ranges.getId());
+            }
+        }
+        assertEquals(-1, ranges.getId());
+    }
+
+    @ValueSource(ints = {0, 10})
+    @ParameterizedTest
+    void takeId_bounds(final int id) {
+        final Ranges ranges = new Ranges(0, 10);
+        assertTrue(ranges.takeId(id));
+        for (int i = 0; i < 10; i++) {
+            assertNotEquals(id, ranges.getId());
+        }
+        assertEquals(-1, ranges.getId());
+        ranges.returnId(id);
+        assertEquals(id, ranges.getId());
+    }
+
+    @Test
+    void takeId_greaterThanMaxId() {
+        final Ranges ranges = new Ranges(0, 10);
+        assertFalse(ranges.takeId(11));
+    }
+
+    @Test
+    void takeId_removesEmptyRange() {
+        final Ranges ranges = new Ranges(0, 10);
+        for (int i = 0; i <= 3; i++) {
+            assertEquals(i, ranges.getId());
+        }
+        ranges.returnId(1);
+        assertTrue(ranges.takeId(1));
+        assertEquals(4, ranges.getId());
+    }
+}
@@ -18,12 +18,15 @@
 package com.hivemq.client.internal.util;
 
 import com.google.common.base.Utf8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 /**
  * @author Silvio Giebl
@@ -44,6 +47,35 @@ class Utf8UtilTest {
         }
     }
 
+    @Test
+    void isWellFormed_byteBuf() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        final ByteBuf heapBuffer = Unpooled.buffer(110);
+        final ByteBuf directBuffer = Unpooled.directBuffer(110);
+        for (int i = 0; i < 10_000; i++) {
+            random.nextBytes(bytes);
+            // readable bytes start at an offset and are followed by other bytes, which must not be checked
+            heapBuffer.clear().writeZero(5).writeBytes(bytes).writeByte(0xFF).readerIndex(5).writerIndex(105);
+            directBuffer.clear().writeZero(5).writeBytes(bytes).writeByte(0xFF).readerIndex(5).writerIndex(105);
+            assertEquals(Utf8.isWellFormed(bytes), Utf8Util.isWellFormed(heapBuffer) == 0);
+            assertEquals(Utf8.isWellFormed(bytes), Utf8Util.isWellFormed(directBuffer) == 0);
+            assertEquals(5, heapBuffer.readerIndex());
+            assertEquals(5, directBuffer.readerIndex());
+        }
+        heapBuffer.release();
+        directBuffer.release();
+    }
+
+    @Test
+    void isWellFormed_byteBuf_slice() {
+        final byte[] bytes = "\u00E4\u20AC\uD83D\uDE00".getBytes(StandardCharsets.UTF_8);
+        final ByteBuf buffer = Unpooled.buffer().writeByte(0xFF).writeBytes(bytes);
+        assertEquals(0L, Utf8Util.isWellFormed(buffer.slice(1, bytes.length)));
+        assertNotEquals(0L, Utf8Util.isWellFormed(buffer.slice(1, bytes.length - 1)));
+        buffer.release();
+    }
+
     @Test
     void encodedLength() {
         final Random random = new Random();
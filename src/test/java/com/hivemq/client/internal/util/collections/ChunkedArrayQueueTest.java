@@ -71,4 +71,33 @@ class ChunkedArrayQueueTest {
         assertTrue(queue.isEmpty());
     }
 
+    @ParameterizedTest
+    @CsvSource({"1, 0", "5, 2", "8, 7", "20, 0", "20, 9", "20, 19"})
+    void iterator_set(final int size, final int index) {
+        final ChunkedArrayQueue<String> queue = new ChunkedArrayQueue<>(8);
+        for (int i = 0; i < 4; i++) { // move the consumer index so that the queue wraps around
+            queue.offer("skip");
+            queue.poll();
+        }
+        for (int i = 0; i < size; i++) {
+            queue.offer("test" + i);
+        }
+        final ChunkedArrayQueue<String>.Iterator iterator = queue.iterator();
+        for (int i = 0; i <= index; i++) {
+            iterator.next();
+        }
+        iterator.set("replaced");
+        for (int i = 0; i < size; i++) {
+            assertEquals((i == index) ? "replaced" : "test" + i, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void iterator_set_beforeNext_throws() {
+        final ChunkedArrayQueue<String> queue = new ChunkedArrayQueue<>(8);
+        queue.offer("test");
+        assertThrows(IllegalStateException.class, () -> queue.iterator().set("replaced"));
+    }
+
 }
\ No newline at end of file